@@ -63,4 +63,14 @@ public class FetcherConstants {
 
     public static final String AGENT_GLOBAL_WRITER_PERMIT = "agent.global.writer.permit";
     public static final int DEFAULT_AGENT_GLOBAL_WRITER_PERMIT = 128 * 1000 * 1000;
+
+    // replace the global permits with byte accounted budgets resized by the heap headroom
+    public static final String AGENT_MEMORY_ADAPTIVE_ENABLE = "agent.memory.adaptive.enable";
+    public static final boolean DEFAULT_AGENT_MEMORY_ADAPTIVE_ENABLE = false;
+    public static final String AGENT_MEMORY_ADAPTIVE_INTERVAL = "agent.memory.adaptive.interval";
+    public static final long DEFAULT_AGENT_MEMORY_ADAPTIVE_INTERVAL = 10 * 1000L;
+    public static final String AGENT_MEMORY_ADAPTIVE_MAX_RATIO = "agent.memory.adaptive.max.ratio";
+    public static final float DEFAULT_AGENT_MEMORY_ADAPTIVE_MAX_RATIO = 2.0f;
+    public static final String AGENT_MEMORY_ADAPTIVE_MIN_RATIO = "agent.memory.adaptive.min.ratio";
+    public static final float DEFAULT_AGENT_MEMORY_ADAPTIVE_MIN_RATIO = 0.25f;
 }
@@ -66,6 +66,9 @@ public class TaskConstants extends CommonConstants {
     public static final String FILE_TASK_TIME_FROM = "task.fileTask.dataTimeFrom";
     public static final String FILE_TASK_TIME_TO = "task.fileTask.dataTimeTo";
     public static final String FILE_MAX_NUM = "task.fileTask.maxFileCount";
+    // scan the lines over a large buffer instead of copying byte by byte
+    public static final String FILE_BUFFERED_LINE_READ = "task.fileTask.bufferedLineRead";
+    public static final boolean DEFAULT_FILE_BUFFERED_LINE_READ = false;
     public static final String PREDEFINE_FIELDS = "task.predefinedFields";
     public static final String TASK_AUDIT_VERSION = "task.auditVersion";
 
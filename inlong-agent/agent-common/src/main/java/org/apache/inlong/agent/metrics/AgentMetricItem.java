@@ -54,6 +54,9 @@ public class AgentMetricItem extends MetricItem {
     public static final String M_PLUGIN_SEND_FAIL_COUNT = "pluginSendFailCount";
     public static final String M_PLUGIN_READ_SUCCESS_COUNT = "pluginReadSuccessCount";
     public static final String M_PLUGIN_SEND_SUCCESS_COUNT = "pluginSendSuccessCount";
+    // memory
+    public static final String M_MEMORY_WAIT_COUNT = "memoryWaitCount";
+    public static final String M_MEMORY_WAIT_TIME = "memoryWaitTime";
 
     @Dimension
     public String pluginId;
@@ -92,4 +95,9 @@ public class AgentMetricItem extends MetricItem {
     public AtomicLong pluginReadSuccessCount = new AtomicLong(0);
     @CountMetric
     public AtomicLong pluginSendSuccessCount = new AtomicLong(0);
+    @CountMetric
+    public AtomicLong memoryWaitCount = new AtomicLong(0);
+    // milliseconds waited for the memory permit
+    @CountMetric
+    public AtomicLong memoryWaitTime = new AtomicLong(0);
 }
@@ -0,0 +1,210 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.agent.core.task;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * byte accounted memory budget shared by the instances, the waiting instances are woken up on each release,
+ * and an instance holding more than its fair share can not acquire while the other instances are waiting
+ */
+public class MemoryBudget {
+
+    private final String name;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    // the used bytes and waiting threads of the instances, guarded by lock
+    private final Map<String, InstanceUsage> usageMap = new HashMap<>();
+    private long capacity;
+    private long used = 0;
+    private int waiting = 0;
+    private long releasedBytes = 0;
+
+    public MemoryBudget(String name, long capacity) {
+        this.name = name;
+        this.capacity = capacity;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * acquire the bytes without waiting
+     */
+    public boolean tryAcquire(String instanceId, int bytes) {
+        lock.lock();
+        try {
+            if (!canGrant(instanceId, bytes)) {
+                return false;
+            }
+            grant(instanceId, bytes);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * acquire the bytes, wait until the bytes are released by the others or timeout
+     *
+     * @return true if acquired, false if timeout
+     */
+    public boolean acquire(String instanceId, int bytes, long timeoutMs) throws InterruptedException {
+        long nanos = TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        lock.lockInterruptibly();
+        try {
+            if (canGrant(instanceId, bytes)) {
+                grant(instanceId, bytes);
+                return true;
+            }
+            InstanceUsage usage = usageMap.computeIfAbsent(instanceId, k -> new InstanceUsage());
+            usage.waiting++;
+            waiting++;
+            try {
+                while (!canGrant(instanceId, bytes)) {
+                    if (nanos <= 0) {
+                        return false;
+                    }
+                    nanos = released.awaitNanos(nanos);
+                }
+                grant(instanceId, bytes);
+                return true;
+            } finally {
+                usage.waiting--;
+                waiting--;
+                removeIfIdle(instanceId, usage);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void release(String instanceId, int bytes) {
+        lock.lock();
+        try {
+            used = Math.max(0, used - bytes);
+            releasedBytes += bytes;
+            InstanceUsage usage = usageMap.get(instanceId);
+            if (usage != null) {
+                usage.used = Math.max(0, usage.used - bytes);
+                removeIfIdle(instanceId, usage);
+            }
+            if (waiting > 0) {
+                released.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * change the capacity, the bytes already acquired are kept even if they are over the new capacity
+     */
+    public void resize(long newCapacity) {
+        lock.lock();
+        try {
+            capacity = newCapacity;
+            if (waiting > 0) {
+                released.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getCapacity() {
+        lock.lock();
+        try {
+            return capacity;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getLeft() {
+        lock.lock();
+        try {
+            return capacity - used;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getWaiting() {
+        lock.lock();
+        try {
+            return waiting;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * get the bytes released since the last call, it is the throughput of the consumer of the budget
+     */
+    public long drainReleasedBytes() {
+        lock.lock();
+        try {
+            long result = releasedBytes;
+            releasedBytes = 0;
+            return result;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean canGrant(String instanceId, int bytes) {
+        // a single request larger than the capacity is granted when nothing is used, otherwise it never is
+        if (used == 0) {
+            return true;
+        }
+        if (used + bytes > capacity) {
+            return false;
+        }
+        InstanceUsage usage = usageMap.get(instanceId);
+        long instanceUsed = usage == null ? 0 : usage.used;
+        int othersWaiting = waiting - (usage == null ? 0 : usage.waiting);
+        if (othersWaiting <= 0) {
+            return true;
+        }
+        long fairShare = capacity / Math.max(1, usageMap.size() + (usage == null ? 1 : 0));
+        return instanceUsed + bytes <= fairShare;
+    }
+
+    private void grant(String instanceId, int bytes) {
+        used += bytes;
+        usageMap.computeIfAbsent(instanceId, k -> new InstanceUsage()).used += bytes;
+    }
+
+    private void removeIfIdle(String instanceId, InstanceUsage usage) {
+        if (usage.used == 0 && usage.waiting == 0) {
+            usageMap.remove(instanceId);
+        }
+    }
+
+    private static class InstanceUsage {
+
+        private long used = 0;
+        private int waiting = 0;
+    }
+}
@@ -17,6 +17,7 @@
 
 package org.apache.inlong.agent.core.task;
 
+import org.apache.inlong.agent.common.AgentThreadFactory;
 import org.apache.inlong.agent.conf.AgentConfiguration;
 import org.apache.inlong.agent.utils.AgentUtils;
 
@@ -24,16 +25,28 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 import static org.apache.inlong.agent.constant.FetcherConstants.AGENT_GLOBAL_READER_QUEUE_PERMIT;
 import static org.apache.inlong.agent.constant.FetcherConstants.AGENT_GLOBAL_READER_SOURCE_PERMIT;
 import static org.apache.inlong.agent.constant.FetcherConstants.AGENT_GLOBAL_WRITER_PERMIT;
+import static org.apache.inlong.agent.constant.FetcherConstants.AGENT_MEMORY_ADAPTIVE_ENABLE;
+import static org.apache.inlong.agent.constant.FetcherConstants.AGENT_MEMORY_ADAPTIVE_INTERVAL;
+import static org.apache.inlong.agent.constant.FetcherConstants.AGENT_MEMORY_ADAPTIVE_MAX_RATIO;
+import static org.apache.inlong.agent.constant.FetcherConstants.AGENT_MEMORY_ADAPTIVE_MIN_RATIO;
 import static org.apache.inlong.agent.constant.FetcherConstants.DEFAULT_AGENT_GLOBAL_READER_QUEUE_PERMIT;
 import static org.apache.inlong.agent.constant.FetcherConstants.DEFAULT_AGENT_GLOBAL_READER_SOURCE_PERMIT;
 import static org.apache.inlong.agent.constant.FetcherConstants.DEFAULT_AGENT_GLOBAL_WRITER_PERMIT;
+import static org.apache.inlong.agent.constant.FetcherConstants.DEFAULT_AGENT_MEMORY_ADAPTIVE_ENABLE;
+import static org.apache.inlong.agent.constant.FetcherConstants.DEFAULT_AGENT_MEMORY_ADAPTIVE_INTERVAL;
+import static org.apache.inlong.agent.constant.FetcherConstants.DEFAULT_AGENT_MEMORY_ADAPTIVE_MAX_RATIO;
+import static org.apache.inlong.agent.constant.FetcherConstants.DEFAULT_AGENT_MEMORY_ADAPTIVE_MIN_RATIO;
 
 /**
  * used to limit global memory to avoid oom
@@ -47,9 +60,22 @@ public class MemoryManager {
     private ConcurrentHashMap<String, Long> lastPrintTime = new ConcurrentHashMap<>();
     private static final int PRINT_INTERVAL_MS = 1000;
     private Set<String> defaultSemaphoreTypes = new HashSet<>();
+    // the instance id used by the callers not telling their instance
+    public static final String DEFAULT_INSTANCE_ID = "";
+    // shrink the budgets below the low heap headroom, and allow to grow them above the high one
+    private static final double LOW_HEAP_HEADROOM_RATIO = 0.2;
+    private static final double HIGH_HEAP_HEADROOM_RATIO = 0.5;
+    // the byte accounted budgets replacing the default semaphores when the adaptive memory is enabled
+    private final Map<String, MemoryBudget> budgetMap = new ConcurrentHashMap<>();
+    private final Map<String, Long> baseCapacityMap = new ConcurrentHashMap<>();
+    private ScheduledExecutorService resizeExecutor;
 
     private MemoryManager() {
         this.conf = AgentConfiguration.getAgentConf();
+        if (conf.getBoolean(AGENT_MEMORY_ADAPTIVE_ENABLE, DEFAULT_AGENT_MEMORY_ADAPTIVE_ENABLE)) {
+            initBudgets();
+            return;
+        }
         Semaphore semaphore = null;
         semaphore = new Semaphore(
                 conf.getInt(AGENT_GLOBAL_READER_SOURCE_PERMIT, DEFAULT_AGENT_GLOBAL_READER_SOURCE_PERMIT));
@@ -70,6 +96,59 @@ public class MemoryManager {
         defaultSemaphoreTypes.add(AGENT_GLOBAL_WRITER_PERMIT);
     }
 
+    private void initBudgets() {
+        addBudget(AGENT_GLOBAL_READER_SOURCE_PERMIT,
+                conf.getInt(AGENT_GLOBAL_READER_SOURCE_PERMIT, DEFAULT_AGENT_GLOBAL_READER_SOURCE_PERMIT));
+        addBudget(AGENT_GLOBAL_READER_QUEUE_PERMIT,
+                conf.getInt(AGENT_GLOBAL_READER_QUEUE_PERMIT, DEFAULT_AGENT_GLOBAL_READER_QUEUE_PERMIT));
+        addBudget(AGENT_GLOBAL_WRITER_PERMIT,
+                conf.getInt(AGENT_GLOBAL_WRITER_PERMIT, DEFAULT_AGENT_GLOBAL_WRITER_PERMIT));
+        long interval = conf.getLong(AGENT_MEMORY_ADAPTIVE_INTERVAL, DEFAULT_AGENT_MEMORY_ADAPTIVE_INTERVAL);
+        resizeExecutor = Executors.newSingleThreadScheduledExecutor(new AgentThreadFactory("memory-budget"));
+        resizeExecutor.scheduleWithFixedDelay(this::resizeBudgets, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    private void addBudget(String budgetName, int capacity) {
+        budgetMap.put(budgetName, new MemoryBudget(budgetName, capacity));
+        baseCapacityMap.put(budgetName, (long) capacity);
+        lastPrintTime.put(budgetName, 0L);
+        defaultSemaphoreTypes.add(budgetName);
+    }
+
+    /**
+     * resize the budgets between the min and max ratio of the configured capacity, shrink them when the heap
+     * headroom is low, and grow them when someone is waiting while the consumer of the budget is making progress
+     */
+    private void resizeBudgets() {
+        try {
+            Runtime runtime = Runtime.getRuntime();
+            long maxHeap = runtime.maxMemory();
+            long headroom = maxHeap - (runtime.totalMemory() - runtime.freeMemory());
+            double headroomRatio = (double) headroom / maxHeap;
+            float maxRatio = conf.getFloat(AGENT_MEMORY_ADAPTIVE_MAX_RATIO, DEFAULT_AGENT_MEMORY_ADAPTIVE_MAX_RATIO);
+            float minRatio = conf.getFloat(AGENT_MEMORY_ADAPTIVE_MIN_RATIO, DEFAULT_AGENT_MEMORY_ADAPTIVE_MIN_RATIO);
+            for (MemoryBudget budget : budgetMap.values()) {
+                long baseCapacity = baseCapacityMap.get(budget.getName());
+                long capacity = budget.getCapacity();
+                long throughput = budget.drainReleasedBytes();
+                long newCapacity = capacity;
+                if (headroomRatio < LOW_HEAP_HEADROOM_RATIO) {
+                    newCapacity = Math.max((long) (baseCapacity * minRatio), capacity - capacity / 4);
+                } else if (headroomRatio > HIGH_HEAP_HEADROOM_RATIO && budget.getWaiting() > 0 && throughput > 0) {
+                    long step = Math.min(capacity / 4, headroom / (2L * budgetMap.size()));
+                    newCapacity = Math.min((long) (baseCapacity * maxRatio), capacity + step);
+                }
+                if (newCapacity != capacity) {
+                    budget.resize(newCapacity);
+                    LOGGER.info("resize memory budget {} from {} to {}, heap headroom ratio {}, throughput {}",
+                            budget.getName(), capacity, newCapacity, headroomRatio, throughput);
+                }
+            }
+        } catch (Throwable t) {
+            LOGGER.error("resize memory budget error", t);
+        }
+    }
+
     /**
      * manager singleton
      */
@@ -99,6 +178,17 @@ public class MemoryManager {
     }
 
     public boolean tryAcquire(String semaphoreName, int permit) {
+        return tryAcquire(semaphoreName, DEFAULT_INSTANCE_ID, permit);
+    }
+
+    /**
+     * acquire the permit for the instance without waiting
+     */
+    public boolean tryAcquire(String semaphoreName, String instanceId, int permit) {
+        MemoryBudget budget = budgetMap.get(semaphoreName);
+        if (budget != null) {
+            return budget.tryAcquire(instanceId, permit);
+        }
         Semaphore semaphore = semaphoreMap.get(semaphoreName);
         if (semaphore == null) {
             LOGGER.error("tryAcquire {} not exist");
@@ -107,7 +197,42 @@ public class MemoryManager {
         return semaphore.tryAcquire(permit);
     }
 
+    /**
+     * acquire the permit for the instance, wait until the permit is released by the others or timeout
+     *
+     * @return true if acquired, false if timeout or interrupted
+     */
+    public boolean acquire(String semaphoreName, String instanceId, int permit, long timeoutMs) {
+        try {
+            MemoryBudget budget = budgetMap.get(semaphoreName);
+            if (budget != null) {
+                return budget.acquire(instanceId, permit, timeoutMs);
+            }
+            Semaphore semaphore = semaphoreMap.get(semaphoreName);
+            if (semaphore == null) {
+                LOGGER.error("acquire {} not exist", semaphoreName);
+                return false;
+            }
+            return semaphore.tryAcquire(permit, timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
     public void release(String semaphoreName, int permit) {
+        release(semaphoreName, DEFAULT_INSTANCE_ID, permit);
+    }
+
+    /**
+     * release the permit acquired by the instance
+     */
+    public void release(String semaphoreName, String instanceId, int permit) {
+        MemoryBudget budget = budgetMap.get(semaphoreName);
+        if (budget != null) {
+            budget.release(instanceId, permit);
+            return;
+        }
         Semaphore semaphore = semaphoreMap.get(semaphoreName);
         if (semaphore == null) {
             LOGGER.error("release {} not exist");
@@ -117,6 +242,10 @@ public class MemoryManager {
     }
 
     public int getLeft(String semaphoreName) {
+        MemoryBudget budget = budgetMap.get(semaphoreName);
+        if (budget != null) {
+            return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, budget.getLeft()));
+        }
         Semaphore semaphore = semaphoreMap.get(semaphoreName);
         if (semaphore == null) {
             LOGGER.error("getLeft {} not exist");
@@ -126,6 +255,15 @@ public class MemoryManager {
     }
 
     public void printDetail(String semaphoreName, String detail) {
+        MemoryBudget budget = budgetMap.get(semaphoreName);
+        if (budget != null) {
+            if (AgentUtils.getCurrentTime() - lastPrintTime.get(semaphoreName) > PRINT_INTERVAL_MS) {
+                LOGGER.info("{} permit left {} capacity {} wait {} {}", detail, budget.getLeft(),
+                        budget.getCapacity(), budget.getWaiting(), semaphoreName);
+                lastPrintTime.put(semaphoreName, AgentUtils.getCurrentTime());
+            }
+            return;
+        }
         Semaphore semaphore = semaphoreMap.get(semaphoreName);
         if (semaphore == null) {
             LOGGER.error("printDetail {} not exist", semaphoreName);
@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.agent.core;
+
+import org.apache.inlong.agent.core.task.MemoryBudget;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class TestMemoryBudget {
+
+    @Test
+    public void testAcquireAndRelease() throws Exception {
+        MemoryBudget budget = new MemoryBudget("test", 100);
+        Assert.assertTrue(budget.tryAcquire("a", 60));
+        Assert.assertTrue(budget.tryAcquire("b", 40));
+        Assert.assertFalse(budget.tryAcquire("a", 1));
+        Assert.assertFalse(budget.acquire("a", 1, 10));
+        Assert.assertEquals(0, budget.getLeft());
+
+        // the waiting thread is woken up by the release
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicBoolean acquired = new AtomicBoolean(false);
+        Thread waiter = new Thread(() -> {
+            try {
+                started.countDown();
+                acquired.set(budget.acquire("b", 30, 10000));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        waiter.start();
+        started.await();
+        while (budget.getWaiting() == 0) {
+            TimeUnit.MILLISECONDS.sleep(1);
+        }
+        budget.release("a", 30);
+        waiter.join(5000);
+        Assert.assertTrue(acquired.get());
+        Assert.assertEquals(0, budget.getLeft());
+        Assert.assertEquals(30, budget.drainReleasedBytes());
+    }
+
+    @Test
+    public void testFairShare() throws Exception {
+        MemoryBudget budget = new MemoryBudget("test", 100);
+        Assert.assertTrue(budget.tryAcquire("a", 70));
+        Assert.assertTrue(budget.tryAcquire("b", 20));
+        Thread waiter = new Thread(() -> {
+            try {
+                budget.acquire("b", 20, 10000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        waiter.start();
+        while (budget.getWaiting() == 0) {
+            TimeUnit.MILLISECONDS.sleep(1);
+        }
+        // "a" is over its fair share while "b" is waiting
+        Assert.assertFalse(budget.tryAcquire("a", 5));
+        budget.release("a", 20);
+        waiter.join(5000);
+        Assert.assertEquals(0, budget.getWaiting());
+        Assert.assertEquals(10, budget.getLeft());
+        // nobody is waiting, "a" can use the rest
+        Assert.assertTrue(budget.tryAcquire("a", 10));
+    }
+
+    @Test
+    public void testResize() {
+        MemoryBudget budget = new MemoryBudget("test", 100);
+        Assert.assertTrue(budget.tryAcquire("a", 100));
+        budget.resize(150);
+        Assert.assertTrue(budget.tryAcquire("a", 50));
+        budget.resize(50);
+        Assert.assertEquals(-100, budget.getLeft());
+        budget.release("a", 150);
+        Assert.assertEquals(50, budget.getLeft());
+        // a request larger than the capacity is granted when nothing is used
+        Assert.assertTrue(budget.tryAcquire("a", 80));
+    }
+}
@@ -44,10 +44,15 @@ import java.io.FileReader;
 import java.io.IOException;
 import java.io.LineNumberReader;
 import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
+import static org.apache.inlong.agent.constant.TaskConstants.DEFAULT_FILE_BUFFERED_LINE_READ;
+import static org.apache.inlong.agent.constant.TaskConstants.FILE_BUFFERED_LINE_READ;
 import static org.apache.inlong.agent.constant.TaskConstants.FILE_CONTENT_STYLE;
 
 /**
@@ -70,12 +75,15 @@ public class LogFileSource extends AbstractSource {
     private static final Logger LOGGER = LoggerFactory.getLogger(LogFileSource.class);
     public static final String OFFSET_SEP = ":";
     private final Integer SIZE_OF_BUFFER_TO_READ_FILE = 64 * 1024;
+    private final Integer SIZE_OF_BUFFER_TO_SCAN_LINES = 256 * 1024;
     private final Long INODE_UPDATE_INTERVAL_MS = 1000L;
     private final SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
 
     private String fileName;
     private File file;
     private byte[] bufferToReadFile;
+    private boolean bufferedLineRead = false;
+    private byte[] bufferToScanLines;
     public volatile long linePosition = 0;
     public volatile long bytePosition = 0;
     private boolean isIncrement = false;
@@ -98,6 +106,7 @@ public class LogFileSource extends AbstractSource {
             LOGGER.info("LogFileSource init: {}", profile.toJsonStr());
             fileName = profile.getInstanceId();
             bufferToReadFile = new byte[SIZE_OF_BUFFER_TO_READ_FILE];
+            bufferedLineRead = profile.getBoolean(FILE_BUFFERED_LINE_READ, DEFAULT_FILE_BUFFERED_LINE_READ);
             isIncrement = isIncrement(profile);
             file = new File(fileName);
             inodeInfo = profile.get(TaskConstants.INODE_INFO);
@@ -254,6 +263,9 @@ public class LogFileSource extends AbstractSource {
         if (maxLineCount == 0) {
             return pos;
         }
+        if (bufferedLineRead) {
+            return readLinesByBuffer(reader.getChannel(), pos, lines, maxLineCount, maxLineTotalLen);
+        }
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
         reader.seek(pos);
         long rePos = pos; // position to re-read
@@ -274,16 +286,7 @@ public class LogFileSource extends AbstractSource {
                         if (overLen) {
                             LOGGER.warn("readLines over len finally string len {}",
                                     new String(baos.toByteArray()).length());
-                            long auditTime = 0;
-                            if (isRealTime) {
-                                auditTime = AgentUtils.getCurrentTime();
-                            } else {
-                                auditTime = profile.getSinkDataTime();
-                            }
-                            AuditUtils.add(AuditUtils.AUDIT_ID_AGENT_READ_FAILED, inlongGroupId, inlongStreamId,
-                                    auditTime, 1, maxPackSize, auditVersion);
-                            AuditUtils.add(AuditUtils.AUDIT_ID_AGENT_READ_FAILED_REAL_TIME, inlongGroupId,
-                                    inlongStreamId, AgentUtils.getCurrentTime(), 1, maxPackSize, auditVersion);
+                            auditOverLenLine();
                         }
                         baos.reset();
                         overLen = false;
@@ -313,6 +316,133 @@ public class LogFileSource extends AbstractSource {
         return rePos;
     }
 
+    /**
+     * Read new lines by scanning the line delimiter over a large buffer, each line is copied from the
+     * buffer at most once. The lines and the returned position are the same as the byte by byte reading.
+     *
+     * @param channel The channel of the file to read
+     * @return The new position after the lines have been read
+     * @throws IOException if an I/O error occurs.
+     */
+    private long readLinesByBuffer(FileChannel channel, long pos, List<SourceData> lines, int maxLineCount,
+            int maxLineTotalLen) throws IOException {
+        if (bufferToScanLines == null) {
+            bufferToScanLines = new byte[SIZE_OF_BUFFER_TO_SCAN_LINES];
+        }
+        byte[] buffer = bufferToScanLines;
+        // the part of the line which does not fit in the buffer
+        ByteArrayOutputStream pending = null;
+        boolean overLen = false;
+        long rePos = pos; // position to re-read
+        long bufferPos = pos; // position of the first byte in buffer
+        int limit = 0;
+        int lineStart = 0;
+        int scanPos = 0;
+        int lineTotalLen = 0;
+        while (true) {
+            int lineEnd = indexOf(buffer, scanPos, limit, (byte) '\n');
+            if (lineEnd >= 0) {
+                byte[] body;
+                int lineLen = lineEnd - lineStart;
+                if ((pending == null || pending.size() == 0) && !overLen && lineLen <= maxPackSize
+                        && indexOf(buffer, lineStart, lineEnd, (byte) '\r') < 0) {
+                    body = Arrays.copyOfRange(buffer, lineStart, lineEnd);
+                } else {
+                    if (pending == null) {
+                        pending = new ByteArrayOutputStream();
+                    }
+                    overLen |= appendLineContent(pending, buffer, lineStart, lineEnd);
+                    body = pending.toByteArray();
+                    pending.reset();
+                }
+                linePosition++;
+                rePos = bufferPos + lineEnd + 1;
+                lines.add(new SourceData(body, getOffsetString(linePosition, rePos)));
+                lineTotalLen += body.length;
+                if (overLen) {
+                    LOGGER.warn("readLines over len finally string len {}", new String(body).length());
+                    auditOverLenLine();
+                    overLen = false;
+                }
+                lineStart = lineEnd + 1;
+                scanPos = lineStart;
+                if (lines.size() >= maxLineCount || lineTotalLen >= maxLineTotalLen) {
+                    break;
+                }
+                continue;
+            }
+            scanPos = limit;
+            if (limit == buffer.length) {
+                if (lineStart > 0) {
+                    // move the partial line to the head of buffer
+                    System.arraycopy(buffer, lineStart, buffer, 0, limit - lineStart);
+                    bufferPos += lineStart;
+                    limit -= lineStart;
+                    scanPos = limit;
+                    lineStart = 0;
+                } else {
+                    // the line is longer than buffer
+                    if (pending == null) {
+                        pending = new ByteArrayOutputStream();
+                    }
+                    overLen |= appendLineContent(pending, buffer, 0, limit);
+                    bufferPos += limit;
+                    limit = 0;
+                    scanPos = 0;
+                }
+            }
+            int num = channel.read(ByteBuffer.wrap(buffer, limit, buffer.length - limit), bufferPos + limit);
+            LOGGER.debug("read size {}", num);
+            if (num <= 0) {
+                break;
+            }
+            limit += num;
+        }
+        return rePos;
+    }
+
+    private static int indexOf(byte[] buffer, int from, int to, byte target) {
+        for (int i = from; i < to; i++) {
+            if (buffer[i] == target) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Append the line content without '\r' and limited to the max pack size
+     *
+     * @return true if some content is dropped for the max pack size
+     */
+    private boolean appendLineContent(ByteArrayOutputStream out, byte[] buffer, int from, int to) {
+        boolean overLen = false;
+        for (int i = from; i < to; i++) {
+            if (buffer[i] == '\r') {
+                continue;
+            }
+            if (out.size() < maxPackSize) {
+                out.write(buffer[i]);
+            } else {
+                overLen = true;
+            }
+        }
+        return overLen;
+    }
+
+    private void auditOverLenLine() {
+        long auditTime = 0;
+        if (isRealTime) {
+            auditTime = AgentUtils.getCurrentTime();
+        } else {
+            auditTime = profile.getSinkDataTime();
+        }
+        AuditUtils.add(AuditUtils.AUDIT_ID_AGENT_READ_FAILED, inlongGroupId, inlongStreamId,
+                auditTime, 1, maxPackSize, auditVersion);
+        AuditUtils.add(AuditUtils.AUDIT_ID_AGENT_READ_FAILED_REAL_TIME, inlongGroupId,
+                inlongStreamId, AgentUtils.getCurrentTime(), 1, maxPackSize, auditVersion);
+    }
+
     private String getOffsetString(Long lineOffset, Long byteOffset) {
         return lineOffset + OFFSET_SEP + byteOffset;
     }
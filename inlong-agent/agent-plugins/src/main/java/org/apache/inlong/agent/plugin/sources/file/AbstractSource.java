@@ -81,6 +81,7 @@ public abstract class AbstractSource implements Source {
     protected final Integer BATCH_READ_LINE_TOTAL_LEN = 1024 * 1024;
     protected final Integer CACHE_QUEUE_SIZE = 10 * BATCH_READ_LINE_COUNT;
     protected final Integer WAIT_TIMEOUT_MS = 10;
+    private final Integer PERMIT_WAIT_TIMEOUT_MS = 1000;
     private final Integer EMPTY_CHECK_COUNT_AT_LEAST = 5 * 60 * 100;
     private final Integer CORE_THREAD_PRINT_INTERVAL_MS = 1000;
     protected BlockingQueue<SourceData> queue;
@@ -171,7 +172,8 @@ public abstract class AbstractSource implements Source {
                 } else {
                     emptyCount = 0;
                 }
-                MemoryManager.getInstance().release(AGENT_GLOBAL_READER_SOURCE_PERMIT, BATCH_READ_LINE_TOTAL_LEN);
+                MemoryManager.getInstance().release(AGENT_GLOBAL_READER_SOURCE_PERMIT, instanceId,
+                        BATCH_READ_LINE_TOTAL_LEN);
                 AgentUtils.silenceSleepInMs(WAIT_TIMEOUT_MS);
                 continue;
             }
@@ -183,7 +185,8 @@ public abstract class AbstractSource implements Source {
                 }
                 putIntoQueue(lines.get(i));
             }
-            MemoryManager.getInstance().release(AGENT_GLOBAL_READER_SOURCE_PERMIT, BATCH_READ_LINE_TOTAL_LEN);
+            MemoryManager.getInstance().release(AGENT_GLOBAL_READER_SOURCE_PERMIT, instanceId,
+                    BATCH_READ_LINE_TOTAL_LEN);
             if (AgentUtils.getCurrentTime() - lastPrintTime > CORE_THREAD_PRINT_INTERVAL_MS) {
                 lastPrintTime = AgentUtils.getCurrentTime();
                 printCurrentState();
@@ -221,18 +224,27 @@ public abstract class AbstractSource implements Source {
     protected abstract List<SourceData> readFromSource();
 
     private boolean waitForPermit(String permitName, int permitLen) {
-        boolean suc = false;
-        while (!suc) {
-            suc = MemoryManager.getInstance().tryAcquire(permitName, permitLen);
-            if (!suc) {
-                MemoryManager.getInstance().printDetail(permitName, "source");
-                if (!isRunnable()) {
-                    return false;
+        if (MemoryManager.getInstance().tryAcquire(permitName, instanceId, permitLen)) {
+            return true;
+        }
+        long startTime = AgentUtils.getCurrentTime();
+        try {
+            boolean suc = false;
+            while (!suc) {
+                // block until the permit is released by the others, wake up periodically to check the running state
+                suc = MemoryManager.getInstance().acquire(permitName, instanceId, permitLen, PERMIT_WAIT_TIMEOUT_MS);
+                if (!suc) {
+                    MemoryManager.getInstance().printDetail(permitName, "source");
+                    if (!isRunnable()) {
+                        return false;
+                    }
                 }
-                AgentUtils.silenceSleepInMs(WAIT_TIMEOUT_MS);
             }
+            return true;
+        } finally {
+            sourceMetric.memoryWaitCount.incrementAndGet();
+            sourceMetric.memoryWaitTime.addAndGet(AgentUtils.getCurrentTime() - startTime);
         }
-        return true;
     }
 
     /**
@@ -248,11 +260,13 @@ public abstract class AbstractSource implements Source {
                 offerSuc = queue.offer(sourceData, WAIT_TIMEOUT_MS, TimeUnit.MILLISECONDS);
             }
             if (!offerSuc) {
-                MemoryManager.getInstance().release(AGENT_GLOBAL_READER_QUEUE_PERMIT, sourceData.getData().length);
+                MemoryManager.getInstance().release(AGENT_GLOBAL_READER_QUEUE_PERMIT, instanceId,
+                        sourceData.getData().length);
             }
             LOGGER.debug("Put in source queue {} {}", new String(sourceData.getData()), inlongGroupId);
         } catch (InterruptedException e) {
-            MemoryManager.getInstance().release(AGENT_GLOBAL_READER_QUEUE_PERMIT, sourceData.getData().length);
+            MemoryManager.getInstance().release(AGENT_GLOBAL_READER_QUEUE_PERMIT, instanceId,
+                    sourceData.getData().length);
             LOGGER.error("fetchData offer failed", e);
         }
     }
@@ -345,7 +359,8 @@ public abstract class AbstractSource implements Source {
             return null;
         }
         LOGGER.debug("Read from source queue {} {}", new String(sourceData.getData()), inlongGroupId);
-        MemoryManager.getInstance().release(AGENT_GLOBAL_READER_QUEUE_PERMIT, sourceData.getData().length);
+        MemoryManager.getInstance().release(AGENT_GLOBAL_READER_QUEUE_PERMIT, instanceId,
+                sourceData.getData().length);
         return sourceData;
     }
 
@@ -408,7 +423,8 @@ public abstract class AbstractSource implements Source {
                 LOGGER.warn("poll {} data get interrupted.", instanceId, e);
             }
             if (sourceData != null) {
-                MemoryManager.getInstance().release(AGENT_GLOBAL_READER_QUEUE_PERMIT, sourceData.getData().length);
+                MemoryManager.getInstance().release(AGENT_GLOBAL_READER_QUEUE_PERMIT, instanceId,
+                        sourceData.getData().length);
             }
         }
         queue.clear();
@@ -77,6 +77,11 @@ public class TestLogFileSource {
 
     private LogFileSource getSource(int taskId, long lineOffset, long byteOffset, String dataContentStyle,
             boolean isOffSetNew) {
+        return getSource(taskId, lineOffset, byteOffset, dataContentStyle, isOffSetNew, false);
+    }
+
+    private LogFileSource getSource(int taskId, long lineOffset, long byteOffset, String dataContentStyle,
+            boolean isOffSetNew, boolean bufferedLineRead) {
         try {
             String pattern;
             String fileName;
@@ -90,11 +95,13 @@ public class TestLogFileSource {
             InstanceProfile instanceProfile = taskProfile.createInstanceProfile("",
                     fileName, taskProfile.getCycleUnit(), "20230928", AgentUtils.getCurrentTime());
             instanceProfile.set(TaskConstants.INODE_INFO, FileDataUtils.getInodeInfo(instanceProfile.getInstanceId()));
+            instanceProfile.setBoolean(TaskConstants.FILE_BUFFERED_LINE_READ, bufferedLineRead);
             LogFileSource source = new LogFileSource();
             Whitebox.setInternalState(source, "BATCH_READ_LINE_COUNT", 1);
             Whitebox.setInternalState(source, "BATCH_READ_LINE_TOTAL_LEN", 10);
             Whitebox.setInternalState(source, "CORE_THREAD_PRINT_INTERVAL_MS", 0);
             Whitebox.setInternalState(source, "SIZE_OF_BUFFER_TO_READ_FILE", 2);
+            Whitebox.setInternalState(source, "SIZE_OF_BUFFER_TO_SCAN_LINES", 8);
             Whitebox.setInternalState(source, "EMPTY_CHECK_COUNT_AT_LEAST", 3);
             Whitebox.setInternalState(source, "WAIT_TIMEOUT_MS", 10);
             if (lineOffset > 0) {
@@ -129,12 +136,22 @@ public class TestLogFileSource {
         testReadWithOffset();
     }
 
+    @Test
+    public void testBufferedLineRead() {
+        testFullRead(5, true);
+        testReadWithOffset(6, true);
+    }
+
     private void testFullRead() {
+        testFullRead(1, false);
+    }
+
+    private void testFullRead(int taskId, boolean bufferedLineRead) {
         int srcLen = 0;
         for (int i = 0; i < check.length; i++) {
             srcLen += check[i].getBytes(StandardCharsets.UTF_8).length;
         }
-        LogFileSource source = getSource(1, 0, 0, "csv", false);
+        LogFileSource source = getSource(taskId, 0, 0, "csv", false, bufferedLineRead);
         Message msg = source.read();
         int readLen = 0;
         int cnt = 0;
@@ -170,7 +187,11 @@ public class TestLogFileSource {
     }
 
     private void testReadWithOffset() {
-        LogFileSource source = getSource(3, 1, 25, "csv", false);
+        testReadWithOffset(3, false);
+    }
+
+    private void testReadWithOffset(int taskId, boolean bufferedLineRead) {
+        LogFileSource source = getSource(taskId, 1, 25, "csv", false, bufferedLineRead);
         for (int i = 0; i < 2; i++) {
             Message msg = source.read();
             Assert.assertEquals(new String(msg.getBody()), check[i + 1]);
@@ -179,7 +200,7 @@ public class TestLogFileSource {
         Assert.assertTrue(msg == null);
         source.destroy();
 
-        source = getSource(4, 3, 69, "csv", false);
+        source = getSource(taskId + 1, 3, 69, "csv", false, bufferedLineRead);
         msg = source.read();
         Assert.assertTrue(msg == null);
         source.destroy();
@@ -27,10 +27,12 @@ import org.apache.inlong.audit.send.ProxyManager;
 import org.apache.inlong.audit.send.SenderManager;
 import org.apache.inlong.audit.util.AuditConfig;
 import org.apache.inlong.audit.util.AuditDimensions;
+import org.apache.inlong.audit.util.AuditHandle;
 import org.apache.inlong.audit.util.AuditManagerUtils;
 import org.apache.inlong.audit.util.AuditValues;
 import org.apache.inlong.audit.util.Config;
 import org.apache.inlong.audit.util.RequestIdUtils;
+import org.apache.inlong.audit.util.StatCell;
 import org.apache.inlong.audit.util.StatInfo;
 import org.apache.inlong.audit.utils.NamedThreadFactory;
 
@@ -40,6 +42,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -76,6 +79,9 @@ public class AuditReporterImpl implements Serializable {
             new ConcurrentHashMap<>();
     private final ConcurrentHashMap<Long, HashSet<String>> expiredKeyList = new ConcurrentHashMap<>();
     private final ConcurrentHashMap<Long, Long> flushTime = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<CellKey, StatCell> statCells = new ConcurrentHashMap<>();
+    // the cells removed from the stat cells in the last flush, drained once more for the racing adds
+    private final List<StatCell> retiredCells = new ArrayList<>();
     private final Config config = new Config();
     private final ScheduledExecutorService timerExecutor =
             Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("inlong-audit-flush"));
@@ -276,6 +282,44 @@ public class AuditReporterImpl implements Serializable {
         addByKey(isolateKey, keyJoiner.toString(), count, size, delayTime);
     }
 
+    /**
+     * Build the audit handle of the dimensions, the caller keeps it and adds by it in the hot path
+     */
+    public AuditHandle buildAuditHandle(int auditID, String auditTag, String inlongGroupID, String inlongStreamID,
+            long auditVersion) {
+        return new AuditHandle(auditID, auditTag, inlongGroupID, inlongStreamID, auditVersion);
+    }
+
+    /**
+     * Add audit data by the audit handle, no stat key is built
+     */
+    public void add(AuditHandle handle, long logTime, long count, long size, long delayTime) {
+        add(DEFAULT_ISOLATE_KEY, handle, logTime, count, size, delayTime);
+    }
+
+    public void add(long isolateKey, AuditHandle handle, long logTime, long count, long size, long delayTime) {
+        long period = logTime / PERIOD;
+        StatCell cell = handle.getLastCell();
+        if (cell == null || cell.getPeriod() != period
+                || cell.getIsolateKey() != isolateKey || cell.isRetired()) {
+            cell = getStatCell(isolateKey, period, handle);
+            handle.setLastCell(cell);
+        }
+        cell.add(count, size, delayTime);
+    }
+
+    private StatCell getStatCell(long isolateKey, long period, AuditHandle handle) {
+        CellKey cellKey = new CellKey(isolateKey, period, handle);
+        while (true) {
+            StatCell cell = statCells.computeIfAbsent(cellKey, k -> new StatCell(isolateKey, period, handle));
+            if (!cell.isRetired()) {
+                return cell;
+            }
+            // retired by the flush but not removed yet
+            statCells.remove(cellKey, cell);
+        }
+    }
+
     /**
      * When the caller needs to isolate resources, please call this method.
      * For example, in scenarios such as flink checkpoint
@@ -353,6 +397,7 @@ public class AuditReporterImpl implements Serializable {
             resetStat();
 
             summaryExpiredStatMap(isolateKey);
+            Set<Long> cellIsolateKeys = summaryStatCells(isolateKey);
 
             Iterator<Map.Entry<Long, ConcurrentHashMap<String, StatInfo>>> iterator =
                     this.preStatMap.entrySet().iterator();
@@ -368,6 +413,10 @@ public class AuditReporterImpl implements Serializable {
                 }
                 summaryPreStatMap(entry.getKey(), entry.getValue());
                 send(entry.getKey());
+                cellIsolateKeys.remove(entry.getKey());
+            }
+            for (Long cellIsolateKey : cellIsolateKeys) {
+                send(cellIsolateKey);
             }
 
             clearExpiredKey(isolateKey);
@@ -415,6 +464,55 @@ public class AuditReporterImpl implements Serializable {
         stat.delay.addAndGet(statInfo.delay.getAndSet(0));
     }
 
+    /**
+     * Summary the stat cells, the cell without data since the last flush is retired
+     *
+     * @return the isolate keys of the summarized cells
+     */
+    private Set<Long> summaryStatCells(long isolateKey) {
+        Set<Long> isolateKeys = new HashSet<>();
+        Iterator<StatCell> retiredIterator = retiredCells.iterator();
+        while (retiredIterator.hasNext()) {
+            StatCell cell = retiredIterator.next();
+            if (cell.getIsolateKey() > isolateKey) {
+                continue;
+            }
+            if (sumStatCell(cell)) {
+                isolateKeys.add(cell.getIsolateKey());
+            }
+            retiredIterator.remove();
+        }
+        for (Map.Entry<CellKey, StatCell> entry : statCells.entrySet()) {
+            StatCell cell = entry.getValue();
+            if (cell.getIsolateKey() > isolateKey) {
+                continue;
+            }
+            if (sumStatCell(cell)) {
+                isolateKeys.add(cell.getIsolateKey());
+                continue;
+            }
+            cell.retire();
+            statCells.remove(entry.getKey(), cell);
+            retiredCells.add(cell);
+        }
+        return isolateKeys;
+    }
+
+    private boolean sumStatCell(StatCell cell) {
+        StatInfo delta = cell.drain();
+        if (delta == null) {
+            return false;
+        }
+        String key = cell.getPeriod() + FIELD_SEPARATORS + cell.getHandle().getStatKeySuffix();
+        // merge directly, the delta of a cell may only carry size or delay
+        StatInfo stat = summaryStatMap.computeIfAbsent(cell.getIsolateKey(), k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(key, k -> new StatInfo(0L, 0L, 0L));
+        stat.count.addAndGet(delta.count.get());
+        stat.size.addAndGet(delta.size.get());
+        stat.delay.addAndGet(delta.delay.get());
+        return true;
+    }
+
     /**
      * Reset statistics
      */
@@ -687,4 +785,39 @@ public class AuditReporterImpl implements Serializable {
         ProxyManager.getInstance().shutdown();
         timerExecutor.shutdown();
     }
+
+    /**
+     * Key of the stat cell, the handle is compared by identity
+     */
+    private static class CellKey {
+
+        private final long isolateKey;
+        private final long period;
+        private final AuditHandle handle;
+
+        CellKey(long isolateKey, long period, AuditHandle handle) {
+            this.isolateKey = isolateKey;
+            this.period = period;
+            this.handle = handle;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CellKey)) {
+                return false;
+            }
+            CellKey other = (CellKey) o;
+            return isolateKey == other.isolateKey && period == other.period && handle == other.handle;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = Long.hashCode(isolateKey);
+            result = 31 * result + Long.hashCode(period);
+            return 31 * result + System.identityHashCode(handle);
+        }
+    }
 }
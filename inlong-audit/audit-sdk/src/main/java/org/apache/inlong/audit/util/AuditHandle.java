@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.audit.util;
+
+import java.util.StringJoiner;
+
+/**
+ * Audit handle, the audit dimensions except the log time, built once by the caller and reused
+ * in each add to avoid building the stat key per record.
+ */
+public class AuditHandle {
+
+    private static final String FIELD_SEPARATORS = ":";
+
+    private final int auditID;
+    private final String auditTag;
+    private final String inlongGroupID;
+    private final String inlongStreamID;
+    private final long auditVersion;
+    // the stat key without the log time: group:stream:auditId:tag:version
+    private final String statKeySuffix;
+    // the cell updated last, skips the cell lookup while the period and isolate key are unchanged
+    private volatile StatCell lastCell;
+
+    public AuditHandle(int auditID, String auditTag, String inlongGroupID, String inlongStreamID,
+            long auditVersion) {
+        this.auditID = auditID;
+        this.auditTag = auditTag;
+        this.inlongGroupID = inlongGroupID;
+        this.inlongStreamID = inlongStreamID;
+        this.auditVersion = auditVersion;
+        StringJoiner keyJoiner = new StringJoiner(FIELD_SEPARATORS);
+        keyJoiner.add(inlongGroupID);
+        keyJoiner.add(inlongStreamID);
+        keyJoiner.add(String.valueOf(auditID));
+        keyJoiner.add(auditTag);
+        keyJoiner.add(String.valueOf(auditVersion));
+        this.statKeySuffix = keyJoiner.toString();
+    }
+
+    public int getAuditID() {
+        return auditID;
+    }
+
+    public String getAuditTag() {
+        return auditTag;
+    }
+
+    public String getInlongGroupID() {
+        return inlongGroupID;
+    }
+
+    public String getInlongStreamID() {
+        return inlongStreamID;
+    }
+
+    public long getAuditVersion() {
+        return auditVersion;
+    }
+
+    public String getStatKeySuffix() {
+        return statKeySuffix;
+    }
+
+    public StatCell getLastCell() {
+        return lastCell;
+    }
+
+    public void setLastCell(StatCell lastCell) {
+        this.lastCell = lastCell;
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.audit.util;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Stat cell of one audit handle in one period and isolate key. The adds only touch the striped
+ * adders, the flush thread drains the increment since the last drain without resetting them.
+ */
+public class StatCell {
+
+    private final long isolateKey;
+    private final long period;
+    private final AuditHandle handle;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder size = new LongAdder();
+    private final LongAdder delay = new LongAdder();
+    // the sums reported by the last drain, only accessed by the flush thread
+    private long reportedCount = 0L;
+    private long reportedSize = 0L;
+    private long reportedDelay = 0L;
+    private volatile boolean retired = false;
+
+    public StatCell(long isolateKey, long period, AuditHandle handle) {
+        this.isolateKey = isolateKey;
+        this.period = period;
+        this.handle = handle;
+    }
+
+    public void add(long count, long size, long delayTime) {
+        this.count.add(count);
+        this.size.add(size);
+        this.delay.add(delayTime);
+    }
+
+    /**
+     * Drain the increment since the last drain
+     *
+     * @return the increment of count, size and delay, or null if none of them changed
+     */
+    public StatInfo drain() {
+        long curCount = count.sum();
+        long curSize = size.sum();
+        long curDelay = delay.sum();
+        if (curCount == reportedCount && curSize == reportedSize && curDelay == reportedDelay) {
+            return null;
+        }
+        StatInfo result = new StatInfo(curCount - reportedCount,
+                curSize - reportedSize, curDelay - reportedDelay);
+        reportedCount = curCount;
+        reportedSize = curSize;
+        reportedDelay = curDelay;
+        return result;
+    }
+
+    public long getIsolateKey() {
+        return isolateKey;
+    }
+
+    public long getPeriod() {
+        return period;
+    }
+
+    public AuditHandle getHandle() {
+        return handle;
+    }
+
+    public boolean isRetired() {
+        return retired;
+    }
+
+    public void retire() {
+        this.retired = true;
+    }
+}
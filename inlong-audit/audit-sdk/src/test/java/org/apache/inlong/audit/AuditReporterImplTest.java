@@ -17,11 +17,22 @@
 
 package org.apache.inlong.audit;
 
+import org.apache.inlong.audit.protocol.AuditApi;
+import org.apache.inlong.audit.send.SenderManager;
+import org.apache.inlong.audit.util.AuditConfig;
+import org.apache.inlong.audit.util.AuditHandle;
+
 import org.junit.Test;
 
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.apache.inlong.audit.AuditIdEnum.AGENT_INPUT;
 import static org.apache.inlong.audit.AuditIdEnum.SORT_HIVE_INPUT;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 public class AuditReporterImplTest {
 
@@ -45,4 +56,77 @@ public class AuditReporterImplTest {
         auditId = AuditOperator.getInstance().buildRetryAuditId(SORT_HIVE_INPUT, false);
         assertEquals(327687, auditId);
     }
+
+    @Test
+    public void testFlushByAuditHandle() throws Exception {
+        AuditReporterImpl reporter = new AuditReporterImpl();
+        reporter.setLocalIP("127.0.0.1");
+        RecordSenderManager sender = new RecordSenderManager();
+        Field managerField = AuditReporterImpl.class.getDeclaredField("manager");
+        managerField.setAccessible(true);
+        managerField.set(reporter, sender);
+
+        AuditHandle handle = reporter.buildAuditHandle(3, "tag", "group", "stream", 1L);
+        long logTime = 100 * 60000L;
+        reporter.add(1L, handle, logTime, 1, 10, 5);
+        reporter.add(1L, handle, logTime, 2, 20, 6);
+        reporter.flush(1L);
+        assertEquals(1, sender.bodies.size());
+        assertBody(sender.bodies.get(0), logTime, 3, 30, 11);
+
+        // the cell without data since the last flush is retired
+        sender.bodies.clear();
+        reporter.flush(2L);
+        assertEquals(0, sender.bodies.size());
+        assertTrue(handle.getLastCell().isRetired());
+
+        // the add after the retire recreates the cell of the same period
+        reporter.add(1L, handle, logTime, 4, 40, 7);
+        assertFalse(handle.getLastCell().isRetired());
+        reporter.flush(3L);
+        assertEquals(1, sender.bodies.size());
+        assertBody(sender.bodies.get(0), logTime, 4, 40, 7);
+
+        // the next period gets its own cell, the size only increment is reported too
+        sender.bodies.clear();
+        reporter.add(1L, handle, logTime + 60000L, 5, 50, 8);
+        reporter.add(1L, handle, logTime, 0, 60, 0);
+        reporter.flush(4L);
+        assertEquals(2, sender.bodies.size());
+        for (AuditApi.AuditMessageBody body : sender.bodies) {
+            if (body.getLogTs() == logTime) {
+                assertBody(body, logTime, 0, 60, 0);
+            } else {
+                assertBody(body, logTime + 60000L, 5, 50, 8);
+            }
+        }
+    }
+
+    private static void assertBody(AuditApi.AuditMessageBody body, long logTime, long count, long size,
+            long delay) {
+        assertEquals(logTime, body.getLogTs());
+        assertEquals("group", body.getInlongGroupId());
+        assertEquals("stream", body.getInlongStreamId());
+        assertEquals("3", body.getAuditId());
+        assertEquals("tag", body.getAuditTag());
+        assertEquals(1L, body.getAuditVersion());
+        assertEquals(count, body.getCount());
+        assertEquals(size, body.getSize());
+        assertEquals(delay, body.getDelay());
+    }
+
+    private static class RecordSenderManager extends SenderManager {
+
+        private final List<AuditApi.AuditMessageBody> bodies = new ArrayList<>();
+
+        RecordSenderManager() {
+            super(new AuditConfig());
+        }
+
+        @Override
+        public boolean send(AuditApi.BaseCommand baseCommand, AuditApi.AuditRequest auditRequest) {
+            bodies.addAll(auditRequest.getMsgBodyList());
+            return true;
+        }
+    }
 }
@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.audit.util;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class StatCellTest {
+
+    @Test
+    public void drainIncrement() {
+        AuditHandle handle = new AuditHandle(3, "tag", "group", "stream", 1L);
+        assertEquals("group:stream:3:tag:1", handle.getStatKeySuffix());
+        StatCell cell = new StatCell(0L, 100L, handle);
+        assertNull(cell.drain());
+        cell.add(1, 10, 5);
+        cell.add(2, 20, 6);
+        StatInfo delta = cell.drain();
+        assertEquals(3, delta.count.get());
+        assertEquals(30, delta.size.get());
+        assertEquals(11, delta.delay.get());
+        // only the increment since the last drain is reported
+        cell.add(4, 40, 7);
+        delta = cell.drain();
+        assertEquals(4, delta.count.get());
+        assertEquals(40, delta.size.get());
+        assertEquals(7, delta.delay.get());
+        assertNull(cell.drain());
+        // the size or delay only increment is reported too
+        cell.add(0, 50, 0);
+        delta = cell.drain();
+        assertEquals(0, delta.count.get());
+        assertEquals(50, delta.size.get());
+        assertEquals(0, delta.delay.get());
+        cell.add(0, 0, 8);
+        assertEquals(8, cell.drain().delay.get());
+        assertNull(cell.drain());
+    }
+}
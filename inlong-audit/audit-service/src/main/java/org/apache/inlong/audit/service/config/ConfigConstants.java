@@ -113,6 +113,28 @@ public class ConfigConstants {
     public static final String KEY_ENABLE_STAT_AUDIT_DAY = "enable.stat.audit.day";
     public static final boolean DEFAULT_ENABLE_STAT_AUDIT_DAY = true;
 
+    public static final String KEY_ENABLE_WINDOW_AGGREGATE = "enable.window.aggregate";
+    public static final boolean DEFAULT_ENABLE_WINDOW_AGGREGATE = false;
+    public static final String KEY_WINDOW_RECONCILE_INTERVAL = "window.reconcile.interval.minute";
+    public static final int DEFAULT_WINDOW_RECONCILE_INTERVAL = 60;
+
+    // Window consume config, every node subscribes the audit topic with its own subscription
+    public static final String KEY_WINDOW_MQ_TYPE = "window.mq.type";
+    public static final String DEFAULT_WINDOW_MQ_TYPE = "pulsar";
+    public static final String KEY_PULSAR_SERVER_URL = "audit.pulsar.server.url";
+    public static final String KEY_PULSAR_TOPIC = "audit.pulsar.topic";
+    public static final String KEY_PULSAR_TOKEN = "audit.pulsar.token";
+    public static final String KEY_PULSAR_CONSUMER_SUB_NAME = "audit.pulsar.consumer.sub.name";
+    public static final String DEFAULT_PULSAR_CONSUMER_SUB_NAME = "audit-service";
+    public static final String KEY_PULSAR_CONSUMER_RECEIVE_QUEUE_SIZE = "audit.pulsar.consumer.receive.queue.size";
+    public static final int DEFAULT_PULSAR_CONSUMER_RECEIVE_QUEUE_SIZE = 1000;
+    public static final String KEY_KAFKA_SERVER_URL = "audit.kafka.server.url";
+    public static final String KEY_KAFKA_TOPIC = "audit.kafka.topic";
+    public static final String KEY_KAFKA_GROUP_ID = "audit.kafka.group.id";
+    public static final String DEFAULT_KAFKA_GROUP_ID = "audit-service";
+    public static final String KEY_KAFKA_FETCH_WAIT_MS = "audit.kafka.fetch.wait.ms";
+    public static final int DEFAULT_KAFKA_FETCH_WAIT_MS = 100;
+
     public static final String KEY_AUDIT_SERVICE_PROMETHEUS_PORT = "audit.service.prometheus.port";
     public static final int DEFAULT_AUDIT_SERVICE_PROMETHEUS_PORT = 10084;
     public static final String KEY_AUDIT_SERVICE_METRIC_CLASSNAME = "audit.service.metric.classname";
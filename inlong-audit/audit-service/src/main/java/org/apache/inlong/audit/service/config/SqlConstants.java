@@ -141,6 +141,16 @@ public class SqlConstants {
                     "AND audit_id = ? \n" +
                     "GROUP BY inlong_group_id, inlong_stream_id, audit_id, audit_tag";
 
+    public static final String KEY_MYSQL_SOURCE_QUERY_TEMP_SLOT_SQL = "mysql.query.temp.slot.sql";
+    public static final String DEFAULT_MYSQL_SOURCE_QUERY_TEMP_SLOT_SQL =
+            "SELECT log_ts, inlong_group_id, inlong_stream_id, audit_id, audit_tag\n" +
+                    ", sum(count) AS cnt, sum(size) AS size\n" +
+                    ", sum(delay) AS delay\n" +
+                    "FROM audit_data_temp\n" +
+                    "WHERE log_ts >= ? AND log_ts < ? \n" +
+                    "AND audit_id = ? \n" +
+                    "GROUP BY log_ts, inlong_group_id, inlong_stream_id, audit_id, audit_tag";
+
     public static final String KEY_MYSQL_SOURCE_QUERY_DAY_SQL = "mysql.query.day.sql";
     public static final String DEFAULT_MYSQL_SOURCE_QUERY_DAY_SQL =
             "select log_ts,inlong_group_id,inlong_stream_id,audit_id,audit_tag,count,size,delay " +
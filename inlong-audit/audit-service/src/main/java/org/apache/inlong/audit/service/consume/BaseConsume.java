@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.audit.service.consume;
+
+import org.apache.inlong.audit.protocol.AuditData;
+import org.apache.inlong.audit.service.config.Configuration;
+import org.apache.inlong.audit.service.source.WindowAggregator;
+import org.apache.inlong.common.util.NetworkUtils;
+
+import com.google.gson.Gson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Base consume of the audit records, the consumed records are added to the window aggregator.
+ * Every node keeps the windows of all records, so the subscription is suffixed with the local ip.
+ */
+public abstract class BaseConsume {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BaseConsume.class);
+
+    private final Gson gson = new Gson();
+    protected final Configuration configuration = Configuration.getInstance();
+    protected final WindowAggregator aggregator;
+
+    public BaseConsume(WindowAggregator aggregator) {
+        this.aggregator = aggregator;
+    }
+
+    public abstract void start();
+
+    public abstract void stop();
+
+    /**
+     * Handle the message, a bad record is only logged, the windows are reconciled with the database
+     *
+     * @param body message body
+     */
+    protected void handleMessage(String body) {
+        try {
+            aggregator.add(gson.fromJson(body, AuditData.class));
+        } catch (Exception exception) {
+            LOGGER.error("Handle audit message has exception! body:{}", body, exception);
+        }
+    }
+
+    /**
+     * Get the subscription of this node
+     *
+     * @param name the configured subscription name
+     * @return the subscription name suffixed with the local ip
+     */
+    protected String getNodeSubscription(String name) {
+        return name + "-" + NetworkUtils.getLocalIp();
+    }
+}
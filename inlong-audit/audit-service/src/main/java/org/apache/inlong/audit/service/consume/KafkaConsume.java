@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.audit.service.consume;
+
+import org.apache.inlong.audit.service.source.WindowAggregator;
+
+import com.google.common.base.Preconditions;
+import org.apache.commons.lang.StringUtils;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.errors.WakeupException;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Properties;
+
+import static org.apache.inlong.audit.service.config.ConfigConstants.DEFAULT_KAFKA_FETCH_WAIT_MS;
+import static org.apache.inlong.audit.service.config.ConfigConstants.DEFAULT_KAFKA_GROUP_ID;
+import static org.apache.inlong.audit.service.config.ConfigConstants.KEY_KAFKA_FETCH_WAIT_MS;
+import static org.apache.inlong.audit.service.config.ConfigConstants.KEY_KAFKA_GROUP_ID;
+import static org.apache.inlong.audit.service.config.ConfigConstants.KEY_KAFKA_SERVER_URL;
+import static org.apache.inlong.audit.service.config.ConfigConstants.KEY_KAFKA_TOPIC;
+
+/**
+ * Kafka consume of the audit records
+ */
+public class KafkaConsume extends BaseConsume {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(KafkaConsume.class);
+    private KafkaConsumer<String, byte[]> consumer;
+    private volatile boolean running = true;
+
+    public KafkaConsume(WindowAggregator aggregator) {
+        super(aggregator);
+    }
+
+    @Override
+    public void start() {
+        String serverUrl = configuration.get(KEY_KAFKA_SERVER_URL);
+        String topic = configuration.get(KEY_KAFKA_TOPIC);
+        Preconditions.checkArgument(StringUtils.isNotEmpty(serverUrl), "no kafka server url specified");
+        Preconditions.checkArgument(StringUtils.isNotEmpty(topic), "no kafka topic specified");
+        String groupId = getNodeSubscription(configuration.get(KEY_KAFKA_GROUP_ID, DEFAULT_KAFKA_GROUP_ID));
+        LOGGER.info("Start kafka consume, server url:{}, topic:{}, group id:{}", serverUrl, topic, groupId);
+
+        Properties properties = new Properties();
+        properties.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, serverUrl);
+        properties.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
+        properties.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "true");
+        properties.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+        properties.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class.getName());
+        properties.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class.getName());
+        consumer = new KafkaConsumer<>(properties);
+        consumer.subscribe(Collections.singleton(topic));
+
+        long fetchWaitMs = configuration.get(KEY_KAFKA_FETCH_WAIT_MS, DEFAULT_KAFKA_FETCH_WAIT_MS);
+        Thread fetcher = new Thread(() -> fetch(fetchWaitMs), "KafkaConsume_Fetcher_Thread");
+        fetcher.setDaemon(true);
+        fetcher.start();
+    }
+
+    private void fetch(long fetchWaitMs) {
+        try {
+            while (running) {
+                try {
+                    for (ConsumerRecord<String, byte[]> record : consumer.poll(Duration.ofMillis(fetchWaitMs))) {
+                        handleMessage(new String(record.value(), StandardCharsets.UTF_8));
+                    }
+                } catch (WakeupException exception) {
+                    LOGGER.info("Kafka consume is woken up to stop");
+                } catch (Exception exception) {
+                    LOGGER.error("Kafka consume has exception!", exception);
+                }
+            }
+        } finally {
+            consumer.close();
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (consumer != null) {
+            consumer.wakeup();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.audit.service.consume;
+
+import org.apache.inlong.audit.service.source.WindowAggregator;
+
+import com.google.common.base.Preconditions;
+import org.apache.commons.lang.StringUtils;
+import org.apache.pulsar.client.api.AuthenticationFactory;
+import org.apache.pulsar.client.api.ClientBuilder;
+import org.apache.pulsar.client.api.Consumer;
+import org.apache.pulsar.client.api.PulsarClient;
+import org.apache.pulsar.client.api.PulsarClientException;
+import org.apache.pulsar.client.api.SubscriptionType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.apache.inlong.audit.service.config.ConfigConstants.DEFAULT_PULSAR_CONSUMER_RECEIVE_QUEUE_SIZE;
+import static org.apache.inlong.audit.service.config.ConfigConstants.DEFAULT_PULSAR_CONSUMER_SUB_NAME;
+import static org.apache.inlong.audit.service.config.ConfigConstants.KEY_PULSAR_CONSUMER_RECEIVE_QUEUE_SIZE;
+import static org.apache.inlong.audit.service.config.ConfigConstants.KEY_PULSAR_CONSUMER_SUB_NAME;
+import static org.apache.inlong.audit.service.config.ConfigConstants.KEY_PULSAR_SERVER_URL;
+import static org.apache.inlong.audit.service.config.ConfigConstants.KEY_PULSAR_TOKEN;
+import static org.apache.inlong.audit.service.config.ConfigConstants.KEY_PULSAR_TOPIC;
+
+/**
+ * Pulsar consume of the audit records
+ */
+public class PulsarConsume extends BaseConsume {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PulsarConsume.class);
+    private PulsarClient pulsarClient;
+    private Consumer<byte[]> consumer;
+
+    public PulsarConsume(WindowAggregator aggregator) {
+        super(aggregator);
+    }
+
+    @Override
+    public void start() {
+        String serverUrl = configuration.get(KEY_PULSAR_SERVER_URL);
+        String topic = configuration.get(KEY_PULSAR_TOPIC);
+        Preconditions.checkArgument(StringUtils.isNotEmpty(serverUrl), "no pulsar server url specified");
+        Preconditions.checkArgument(StringUtils.isNotEmpty(topic), "no pulsar topic specified");
+        String subName = getNodeSubscription(configuration.get(KEY_PULSAR_CONSUMER_SUB_NAME,
+                DEFAULT_PULSAR_CONSUMER_SUB_NAME));
+        LOGGER.info("Start pulsar consume, server url:{}, topic:{}, subscription:{}", serverUrl, topic, subName);
+        try {
+            ClientBuilder builder = PulsarClient.builder().serviceUrl(serverUrl);
+            String token = configuration.get(KEY_PULSAR_TOKEN);
+            if (StringUtils.isNotEmpty(token)) {
+                builder.authentication(AuthenticationFactory.token(token));
+            }
+            pulsarClient = builder.build();
+            consumer = pulsarClient.newConsumer()
+                    .topic(topic)
+                    .subscriptionName(subName)
+                    .subscriptionType(SubscriptionType.Exclusive)
+                    .receiverQueueSize(configuration.get(KEY_PULSAR_CONSUMER_RECEIVE_QUEUE_SIZE,
+                            DEFAULT_PULSAR_CONSUMER_RECEIVE_QUEUE_SIZE))
+                    .messageListener((consumer, msg) -> {
+                        handleMessage(new String(msg.getData(), StandardCharsets.UTF_8));
+                        consumer.acknowledgeAsync(msg);
+                    })
+                    .subscribe();
+        } catch (PulsarClientException exception) {
+            LOGGER.error("Start pulsar consume has exception! topic:{}, subscription:{}", topic, subName, exception);
+        }
+    }
+
+    @Override
+    public void stop() {
+        try {
+            if (consumer != null) {
+                consumer.close();
+            }
+            if (pulsarClient != null) {
+                pulsarClient.close();
+            }
+        } catch (PulsarClientException exception) {
+            LOGGER.error("Stop pulsar consume has exception!", exception);
+        }
+    }
+}
@@ -22,6 +22,9 @@ import org.apache.inlong.audit.service.cache.HourCache;
 import org.apache.inlong.audit.service.cache.TenMinutesCache;
 import org.apache.inlong.audit.service.channel.DataQueue;
 import org.apache.inlong.audit.service.config.Configuration;
+import org.apache.inlong.audit.service.consume.BaseConsume;
+import org.apache.inlong.audit.service.consume.KafkaConsume;
+import org.apache.inlong.audit.service.consume.PulsarConsume;
 import org.apache.inlong.audit.service.entities.AuditCycle;
 import org.apache.inlong.audit.service.entities.JdbcConfig;
 import org.apache.inlong.audit.service.entities.SinkConfig;
@@ -31,31 +34,40 @@ import org.apache.inlong.audit.service.sink.AuditSink;
 import org.apache.inlong.audit.service.sink.CacheSink;
 import org.apache.inlong.audit.service.sink.JdbcSink;
 import org.apache.inlong.audit.service.source.JdbcSource;
+import org.apache.inlong.audit.service.source.WindowJdbcSource;
 import org.apache.inlong.audit.service.utils.JdbcUtils;
 
 import com.github.benmanes.caffeine.cache.Cache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.EnumMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 
 import static org.apache.inlong.audit.service.config.ConfigConstants.DEFAULT_DATA_QUEUE_SIZE;
 import static org.apache.inlong.audit.service.config.ConfigConstants.DEFAULT_ENABLE_STAT_AUDIT_DAY;
+import static org.apache.inlong.audit.service.config.ConfigConstants.DEFAULT_ENABLE_WINDOW_AGGREGATE;
 import static org.apache.inlong.audit.service.config.ConfigConstants.DEFAULT_SELECTOR_SERVICE_ID;
 import static org.apache.inlong.audit.service.config.ConfigConstants.DEFAULT_SUMMARY_DAILY_STAT_BACK_TIMES;
 import static org.apache.inlong.audit.service.config.ConfigConstants.DEFAULT_SUMMARY_REALTIME_STAT_BACK_TIMES;
+import static org.apache.inlong.audit.service.config.ConfigConstants.DEFAULT_WINDOW_MQ_TYPE;
 import static org.apache.inlong.audit.service.config.ConfigConstants.KEY_DATA_QUEUE_SIZE;
 import static org.apache.inlong.audit.service.config.ConfigConstants.KEY_ENABLE_STAT_AUDIT_DAY;
+import static org.apache.inlong.audit.service.config.ConfigConstants.KEY_ENABLE_WINDOW_AGGREGATE;
 import static org.apache.inlong.audit.service.config.ConfigConstants.KEY_SELECTOR_SERVICE_ID;
 import static org.apache.inlong.audit.service.config.ConfigConstants.KEY_SUMMARY_DAILY_STAT_BACK_TIMES;
 import static org.apache.inlong.audit.service.config.ConfigConstants.KEY_SUMMARY_REALTIME_STAT_BACK_TIMES;
+import static org.apache.inlong.audit.service.config.ConfigConstants.KEY_WINDOW_MQ_TYPE;
 import static org.apache.inlong.audit.service.config.SqlConstants.DEFAULT_MYSQL_SINK_INSERT_DAY_SQL;
 import static org.apache.inlong.audit.service.config.SqlConstants.DEFAULT_MYSQL_SINK_INSERT_TEMP_SQL;
+import static org.apache.inlong.audit.service.config.SqlConstants.DEFAULT_MYSQL_SOURCE_QUERY_TEMP_SLOT_SQL;
 import static org.apache.inlong.audit.service.config.SqlConstants.DEFAULT_MYSQL_SOURCE_QUERY_TEMP_SQL;
 import static org.apache.inlong.audit.service.config.SqlConstants.DEFAULT_SOURCE_STAT_SQL;
 import static org.apache.inlong.audit.service.config.SqlConstants.KEY_MYSQL_SINK_INSERT_DAY_SQL;
 import static org.apache.inlong.audit.service.config.SqlConstants.KEY_MYSQL_SINK_INSERT_TEMP_SQL;
+import static org.apache.inlong.audit.service.config.SqlConstants.KEY_MYSQL_SOURCE_QUERY_TEMP_SLOT_SQL;
 import static org.apache.inlong.audit.service.config.SqlConstants.KEY_MYSQL_SOURCE_QUERY_TEMP_SQL;
 import static org.apache.inlong.audit.service.config.SqlConstants.KEY_SOURCE_STAT_SQL;
 
@@ -74,6 +86,8 @@ public class EtlService {
 
     private final List<JdbcSource> dataFlowSources = new LinkedList<>();
     private final List<AuditSink> dataFlowSinks = new LinkedList<>();
+    private WindowJdbcSource windowSource;
+    private BaseConsume windowConsume;
 
     public EtlService() {
         configuration = Configuration.getInstance();
@@ -83,6 +97,10 @@ public class EtlService {
     }
 
     public void start() {
+        if (configuration.get(KEY_ENABLE_WINDOW_AGGREGATE, DEFAULT_ENABLE_WINDOW_AGGREGATE)) {
+            startWindowFlow();
+            return;
+        }
         int statBackTimes = configuration.get(KEY_SUMMARY_REALTIME_STAT_BACK_TIMES,
                 DEFAULT_SUMMARY_REALTIME_STAT_BACK_TIMES);
 
@@ -114,8 +132,71 @@ public class EtlService {
         dataFlowSinks.add(sink);
     }
 
+    /**
+     * Start the window flow, the audit records consumed from the MQ are aggregated to the windows of
+     * all cycles in memory, instead of one jdbc source scanning the temp table for each cycle.
+     */
+    private void startWindowFlow() {
+        Map<AuditCycle, DataQueue> dataQueues = new EnumMap<>(AuditCycle.class);
+        dataQueues.put(AuditCycle.MINUTE_10, startCacheSink(TenMinutesCache.getInstance().getCache()));
+        dataQueues.put(AuditCycle.MINUTE_30, startCacheSink(HalfHourCache.getInstance().getCache()));
+        dataQueues.put(AuditCycle.HOUR, startCacheSink(HourCache.getInstance().getCache()));
+
+        int dailyBackTimes = 0;
+        if (configuration.get(KEY_ENABLE_STAT_AUDIT_DAY, DEFAULT_ENABLE_STAT_AUDIT_DAY)) {
+            dailyBackTimes = configuration.get(KEY_SUMMARY_DAILY_STAT_BACK_TIMES,
+                    DEFAULT_SUMMARY_DAILY_STAT_BACK_TIMES);
+            DataQueue dataQueue = new DataQueue(queueSize);
+            SinkConfig sinkConfig = buildMysqlSinkConfig(configuration.get(KEY_MYSQL_SINK_INSERT_DAY_SQL,
+                    DEFAULT_MYSQL_SINK_INSERT_DAY_SQL));
+            AuditSink sink = new JdbcSink(dataQueue, sinkConfig);
+            sink.start();
+            dataFlowSinks.add(sink);
+            dataQueues.put(AuditCycle.DAY, dataQueue);
+        }
+
+        JdbcConfig jdbcConfig = JdbcUtils.buildMysqlConfig();
+        SourceConfig sourceConfig = new SourceConfig(AuditCycle.MINUTE_5,
+                configuration.get(KEY_MYSQL_SOURCE_QUERY_TEMP_SLOT_SQL,
+                        DEFAULT_MYSQL_SOURCE_QUERY_TEMP_SLOT_SQL),
+                configuration.get(KEY_SUMMARY_REALTIME_STAT_BACK_TIMES,
+                        DEFAULT_SUMMARY_REALTIME_STAT_BACK_TIMES),
+                jdbcConfig.getDriverClass(),
+                jdbcConfig.getJdbcUrl(),
+                jdbcConfig.getUserName(),
+                jdbcConfig.getPassword());
+        windowSource = new WindowJdbcSource(dataQueues, sourceConfig, dailyBackTimes);
+        windowSource.start();
+
+        String mqType = configuration.get(KEY_WINDOW_MQ_TYPE, DEFAULT_WINDOW_MQ_TYPE).trim();
+        if ("kafka".equalsIgnoreCase(mqType)) {
+            windowConsume = new KafkaConsume(windowSource.getAggregator());
+        } else {
+            windowConsume = new PulsarConsume(windowSource.getAggregator());
+        }
+        windowConsume.start();
+    }
+
+    private DataQueue startCacheSink(Cache<String, StatData> cache) {
+        DataQueue dataQueue = new DataQueue(queueSize);
+        AuditSink sink = new CacheSink(dataQueue, cache);
+        sink.start();
+        dataFlowSinks.add(sink);
+        return dataQueue;
+    }
+
+    /**
+     * Aggregate the audit source to the temp table, it runs on the leader node only. In the window
+     * flow the consumed slots are written to the temp table, the audit source is not scanned.
+     */
     public void auditSourceToMysql() {
         DataQueue dataQueue = new DataQueue(queueSize);
+        if (windowSource != null) {
+            startTempSink(dataQueue);
+            windowSource.enableSlotSink(dataQueue);
+            LOGGER.info("Window slots to mysql temp table");
+            return;
+        }
         List<JdbcConfig> sourceList = ConfigService.getInstance().getAuditSourceByServiceId(serviceId);
         for (JdbcConfig jdbcConfig : sourceList) {
             JdbcSource jdbcSource = new JdbcSource(dataQueue, buildAuditJdbcSourceConfig(jdbcConfig));
@@ -124,6 +205,10 @@ public class EtlService {
             LOGGER.info("Audit source to mysql jdbc config:{}", jdbcConfig);
         }
 
+        startTempSink(dataQueue);
+    }
+
+    private void startTempSink(DataQueue dataQueue) {
         SinkConfig sinkConfig = buildMysqlSinkConfig(configuration.get(KEY_MYSQL_SINK_INSERT_TEMP_SQL,
                 DEFAULT_MYSQL_SINK_INSERT_TEMP_SQL));
         JdbcSink sink = new JdbcSink(dataQueue, sinkConfig);
@@ -192,6 +277,12 @@ public class EtlService {
         for (JdbcSource source : dataFlowSources) {
             source.destroy();
         }
+        if (windowConsume != null) {
+            windowConsume.stop();
+        }
+        if (windowSource != null) {
+            windowSource.destroy();
+        }
         for (AuditSink sink : dataFlowSinks) {
             sink.destroy();
         }
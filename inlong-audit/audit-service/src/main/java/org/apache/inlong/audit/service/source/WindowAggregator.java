@@ -0,0 +1,328 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.audit.service.source;
+
+import org.apache.inlong.audit.protocol.AuditData;
+import org.apache.inlong.audit.service.entities.AuditCycle;
+import org.apache.inlong.audit.service.entities.StatData;
+import org.apache.inlong.audit.service.utils.CacheUtils;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang.StringUtils;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static org.apache.inlong.audit.consts.ConfigConstants.DEFAULT_AUDIT_TAG;
+import static org.apache.inlong.audit.service.config.ConfigConstants.DATE_FORMAT;
+
+/**
+ * Window aggregator, keeps the 5 minutes slots of the audit data in memory and rolls them up
+ * to the windows of the target cycles. The slots are added by the audit records consumed from
+ * the MQ and refreshed from the database for the reconciliation, a slot change only applies its
+ * difference to the windows containing it, and only the changed windows are drained to the sinks.
+ */
+public class WindowAggregator {
+
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern(DATE_FORMAT);
+    private static final int COUNT = 0;
+    private static final int SIZE = 1;
+    private static final int DELAY = 2;
+    private static final int VERSION = 3;
+
+    private final List<AuditCycle> cycles;
+    // audit id -> slot start -> dimension -> count, size, delay
+    private final Map<String, TreeMap<LocalDateTime, Map<Dimension, long[]>>> slots = new HashMap<>();
+    private final Map<AuditCycle, Map<WindowKey, long[]>> windows = new EnumMap<>(AuditCycle.class);
+    private final Map<AuditCycle, Set<WindowKey>> changedWindows = new EnumMap<>(AuditCycle.class);
+    // log time and dimension -> count, size, delay and version of the max audit version added
+    private final Map<WindowKey, long[]> versions = new HashMap<>();
+    private final Set<WindowKey> changedSlots = new LinkedHashSet<>();
+
+    public WindowAggregator(List<AuditCycle> cycles) {
+        this.cycles = new ArrayList<>(cycles);
+        for (AuditCycle cycle : cycles) {
+            windows.put(cycle, new HashMap<>());
+            changedWindows.put(cycle, new LinkedHashSet<>());
+        }
+    }
+
+    /**
+     * Refresh the slots of the audit id in the time range, the slot in the range but absent from
+     * the data is removed.
+     *
+     * @param auditId audit id
+     * @param startTime start of the range, inclusive
+     * @param endTime end of the range, exclusive
+     * @param dataList the slot data in the range, the log ts is the start of the slot
+     */
+    public synchronized void refresh(String auditId, LocalDateTime startTime, LocalDateTime endTime,
+            List<StatData> dataList) {
+        Map<LocalDateTime, Map<Dimension, long[]>> newSlots = new HashMap<>();
+        for (StatData data : dataList) {
+            LocalDateTime slotTime = LocalDateTime.parse(data.getLogTs(), FORMATTER);
+            Dimension dimension = new Dimension(data.getInlongGroupId(), data.getInlongStreamId(),
+                    data.getAuditId(), data.getAuditTag());
+            long[] values = newSlots.computeIfAbsent(slotTime, k -> new HashMap<>())
+                    .computeIfAbsent(dimension, k -> new long[3]);
+            values[COUNT] += data.getCount();
+            values[SIZE] += data.getSize();
+            values[DELAY] += data.getDelay();
+        }
+        TreeMap<LocalDateTime, Map<Dimension, long[]>> auditSlots =
+                slots.computeIfAbsent(auditId, k -> new TreeMap<>());
+        NavigableMap<LocalDateTime, Map<Dimension, long[]>> rangeSlots =
+                auditSlots.subMap(startTime, true, endTime, false);
+        Iterator<Map.Entry<LocalDateTime, Map<Dimension, long[]>>> iterator = rangeSlots.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<LocalDateTime, Map<Dimension, long[]>> entry = iterator.next();
+            Map<Dimension, long[]> newValues = newSlots.getOrDefault(entry.getKey(), new HashMap<>());
+            Iterator<Map.Entry<Dimension, long[]>> dimIterator = entry.getValue().entrySet().iterator();
+            while (dimIterator.hasNext()) {
+                Map.Entry<Dimension, long[]> dimEntry = dimIterator.next();
+                if (!newValues.containsKey(dimEntry.getKey())) {
+                    long[] oldValues = dimEntry.getValue();
+                    applyDelta(entry.getKey(), dimEntry.getKey(),
+                            -oldValues[COUNT], -oldValues[SIZE], -oldValues[DELAY]);
+                    dimIterator.remove();
+                }
+            }
+            if (entry.getValue().isEmpty()) {
+                iterator.remove();
+            }
+        }
+        for (Map.Entry<LocalDateTime, Map<Dimension, long[]>> entry : newSlots.entrySet()) {
+            Map<Dimension, long[]> slot = auditSlots.computeIfAbsent(entry.getKey(), k -> new HashMap<>());
+            for (Map.Entry<Dimension, long[]> dimEntry : entry.getValue().entrySet()) {
+                long[] newValues = dimEntry.getValue();
+                long[] oldValues = slot.put(dimEntry.getKey(), newValues);
+                if (oldValues == null) {
+                    oldValues = new long[3];
+                }
+                if (oldValues[COUNT] != newValues[COUNT] || oldValues[SIZE] != newValues[SIZE]
+                        || oldValues[DELAY] != newValues[DELAY]) {
+                    applyDelta(entry.getKey(), dimEntry.getKey(), newValues[COUNT] - oldValues[COUNT],
+                            newValues[SIZE] - oldValues[SIZE], newValues[DELAY] - oldValues[DELAY]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Add the audit record consumed from the MQ. Like the audit source sql, only the max audit
+     * version of the log time and dimension is counted, a higher version replaces the lower one.
+     *
+     * @param auditData audit record
+     */
+    public synchronized void add(AuditData auditData) {
+        LocalDateTime logTime = LocalDateTime.ofInstant(Instant.ofEpochMilli(auditData.getLogTs()),
+                ZoneId.systemDefault());
+        String auditTag = StringUtils.isBlank(auditData.getAuditTag()) ? DEFAULT_AUDIT_TAG : auditData.getAuditTag();
+        Dimension dimension = new Dimension(auditData.getInlongGroupId(), auditData.getInlongStreamId(),
+                auditData.getAuditId(), auditTag);
+        long count = auditData.getCount();
+        long size = auditData.getSize();
+        long delay = auditData.getDelay();
+        WindowKey versionKey = new WindowKey(logTime, dimension);
+        long[] version = versions.get(versionKey);
+        if (version == null || auditData.getAuditVersion() > version[VERSION]) {
+            versions.put(versionKey, new long[]{count, size, delay, auditData.getAuditVersion()});
+            if (version != null) {
+                count -= version[COUNT];
+                size -= version[SIZE];
+                delay -= version[DELAY];
+            }
+        } else if (auditData.getAuditVersion() == version[VERSION]) {
+            version[COUNT] += count;
+            version[SIZE] += size;
+            version[DELAY] += delay;
+        } else {
+            return;
+        }
+
+        LocalDateTime slotTime = getWindowStart(logTime, AuditCycle.MINUTE_5);
+        long[] values = slots.computeIfAbsent(dimension.getAuditId(), k -> new TreeMap<>())
+                .computeIfAbsent(slotTime, k -> new HashMap<>())
+                .computeIfAbsent(dimension, k -> new long[3]);
+        values[COUNT] += count;
+        values[SIZE] += size;
+        values[DELAY] += delay;
+        applyDelta(slotTime, dimension, count, size, delay);
+        changedSlots.add(new WindowKey(slotTime, dimension));
+    }
+
+    /**
+     * Drain the 5 minutes slots changed by the added records since the last drain
+     *
+     * @return the changed slots, the delay is the sum of the slot like the temp table
+     */
+    public synchronized List<StatData> drainChangedSlots() {
+        List<StatData> result = new ArrayList<>(changedSlots.size());
+        for (WindowKey slotKey : changedSlots) {
+            long[] values = null;
+            TreeMap<LocalDateTime, Map<Dimension, long[]>> auditSlots = slots.get(slotKey.getDimension().getAuditId());
+            if (auditSlots != null && auditSlots.containsKey(slotKey.getStartTime())) {
+                values = auditSlots.get(slotKey.getStartTime()).get(slotKey.getDimension());
+            }
+            if (values == null) {
+                values = new long[3];
+            }
+            result.add(buildStatData(slotKey, values, values[DELAY]));
+        }
+        changedSlots.clear();
+        return result;
+    }
+
+    /**
+     * Drain the windows changed since the last drain of the cycle
+     *
+     * @param cycle audit cycle
+     * @return the changed windows, the removed window is drained with zero values once
+     */
+    public synchronized List<StatData> drainChanged(AuditCycle cycle) {
+        Set<WindowKey> changed = changedWindows.get(cycle);
+        Map<WindowKey, long[]> cycleWindows = windows.get(cycle);
+        List<StatData> result = new ArrayList<>(changed.size());
+        for (WindowKey windowKey : changed) {
+            long[] values = cycleWindows.get(windowKey);
+            if (values == null) {
+                values = new long[3];
+            }
+            result.add(buildStatData(windowKey, values,
+                    CacheUtils.calculateAverageDelay(values[COUNT], values[DELAY])));
+        }
+        changed.clear();
+        return result;
+    }
+
+    /**
+     * Mark all windows changed, the next drain emits them all again
+     */
+    public synchronized void markAllChanged() {
+        for (AuditCycle cycle : cycles) {
+            changedWindows.get(cycle).addAll(windows.get(cycle).keySet());
+        }
+    }
+
+    /**
+     * Evict the slots and windows before the time, the time must be aligned to all cycles
+     *
+     * @param time the eviction boundary
+     */
+    public synchronized void evictBefore(LocalDateTime time) {
+        for (TreeMap<LocalDateTime, Map<Dimension, long[]>> auditSlots : slots.values()) {
+            auditSlots.headMap(time, false).clear();
+        }
+        slots.values().removeIf(Map::isEmpty);
+        for (AuditCycle cycle : cycles) {
+            windows.get(cycle).keySet().removeIf(windowKey -> windowKey.getStartTime().isBefore(time));
+            changedWindows.get(cycle).removeIf(windowKey -> windowKey.getStartTime().isBefore(time));
+        }
+        versions.keySet().removeIf(versionKey -> versionKey.getStartTime().isBefore(time));
+        changedSlots.removeIf(slotKey -> slotKey.getStartTime().isBefore(time));
+    }
+
+    public synchronized int getWindowSize(AuditCycle cycle) {
+        return windows.get(cycle).size();
+    }
+
+    private void applyDelta(LocalDateTime slotTime, Dimension dimension, long count, long size, long delay) {
+        for (AuditCycle cycle : cycles) {
+            WindowKey windowKey = new WindowKey(getWindowStart(slotTime, cycle), dimension);
+            Map<WindowKey, long[]> cycleWindows = windows.get(cycle);
+            long[] values = cycleWindows.computeIfAbsent(windowKey, k -> new long[3]);
+            values[COUNT] += count;
+            values[SIZE] += size;
+            values[DELAY] += delay;
+            if (values[COUNT] == 0 && values[SIZE] == 0 && values[DELAY] == 0) {
+                cycleWindows.remove(windowKey);
+            }
+            changedWindows.get(cycle).add(windowKey);
+        }
+    }
+
+    /**
+     * Get the window start of the slot time
+     *
+     * @param slotTime slot time
+     * @param cycle audit cycle
+     * @return window start
+     */
+    public static LocalDateTime getWindowStart(LocalDateTime slotTime, AuditCycle cycle) {
+        LocalDateTime dayStart = slotTime.toLocalDate().atStartOfDay();
+        if (cycle == AuditCycle.DAY) {
+            return dayStart;
+        }
+        int minuteOfDay = slotTime.getHour() * 60 + slotTime.getMinute();
+        return dayStart.plusMinutes(minuteOfDay - minuteOfDay % cycle.getValue());
+    }
+
+    private StatData buildStatData(WindowKey windowKey, long[] values, long delay) {
+        Dimension dimension = windowKey.getDimension();
+        StatData data = new StatData();
+        data.setLogTs(windowKey.getStartTime().format(FORMATTER));
+        data.setInlongGroupId(dimension.getInlongGroupId());
+        data.setInlongStreamId(dimension.getInlongStreamId());
+        data.setAuditId(dimension.getAuditId());
+        data.setAuditTag(dimension.getAuditTag());
+        data.setCount(values[COUNT]);
+        data.setSize(values[SIZE]);
+        data.setDelay(delay);
+        return data;
+    }
+
+    /**
+     * Dimension of the audit data
+     */
+    @Getter
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static class Dimension {
+
+        private final String inlongGroupId;
+        private final String inlongStreamId;
+        private final String auditId;
+        private final String auditTag;
+    }
+
+    /**
+     * Key of the window, the slot or the log time of the dimension
+     */
+    @Getter
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static class WindowKey {
+
+        private final LocalDateTime startTime;
+        private final Dimension dimension;
+    }
+}
@@ -0,0 +1,270 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.audit.service.source;
+
+import org.apache.inlong.audit.service.channel.DataQueue;
+import org.apache.inlong.audit.service.config.Configuration;
+import org.apache.inlong.audit.service.entities.AuditCycle;
+import org.apache.inlong.audit.service.entities.SourceConfig;
+import org.apache.inlong.audit.service.entities.StatData;
+import org.apache.inlong.audit.service.node.ConfigService;
+import org.apache.inlong.audit.service.utils.JdbcUtils;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.apache.commons.lang.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.apache.inlong.audit.consts.ConfigConstants.DEFAULT_AUDIT_TAG;
+import static org.apache.inlong.audit.service.config.ConfigConstants.DATE_FORMAT;
+import static org.apache.inlong.audit.service.config.ConfigConstants.DEFAULT_SOURCE_DB_STAT_INTERVAL;
+import static org.apache.inlong.audit.service.config.ConfigConstants.DEFAULT_STAT_THREAD_POOL_SIZE;
+import static org.apache.inlong.audit.service.config.ConfigConstants.DEFAULT_WINDOW_RECONCILE_INTERVAL;
+import static org.apache.inlong.audit.service.config.ConfigConstants.KEY_SOURCE_DB_STAT_INTERVAL;
+import static org.apache.inlong.audit.service.config.ConfigConstants.KEY_STAT_THREAD_POOL_SIZE;
+import static org.apache.inlong.audit.service.config.ConfigConstants.KEY_WINDOW_RECONCILE_INTERVAL;
+
+/**
+ * Window jdbc source, the window aggregator is fed by the audit records consumed from the MQ, and
+ * each round pushes only the changed windows of each cycle to its data queue. On the leader the
+ * changed 5 minutes slots are pushed to the temp table too. The slots are loaded from the temp
+ * table at start, and the closed hours are reconciled against it periodically on the followers.
+ */
+public class WindowJdbcSource {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WindowJdbcSource.class);
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern(DATE_FORMAT);
+    private final ScheduledExecutorService statTimer = Executors.newSingleThreadScheduledExecutor();
+    private final ExecutorService executor = Executors.newFixedThreadPool(
+            Configuration.getInstance().get(KEY_STAT_THREAD_POOL_SIZE, DEFAULT_STAT_THREAD_POOL_SIZE));
+    private final Map<AuditCycle, DataQueue> dataQueues;
+    private final SourceConfig sourceConfig;
+    private final int dailyBackTimes;
+    private final WindowAggregator aggregator;
+    private final long reconcileIntervalMs;
+    private long lastReconcileTime = 0L;
+    private HikariDataSource dataSource;
+    private volatile DataQueue slotQueue;
+
+    /**
+     * Constructor
+     *
+     * @param dataQueues the data queue of each cycle
+     * @param sourceConfig the slot query and the realtime stat back hours
+     * @param dailyBackTimes the stat back days of the day cycle, 0 if the day cycle is disabled
+     */
+    public WindowJdbcSource(Map<AuditCycle, DataQueue> dataQueues, SourceConfig sourceConfig, int dailyBackTimes) {
+        this.dataQueues = dataQueues;
+        this.sourceConfig = sourceConfig;
+        this.dailyBackTimes = dailyBackTimes;
+        this.aggregator = new WindowAggregator(new ArrayList<>(dataQueues.keySet()));
+        this.reconcileIntervalMs = TimeUnit.MINUTES.toMillis(Configuration.getInstance().get(
+                KEY_WINDOW_RECONCILE_INTERVAL, DEFAULT_WINDOW_RECONCILE_INTERVAL));
+    }
+
+    /**
+     * Start the source, the slots are loaded from the temp table before the consume starts
+     */
+    public void start() {
+        createDataSource();
+        stat();
+        int interval = Configuration.getInstance().get(KEY_SOURCE_DB_STAT_INTERVAL, DEFAULT_SOURCE_DB_STAT_INTERVAL);
+        statTimer.scheduleWithFixedDelay(this::stat, interval, interval, TimeUnit.MINUTES);
+    }
+
+    public WindowAggregator getAggregator() {
+        return aggregator;
+    }
+
+    /**
+     * Push the changed slots to the temp table, it is enabled on the leader node which writes
+     * the temp table instead of the audit source sql.
+     *
+     * @param slotQueue the data queue of the temp table sink
+     */
+    public void enableSlotSink(DataQueue slotQueue) {
+        this.slotQueue = slotQueue;
+    }
+
+    /**
+     * Stat one round, the exception is caught to keep the scheduled stat running
+     */
+    private void stat() {
+        try {
+            long currentTimestamp = System.currentTimeMillis();
+            boolean reconcile = currentTimestamp - lastReconcileTime >= reconcileIntervalMs;
+            if (reconcile) {
+                reconcile(lastReconcileTime == 0L);
+                lastReconcileTime = currentTimestamp;
+            }
+            int changedCount = push();
+            LOGGER.info("Window stat reconcile:{},changed windows:{},cost:{}ms", reconcile, changedCount,
+                    System.currentTimeMillis() - currentTimestamp);
+        } catch (InterruptedException e) {
+            LOGGER.error("Push window data has been interrupted!", e);
+            Thread.currentThread().interrupt();
+        } catch (Throwable throwable) {
+            LOGGER.error("Window stat has exception!", throwable);
+        }
+    }
+
+    /**
+     * Reconcile the slots against the temp table and evict the slots out of the stat range.
+     * The first load covers the current hour, the later ones only the closed hours, and the leader
+     * skips the refresh since it writes the temp table from its own slots.
+     *
+     * @param initial whether it is the first load
+     */
+    private void reconcile(boolean initial) {
+        LocalDateTime hourStart = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime realtimeStart = hourStart.minusHours(Math.max(sourceConfig.getStatBackTimes() - 1, 0));
+        LocalDateTime startTime = getReconcileStart(realtimeStart);
+        LocalDateTime endTime = initial ? hourStart.plusHours(1) : hourStart;
+        if (initial || slotQueue == null) {
+            List<String> auditIds = ConfigService.getInstance().getAuditIds();
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (String auditId : auditIds) {
+                futures.add(CompletableFuture.runAsync(() -> {
+                    List<StatData> dataList = query(startTime.format(FORMATTER), endTime.format(FORMATTER), auditId);
+                    if (dataList != null) {
+                        aggregator.refresh(auditId, startTime, endTime, dataList);
+                    }
+                }, executor));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[futures.size()])).join();
+            LOGGER.info("Reconcile [{}]-[{}] of {} audit ids", startTime.format(FORMATTER),
+                    endTime.format(FORMATTER), auditIds.size());
+        }
+        aggregator.evictBefore(startTime);
+        aggregator.markAllChanged();
+    }
+
+    /**
+     * Push the changed windows of each cycle, and the changed slots if the slot sink is enabled
+     *
+     * @return the count of the changed windows
+     */
+    private int push() throws InterruptedException {
+        int changedCount = 0;
+        for (Map.Entry<AuditCycle, DataQueue> entry : dataQueues.entrySet()) {
+            for (StatData data : aggregator.drainChanged(entry.getKey())) {
+                entry.getValue().push(data);
+                changedCount++;
+            }
+        }
+        List<StatData> changedSlots = aggregator.drainChangedSlots();
+        if (slotQueue != null) {
+            for (StatData data : changedSlots) {
+                slotQueue.push(data);
+            }
+        }
+        return changedCount;
+    }
+
+    /**
+     * Get the start of the reconcile range, it is aligned to the day if the day cycle is enabled
+     *
+     * @param realtimeStart the start of the realtime range
+     * @return the reconcile start
+     */
+    private LocalDateTime getReconcileStart(LocalDateTime realtimeStart) {
+        if (dailyBackTimes <= 0) {
+            return realtimeStart;
+        }
+        LocalDateTime dayStart = LocalDateTime.now().truncatedTo(ChronoUnit.DAYS).minusDays(dailyBackTimes - 1);
+        LocalDateTime realtimeDayStart = realtimeStart.truncatedTo(ChronoUnit.DAYS);
+        return realtimeDayStart.isBefore(dayStart) ? realtimeDayStart : dayStart;
+    }
+
+    /**
+     * Query the 5 minutes slots
+     *
+     * @param startTime
+     * @param endTime
+     * @param auditId
+     * @return the slot data, or null if the query fails
+     */
+    private List<StatData> query(String startTime, String endTime, String auditId) {
+        List<StatData> result = new LinkedList<>();
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement pstat = connection.prepareStatement(sourceConfig.getQuerySql())) {
+            pstat.setString(1, startTime);
+            pstat.setString(2, endTime);
+            pstat.setString(3, auditId);
+            try (ResultSet resultSet = pstat.executeQuery()) {
+                while (resultSet.next()) {
+                    StatData data = new StatData();
+                    data.setLogTs(resultSet.getTimestamp(1).toLocalDateTime().format(FORMATTER));
+                    data.setInlongGroupId(resultSet.getString(2));
+                    data.setInlongStreamId(resultSet.getString(3));
+                    data.setAuditId(resultSet.getString(4));
+                    String auditTag = resultSet.getString(5);
+                    data.setAuditTag(StringUtils.isBlank(auditTag) ? DEFAULT_AUDIT_TAG : auditTag);
+                    data.setCount(resultSet.getLong(6));
+                    data.setSize(resultSet.getLong(7));
+                    data.setDelay(resultSet.getLong(8));
+                    result.add(data);
+                }
+            }
+        } catch (Exception exception) {
+            LOGGER.error("Query slots has exception! audit id:{}", auditId, exception);
+            return null;
+        }
+        return result;
+    }
+
+    /**
+     * Create data source
+     */
+    protected void createDataSource() {
+        HikariConfig hikariConfig = JdbcUtils.buildHikariConfig(
+                sourceConfig.getDriverClassName(),
+                sourceConfig.getJdbcUrl(),
+                sourceConfig.getUserName(),
+                sourceConfig.getPassword());
+        dataSource = new HikariDataSource(hikariConfig);
+    }
+
+    /**
+     * Destroy
+     */
+    public void destroy() {
+        statTimer.shutdown();
+        executor.shutdown();
+        if (dataSource != null) {
+            dataSource.close();
+        }
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.audit.source;
+
+import org.apache.inlong.audit.protocol.AuditData;
+import org.apache.inlong.audit.service.entities.AuditCycle;
+import org.apache.inlong.audit.service.entities.StatData;
+import org.apache.inlong.audit.service.source.WindowAggregator;
+
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class WindowAggregatorTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 10, 0);
+    private static final LocalDateTime END = START.plusHours(1);
+
+    @Test
+    public void getWindowStart() {
+        LocalDateTime slotTime = LocalDateTime.of(2024, 1, 1, 10, 45);
+        assertEquals(LocalDateTime.of(2024, 1, 1, 10, 40),
+                WindowAggregator.getWindowStart(slotTime, AuditCycle.MINUTE_10));
+        assertEquals(LocalDateTime.of(2024, 1, 1, 10, 30),
+                WindowAggregator.getWindowStart(slotTime, AuditCycle.MINUTE_30));
+        assertEquals(LocalDateTime.of(2024, 1, 1, 10, 0),
+                WindowAggregator.getWindowStart(slotTime, AuditCycle.HOUR));
+        assertEquals(LocalDateTime.of(2024, 1, 1, 0, 0),
+                WindowAggregator.getWindowStart(slotTime, AuditCycle.DAY));
+    }
+
+    @Test
+    public void refreshOnlyEmitsChangedWindows() {
+        WindowAggregator aggregator = new WindowAggregator(Arrays.asList(AuditCycle.MINUTE_10, AuditCycle.HOUR));
+        aggregator.refresh("3", START, END, Arrays.asList(
+                buildData("2024-01-01 10:00:00", 10), buildData("2024-01-01 10:05:00", 20),
+                buildData("2024-01-01 10:10:00", 30)));
+        List<StatData> changed = aggregator.drainChanged(AuditCycle.MINUTE_10);
+        assertEquals(2, changed.size());
+        List<StatData> hours = aggregator.drainChanged(AuditCycle.HOUR);
+        assertEquals(1, hours.size());
+        assertEquals(60L, (long) hours.get(0).getCount());
+        assertEquals("2024-01-01 10:00:00", hours.get(0).getLogTs());
+
+        // the same data changes nothing
+        aggregator.refresh("3", START, END, Arrays.asList(
+                buildData("2024-01-01 10:00:00", 10), buildData("2024-01-01 10:05:00", 20),
+                buildData("2024-01-01 10:10:00", 30)));
+        assertTrue(aggregator.drainChanged(AuditCycle.MINUTE_10).isEmpty());
+        assertTrue(aggregator.drainChanged(AuditCycle.HOUR).isEmpty());
+
+        // one slot grows and the 10:10 slot disappears
+        aggregator.refresh("3", START, END, Arrays.asList(
+                buildData("2024-01-01 10:00:00", 10), buildData("2024-01-01 10:05:00", 25)));
+        changed = aggregator.drainChanged(AuditCycle.MINUTE_10);
+        changed.sort(Comparator.comparing(StatData::getLogTs));
+        assertEquals(2, changed.size());
+        assertEquals("2024-01-01 10:00:00", changed.get(0).getLogTs());
+        assertEquals(35L, (long) changed.get(0).getCount());
+        assertEquals("2024-01-01 10:10:00", changed.get(1).getLogTs());
+        assertEquals(0L, (long) changed.get(1).getCount());
+        assertEquals(1, aggregator.getWindowSize(AuditCycle.MINUTE_10));
+        hours = aggregator.drainChanged(AuditCycle.HOUR);
+        assertEquals(35L, (long) hours.get(0).getCount());
+        // the delay is the average of the window
+        assertEquals(2L, (long) hours.get(0).getDelay());
+    }
+
+    @Test
+    public void evictAndReconcile() {
+        WindowAggregator aggregator = new WindowAggregator(Collections.singletonList(AuditCycle.HOUR));
+        aggregator.refresh("3", START.minusHours(1), END, Arrays.asList(
+                buildData("2024-01-01 09:00:00", 10), buildData("2024-01-01 10:00:00", 20)));
+        aggregator.drainChanged(AuditCycle.HOUR);
+        aggregator.evictBefore(START);
+        assertEquals(1, aggregator.getWindowSize(AuditCycle.HOUR));
+        aggregator.markAllChanged();
+        List<StatData> changed = aggregator.drainChanged(AuditCycle.HOUR);
+        assertEquals(1, changed.size());
+        assertEquals(20L, (long) changed.get(0).getCount());
+    }
+
+    @Test
+    public void addConsumedRecords() {
+        WindowAggregator aggregator = new WindowAggregator(Arrays.asList(AuditCycle.MINUTE_10, AuditCycle.HOUR));
+        aggregator.add(buildAuditData(START.plusMinutes(1), 1L, 10));
+        aggregator.add(buildAuditData(START.plusMinutes(2), 1L, 20));
+        aggregator.add(buildAuditData(START.plusMinutes(7), 1L, 5));
+        List<StatData> slots = aggregator.drainChangedSlots();
+        slots.sort(Comparator.comparing(StatData::getLogTs));
+        assertEquals(2, slots.size());
+        assertEquals("2024-01-01 10:00:00", slots.get(0).getLogTs());
+        assertEquals(30L, (long) slots.get(0).getCount());
+        // the slot keeps the delay sum like the temp table
+        assertEquals(60L, (long) slots.get(0).getDelay());
+        assertEquals("2024-01-01 10:05:00", slots.get(1).getLogTs());
+        assertEquals(5L, (long) slots.get(1).getCount());
+        List<StatData> windows = aggregator.drainChanged(AuditCycle.MINUTE_10);
+        assertEquals(1, windows.size());
+        assertEquals(35L, (long) windows.get(0).getCount());
+        assertEquals(2L, (long) windows.get(0).getDelay());
+
+        // the higher version replaces the minute, the lower version is ignored
+        aggregator.add(buildAuditData(START.plusMinutes(1), 2L, 4));
+        aggregator.add(buildAuditData(START.plusMinutes(1), 2L, 3));
+        aggregator.add(buildAuditData(START.plusMinutes(1), 1L, 100));
+        slots = aggregator.drainChangedSlots();
+        assertEquals(1, slots.size());
+        assertEquals(27L, (long) slots.get(0).getCount());
+        assertEquals(32L, (long) aggregator.drainChanged(AuditCycle.HOUR).get(0).getCount());
+        assertTrue(aggregator.drainChangedSlots().isEmpty());
+
+        // the reconcile refresh does not emit the slots again
+        aggregator.refresh("3", START, END, Collections.singletonList(buildData("2024-01-01 10:00:00", 40)));
+        assertTrue(aggregator.drainChangedSlots().isEmpty());
+        assertEquals(40L, (long) aggregator.drainChanged(AuditCycle.HOUR).get(0).getCount());
+    }
+
+    private AuditData buildAuditData(LocalDateTime logTime, long version, long count) {
+        AuditData data = new AuditData();
+        data.setLogTs(logTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        data.setInlongGroupId("group");
+        data.setInlongStreamId("stream");
+        data.setAuditId("3");
+        data.setAuditTag("");
+        data.setAuditVersion(version);
+        data.setCount(count);
+        data.setSize(count * 10);
+        data.setDelay(count * 2);
+        return data;
+    }
+
+    private StatData buildData(String logTs, long count) {
+        StatData data = new StatData();
+        data.setLogTs(logTs);
+        data.setInlongGroupId("group");
+        data.setInlongStreamId("stream");
+        data.setAuditId("3");
+        data.setAuditTag("-1");
+        data.setCount(count);
+        data.setSize(count * 10);
+        data.setDelay(count * 2);
+        return data;
+    }
+}
@@ -25,8 +25,10 @@ import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
@@ -35,6 +37,7 @@ import java.util.concurrent.atomic.AtomicLong;
 public abstract class MetricItem implements MetricItemMBean {
 
     public static final Logger LOGGER = LoggerFactory.getLogger(MetricItem.class);
+    private static final Map<Class<?>, MetricFields> METRIC_FIELDS_CACHE = new ConcurrentHashMap<>();
 
     private String key;
     private Map<String, String> dimensions;
@@ -75,30 +78,18 @@ public abstract class MetricItem implements MetricItemMBean {
         if (dimensions != null) {
             return dimensions;
         }
-        dimensions = new HashMap<>();
-
-        // get all fields
-        List<Field> fields = getDeclaredFieldsIncludingInherited(this.getClass());
-
-        // filter dimension fields
-        for (Field field : fields) {
-            field.setAccessible(true);
-            for (Annotation fieldAnnotation : field.getAnnotations()) {
-                if (fieldAnnotation instanceof Dimension) {
-                    Dimension dimension = (Dimension) fieldAnnotation;
-                    String name = dimension.name();
-                    name = (name != null && name.length() > 0) ? name : field.getName();
-                    try {
-                        Object fieldValue = field.get(this);
-                        String value = (fieldValue == null) ? "" : fieldValue.toString();
-                        dimensions.put(name, value);
-                    } catch (Throwable t) {
-                        LOGGER.error(t.getMessage(), t);
-                    }
-                    break;
-                }
+        MetricFields metricFields = getMetricFields(this.getClass());
+        Map<String, String> dimensionMap = new HashMap<>(metricFields.dimensionFields.size() * 2);
+        metricFields.dimensionFields.forEach((name, field) -> {
+            try {
+                Object fieldValue = field.get(this);
+                String value = (fieldValue == null) ? "" : fieldValue.toString();
+                dimensionMap.put(name, value);
+            } catch (Throwable t) {
+                LOGGER.error(t.getMessage(), t);
             }
-        }
+        });
+        dimensions = dimensionMap;
         return dimensions;
     }
 
@@ -121,7 +112,7 @@ public abstract class MetricItem implements MetricItemMBean {
             this.initMetricField();
         }
         //
-        Map<String, MetricValue> metrics = new HashMap<>();
+        Map<String, MetricValue> metrics = new HashMap<>((countMetrics.size() + gaugeMetrics.size()) * 2);
         this.countMetrics.forEach((key, value) -> {
             metrics.put(key, MetricValue.of(key, value.getAndSet(0)));
         });
@@ -135,38 +126,73 @@ public abstract class MetricItem implements MetricItemMBean {
      * initMetricField
      */
     protected void initMetricField() {
-        this.countMetrics = new HashMap<>();
-        this.gaugeMetrics = new HashMap<>();
-
-        // get all fields
-        List<Field> fields = getDeclaredFieldsIncludingInherited(this.getClass());
-
-        // filter metric fields
-        for (Field field : fields) {
-            field.setAccessible(true);
-            for (Annotation fieldAnnotation : field.getAnnotations()) {
-                if (fieldAnnotation instanceof CountMetric) {
-                    CountMetric countMetric = (CountMetric) fieldAnnotation;
-                    String name = countMetric.name();
-                    name = (name != null && name.length() > 0) ? name : field.getName();
-                    try {
-                        Object fieldValue = field.get(this);
-                        if (fieldValue instanceof AtomicLong) {
-                            this.countMetrics.put(name, (AtomicLong) fieldValue);
-                        }
-                    } catch (Throwable t) {
-                        LOGGER.error(t.getMessage(), t);
+        Map<String, AtomicLong> newCountMetrics = new HashMap<>();
+        Map<String, AtomicLong> newGaugeMetrics = new HashMap<>();
+        MetricFields metricFields = getMetricFields(this.getClass());
+        fillMetricValues(metricFields.countFields, newCountMetrics);
+        fillMetricValues(metricFields.gaugeFields, newGaugeMetrics);
+        this.countMetrics = newCountMetrics;
+        this.gaugeMetrics = newGaugeMetrics;
+    }
+
+    private void fillMetricValues(Map<String, Field> fields, Map<String, AtomicLong> metricValues) {
+        fields.forEach((name, field) -> {
+            try {
+                Object fieldValue = field.get(this);
+                if (fieldValue instanceof AtomicLong) {
+                    metricValues.put(name, (AtomicLong) fieldValue);
+                }
+            } catch (Throwable t) {
+                LOGGER.error(t.getMessage(), t);
+            }
+        });
+    }
+
+    /**
+     * get the annotated fields of the class, they are resolved once for each class
+     */
+    private static MetricFields getMetricFields(Class<?> clazz) {
+        MetricFields metricFields = METRIC_FIELDS_CACHE.get(clazz);
+        if (metricFields == null) {
+            metricFields = new MetricFields(clazz);
+            MetricFields oldFields = METRIC_FIELDS_CACHE.putIfAbsent(clazz, metricFields);
+            if (oldFields != null) {
+                metricFields = oldFields;
+            }
+        }
+        return metricFields;
+    }
+
+    /**
+     * MetricFields, the dimension, count metric and gauge metric fields of a metric item class
+     */
+    private static class MetricFields {
+
+        private final Map<String, Field> dimensionFields = new LinkedHashMap<>();
+        private final Map<String, Field> countFields = new LinkedHashMap<>();
+        private final Map<String, Field> gaugeFields = new LinkedHashMap<>();
+
+        MetricFields(Class<?> clazz) {
+            for (Field field : getDeclaredFieldsIncludingInherited(clazz)) {
+                for (Annotation fieldAnnotation : field.getAnnotations()) {
+                    String name;
+                    Map<String, Field> target;
+                    if (fieldAnnotation instanceof Dimension) {
+                        name = ((Dimension) fieldAnnotation).name();
+                        target = dimensionFields;
+                    } else if (fieldAnnotation instanceof CountMetric) {
+                        name = ((CountMetric) fieldAnnotation).name();
+                        target = countFields;
+                    } else if (fieldAnnotation instanceof GaugeMetric) {
+                        name = ((GaugeMetric) fieldAnnotation).name();
+                        target = gaugeFields;
+                    } else {
+                        continue;
                     }
-                    break;
-                } else if (fieldAnnotation instanceof GaugeMetric) {
-                    GaugeMetric gaugeMetric = (GaugeMetric) fieldAnnotation;
-                    String name = gaugeMetric.name();
                     name = (name != null && name.length() > 0) ? name : field.getName();
                     try {
-                        Object fieldValue = field.get(this);
-                        if (fieldValue instanceof AtomicLong) {
-                            this.gaugeMetrics.put(name, (AtomicLong) fieldValue);
-                        }
+                        field.setAccessible(true);
+                        target.put(name, field);
                     } catch (Throwable t) {
                         LOGGER.error(t.getMessage(), t);
                     }
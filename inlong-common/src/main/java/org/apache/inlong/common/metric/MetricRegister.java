@@ -32,15 +32,23 @@ public class MetricRegister {
 
     public static final Logger LOGGER = LoggerFactory.getLogger(MetricRegister.class);
     public static final String JMX_DOMAIN = "org.apache.inlong";
+    // whether to also expose the metrics as JMX MBeans, the listeners read them from MetricRegistry
+    public static final String KEY_JMX_ENABLE = "inlong.metric.jmx.enable";
+    private static final boolean JMX_ENABLE = Boolean.parseBoolean(System.getProperty(KEY_JMX_ENABLE, "true"));
 
     /**
      * register MetricItem
      */
     public static void register(MetricItem obj) {
+        String domain = MetricUtils.getDomain(obj.getClass());
+        MetricRegistry.register(domain, obj.getDimensionsKey(), obj);
+        if (!JMX_ENABLE) {
+            return;
+        }
         final MBeanServer mbs = ManagementFactory.getPlatformMBeanServer();
         StringBuilder beanName = new StringBuilder();
         beanName.append(JMX_DOMAIN).append(MetricItemMBean.DOMAIN_SEPARATOR).append("type=")
-                .append(MetricUtils.getDomain(obj.getClass())).append(",").append(obj.getDimensionsKey());
+                .append(domain).append(",").append(obj.getDimensionsKey());
         String strBeanName = beanName.toString();
         try {
             ObjectName objName = new ObjectName(strBeanName);
@@ -55,10 +63,15 @@ public class MetricRegister {
      * register MetricItemSet
      */
     public static void register(MetricItemSet<? extends MetricItem> obj) {
+        String domain = MetricUtils.getDomain(obj.getClass());
+        MetricRegistry.register(domain, obj.getName(), obj);
+        if (!JMX_ENABLE) {
+            return;
+        }
         final MBeanServer mbs = ManagementFactory.getPlatformMBeanServer();
         StringBuilder beanName = new StringBuilder();
         beanName.append(JMX_DOMAIN).append(MetricItemMBean.DOMAIN_SEPARATOR).append("type=")
-                .append(MetricUtils.getDomain(obj.getClass())).append(",name=").append(obj.getName());
+                .append(domain).append(",name=").append(obj.getName());
         String strBeanName = beanName.toString();
         try {
             ObjectName objName = new ObjectName(strBeanName);
@@ -73,10 +86,15 @@ public class MetricRegister {
      * unregister MetricItem
      */
     public static void unregister(MetricItem obj) {
+        String domain = MetricUtils.getDomain(obj.getClass());
+        MetricRegistry.unregisterItem(domain, obj.getDimensionsKey());
+        if (!JMX_ENABLE) {
+            return;
+        }
         final MBeanServer mbs = ManagementFactory.getPlatformMBeanServer();
         StringBuilder beanName = new StringBuilder();
         beanName.append(JMX_DOMAIN).append(MetricItemMBean.DOMAIN_SEPARATOR).append("type=")
-                .append(MetricUtils.getDomain(obj.getClass())).append(",").append(obj.getDimensionsKey());
+                .append(domain).append(",").append(obj.getDimensionsKey());
         String strBeanName = beanName.toString();
         try {
             ObjectName objName = new ObjectName(strBeanName);
@@ -91,10 +109,15 @@ public class MetricRegister {
      * unregister MetricItemSet
      */
     public static void unregister(MetricItemSet<? extends MetricItem> obj) {
+        String domain = MetricUtils.getDomain(obj.getClass());
+        MetricRegistry.unregisterItemSet(domain, obj.getName());
+        if (!JMX_ENABLE) {
+            return;
+        }
         final MBeanServer mbs = ManagementFactory.getPlatformMBeanServer();
         StringBuilder beanName = new StringBuilder();
         beanName.append(JMX_DOMAIN).append(MetricItemMBean.DOMAIN_SEPARATOR).append("type=")
-                .append(MetricUtils.getDomain(obj.getClass())).append(",name=").append(obj.getName());
+                .append(domain).append(",name=").append(obj.getName());
         String strBeanName = beanName.toString();
         try {
             ObjectName objName = new ObjectName(strBeanName);
@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.common.metric;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * MetricRegistry<br>
+ * In-process registry of the metric items and metric item sets, grouped by the metric domain.<br>
+ * The listeners snapshot the registered objects directly, JMX is only an optional view of them.
+ */
+public class MetricRegistry {
+
+    private static final Map<String, Map<String, MetricItem>> ITEM_MAP = new ConcurrentHashMap<>();
+    private static final Map<String, Map<String, MetricItemSet<? extends MetricItem>>> ITEM_SET_MAP =
+            new ConcurrentHashMap<>();
+
+    /**
+     * register MetricItem, the first registered one is kept if the key exists
+     */
+    public static void register(String domain, String key, MetricItem item) {
+        ITEM_MAP.computeIfAbsent(domain, k -> new ConcurrentHashMap<>()).putIfAbsent(key, item);
+    }
+
+    /**
+     * register MetricItemSet, the first registered one is kept if the name exists
+     */
+    public static void register(String domain, String name, MetricItemSet<? extends MetricItem> itemSet) {
+        ITEM_SET_MAP.computeIfAbsent(domain, k -> new ConcurrentHashMap<>()).putIfAbsent(name, itemSet);
+    }
+
+    /**
+     * unregister MetricItem
+     */
+    public static void unregisterItem(String domain, String key) {
+        Map<String, MetricItem> items = ITEM_MAP.get(domain);
+        if (items != null) {
+            items.remove(key);
+        }
+    }
+
+    /**
+     * unregister MetricItemSet
+     */
+    public static void unregisterItemSet(String domain, String name) {
+        Map<String, MetricItemSet<? extends MetricItem>> itemSets = ITEM_SET_MAP.get(domain);
+        if (itemSets != null) {
+            itemSets.remove(name);
+        }
+    }
+
+    /**
+     * snapshot
+     *
+     * @param  domain metric domain
+     * @return        the metric values of all items in the domain, CountMetric is reset to 0
+     */
+    public static List<MetricItemValue> snapshot(String domain) {
+        Map<String, MetricItem> items = ITEM_MAP.getOrDefault(domain, Collections.emptyMap());
+        Map<String, MetricItemSet<? extends MetricItem>> itemSets =
+                ITEM_SET_MAP.getOrDefault(domain, Collections.emptyMap());
+        if (items.isEmpty() && itemSets.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<MetricItemValue> itemValues = new ArrayList<>(items.size());
+        for (MetricItem item : items.values()) {
+            itemValues.add(toItemValue(item));
+        }
+        for (MetricItemSet<? extends MetricItem> itemSet : itemSets.values()) {
+            for (MetricItem item : itemSet.snapshot()) {
+                itemValues.add(toItemValue(item));
+            }
+        }
+        return itemValues;
+    }
+
+    private static MetricItemValue toItemValue(MetricItem item) {
+        return new MetricItemValue(item.getDimensionsKey(), item.getDimensions(), item.snapshot());
+    }
+}
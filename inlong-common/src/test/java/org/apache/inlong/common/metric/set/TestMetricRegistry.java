@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.common.metric.set;
+
+import org.apache.inlong.common.metric.MetricItemSet;
+import org.apache.inlong.common.metric.MetricItemValue;
+import org.apache.inlong.common.metric.MetricListenerRunnable;
+import org.apache.inlong.common.metric.MetricRegister;
+import org.apache.inlong.common.metric.MetricUtils;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * 
+ * TestMetricRegistry
+ */
+public class TestMetricRegistry {
+
+    @Test
+    public void testSnapshotWithoutJmx() {
+        MetricItemSet<DataProxyMetricItem> itemSet = new MetricItemSet<DataProxyMetricItem>("registry") {
+
+            @Override
+            protected DataProxyMetricItem createItem() {
+                return new DataProxyMetricItem();
+            }
+        };
+        MetricRegister.register(itemSet);
+        String domain = MetricUtils.getDomain(itemSet.getClass());
+        MetricListenerRunnable runnable = new MetricListenerRunnable(domain, Collections.emptyList());
+
+        DataProxyMetricItem dimItem = new DataProxyMetricItem();
+        dimItem.inlongGroupId = "group1";
+        dimItem.sinkId = "sink1";
+        Map<String, String> dimensions = dimItem.getDimensions();
+        DataProxyMetricItem item = itemSet.findMetricItem(dimensions);
+        item.sendCount.addAndGet(3);
+        item.sendSize.addAndGet(300);
+
+        List<MetricItemValue> itemValues = new ArrayList<>(runnable.getItemValues());
+        assertEquals(1, itemValues.size());
+        MetricItemValue itemValue = itemValues.get(0);
+        assertEquals(MetricUtils.getDimensionsKey(dimensions), itemValue.getKey());
+        assertEquals("group1", itemValue.getDimensions().get("inlongGroupId"));
+        assertEquals(3L, itemValue.getMetrics().get("sendCount").value);
+        assertEquals(300L, itemValue.getMetrics().get("sendSize").value);
+        // the item set is reset after the snapshot
+        assertEquals(0, runnable.getItemValues().size());
+
+        MetricRegister.unregister(itemSet);
+        itemSet.findMetricItem(dimensions).sendCount.incrementAndGet();
+        assertEquals(0, runnable.getItemValues().size());
+    }
+}
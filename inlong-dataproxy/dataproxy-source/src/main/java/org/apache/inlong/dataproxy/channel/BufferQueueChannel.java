@@ -17,6 +17,7 @@
 
 package org.apache.inlong.dataproxy.channel;
 
+import org.apache.inlong.dataproxy.channel.SpillLog.SpilledEvent;
 import org.apache.inlong.dataproxy.utils.BufferQueue;
 import org.apache.inlong.sdk.commons.protocol.ProxyEvent;
 
@@ -29,6 +30,7 @@ import org.apache.flume.channel.AbstractChannel;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.File;
 import java.util.Date;
 import java.util.Timer;
 import java.util.TimerTask;
@@ -48,16 +50,26 @@ public class BufferQueueChannel extends AbstractChannel {
     public static final String KEY_MAX_BUFFERQUEUE_SIZE_KB = "maxBufferQueueSizeKb";
     public static final int DEFAULT_MAX_BUFFERQUEUE_SIZE_KB = 128 * 1024;
     public static final String KEY_RELOADINTERVAL = "reloadInterval";
+    // spill the events to the local segment files when the memory budget is exceeded
+    public static final String KEY_SPILL_ENABLE = "spillEnable";
+    public static final String KEY_SPILL_DIR = "spillDir";
+    public static final String DEFAULT_SPILL_DIR = "spill";
+    public static final String KEY_SPILL_SEGMENT_SIZE_MB = "spillSegmentSizeMb";
+    public static final int DEFAULT_SPILL_SEGMENT_SIZE_MB = 64;
+    public static final String KEY_MAX_SPILL_SIZE_MB = "maxSpillSizeMb";
+    public static final long DEFAULT_MAX_SPILL_SIZE_MB = 10 * 1024L;
 
     private Context context;
     private int maxBufferQueueCount;
     private Semaphore countSemaphore;
     private int maxBufferQueueSizeKb;
     private BufferQueue<ProxyEvent> bufferQueue;
+    private SpillLog spillLog;
     private ThreadLocal<ProxyTransaction> currentTransaction = new ThreadLocal<ProxyTransaction>();
     protected Timer channelTimer;
     private AtomicLong takeCounter = new AtomicLong(0);
     private AtomicLong putCounter = new AtomicLong(0);
+    private AtomicLong spillCounter = new AtomicLong(0);
 
     /**
      * Constructor
@@ -76,11 +88,20 @@ public class BufferQueueChannel extends AbstractChannel {
         if (event instanceof ProxyEvent) {
             putCounter.incrementAndGet();
             int eventSize = event.getBody().length;
-            this.countSemaphore.acquireUninterruptibly();
-            this.bufferQueue.acquire(eventSize);
             ProxyTransaction transaction = currentTransaction.get();
             Preconditions.checkState(transaction != null, "No transaction exists for this thread");
             ProxyEvent profile = (ProxyEvent) event;
+            if (this.spillLog != null && !this.spillLog.isFull()) {
+                // keep the order, the events follow the spilled ones until the backlog is taken
+                if (this.spillLog.hasBacklog() || !this.tryAcquire(eventSize)) {
+                    spillCounter.incrementAndGet();
+                    transaction.doPutSpilled(profile);
+                    return;
+                }
+            } else {
+                this.countSemaphore.acquireUninterruptibly();
+                this.bufferQueue.acquire(eventSize);
+            }
             transaction.doPut(profile);
         }
     }
@@ -99,10 +120,31 @@ public class BufferQueueChannel extends AbstractChannel {
             Preconditions.checkState(transaction != null, "No transaction exists for this thread");
             transaction.doTake(event);
             takeCounter.incrementAndGet();
+        } else if (this.spillLog != null) {
+            // the events in memory are older than the spilled ones
+            SpilledEvent spilledEvent = this.spillLog.poll();
+            if (spilledEvent != null) {
+                ProxyTransaction transaction = currentTransaction.get();
+                Preconditions.checkState(transaction != null, "No transaction exists for this thread");
+                transaction.doTakeSpilled(spilledEvent);
+                takeCounter.incrementAndGet();
+                event = spilledEvent;
+            }
         }
         return event;
     }
 
+    private boolean tryAcquire(int eventSize) {
+        if (!this.countSemaphore.tryAcquire()) {
+            return false;
+        }
+        if (!this.bufferQueue.tryAcquire(eventSize)) {
+            this.countSemaphore.release();
+            return false;
+        }
+        return true;
+    }
+
     /**
      * getTransaction
      *
@@ -110,7 +152,7 @@ public class BufferQueueChannel extends AbstractChannel {
      */
     @Override
     public Transaction getTransaction() {
-        ProxyTransaction newTransaction = new ProxyTransaction(this.countSemaphore, this.bufferQueue);
+        ProxyTransaction newTransaction = new ProxyTransaction(this.countSemaphore, this.bufferQueue, this.spillLog);
         this.currentTransaction.set(newTransaction);
         return newTransaction;
     }
@@ -121,6 +163,14 @@ public class BufferQueueChannel extends AbstractChannel {
     @Override
     public void start() {
         super.start();
+        if (this.spillLog != null) {
+            try {
+                this.spillLog.open();
+            } catch (Exception e) {
+                LOG.error("open spill log failure, spill is disabled", e);
+                this.spillLog = null;
+            }
+        }
         try {
             this.setReloadTimer();
         } catch (Exception e) {
@@ -128,6 +178,20 @@ public class BufferQueueChannel extends AbstractChannel {
         }
     }
 
+    /**
+     * stop
+     */
+    @Override
+    public void stop() {
+        if (channelTimer != null) {
+            channelTimer.cancel();
+        }
+        if (this.spillLog != null) {
+            this.spillLog.close();
+        }
+        super.stop();
+    }
+
     /**
      * setReloadTimer
      */
@@ -144,6 +208,12 @@ public class BufferQueueChannel extends AbstractChannel {
                         countSemaphore.availablePermits(),
                         putCounter.getAndSet(0),
                         takeCounter.getAndSet(0));
+                if (spillLog != null) {
+                    LOG.info("spilled:{},spillBacklog:{},spillFileSize:{}",
+                            spillCounter.getAndSet(0),
+                            spillLog.getSpilledCount(),
+                            spillLog.getSpillFileSize());
+                }
             }
         };
         channelTimer.schedule(channelTask,
@@ -163,5 +233,13 @@ public class BufferQueueChannel extends AbstractChannel {
         this.countSemaphore = new Semaphore(maxBufferQueueCount, true);
         this.maxBufferQueueSizeKb = context.getInteger(KEY_MAX_BUFFERQUEUE_SIZE_KB, DEFAULT_MAX_BUFFERQUEUE_SIZE_KB);
         this.bufferQueue = new BufferQueue<>(maxBufferQueueSizeKb);
+        if (context.getBoolean(KEY_SPILL_ENABLE, false)) {
+            String spillDir = context.getString(KEY_SPILL_DIR, DEFAULT_SPILL_DIR);
+            int segmentSizeMb = Math.max(1, Math.min(1024,
+                    context.getInteger(KEY_SPILL_SEGMENT_SIZE_MB, DEFAULT_SPILL_SEGMENT_SIZE_MB)));
+            long maxSpillSizeMb = context.getLong(KEY_MAX_SPILL_SIZE_MB, DEFAULT_MAX_SPILL_SIZE_MB);
+            this.spillLog = new SpillLog(new File(spillDir, getName()),
+                    segmentSizeMb * 1024 * 1024, maxSpillSizeMb * 1024L * 1024L);
+        }
     }
 }
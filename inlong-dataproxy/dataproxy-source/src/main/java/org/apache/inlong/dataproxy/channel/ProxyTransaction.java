@@ -17,9 +17,11 @@
 
 package org.apache.inlong.dataproxy.channel;
 
+import org.apache.inlong.dataproxy.channel.SpillLog.SpilledEvent;
 import org.apache.inlong.dataproxy.utils.BufferQueue;
 import org.apache.inlong.sdk.commons.protocol.ProxyEvent;
 
+import org.apache.flume.ChannelException;
 import org.apache.flume.Transaction;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -39,6 +41,9 @@ public class ProxyTransaction implements Transaction {
     private BufferQueue<ProxyEvent> bufferQueue;
     private List<ProxyEvent> takeList = new ArrayList<>();
     private List<ProxyEvent> putList = new ArrayList<>();
+    private SpillLog spillLog;
+    private List<SpilledEvent> spillTakeList = new ArrayList<>();
+    private List<ProxyEvent> spillPutList = new ArrayList<>();
 
     /**
      * Constructor
@@ -47,8 +52,20 @@ public class ProxyTransaction implements Transaction {
      * @param bufferQueue
      */
     public ProxyTransaction(Semaphore countSemaphore, BufferQueue<ProxyEvent> bufferQueue) {
+        this(countSemaphore, bufferQueue, null);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param countSemaphore
+     * @param bufferQueue
+     * @param spillLog the overflow log, null if spill is disabled
+     */
+    public ProxyTransaction(Semaphore countSemaphore, BufferQueue<ProxyEvent> bufferQueue, SpillLog spillLog) {
         this.countSemaphore = countSemaphore;
         this.bufferQueue = bufferQueue;
+        this.spillLog = spillLog;
     }
 
     /**
@@ -63,6 +80,19 @@ public class ProxyTransaction implements Transaction {
      */
     @Override
     public void commit() {
+        // append the overflow events first, the transaction is intact if it fails
+        if (!spillPutList.isEmpty()) {
+            try {
+                this.spillLog.append(spillPutList);
+            } catch (Throwable e) {
+                throw new ChannelException("Append events to spill log failure", e);
+            }
+            this.spillPutList.clear();
+        }
+        if (!spillTakeList.isEmpty()) {
+            this.spillLog.commit(spillTakeList);
+            this.spillTakeList.clear();
+        }
         for (ProxyEvent event : takeList) {
             countSemaphore.release();
             bufferQueue.release(event.getBody().length);
@@ -83,6 +113,14 @@ public class ProxyTransaction implements Transaction {
             this.bufferQueue.offer(event);
         }
         this.takeList.clear();
+        if (!spillTakeList.isEmpty()) {
+            this.spillLog.rollback(spillTakeList);
+            this.spillTakeList.clear();
+        }
+        if (!spillPutList.isEmpty()) {
+            this.spillLog.cancelSpilling(spillPutList.size());
+            this.spillPutList.clear();
+        }
         for (ProxyEvent event : putList) {
             countSemaphore.release();
             bufferQueue.release(event.getBody().length);
@@ -114,4 +152,23 @@ public class ProxyTransaction implements Transaction {
     public void doPut(ProxyEvent event) {
         this.putList.add(event);
     }
+
+    /**
+     * doTakeSpilled
+     *
+     * @param spilledEvent the event polled from the spill log
+     */
+    public void doTakeSpilled(SpilledEvent spilledEvent) {
+        this.spillTakeList.add(spilledEvent);
+    }
+
+    /**
+     * doPutSpilled
+     *
+     * @param event the event to append to the spill log
+     */
+    public void doPutSpilled(ProxyEvent event) {
+        this.spillLog.markSpilling();
+        this.spillPutList.add(event);
+    }
 }
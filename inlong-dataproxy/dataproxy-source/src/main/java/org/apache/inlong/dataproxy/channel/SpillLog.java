@@ -0,0 +1,601 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.dataproxy.channel;
+
+import org.apache.inlong.sdk.commons.protocol.EventConstants;
+import org.apache.inlong.sdk.commons.protocol.ProxyEvent;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import sun.nio.ch.DirectBuffer;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+/**
+ * SpillLog
+ *
+ * The overflow log of BufferQueueChannel, the events are appended to the memory-mapped segment
+ * files in order, and polled in the same order. The take commit only ends the backlog of the
+ * events, a segment file is deleted after all its events are acked by the MQ send callbacks of
+ * the sink, or dropped by the sink after the retries. The segments left by the last run are
+ * replayed when opened, so the events not sent are delivered at least once.
+ */
+public class SpillLog {
+
+    public static final Logger LOG = LoggerFactory.getLogger(SpillLog.class);
+
+    public static final String SEGMENT_SUFFIX = ".spill";
+    // record: length(4) + crc(4) + content
+    private static final int RECORD_HEADER_SIZE = 8;
+    private static final int END_OF_SEGMENT = -1;
+
+    private final File spillDir;
+    private final int segmentSize;
+    private final long maxSpillSize;
+    private final ConcurrentSkipListMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+    private final Object writeLock = new Object();
+    private final Object readLock = new Object();
+    // the polled events rolled back, polled again before the segments
+    private final Deque<SpilledEvent> redoQueue = new ArrayDeque<>();
+    private final AtomicLong spillFileSize = new AtomicLong(0);
+    // the events not taken by the committed take transactions
+    private final AtomicLong spilledCount = new AtomicLong(0);
+    // the events routed to the log by the put transactions not committed yet
+    private final AtomicLong spillingCount = new AtomicLong(0);
+    private Segment writeSegment;
+    private volatile Segment readSegment;
+    private long nextSegmentId = 0;
+
+    /**
+     * Constructor
+     *
+     * @param spillDir     the directory of the segment files
+     * @param segmentSize  the size of a segment file
+     * @param maxSpillSize the max total size of the segment files
+     */
+    public SpillLog(File spillDir, int segmentSize, long maxSpillSize) {
+        this.spillDir = spillDir;
+        this.segmentSize = segmentSize;
+        this.maxSpillSize = maxSpillSize;
+    }
+
+    /**
+     * open and recover the segments left by the last run
+     *
+     * @throws IOException
+     */
+    public void open() throws IOException {
+        if (!spillDir.exists() && !spillDir.mkdirs()) {
+            throw new IOException("Create spill directory failure: " + spillDir.getAbsolutePath());
+        }
+        File[] files = spillDir.listFiles((dir, name) -> name.endsWith(SEGMENT_SUFFIX));
+        if (files != null) {
+            Arrays.sort(files, (o1, o2) -> Long.compare(parseSegmentId(o1), parseSegmentId(o2)));
+            for (File file : files) {
+                long segmentId = parseSegmentId(file);
+                if (segmentId < 0) {
+                    continue;
+                }
+                Segment segment = new Segment(segmentId, file, (int) file.length());
+                int recordCnt = segment.recover();
+                segments.put(segmentId, segment);
+                spillFileSize.addAndGet(segment.capacity);
+                spilledCount.addAndGet(recordCnt);
+                nextSegmentId = segmentId + 1;
+                LOG.info("recover spill segment {}, records:{}", file.getAbsolutePath(), recordCnt);
+            }
+        }
+        synchronized (readLock) {
+            this.readSegment = segments.isEmpty() ? null : segments.firstEntry().getValue();
+        }
+    }
+
+    /**
+     * append the events in order
+     *
+     * @param events the events to append
+     * @throws IOException
+     */
+    public void append(List<ProxyEvent> events) throws IOException {
+        if (events.isEmpty()) {
+            return;
+        }
+        synchronized (writeLock) {
+            Segment startSegment = writeSegment;
+            int startPos = (startSegment == null) ? 0 : startSegment.writePosition();
+            // the segments rolled by this batch, invisible to the reader until the whole batch is written
+            List<Segment> newSegments = new ArrayList<>();
+            try {
+                for (ProxyEvent event : events) {
+                    byte[] content = encode(event);
+                    int recordSize = RECORD_HEADER_SIZE + content.length;
+                    if (writeSegment == null || !writeSegment.hasRemaining(recordSize)) {
+                        // map the new segment first, the current one is still writable if it fails
+                        Segment segment = createSegment(recordSize);
+                        newSegments.add(segment);
+                        if (writeSegment != null) {
+                            writeSegment.markEnd();
+                        }
+                        writeSegment = segment;
+                    }
+                    writeSegment.write(content);
+                }
+            } catch (Throwable e) {
+                // drop the written records, the put transaction is rolled back and puts them again
+                for (Segment segment : newSegments) {
+                    segment.close();
+                    if (!segment.file.delete()) {
+                        LOG.warn("delete spill segment {} failure", segment.file.getAbsolutePath());
+                    }
+                }
+                writeSegment = startSegment;
+                if (startSegment != null) {
+                    startSegment.resetWritePosition(startPos);
+                }
+                throw e;
+            }
+            publishBatch(startSegment, newSegments);
+        }
+        spilledCount.addAndGet(events.size());
+        spillingCount.addAndGet(-events.size());
+    }
+
+    /**
+     * mark an event routed to the log before its put transaction is committed,
+     * so the following events are spilled too and do not overtake it
+     */
+    public void markSpilling() {
+        spillingCount.incrementAndGet();
+    }
+
+    /**
+     * cancel the marked events after the put transaction is rolled back
+     *
+     * @param count the count of the marked events
+     */
+    public void cancelSpilling(int count) {
+        spillingCount.addAndGet(-count);
+    }
+
+    /**
+     * poll the next event
+     *
+     * @return the spilled event, or null if the log is empty
+     */
+    public SpilledEvent poll() {
+        synchronized (readLock) {
+            SpilledEvent spilledEvent = redoQueue.pollFirst();
+            if (spilledEvent != null) {
+                return spilledEvent;
+            }
+            while (readSegment != null) {
+                byte[] content = readSegment.read();
+                if (content != null) {
+                    readSegment.pendingCnt.incrementAndGet();
+                    return decode(content, this, readSegment);
+                }
+                if (!readSegment.isReadDone()) {
+                    return null;
+                }
+                Segment doneSegment = readSegment;
+                Map.Entry<Long, Segment> nextEntry = segments.higherEntry(doneSegment.segmentId);
+                readSegment = (nextEntry == null) ? null : nextEntry.getValue();
+                tryDeleteSegment(doneSegment);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * end the backlog of the polled events after the take transaction is committed, the events
+     * are kept in the segment files until they are acked
+     *
+     * @param spilledEvents the polled events
+     */
+    public void commit(List<SpilledEvent> spilledEvents) {
+        spilledCount.addAndGet(-spilledEvents.size());
+    }
+
+    /**
+     * ack the polled events once the sink has sent them to the MQ
+     *
+     * @param spilledEvents the polled events
+     */
+    public void ack(List<SpilledEvent> spilledEvents) {
+        for (SpilledEvent spilledEvent : spilledEvents) {
+            spilledEvent.ack();
+        }
+    }
+
+    /**
+     * give back the polled events after the take transaction is rolled back
+     *
+     * @param spilledEvents the polled events
+     */
+    public void rollback(List<SpilledEvent> spilledEvents) {
+        synchronized (readLock) {
+            for (int i = spilledEvents.size() - 1; i >= 0; i--) {
+                redoQueue.addFirst(spilledEvents.get(i));
+            }
+        }
+    }
+
+    /**
+     * whether some events are spilling, not polled or not committed
+     */
+    public boolean hasBacklog() {
+        // check the spilling count first, append increases spilledCount before decreasing it
+        return spillingCount.get() > 0 || spilledCount.get() > 0;
+    }
+
+    /**
+     * whether the segment files reach the max size
+     */
+    public boolean isFull() {
+        return spillFileSize.get() >= maxSpillSize;
+    }
+
+    /**
+     * get the count of events not taken
+     */
+    public long getSpilledCount() {
+        return spilledCount.get();
+    }
+
+    /**
+     * get the size of segment files
+     */
+    public long getSpillFileSize() {
+        return spillFileSize.get();
+    }
+
+    /**
+     * close the log, the segment files are kept for the next run
+     */
+    public void close() {
+        synchronized (writeLock) {
+            synchronized (readLock) {
+                for (Segment segment : segments.values()) {
+                    segment.close();
+                }
+            }
+        }
+    }
+
+    private Segment createSegment(int recordSize) throws IOException {
+        long segmentId = nextSegmentId++;
+        File file = new File(spillDir, String.format("%020d", segmentId) + SEGMENT_SUFFIX);
+        return new Segment(segmentId, file, Math.max(segmentSize, recordSize + 4));
+    }
+
+    /**
+     * publish a written batch to the reader, the new segments are registered before the
+     * segments they follow are sealed, so the reader always finds the next segment
+     */
+    private void publishBatch(Segment startSegment, List<Segment> newSegments) {
+        for (Segment segment : newSegments) {
+            segments.put(segment.segmentId, segment);
+            spillFileSize.addAndGet(segment.capacity);
+        }
+        Segment lastSegment = startSegment;
+        for (Segment segment : newSegments) {
+            if (lastSegment != null) {
+                lastSegment.seal();
+            }
+            lastSegment = segment;
+        }
+        lastSegment.publish();
+        if (!newSegments.isEmpty()) {
+            synchronized (readLock) {
+                if (readSegment == null) {
+                    readSegment = newSegments.get(0);
+                }
+            }
+        }
+    }
+
+    private void tryDeleteSegment(Segment segment) {
+        if (segment == readSegment || segment.pendingCnt.get() > 0 || !segment.isReadDone()) {
+            return;
+        }
+        synchronized (segment) {
+            if (segments.remove(segment.segmentId, segment)) {
+                segment.close();
+                if (!segment.file.delete()) {
+                    LOG.warn("delete spill segment {} failure", segment.file.getAbsolutePath());
+                }
+                spillFileSize.addAndGet(-segment.capacity);
+            }
+        }
+    }
+
+    private static long parseSegmentId(File file) {
+        String name = file.getName();
+        try {
+            return Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static byte[] encode(ProxyEvent event) {
+        Map<String, String> headers = event.getHeaders();
+        byte[][] headerBytes = new byte[headers.size() * 2][];
+        int contentSize = 4;
+        int index = 0;
+        for (Map.Entry<String, String> entry : headers.entrySet()) {
+            headerBytes[index] = toBytes(entry.getKey());
+            headerBytes[index + 1] = toBytes(entry.getValue());
+            contentSize += 8 + lengthOf(headerBytes[index]) + lengthOf(headerBytes[index + 1]);
+            index += 2;
+        }
+        byte[] body = event.getBody();
+        contentSize += 4 + lengthOf(body);
+        ByteBuffer buffer = ByteBuffer.allocate(contentSize);
+        buffer.putInt(headers.size());
+        for (byte[] bytes : headerBytes) {
+            putBytes(buffer, bytes);
+        }
+        putBytes(buffer, body);
+        return buffer.array();
+    }
+
+    private static SpilledEvent decode(byte[] content, SpillLog spillLog, Segment segment) {
+        ByteBuffer buffer = ByteBuffer.wrap(content);
+        int headerCnt = buffer.getInt();
+        Map<String, String> headers = new HashMap<>(Math.max(16, headerCnt * 2));
+        for (int i = 0; i < headerCnt; i++) {
+            String key = toString(getBytes(buffer));
+            headers.put(key, toString(getBytes(buffer)));
+        }
+        byte[] body = getBytes(buffer);
+        SpilledEvent event = new SpilledEvent(headers, body == null ? new byte[0] : body, spillLog, segment);
+        String topic = headers.get(EventConstants.TOPIC);
+        if (topic != null) {
+            event.setTopic(topic);
+        }
+        return event;
+    }
+
+    private static byte[] toBytes(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String toString(byte[] bytes) {
+        return bytes == null ? null : new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int lengthOf(byte[] bytes) {
+        return bytes == null ? 0 : bytes.length;
+    }
+
+    private static void putBytes(ByteBuffer buffer, byte[] bytes) {
+        if (bytes == null) {
+            buffer.putInt(-1);
+        } else {
+            buffer.putInt(bytes.length);
+            buffer.put(bytes);
+        }
+    }
+
+    private static byte[] getBytes(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    /**
+     * SpilledEvent, the polled event which keeps its segment until it is acked
+     */
+    public static class SpilledEvent extends ProxyEvent {
+
+        private final SpillLog spillLog;
+        private final Segment segment;
+        private final AtomicBoolean acked = new AtomicBoolean(false);
+
+        private SpilledEvent(Map<String, String> headers, byte[] body, SpillLog spillLog, Segment segment) {
+            super(headers.get(EventConstants.INLONG_GROUP_ID),
+                    headers.get(EventConstants.INLONG_STREAM_ID),
+                    headers.get(EventConstants.HEADER_KEY_MSG_TIME),
+                    headers.get(EventConstants.HEADER_KEY_SOURCE_IP),
+                    headers.get(EventConstants.HEADER_KEY_SOURCE_TIME),
+                    headers, body);
+            this.spillLog = spillLog;
+            this.segment = segment;
+        }
+
+        /**
+         * ack the event once it is sent or dropped, the segment file is deleted after all its events are acked
+         */
+        public void ack() {
+            if (!acked.compareAndSet(false, true)) {
+                return;
+            }
+            if (segment.pendingCnt.decrementAndGet() == 0) {
+                synchronized (spillLog.readLock) {
+                    spillLog.tryDeleteSegment(segment);
+                }
+            }
+        }
+    }
+
+    /**
+     * Segment, a memory-mapped segment file
+     */
+    private static class Segment {
+
+        private final long segmentId;
+        private final File file;
+        private final int capacity;
+        private final RandomAccessFile raf;
+        private final MappedByteBuffer writeBuffer;
+        private final ByteBuffer readBuffer;
+        private final CRC32 writeCrc = new CRC32();
+        private final CRC32 readCrc = new CRC32();
+        // the polled events not acked
+        private final AtomicInteger pendingCnt = new AtomicInteger(0);
+        // the position visible to the reader
+        private volatile int publishedPos = 0;
+        private volatile boolean sealed = false;
+        private int readPos = 0;
+
+        private Segment(long segmentId, File file, int capacity) throws IOException {
+            this.segmentId = segmentId;
+            this.file = file;
+            this.capacity = capacity;
+            this.raf = new RandomAccessFile(file, "rw");
+            try {
+                raf.setLength(capacity);
+                this.writeBuffer = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+            } catch (IOException e) {
+                raf.close();
+                throw e;
+            }
+            this.readBuffer = writeBuffer.duplicate();
+        }
+
+        private boolean hasRemaining(int recordSize) {
+            // keep the space of the end mark
+            return writeBuffer.position() + recordSize + 4 <= capacity;
+        }
+
+        private void write(byte[] content) {
+            writeCrc.reset();
+            writeCrc.update(content, 0, content.length);
+            writeBuffer.putInt(content.length);
+            writeBuffer.putInt((int) writeCrc.getValue());
+            writeBuffer.put(content);
+        }
+
+        private int writePosition() {
+            return writeBuffer.position();
+        }
+
+        private void resetWritePosition(int pos) {
+            writeBuffer.position(pos);
+            // clear the length of the dropped record, the recovery stops here
+            writeBuffer.putInt(pos, 0);
+        }
+
+        private void publish() {
+            this.publishedPos = writeBuffer.position();
+        }
+
+        /**
+         * write the end mark, not visible to the reader until sealed
+         */
+        private void markEnd() {
+            writeBuffer.putInt(END_OF_SEGMENT);
+        }
+
+        private void seal() {
+            publish();
+            this.sealed = true;
+        }
+
+        private byte[] read() {
+            int published = publishedPos;
+            // the end mark takes 4 bytes only
+            if (readPos + 4 > published) {
+                return null;
+            }
+            int length = readBuffer.getInt(readPos);
+            if (length < 0 || readPos + RECORD_HEADER_SIZE + length > published) {
+                // the end mark
+                readPos = published;
+                return null;
+            }
+            byte[] content = readContent(readPos, length);
+            readPos += RECORD_HEADER_SIZE + length;
+            return content;
+        }
+
+        private byte[] readContent(int pos, int length) {
+            byte[] content = new byte[length];
+            readBuffer.position(pos + RECORD_HEADER_SIZE);
+            readBuffer.get(content);
+            return content;
+        }
+
+        private boolean isReadDone() {
+            return sealed && readPos >= publishedPos;
+        }
+
+        private int recover() {
+            int recordCnt = 0;
+            int pos = 0;
+            while (pos + RECORD_HEADER_SIZE <= capacity) {
+                int length = readBuffer.getInt(pos);
+                if (length <= 0 || pos + RECORD_HEADER_SIZE + length > capacity) {
+                    break;
+                }
+                // stop at the record broken by the crash
+                byte[] content = readContent(pos, length);
+                readCrc.reset();
+                readCrc.update(content, 0, length);
+                if ((int) readCrc.getValue() != readBuffer.getInt(pos + 4)) {
+                    LOG.warn("spill segment {} is broken at {}, drop the remaining records",
+                            file.getAbsolutePath(), pos);
+                    break;
+                }
+                pos += RECORD_HEADER_SIZE + length;
+                recordCnt++;
+            }
+            writeBuffer.position(pos);
+            this.publishedPos = pos;
+            this.sealed = true;
+            return recordCnt;
+        }
+
+        private void close() {
+            try {
+                raf.close();
+            } catch (IOException e) {
+                LOG.warn("close spill segment {} failure", file.getAbsolutePath(), e);
+            }
+            // release the mapping now rather than waiting for the GC
+            try {
+                ((DirectBuffer) writeBuffer).cleaner().clean();
+            } catch (Throwable e) {
+                LOG.debug("unmap spill segment {} failure", file.getAbsolutePath(), e);
+            }
+        }
+    }
+}
@@ -18,6 +18,7 @@
 package org.apache.inlong.dataproxy.sink.mq;
 
 import org.apache.inlong.common.enums.DataProxyErrCode;
+import org.apache.inlong.dataproxy.channel.SpillLog.SpilledEvent;
 import org.apache.inlong.sdk.commons.protocol.ProxyEvent;
 
 import org.apache.flume.Event;
@@ -87,6 +88,7 @@ public class BatchPackProfile extends PackProfile {
      * ack
      */
     public void ack() {
+        this.ackSpilledEvents();
         if (callback != null) {
             callback.ack(this.events.size());
         }
@@ -96,11 +98,24 @@ public class BatchPackProfile extends PackProfile {
      * fail
      */
     public void fail(DataProxyErrCode errCode, String errMsg) {
+        // the events are dropped, they are not kept in the spill log either
+        this.ackSpilledEvents();
         if (callback != null) {
             callback.fail();
         }
     }
 
+    /**
+     * ack the events taken from the spill log of the channel, so their segment files can be deleted
+     */
+    private void ackSpilledEvents() {
+        for (ProxyEvent event : events) {
+            if (event instanceof SpilledEvent) {
+                ((SpilledEvent) event).ack();
+            }
+        }
+    }
+
     /**
      * isResend
      * @return  whether resend message
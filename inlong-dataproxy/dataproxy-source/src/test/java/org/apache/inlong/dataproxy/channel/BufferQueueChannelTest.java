@@ -0,0 +1,356 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.dataproxy.channel;
+
+import org.apache.inlong.dataproxy.channel.SpillLog.SpilledEvent;
+import org.apache.inlong.sdk.commons.protocol.ProxyEvent;
+
+import org.apache.flume.Context;
+import org.apache.flume.Event;
+import org.apache.flume.Transaction;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class BufferQueueChannelTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void testSpillAndReplay() throws Exception {
+        Map<String, String> map = new HashMap<>();
+        map.put(BufferQueueChannel.KEY_MAX_BUFFERQUEUE_COUNT, "2");
+        map.put(BufferQueueChannel.KEY_SPILL_ENABLE, "true");
+        map.put(BufferQueueChannel.KEY_SPILL_DIR, tempFolder.getRoot().getAbsolutePath());
+        BufferQueueChannel channel = new BufferQueueChannel();
+        channel.setName("ch-spill");
+        channel.configure(new Context(map));
+        channel.start();
+        try {
+            Transaction tx = channel.getTransaction();
+            tx.begin();
+            for (int i = 0; i < 5; i++) {
+                channel.put(buildEvent("msg" + i));
+            }
+            tx.commit();
+            tx.close();
+            // the memory holds 2 events, the others are spilled
+            File[] files = new File(tempFolder.getRoot(), "ch-spill").listFiles();
+            Assert.assertNotNull(files);
+            Assert.assertEquals(1, files.length);
+            // a rolled back take is replayed first
+            tx = channel.getTransaction();
+            tx.begin();
+            Assert.assertEquals("msg0", toString(channel.take()));
+            Assert.assertEquals("msg1", toString(channel.take()));
+            Assert.assertEquals("msg2", toString(channel.take()));
+            tx.rollback();
+            tx.close();
+            tx = channel.getTransaction();
+            tx.begin();
+            List<String> bodies = new ArrayList<>();
+            Event event;
+            while ((event = channel.take()) != null) {
+                bodies.add(toString(event));
+            }
+            tx.commit();
+            tx.close();
+            Assert.assertEquals(5, bodies.size());
+            Assert.assertTrue(bodies.containsAll(
+                    Arrays.asList("msg0", "msg1", "msg2", "msg3", "msg4")));
+            // the spilled events keep their order
+            Assert.assertTrue(bodies.indexOf("msg2") < bodies.indexOf("msg3"));
+            Assert.assertTrue(bodies.indexOf("msg3") < bodies.indexOf("msg4"));
+        } finally {
+            channel.stop();
+        }
+    }
+
+    @Test
+    public void testSpillSegmentKeptUntilAck() throws Exception {
+        Map<String, String> map = new HashMap<>();
+        map.put(BufferQueueChannel.KEY_MAX_BUFFERQUEUE_COUNT, "1");
+        map.put(BufferQueueChannel.KEY_SPILL_ENABLE, "true");
+        map.put(BufferQueueChannel.KEY_SPILL_DIR, tempFolder.getRoot().getAbsolutePath());
+        BufferQueueChannel channel = new BufferQueueChannel();
+        channel.setName("ch-ack");
+        channel.configure(new Context(map));
+        channel.start();
+        try {
+            runInTransaction(channel, () -> {
+                for (int i = 0; i < 3; i++) {
+                    channel.put(buildEvent("msg" + i));
+                }
+            });
+            List<Event> taken = new ArrayList<>();
+            runInTransaction(channel, () -> {
+                Event event;
+                while ((event = channel.take()) != null) {
+                    taken.add(event);
+                }
+            });
+            Assert.assertEquals(3, taken.size());
+            // the take is committed, the new events go to the memory again
+            runInTransaction(channel, () -> channel.put(buildEvent("msg3")));
+            Assert.assertEquals("msg3", toString(channel.take()));
+            // the spilled events are handed to the sink as they are, to be acked by the send callback
+            Assert.assertFalse(taken.get(0) instanceof SpilledEvent);
+            Assert.assertTrue(taken.get(1) instanceof SpilledEvent);
+            Assert.assertTrue(taken.get(2) instanceof SpilledEvent);
+        } finally {
+            channel.stop();
+        }
+    }
+
+    @Test
+    public void testSpillLogDeleteAfterAck() throws Exception {
+        File spillDir = tempFolder.newFolder("ack");
+        SpillLog spillLog = new SpillLog(spillDir, 4096, 1024 * 1024L);
+        spillLog.open();
+        List<ProxyEvent> events = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            events.add(buildEvent("msg" + i));
+        }
+        spillLog.append(events);
+        // the big event rolls the first segment
+        spillLog.append(Collections.singletonList(buildEvent(new String(new char[5000]))));
+        Assert.assertEquals(2, spillDir.listFiles().length);
+        List<SpilledEvent> polled = new ArrayList<>();
+        SpilledEvent spilledEvent;
+        while ((spilledEvent = spillLog.poll()) != null) {
+            polled.add(spilledEvent);
+        }
+        Assert.assertEquals(11, polled.size());
+        spillLog.commit(polled);
+        Assert.assertFalse(spillLog.hasBacklog());
+        // the taken events are not sent yet, the segments are kept
+        Assert.assertEquals(2, spillDir.listFiles().length);
+        // an event is acked once only
+        polled.get(0).ack();
+        polled.get(0).ack();
+        spillLog.ack(polled.subList(1, 9));
+        Assert.assertEquals(2, spillDir.listFiles().length);
+        // the first segment is deleted once all its events are acked
+        polled.get(9).ack();
+        Assert.assertEquals(1, spillDir.listFiles().length);
+        // the segment being written is kept
+        polled.get(10).ack();
+        Assert.assertEquals(1, spillDir.listFiles().length);
+        spillLog.close();
+    }
+
+    @Test
+    public void testSpillKeepsOrderBeforeCommit() throws Exception {
+        Map<String, String> map = new HashMap<>();
+        map.put(BufferQueueChannel.KEY_MAX_BUFFERQUEUE_COUNT, "2");
+        map.put(BufferQueueChannel.KEY_SPILL_ENABLE, "true");
+        map.put(BufferQueueChannel.KEY_SPILL_DIR, tempFolder.getRoot().getAbsolutePath());
+        BufferQueueChannel channel = new BufferQueueChannel();
+        channel.setName("ch-order");
+        channel.configure(new Context(map));
+        channel.start();
+        try {
+            runInTransaction(channel, () -> {
+                channel.put(buildEvent("msg0"));
+                channel.put(buildEvent("msg1"));
+            });
+            // the memory is full, msg2 is spilled but its transaction is not committed yet
+            Transaction tx = channel.getTransaction();
+            tx.begin();
+            channel.put(buildEvent("msg2"));
+            // free a memory permit, msg3 still follows msg2 to the spill log
+            List<String> bodies = new ArrayList<>();
+            runInThread(() -> runInTransaction(channel, () -> bodies.add(toString(channel.take()))));
+            CountDownLatch putDone = new CountDownLatch(1);
+            CountDownLatch commitAllowed = new CountDownLatch(1);
+            Thread putThread = new Thread(() -> runInTransaction(channel, () -> {
+                channel.put(buildEvent("msg3"));
+                putDone.countDown();
+                try {
+                    commitAllowed.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            putThread.start();
+            Assert.assertTrue(putDone.await(10, TimeUnit.SECONDS));
+            // msg2 is committed before msg3
+            tx.commit();
+            tx.close();
+            commitAllowed.countDown();
+            putThread.join();
+            runInTransaction(channel, () -> {
+                Event event;
+                while ((event = channel.take()) != null) {
+                    bodies.add(toString(event));
+                }
+            });
+            Assert.assertEquals(Arrays.asList("msg0", "msg1", "msg2", "msg3"), bodies);
+        } finally {
+            channel.stop();
+        }
+    }
+
+    @Test
+    public void testSpillRollbackClearsBacklog() throws Exception {
+        SpillLog spillLog = new SpillLog(tempFolder.newFolder("rollback"), 256, 1024 * 1024L);
+        spillLog.open();
+        ProxyTransaction tx = new ProxyTransaction(null, null, spillLog);
+        tx.doPutSpilled(buildEvent("msg0"));
+        Assert.assertTrue(spillLog.hasBacklog());
+        tx.rollback();
+        Assert.assertFalse(spillLog.hasBacklog());
+        spillLog.close();
+    }
+
+    @Test
+    public void testSpillLogRecover() throws Exception {
+        File spillDir = tempFolder.newFolder("recover");
+        SpillLog spillLog = new SpillLog(spillDir, 256, 1024 * 1024L);
+        spillLog.open();
+        List<ProxyEvent> events = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            events.add(buildEvent("msg" + i));
+        }
+        spillLog.append(events);
+        // the small segments are rolled
+        Assert.assertTrue(spillDir.listFiles().length > 1);
+        SpilledEvent first = spillLog.poll();
+        Assert.assertEquals("msg0", toString(first));
+        Assert.assertEquals("topic1", first.getTopic());
+        Assert.assertEquals("group1", first.getInlongGroupId());
+        spillLog.commit(Collections.singletonList(first));
+        spillLog.ack(Collections.singletonList(first));
+        spillLog.close();
+        // break the tail of the last segment
+        File[] files = spillDir.listFiles();
+        Arrays.sort(files);
+        File lastFile = files[files.length - 1];
+        try (RandomAccessFile raf = new RandomAccessFile(lastFile, "rw")) {
+            raf.seek(12);
+            raf.write(new byte[]{1, 2, 3, 4});
+        }
+        SpillLog spillLog2 = new SpillLog(spillDir, 256, 1024 * 1024L);
+        spillLog2.open();
+        List<String> bodies = new ArrayList<>();
+        List<SpilledEvent> polled = new ArrayList<>();
+        SpilledEvent spilledEvent;
+        while ((spilledEvent = spillLog2.poll()) != null) {
+            bodies.add(toString(spilledEvent));
+            polled.add(spilledEvent);
+        }
+        // replayed in order at least once, and the broken record is dropped
+        Assert.assertFalse(bodies.isEmpty());
+        Assert.assertFalse(bodies.contains("msg9"));
+        for (int i = 1; i < bodies.size(); i++) {
+            Assert.assertTrue(bodies.get(i - 1).compareTo(bodies.get(i)) < 0);
+        }
+        spillLog2.commit(polled);
+        Assert.assertFalse(spillLog2.hasBacklog());
+        spillLog2.ack(polled);
+        Assert.assertEquals(0, spillDir.listFiles().length);
+        spillLog2.close();
+    }
+
+    @Test
+    public void testSpillAppendFailure() throws Exception {
+        File spillDir = tempFolder.newFolder("failure");
+        SpillLog spillLog = new SpillLog(spillDir, 256, 1024 * 1024L);
+        spillLog.open();
+        spillLog.append(Collections.singletonList(buildEvent("msg0")));
+        // the next segment can not be created
+        File blocker = new File(spillDir, String.format("%020d", 1) + SpillLog.SEGMENT_SUFFIX);
+        Assert.assertTrue(blocker.mkdir());
+        List<ProxyEvent> events = new ArrayList<>();
+        for (int i = 1; i < 10; i++) {
+            events.add(buildEvent("msg" + i));
+        }
+        try {
+            spillLog.append(events);
+            Assert.fail("The append should fail");
+        } catch (IOException e) {
+            // expected
+        }
+        // none of the failed batch is visible, the current segment is still writable
+        SpilledEvent first = spillLog.poll();
+        Assert.assertEquals("msg0", toString(first));
+        Assert.assertNull(spillLog.poll());
+        Assert.assertEquals(1, spillLog.getSpilledCount());
+        Assert.assertTrue(blocker.delete());
+        spillLog.append(events);
+        List<SpilledEvent> polled = new ArrayList<>(Collections.singletonList(first));
+        List<String> bodies = new ArrayList<>();
+        SpilledEvent spilledEvent;
+        while ((spilledEvent = spillLog.poll()) != null) {
+            bodies.add(toString(spilledEvent));
+            polled.add(spilledEvent);
+        }
+        Assert.assertEquals(Arrays.asList("msg1", "msg2", "msg3", "msg4", "msg5", "msg6", "msg7", "msg8", "msg9"),
+                bodies);
+        spillLog.commit(polled);
+        spillLog.ack(polled);
+        Assert.assertFalse(spillLog.hasBacklog());
+        spillLog.close();
+
+        // the dropped records are not recovered
+        SpillLog spillLog2 = new SpillLog(spillDir, 256, 1024 * 1024L);
+        spillLog2.open();
+        Assert.assertEquals(1, spillLog2.getSpilledCount());
+        spillLog2.close();
+    }
+
+    private void runInTransaction(BufferQueueChannel channel, Runnable action) {
+        Transaction tx = channel.getTransaction();
+        tx.begin();
+        action.run();
+        tx.commit();
+        tx.close();
+    }
+
+    private void runInThread(Runnable action) throws InterruptedException {
+        Thread thread = new Thread(action);
+        thread.start();
+        thread.join();
+    }
+
+    private ProxyEvent buildEvent(String body) {
+        ProxyEvent event = new ProxyEvent("group1", "stream1",
+                body.getBytes(StandardCharsets.UTF_8), System.currentTimeMillis(), "127.0.0.1");
+        event.setTopic("topic1");
+        return event;
+    }
+
+    private String toString(Event event) {
+        return new String(event.getBody(), StandardCharsets.UTF_8);
+    }
+}
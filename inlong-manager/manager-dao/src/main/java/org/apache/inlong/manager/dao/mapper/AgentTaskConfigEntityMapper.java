@@ -26,6 +26,8 @@ import org.apache.ibatis.cursor.Cursor;
 import org.apache.ibatis.mapping.ResultSetType;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface AgentTaskConfigEntityMapper {
 
@@ -42,4 +44,14 @@ public interface AgentTaskConfigEntityMapper {
     @Options(resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = Integer.MIN_VALUE)
     Cursor<AgentTaskConfigEntity> selectAllAgentTaskConfigs();
 
+    /**
+     * Select the id, agent ip, cluster name and version of all agent task configs, without the params
+     */
+    @MultiTenantQuery(with = false)
+    @Options(resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = Integer.MIN_VALUE)
+    Cursor<AgentTaskConfigEntity> selectAllAgentTaskConfigVersions();
+
+    @MultiTenantQuery(with = false)
+    List<AgentTaskConfigEntity> selectByIds(@Param("idList") List<Integer> idList);
+
 }
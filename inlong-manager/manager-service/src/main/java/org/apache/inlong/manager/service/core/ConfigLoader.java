@@ -134,6 +134,21 @@ public interface ConfigLoader {
      */
     List<AgentTaskConfigEntity> loadAllAgentTaskConfigEntity();
 
+    /**
+     * Load the id, agent ip, cluster name and version of all agent task configs, without the params
+     *
+     * @return List of agent task config version
+     */
+    List<AgentTaskConfigEntity> loadAllAgentTaskConfigVersion();
+
+    /**
+     * Load agent task config info by ids
+     *
+     * @param idList the id list
+     * @return List of agent task config info
+     */
+    List<AgentTaskConfigEntity> loadAgentTaskConfigEntityByIds(List<Integer> idList);
+
     /**
      * Load all module config info
      *
@@ -130,6 +130,7 @@ public class AgentServiceImpl implements AgentService {
     private static final int ISSUED_STATUS = 3;
     private static final int MODULUS_100 = 100;
     private static final int TASK_FETCH_SIZE = 2;
+    private static final int CONFIG_LOAD_BATCH_SIZE = 1000;
     private static final Gson GSON = new Gson();
     private final LinkedBlockingQueue<ConfigRequest> updateModuleConfigQueue = new LinkedBlockingQueue<>();
 
@@ -137,6 +138,8 @@ public class AgentServiceImpl implements AgentService {
     private Map<String, AgentConfigInfo> agentConfigMap = new ConcurrentHashMap<>();
     private Map<Integer, ModuleConfig> moduleConfigMap = new ConcurrentHashMap<>();
     private Map<String, ConfigResult> installerConfigMap = new ConcurrentHashMap<>();
+    // the id and version of the loaded agent task config, only the changed config is parsed in the reload
+    private final Map<String, AgentTaskConfigEntity> loadedTaskConfigVersionMap = new ConcurrentHashMap<>();
 
     @Value("${source.update.enabled:false}")
     private Boolean updateTaskTimeoutEnabled;
@@ -292,47 +295,136 @@ public class AgentServiceImpl implements AgentService {
     public void reloadAgentTask() {
         LOGGER.debug("start to reload agent task config.");
         try {
-            Map<String, TaskResult> newTaskConfigMap = new ConcurrentHashMap<>();
-            Map<String, AgentConfigInfo> newAgentConfigMap = new ConcurrentHashMap<>();
-            Map<String, ConfigResult> newInstallerConfigMap = new ConcurrentHashMap<>();
-            List<AgentTaskConfigEntity> agentTaskConfigEntityList = configLoader.loadAllAgentTaskConfigEntity();
-            agentTaskConfigEntityList.forEach(agentTaskConfigEntity -> {
-                try {
-                    String key = agentTaskConfigEntity.getAgentIp() + InlongConstants.UNDERSCORE
-                            + agentTaskConfigEntity.getClusterName();
-                    TaskResult taskResult = JsonUtils.parseObject(agentTaskConfigEntity.getTaskParams(),
-                            TaskResult.class);
-                    if (taskResult != null) {
-                        taskResult.setVersion(agentTaskConfigEntity.getVersion());
-                        newTaskConfigMap.putIfAbsent(key, taskResult);
-                    }
-                    AgentConfigInfo agentConfigInfo = JsonUtils.parseObject(agentTaskConfigEntity.getConfigParams(),
-                            AgentConfigInfo.class);
-                    if (agentConfigInfo != null) {
-                        agentConfigInfo.setVersion(agentTaskConfigEntity.getVersion());
-                        newAgentConfigMap.putIfAbsent(key, agentConfigInfo);
-                    }
-                    ConfigResult configResult =
-                            JsonUtils.parseObject(agentTaskConfigEntity.getModuleParams(), ConfigResult.class);
-                    if (configResult != null) {
-                        configResult.setVersion(agentTaskConfigEntity.getVersion());
-                        newInstallerConfigMap.putIfAbsent(key, configResult);
-                    }
-                } catch (Exception e) {
-                    LOGGER.error("failed to get agent task config for agent ip={}, cluster name={}",
-                            agentTaskConfigEntity.getAgentIp(), agentTaskConfigEntity.getClusterName());
-                }
-
-            });
-            taskConfigMap = newTaskConfigMap;
-            agentConfigMap = newAgentConfigMap;
-            installerConfigMap = newInstallerConfigMap;
+            reloadChangedAgentTask();
         } catch (Throwable t) {
-            LOGGER.error("failed to reload all agent task config", t);
+            LOGGER.warn("failed to reload changed agent task config, fallback to reload all", t);
+            try {
+                reloadAllAgentTask();
+            } catch (Throwable e) {
+                LOGGER.error("failed to reload all agent task config", e);
+            }
         }
         LOGGER.debug("end to reload agent task config");
     }
 
+    /**
+     * Reload the new or changed agent task configs by their versions, and remove the deleted ones
+     */
+    private void reloadChangedAgentTask() {
+        Map<String, AgentTaskConfigEntity> newVersionMap = new HashMap<>();
+        configLoader.loadAllAgentTaskConfigVersion().forEach(
+                versionEntity -> newVersionMap.putIfAbsent(buildAgentTaskConfigKey(versionEntity), versionEntity));
+        // remove the deleted configs
+        for (String key : new ArrayList<>(loadedTaskConfigVersionMap.keySet())) {
+            if (!newVersionMap.containsKey(key)) {
+                loadedTaskConfigVersionMap.remove(key);
+                taskConfigMap.remove(key);
+                agentConfigMap.remove(key);
+                installerConfigMap.remove(key);
+            }
+        }
+        // load and parse only the new or changed configs
+        List<Integer> changedIdList = new ArrayList<>();
+        newVersionMap.forEach((key, versionEntity) -> {
+            AgentTaskConfigEntity loadedEntity = loadedTaskConfigVersionMap.get(key);
+            if (loadedEntity == null || !Objects.equals(loadedEntity.getId(), versionEntity.getId())
+                    || !Objects.equals(loadedEntity.getVersion(), versionEntity.getVersion())) {
+                changedIdList.add(versionEntity.getId());
+            }
+        });
+        for (List<Integer> idList : Lists.partition(changedIdList, CONFIG_LOAD_BATCH_SIZE)) {
+            configLoader.loadAgentTaskConfigEntityByIds(idList).forEach(agentTaskConfigEntity -> {
+                String key = buildAgentTaskConfigKey(agentTaskConfigEntity);
+                AgentTaskConfigEntity versionEntity = newVersionMap.get(key);
+                if (versionEntity == null
+                        || !Objects.equals(versionEntity.getId(), agentTaskConfigEntity.getId())) {
+                    return;
+                }
+                parseAgentTaskConfig(key, agentTaskConfigEntity, taskConfigMap, agentConfigMap,
+                        installerConfigMap);
+                // the broken config is not parsed again until its version changes
+                loadedTaskConfigVersionMap.put(key, versionEntity);
+            });
+        }
+        LOGGER.debug("success to reload changed agent task config, total={}, changed={}", newVersionMap.size(),
+                changedIdList.size());
+    }
+
+    /**
+     * Reload all agent task configs and rebuild the cached maps, it is the fallback of the changed reload
+     */
+    private void reloadAllAgentTask() {
+        Map<String, TaskResult> newTaskConfigMap = new ConcurrentHashMap<>();
+        Map<String, AgentConfigInfo> newAgentConfigMap = new ConcurrentHashMap<>();
+        Map<String, ConfigResult> newInstallerConfigMap = new ConcurrentHashMap<>();
+        Map<String, AgentTaskConfigEntity> newVersionMap = new HashMap<>();
+        for (AgentTaskConfigEntity agentTaskConfigEntity : configLoader.loadAllAgentTaskConfigEntity()) {
+            String key = buildAgentTaskConfigKey(agentTaskConfigEntity);
+            if (newVersionMap.containsKey(key)) {
+                continue;
+            }
+            newVersionMap.put(key, buildAgentTaskConfigVersion(agentTaskConfigEntity));
+            parseAgentTaskConfig(key, agentTaskConfigEntity, newTaskConfigMap, newAgentConfigMap,
+                    newInstallerConfigMap);
+        }
+        taskConfigMap = newTaskConfigMap;
+        agentConfigMap = newAgentConfigMap;
+        installerConfigMap = newInstallerConfigMap;
+        loadedTaskConfigVersionMap.clear();
+        loadedTaskConfigVersionMap.putAll(newVersionMap);
+        LOGGER.debug("success to reload all agent task config, total={}", newVersionMap.size());
+    }
+
+    private String buildAgentTaskConfigKey(AgentTaskConfigEntity agentTaskConfigEntity) {
+        return agentTaskConfigEntity.getAgentIp() + InlongConstants.UNDERSCORE
+                + agentTaskConfigEntity.getClusterName();
+    }
+
+    /**
+     * Keep only the id and version of the loaded config, the params are not needed by the changed reload
+     */
+    private AgentTaskConfigEntity buildAgentTaskConfigVersion(AgentTaskConfigEntity agentTaskConfigEntity) {
+        AgentTaskConfigEntity versionEntity = new AgentTaskConfigEntity();
+        versionEntity.setId(agentTaskConfigEntity.getId());
+        versionEntity.setAgentIp(agentTaskConfigEntity.getAgentIp());
+        versionEntity.setClusterName(agentTaskConfigEntity.getClusterName());
+        versionEntity.setVersion(agentTaskConfigEntity.getVersion());
+        return versionEntity;
+    }
+
+    private void parseAgentTaskConfig(String key, AgentTaskConfigEntity agentTaskConfigEntity,
+            Map<String, TaskResult> taskResultMap, Map<String, AgentConfigInfo> agentConfigInfoMap,
+            Map<String, ConfigResult> configResultMap) {
+        try {
+            TaskResult taskResult = JsonUtils.parseObject(agentTaskConfigEntity.getTaskParams(), TaskResult.class);
+            if (taskResult != null) {
+                taskResult.setVersion(agentTaskConfigEntity.getVersion());
+                taskResultMap.put(key, taskResult);
+            } else {
+                taskResultMap.remove(key);
+            }
+            AgentConfigInfo agentConfigInfo = JsonUtils.parseObject(agentTaskConfigEntity.getConfigParams(),
+                    AgentConfigInfo.class);
+            if (agentConfigInfo != null) {
+                agentConfigInfo.setVersion(agentTaskConfigEntity.getVersion());
+                agentConfigInfoMap.put(key, agentConfigInfo);
+            } else {
+                agentConfigInfoMap.remove(key);
+            }
+            ConfigResult configResult =
+                    JsonUtils.parseObject(agentTaskConfigEntity.getModuleParams(), ConfigResult.class);
+            if (configResult != null) {
+                configResult.setVersion(agentTaskConfigEntity.getVersion());
+                configResultMap.put(key, configResult);
+            } else {
+                configResultMap.remove(key);
+            }
+        } catch (Exception e) {
+            LOGGER.error("failed to get agent task config for agent ip={}, cluster name={}",
+                    agentTaskConfigEntity.getAgentIp(), agentTaskConfigEntity.getClusterName());
+        }
+    }
+
     public void reloadModule() {
         LOGGER.info("start to reload agent task config.");
         try {
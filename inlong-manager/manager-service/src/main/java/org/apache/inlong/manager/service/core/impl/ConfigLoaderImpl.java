@@ -202,6 +202,20 @@ public class ConfigLoaderImpl implements ConfigLoader {
         return agentTaskConfigEntityList;
     }
 
+    @Transactional
+    @Override
+    public List<AgentTaskConfigEntity> loadAllAgentTaskConfigVersion() {
+        Cursor<AgentTaskConfigEntity> cursor = agentTaskConfigEntityMapper.selectAllAgentTaskConfigVersions();
+        List<AgentTaskConfigEntity> agentTaskConfigVersionList = new ArrayList<>();
+        cursor.forEach(agentTaskConfigVersionList::add);
+        return agentTaskConfigVersionList;
+    }
+
+    @Override
+    public List<AgentTaskConfigEntity> loadAgentTaskConfigEntityByIds(List<Integer> idList) {
+        return agentTaskConfigEntityMapper.selectByIds(idList);
+    }
+
     @Transactional
     @Override
     public List<ModuleConfigEntity> loadAllModuleConfigEntity() {
@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.manager.service.core.impl;
+
+import org.apache.inlong.common.pojo.agent.TaskResult;
+import org.apache.inlong.manager.dao.entity.AgentTaskConfigEntity;
+import org.apache.inlong.manager.service.core.ConfigLoader;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for the reload of the agent task configs in {@link AgentServiceImpl}, the config loader is mocked.
+ */
+class AgentTaskConfigReloadTest {
+
+    private static final String KEY_1 = "127.0.0.1_default";
+    private static final String KEY_2 = "127.0.0.2_default";
+
+    private ConfigLoader configLoader;
+
+    private AgentServiceImpl agentService;
+
+    @BeforeEach
+    void setUp() {
+        configLoader = Mockito.mock(ConfigLoader.class);
+        agentService = new AgentServiceImpl();
+        ReflectionTestUtils.setField(agentService, "configLoader", configLoader);
+    }
+
+    @Test
+    void testReloadChangedConfig() {
+        when(configLoader.loadAllAgentTaskConfigVersion()).thenReturn(Arrays.asList(
+                buildVersion(1, "127.0.0.1", 1), buildVersion(2, "127.0.0.2", 1)));
+        when(configLoader.loadAgentTaskConfigEntityByIds(anyList())).thenReturn(Arrays.asList(
+                buildConfig(1, "127.0.0.1", 1, "md5-1"), buildConfig(2, "127.0.0.2", 1, "md5-2")));
+        agentService.reloadAgentTask();
+        assertEquals("md5-1", getTaskConfigMap().get(KEY_1).getMd5());
+        assertEquals("md5-2", getTaskConfigMap().get(KEY_2).getMd5());
+
+        // only the config whose version changed is loaded and parsed again
+        when(configLoader.loadAllAgentTaskConfigVersion()).thenReturn(Arrays.asList(
+                buildVersion(1, "127.0.0.1", 1), buildVersion(2, "127.0.0.2", 2)));
+        when(configLoader.loadAgentTaskConfigEntityByIds(Collections.singletonList(2))).thenReturn(
+                Collections.singletonList(buildConfig(2, "127.0.0.2", 2, "md5-2-new")));
+        agentService.reloadAgentTask();
+        assertEquals("md5-1", getTaskConfigMap().get(KEY_1).getMd5());
+        assertEquals("md5-2-new", getTaskConfigMap().get(KEY_2).getMd5());
+        assertEquals(Integer.valueOf(2), getTaskConfigMap().get(KEY_2).getVersion());
+        verify(configLoader).loadAgentTaskConfigEntityByIds(Collections.singletonList(2));
+
+        // nothing is loaded if no version changed
+        agentService.reloadAgentTask();
+        verify(configLoader, times(2)).loadAgentTaskConfigEntityByIds(anyList());
+        verify(configLoader, never()).loadAllAgentTaskConfigEntity();
+    }
+
+    @Test
+    void testReloadDeletedConfig() {
+        when(configLoader.loadAllAgentTaskConfigVersion()).thenReturn(Arrays.asList(
+                buildVersion(1, "127.0.0.1", 1), buildVersion(2, "127.0.0.2", 1)));
+        when(configLoader.loadAgentTaskConfigEntityByIds(anyList())).thenReturn(Arrays.asList(
+                buildConfig(1, "127.0.0.1", 1, "md5-1"), buildConfig(2, "127.0.0.2", 1, "md5-2")));
+        agentService.reloadAgentTask();
+        assertEquals(2, getTaskConfigMap().size());
+
+        // the deleted config is removed in place, the other one is kept without loading it again
+        when(configLoader.loadAllAgentTaskConfigVersion()).thenReturn(
+                Collections.singletonList(buildVersion(1, "127.0.0.1", 1)));
+        agentService.reloadAgentTask();
+        assertTrue(getTaskConfigMap().containsKey(KEY_1));
+        assertFalse(getTaskConfigMap().containsKey(KEY_2));
+        verify(configLoader, times(1)).loadAgentTaskConfigEntityByIds(anyList());
+    }
+
+    @Test
+    void testFallbackToReloadAll() {
+        when(configLoader.loadAllAgentTaskConfigVersion()).thenReturn(Arrays.asList(
+                buildVersion(1, "127.0.0.1", 1), buildVersion(2, "127.0.0.2", 1)));
+        when(configLoader.loadAgentTaskConfigEntityByIds(anyList())).thenReturn(Arrays.asList(
+                buildConfig(1, "127.0.0.1", 1, "md5-1"), buildConfig(2, "127.0.0.2", 1, "md5-2")));
+        agentService.reloadAgentTask();
+
+        // all configs are reloaded if the changed reload fails, the deleted config is dropped
+        when(configLoader.loadAllAgentTaskConfigVersion()).thenThrow(new RuntimeException("cursor closed"));
+        when(configLoader.loadAllAgentTaskConfigEntity()).thenReturn(
+                Collections.singletonList(buildConfig(1, "127.0.0.1", 2, "md5-1-new")));
+        agentService.reloadAgentTask();
+        assertEquals(1, getTaskConfigMap().size());
+        assertEquals("md5-1-new", getTaskConfigMap().get(KEY_1).getMd5());
+
+        // the versions of the full reload are kept, the next changed reload loads nothing
+        Mockito.reset(configLoader);
+        when(configLoader.loadAllAgentTaskConfigVersion()).thenReturn(
+                Collections.singletonList(buildVersion(1, "127.0.0.1", 2)));
+        agentService.reloadAgentTask();
+        verify(configLoader, never()).loadAgentTaskConfigEntityByIds(anyList());
+        assertEquals("md5-1-new", getTaskConfigMap().get(KEY_1).getMd5());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, TaskResult> getTaskConfigMap() {
+        return (Map<String, TaskResult>) ReflectionTestUtils.getField(agentService, "taskConfigMap");
+    }
+
+    private static AgentTaskConfigEntity buildVersion(int id, String agentIp, int version) {
+        AgentTaskConfigEntity entity = new AgentTaskConfigEntity();
+        entity.setId(id);
+        entity.setAgentIp(agentIp);
+        entity.setClusterName("default");
+        entity.setVersion(version);
+        return entity;
+    }
+
+    private static AgentTaskConfigEntity buildConfig(int id, String agentIp, int version, String md5) {
+        AgentTaskConfigEntity entity = buildVersion(id, agentIp, version);
+        entity.setTaskParams("{\"md5\":\"" + md5 + "\"}");
+        return entity;
+    }
+}
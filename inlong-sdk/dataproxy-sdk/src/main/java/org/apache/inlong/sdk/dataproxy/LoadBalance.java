@@ -23,7 +23,9 @@ public enum LoadBalance {
     ROBIN("robin", 1),
     CONSISTENCY_HASH("consistency hash", 2),
     WEIGHT_RANDOM("weight random", 3),
-    WEIGHT_ROBIN("weight robin", 4);
+    WEIGHT_ROBIN("weight robin", 4),
+    LEAST_CONNECTIONS("least connections", 5),
+    WEIGHT_LEAST_CONNECTIONS("weight least connections", 6);
 
     private final String name;
     private final int index;
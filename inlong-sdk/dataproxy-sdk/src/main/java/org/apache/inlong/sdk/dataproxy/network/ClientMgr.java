@@ -49,8 +49,11 @@ import java.util.Optional;
 import java.util.Random;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.ToIntFunction;
 
 public class ClientMgr {
 
@@ -70,6 +73,9 @@ public class ClientMgr {
     private final ConcurrentHashMap<HostInfo, AtomicLong> lastBadHostMap = new ConcurrentHashMap<>();
     // clientList is the valueSet of clientMapData
     private final ArrayList<NettyClient> clientList = new ArrayList<>();
+    // immutable copy of clientList, swapped after each change of clientList and read by the selectors without lock
+    private volatile ClientSnapshot clientSnapshot = ClientSnapshot.EMPTY;
+    private final AtomicInteger clientCursor = new AtomicInteger(0);
     private final Map<HostInfo, int[]> channelLoadMapData = new ConcurrentHashMap<>();
     private final Map<HostInfo, int[]> channelLoadMapHB = new ConcurrentHashMap<>();
     /**
@@ -78,7 +84,6 @@ public class ClientMgr {
     private final ReentrantReadWriteLock fsLock = new ReentrantReadWriteLock(true);
     private List<HostInfo> proxyInfoList = new ArrayList<>();
     private Bootstrap bootstrap;
-    private int currentIndex = 0;
     private ProxyClientConfig configure;
     private Sender sender;
     private int aliveConnections;
@@ -297,7 +302,7 @@ public class ClientMgr {
             // create data channel
             if (bSuccess) {
                 clientMapData.put(host, client);
-                clientList.add(client);
+                addWorkClient(client);
                 clientMap.put(host, client);
                 logger.info("build a connection success! {},channel {}", host.getHostName(), client.getChannel());
             } else {
@@ -327,7 +332,7 @@ public class ClientMgr {
         if (clientMapData.size() < aliveConnections) {
             // create data channel
             clientMapData.put(host, client);
-            clientList.add(client);
+            addWorkClient(client);
             clientMap.put(host, client);
             logger.info("build a connection success! {},channel {}", host.getHostName(), client.getChannel());
             logger.info("client map size {},client list size {}", clientMapData.size(), clientList.size());
@@ -412,115 +417,146 @@ public class ClientMgr {
         }
     }
 
-    public synchronized NettyClient getClientByRoundRobin() {
-        NettyClient client = null;
-        if (clientList.isEmpty()) {
+    public NettyClient getClientByRoundRobin() {
+        NettyClient[] clients = clientSnapshot.clients;
+        int currSize = clients.length;
+        if (currSize == 0) {
             return null;
         }
-        int currSize = clientList.size();
+        int startIndex = nextCursor();
         for (int retryTime = 0; retryTime < currSize; retryTime++) {
-            currentIndex = (++currentIndex) % currSize;
-            client = clientList.get(currentIndex);
+            NettyClient client = clients[(startIndex + retryTime) % currSize];
             if (client != null && client.isActive()) {
-                break;
+                return client;
             }
         }
-        if (client == null || !client.isActive()) {
-            return null;
-        }
-        // logger.info("get a client {}", client.getChannel());
-        return client;
+        return null;
     }
 
-    public synchronized NettyClient getClientByRandom() {
-        NettyClient client;
-        if (clientList.isEmpty()) {
+    public NettyClient getClientByRandom() {
+        NettyClient[] clients = clientSnapshot.clients;
+        int currSize = clients.length;
+        if (currSize == 0) {
             return null;
         }
-        int currSize = clientList.size();
         int maxRetry = this.configure.getMaxRetry();
-        Random random = new Random(System.currentTimeMillis());
+        ThreadLocalRandom random = ThreadLocalRandom.current();
         do {
-            int randomId = random.nextInt();
-            client = clientList.get(randomId % currSize);
+            NettyClient client = clients[random.nextInt(currSize)];
             if (client != null && client.isActive()) {
-                break;
+                return client;
             }
             maxRetry--;
         } while (maxRetry > 0);
-        if (client == null || !client.isActive()) {
+        return null;
+    }
+
+    /**
+     * Choose the active client with the fewest in-flight async messages,
+     * the scan starts from a rotating cursor so that the ties are spread.
+     */
+    public NettyClient getClientByLeastConnections() {
+        NettyClient[] clients = clientSnapshot.clients;
+        int currSize = clients.length;
+        if (currSize == 0) {
             return null;
         }
-        return client;
+        NettyClient result = null;
+        int minInflight = Integer.MAX_VALUE;
+        int startIndex = nextCursor();
+        for (int i = 0; i < currSize; i++) {
+            NettyClient client = clients[(startIndex + i) % currSize];
+            if (client == null || !client.isActive()) {
+                continue;
+            }
+            int inflight = sender.getInflightCount(client.getChannel());
+            if (inflight < minInflight) {
+                minInflight = inflight;
+                result = client;
+                if (inflight == 0) {
+                    break;
+                }
+            }
+        }
+        return result;
     }
 
-    // public synchronized NettyClient getClientByLeastConnections() {}
-
-    public synchronized NettyClient getClientByConsistencyHash(String messageId) {
-        NettyClient client;
-        if (clientList.isEmpty()) {
+    public NettyClient getClientByConsistencyHash(String messageId) {
+        if (clientSnapshot.clients.length == 0) {
             return null;
         }
         String hash = ConsistencyHashUtil.hashMurMurHash(messageId);
         HashRing cluster = HashRing.getInstance();
         HostInfo info = cluster.getNode(hash);
-        client = this.clientMap.get(info);
-        return client;
+        return this.clientMap.get(info);
     }
 
-    public synchronized NettyClient getClientByWeightRoundRobin() {
-        NettyClient client = null;
-        double maxWeight = Double.MIN_VALUE;
-        int clientId = 0;
-        if (clientList.isEmpty()) {
+    public NettyClient getClientByWeightRoundRobin() {
+        ClientSnapshot snapshot = clientSnapshot;
+        if (snapshot.clients.length == 0) {
             return null;
         }
-        int currSize = clientList.size();
-        for (int retryTime = 0; retryTime < currSize; retryTime++) {
-            currentIndex = (++currentIndex) % currSize;
-            client = clientList.get(currentIndex);
-            if (client != null && client.isActive() && client.getWeight() > maxWeight) {
-                clientId = currentIndex;
-            }
+        return snapshot.selectByWeightRoundRobin();
+    }
+
+    /**
+     * Choose the active client with the fewest in-flight async messages per weight.
+     */
+    public NettyClient getClientByWeightLeastConnections() {
+        ClientSnapshot snapshot = clientSnapshot;
+        if (snapshot.clients.length == 0) {
+            return null;
         }
-        if (client == null || !client.isActive()) {
+        return snapshot.selectByWeightLeastConnections(nextCursor(),
+                client -> sender.getInflightCount(client.getChannel()));
+    }
+
+    public NettyClient getClientByWeightRandom() {
+        ClientSnapshot snapshot = clientSnapshot;
+        if (snapshot.clients.length == 0) {
             return null;
         }
-        return clientList.get(clientId);
+        return snapshot.selectByWeightRandom(ThreadLocalRandom.current(), this.configure.getMaxRetry());
     }
 
-    // public synchronized NettyClient getClientByWeightLeastConnections(){}
+    private int nextCursor() {
+        return clientCursor.getAndIncrement() & Integer.MAX_VALUE;
+    }
 
-    public synchronized NettyClient getClientByWeightRandom() {
-        NettyClient client;
-        double maxWeight = Double.MIN_VALUE;
-        int clientId = 0;
-        if (clientList.isEmpty()) {
-            return null;
+    private void addWorkClient(NettyClient client) {
+        synchronized (clientList) {
+            clientList.add(client);
+            refreshClientSnapshot();
         }
-        int currSize = clientList.size();
-        int maxRetry = this.configure.getMaxRetry();
-        Random random = new Random(System.currentTimeMillis());
-        do {
-            int randomId = random.nextInt();
-            client = clientList.get(randomId % currSize);
-            if (client != null && client.isActive()) {
-                clientId = randomId % currSize;
-                break;
-            }
-            maxRetry--;
-        } while (maxRetry > 0);
-        if (client == null || !client.isActive()) {
-            return null;
+    }
+
+    private void removeWorkClient(NettyClient client) {
+        synchronized (clientList) {
+            clientList.remove(client);
+            refreshClientSnapshot();
+        }
+    }
+
+    private void clearWorkClients() {
+        synchronized (clientList) {
+            clientList.clear();
+            refreshClientSnapshot();
+        }
+    }
+
+    private void refreshClientSnapshot() {
+        synchronized (clientList) {
+            clientSnapshot = clientList.isEmpty()
+                    ? ClientSnapshot.EMPTY
+                    : new ClientSnapshot(clientList.toArray(new NettyClient[0]));
         }
-        return clientList.get(clientId);
     }
 
     public NettyClient getContainProxy(String proxyip) {
         if (proxyip == null) {
             return null;
         }
-        for (NettyClient tmpClient : clientList) {
+        for (NettyClient tmpClient : clientSnapshot.clients) {
             if (tmpClient != null && tmpClient.getServerIP() != null && tmpClient.getServerIP().equals(proxyip)) {
                 return tmpClient;
             }
@@ -559,7 +595,7 @@ public class ClientMgr {
 
         channelLoadMapData.clear();
         channelLoadMapHB.clear();
-        clientList.clear();
+        clearWorkClients();
         sender.clearCallBack();
     }
 
@@ -630,7 +666,7 @@ public class ClientMgr {
                 sender.waitForAckForChannel(client.getChannel());
                 sender.clearCallBackByChannel(client.getChannel());
                 boolean close = client.close();
-                clientList.remove(client);
+                removeWorkClient(client);
                 logger.info("close connections! = {} for host = {}", close, unHealthyHost);
             }
             clientMap.remove(unHealthyHost);
@@ -647,6 +683,9 @@ public class ClientMgr {
 
     public void notifyHBAck(Channel channel, short loadvalue) {
         try {
+            if (loadvalue != (-1)) {
+                updateProxyLoad(channel, loadvalue);
+            }
             if (loadvalue == (-1) || loadCycle == 0) {
                 return;
             } else {
@@ -691,6 +730,24 @@ public class ClientMgr {
         }
     }
 
+    /**
+     * Record the load reported by the proxy on the client, which decides the weight of the client.
+     */
+    private void updateProxyLoad(Channel channel, short loadvalue) {
+        for (NettyClient client : clientMapData.values()) {
+            if (client.getChannel() != null && client.getChannel().id().equals(channel.id())) {
+                client.setProxyLoad(loadvalue);
+                return;
+            }
+        }
+        for (NettyClient client : clientMapHB.values()) {
+            if (client.getChannel() != null && client.getChannel().id().equals(channel.id())) {
+                client.setProxyLoad(loadvalue);
+                return;
+            }
+        }
+    }
+
     private void loadDataInfo(Map<HostInfo, Integer> loadData) {
         for (Map.Entry<HostInfo, int[]> entry : channelLoadMapData.entrySet()) {
             HostInfo key = entry.getKey();
@@ -784,13 +841,13 @@ public class ClientMgr {
                     sender.waitForAckForChannel(client.getChannel());
                     client.close();
 
-                    clientList.remove(clientMapData.get(dataHost));
+                    removeWorkClient(clientMapData.get(dataHost));
                     clientMap.remove(dataHost);
                     clientMapData.remove(dataHost);
                     // channelLoadMapData.remove(dataHost);
                     clientMapData.put(hbHost, clientMapHB.get(hbHost));
                     // channelLoadMapData.put(hbHost,listHB.get(i).getValue());
-                    clientList.add(clientMapHB.get(hbHost));
+                    addWorkClient(clientMapHB.get(hbHost));
                     clientMapHB.remove(hbHost);
                 }
             }
@@ -874,7 +931,7 @@ public class ClientMgr {
         while (it.hasNext() && clientMapData.size() < aliveConnections) {
             Map.Entry<HostInfo, NettyClient> entry = it.next();
             clientMapData.put(entry.getKey(), entry.getValue());
-            clientList.add(entry.getValue());
+            addWorkClient(entry.getValue());
             channelLoadMapHB.remove(entry.getKey());
             it.remove();
         }
@@ -976,7 +1033,7 @@ public class ClientMgr {
                 client.close();
                 clientMapData.remove(hostInfo);
                 clientMap.remove(hostInfo);
-                clientList.remove(client);
+                removeWorkClient(client);
 
                 channelLoadMapData.remove(hostInfo);
                 logger.info("remove this client {}", hostInfo.getHostName());
@@ -1128,6 +1185,12 @@ public class ClientMgr {
             case WEIGHT_RANDOM:
                 client = getClientByWeightRandom();
                 break;
+            case LEAST_CONNECTIONS:
+                client = getClientByLeastConnections();
+                break;
+            case WEIGHT_LEAST_CONNECTIONS:
+                client = getClientByWeightLeastConnections();
+                break;
         }
         return client;
     }
@@ -1151,6 +1214,8 @@ public class ClientMgr {
             while (!bShutDown) {
                 try {
                     loadCycle++;
+                    // the weights in the snapshot are refreshed in each heartbeat cycle
+                    refreshClientSnapshot();
                     sendHeartBeat();
                     replaceBadConnectionHB();
                     try {
@@ -1167,4 +1232,112 @@ public class ClientMgr {
         }
     }
 
+    /**
+     * Immutable view of the work clients and their weights taken at the same time.
+     */
+    static final class ClientSnapshot {
+
+        private static final ClientSnapshot EMPTY = new ClientSnapshot(new NettyClient[0]);
+
+        private final NettyClient[] clients;
+        private final double[] weights;
+        private final double totalWeight;
+        private final double[] currentWeights;
+
+        ClientSnapshot(NettyClient[] clients) {
+            this.clients = clients;
+            this.weights = new double[clients.length];
+            this.currentWeights = new double[clients.length];
+            double tmpTotal = 0;
+            for (int i = 0; i < clients.length; i++) {
+                weights[i] = clients[i] == null ? 0 : clients[i].getWeight();
+                if (weights[i] > 0) {
+                    tmpTotal += weights[i];
+                }
+            }
+            this.totalWeight = tmpTotal;
+        }
+
+        /**
+         * Smooth weighted round robin over the active clients: each pick adds the weights to the current
+         * weights and takes the total back from the chosen client, so the clients are chosen in proportion
+         * to their weights and the heavier ones are interleaved with the lighter ones.
+         * The current weights start over when the snapshot is refreshed.
+         */
+        NettyClient selectByWeightRoundRobin() {
+            synchronized (currentWeights) {
+                int selected = -1;
+                double activeWeight = 0;
+                for (int i = 0; i < clients.length; i++) {
+                    NettyClient client = clients[i];
+                    if (client == null || !client.isActive()) {
+                        continue;
+                    }
+                    currentWeights[i] += weights[i];
+                    activeWeight += weights[i];
+                    if (selected < 0 || currentWeights[i] > currentWeights[selected]) {
+                        selected = i;
+                    }
+                }
+                if (selected < 0) {
+                    return null;
+                }
+                currentWeights[selected] -= activeWeight;
+                return clients[selected];
+            }
+        }
+
+        /**
+         * Choose the active client with the fewest in-flight async messages per weight.
+         */
+        NettyClient selectByWeightLeastConnections(int startIndex, ToIntFunction<NettyClient> inflightCounter) {
+            NettyClient result = null;
+            double minScore = Double.MAX_VALUE;
+            for (int i = 0; i < clients.length; i++) {
+                int index = (startIndex + i) % clients.length;
+                NettyClient client = clients[index];
+                if (client == null || !client.isActive()) {
+                    continue;
+                }
+                double weight = weights[index] > 0 ? weights[index] : 1;
+                double score = (inflightCounter.applyAsInt(client) + 1) / weight;
+                if (score < minScore) {
+                    minScore = score;
+                    result = client;
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Pick an active client with the probability in proportion to its weight.
+         */
+        NettyClient selectByWeightRandom(Random random, int maxRetry) {
+            do {
+                NettyClient client = clients[randomIndex(random)];
+                if (client != null && client.isActive()) {
+                    return client;
+                }
+                maxRetry--;
+            } while (maxRetry > 0);
+            return null;
+        }
+
+        private int randomIndex(Random random) {
+            if (totalWeight <= 0) {
+                return random.nextInt(clients.length);
+            }
+            double point = random.nextDouble() * totalWeight;
+            for (int i = 0; i < weights.length; i++) {
+                if (weights[i] > 0) {
+                    point -= weights[i];
+                    if (point < 0) {
+                        return i;
+                    }
+                }
+            }
+            return clients.length - 1;
+        }
+    }
+
 }
@@ -20,7 +20,6 @@ package org.apache.inlong.sdk.dataproxy.network;
 import org.apache.inlong.sdk.dataproxy.ProxyClientConfig;
 import org.apache.inlong.sdk.dataproxy.codec.EncodeObject;
 
-import com.sun.management.OperatingSystemMXBean;
 import io.netty.bootstrap.Bootstrap;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
@@ -28,7 +27,6 @@ import io.netty.channel.ChannelFutureListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.lang.management.ManagementFactory;
 import java.net.InetSocketAddress;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
@@ -46,6 +44,8 @@ public class NettyClient {
     private Bootstrap bootstrap;
     private String serverIP;
     private int serverPort;
+    // the load reported by the proxy in the last heartbeat ack, -1 if not reported yet
+    private volatile int proxyLoad = -1;
 
     public String getServerIP() {
         return serverIP;
@@ -217,10 +217,20 @@ public class NettyClient {
         setState(ConnState.BUSY);
     }
 
+    public int getProxyLoad() {
+        return proxyLoad;
+    }
+
+    public void setProxyLoad(int proxyLoad) {
+        this.proxyLoad = proxyLoad;
+    }
+
+    /**
+     * Get the weight of the proxy, the lighter the load reported by the proxy, the larger the weight.
+     * The proxy without reported load is weighted as an idle one.
+     */
     public double getWeight() {
-        OperatingSystemMXBean operatingSystemMXBean =
-                (OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
-        return operatingSystemMXBean.getSystemLoadAverage();
+        return 1.0 / (1 + Math.max(proxyLoad, 0));
     }
 
 }
@@ -490,6 +490,17 @@ public class Sender {
         callbacks.remove(channel);
     }
 
+    /**
+     * Get the count of the async messages sent on the channel and waiting for the ack.
+     */
+    public int getInflightCount(Channel channel) {
+        if (channel == null) {
+            return 0;
+        }
+        ConcurrentHashMap<String, QueueObject> msgQueueMap = callbacks.get(channel);
+        return msgQueueMap == null ? 0 : msgQueueMap.size();
+    }
+
     public int getClusterId() {
         return clusterId;
     }
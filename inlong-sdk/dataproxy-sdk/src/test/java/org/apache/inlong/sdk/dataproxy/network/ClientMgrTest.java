@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.sdk.dataproxy.network;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Random;
+
+public class ClientMgrTest {
+
+    @Test
+    public void testWeightFromProxyLoad() {
+        NettyClient lightClient = buildClient(10, true);
+        NettyClient heavyClient = buildClient(90, true);
+        NettyClient unknownClient = buildClient(-1, true);
+        Assert.assertTrue(lightClient.getWeight() > heavyClient.getWeight());
+        Assert.assertTrue(unknownClient.getWeight() > lightClient.getWeight());
+        Assert.assertEquals(1.0, unknownClient.getWeight(), 0.0);
+    }
+
+    @Test
+    public void testWeightRoundRobinFollowsWeights() {
+        // the weights are 1, 1/2 and 1/4
+        NettyClient lightClient = buildClient(0, true);
+        NettyClient middleClient = buildClient(1, true);
+        NettyClient heavyClient = buildClient(3, true);
+        ClientMgr.ClientSnapshot snapshot = new ClientMgr.ClientSnapshot(
+                new NettyClient[]{heavyClient, lightClient, middleClient});
+        Map<NettyClient, Integer> counts = new IdentityHashMap<>();
+        for (int i = 0; i < 7; i++) {
+            counts.merge(snapshot.selectByWeightRoundRobin(), 1, Integer::sum);
+        }
+        // every proxy is chosen in each round of 7 picks in proportion to its weight
+        Assert.assertEquals(4, counts.get(lightClient).intValue());
+        Assert.assertEquals(2, counts.get(middleClient).intValue());
+        Assert.assertEquals(1, counts.get(heavyClient).intValue());
+        Assert.assertSame(lightClient, snapshot.selectByWeightRoundRobin());
+        Assert.assertSame(middleClient, snapshot.selectByWeightRoundRobin());
+    }
+
+    @Test
+    public void testWeightRoundRobinSkipsInactiveProxy() {
+        NettyClient firstClient = buildClient(80, true);
+        NettyClient secondClient = buildClient(50, true);
+        ClientMgr.ClientSnapshot snapshot = new ClientMgr.ClientSnapshot(
+                new NettyClient[]{firstClient, buildClient(20, false), secondClient});
+        Map<NettyClient, Integer> counts = new IdentityHashMap<>();
+        for (int i = 0; i < 100; i++) {
+            counts.merge(snapshot.selectByWeightRoundRobin(), 1, Integer::sum);
+        }
+        Assert.assertEquals(2, counts.size());
+        Assert.assertTrue(counts.get(secondClient) > counts.get(firstClient));
+    }
+
+    @Test
+    public void testWeightRandomSkewsToLighterProxy() {
+        NettyClient lightClient = buildClient(10, true);
+        NettyClient heavyClient = buildClient(90, true);
+        ClientMgr.ClientSnapshot snapshot = new ClientMgr.ClientSnapshot(
+                new NettyClient[]{heavyClient, lightClient});
+        Map<NettyClient, Integer> counts = new IdentityHashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 10000; i++) {
+            counts.merge(snapshot.selectByWeightRandom(random, 3), 1, Integer::sum);
+        }
+        // the weights are 1/11 and 1/91, so the lighter proxy is picked about 8 times as often
+        Assert.assertTrue(counts.get(lightClient) > 6 * counts.get(heavyClient));
+        Assert.assertTrue(counts.get(heavyClient) > 0);
+    }
+
+    @Test
+    public void testWeightRandomWithoutLoad() {
+        NettyClient client1 = buildClient(-1, true);
+        NettyClient client2 = buildClient(-1, true);
+        ClientMgr.ClientSnapshot snapshot = new ClientMgr.ClientSnapshot(new NettyClient[]{client1, client2});
+        Map<NettyClient, Integer> counts = new IdentityHashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 10000; i++) {
+            counts.merge(snapshot.selectByWeightRandom(random, 3), 1, Integer::sum);
+        }
+        Assert.assertTrue(Math.abs(counts.get(client1) - counts.get(client2)) < 1000);
+    }
+
+    @Test
+    public void testWeightLeastConnectionsSkewsToLighterProxy() {
+        NettyClient lightClient = buildClient(10, true);
+        NettyClient heavyClient = buildClient(90, true);
+        ClientMgr.ClientSnapshot snapshot = new ClientMgr.ClientSnapshot(
+                new NettyClient[]{heavyClient, lightClient});
+        Map<NettyClient, Integer> inflights = new IdentityHashMap<>();
+        inflights.put(heavyClient, 0);
+        inflights.put(lightClient, 0);
+        for (int startIndex = 0; startIndex < 2; startIndex++) {
+            Assert.assertSame(lightClient, snapshot.selectByWeightLeastConnections(startIndex, inflights::get));
+        }
+        // the lighter proxy takes the messages until its in-flight count outweighs the load gap
+        inflights.put(lightClient, 7);
+        Assert.assertSame(lightClient, snapshot.selectByWeightLeastConnections(0, inflights::get));
+        inflights.put(lightClient, 20);
+        Assert.assertSame(heavyClient, snapshot.selectByWeightLeastConnections(0, inflights::get));
+    }
+
+    private static NettyClient buildClient(int proxyLoad, boolean active) {
+        NettyClient client = Mockito.spy(new NettyClient(null, "127.0.0.1", 46801, null));
+        Mockito.doReturn(active).when(client).isActive();
+        client.setProxyLoad(proxyLoad);
+        return client;
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.sdk.transform.decode;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * ByteSplitUtils
+ * Description: the helpers to split the source bytes without decoding the whole payload to string.
+ * The bytes can be split directly only if every separator is a single byte ascii character which
+ * never appears inside a multi-byte character of the charset.
+ */
+public class ByteSplitUtils {
+
+    private static final int ASCII_LIMIT = 0x80;
+
+    /**
+     * isByteSplittable
+     * @param charset the source charset
+     * @param separators the separator characters, the null one is ignored
+     * @return true if the source bytes can be split directly
+     */
+    public static boolean isByteSplittable(Charset charset, Character... separators) {
+        if (!StandardCharsets.UTF_8.equals(charset)
+                && !StandardCharsets.US_ASCII.equals(charset)
+                && !StandardCharsets.ISO_8859_1.equals(charset)) {
+            return false;
+        }
+        for (Character separator : separators) {
+            if (separator != null && separator.charValue() >= ASCII_LIMIT) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * FieldNameTable
+     * Description: find the field index by the encoded field name bytes without building the name string
+     */
+    public static class FieldNameTable {
+
+        private final byte[][] fieldNames;
+        private final int[] slots;
+        private final int mask;
+
+        public FieldNameTable(List<String> names, Charset charset) {
+            this.fieldNames = new byte[names.size()][];
+            int capacity = Integer.highestOneBit(Math.max(names.size(), 1) * 2) * 2;
+            this.slots = new int[capacity];
+            this.mask = capacity - 1;
+            for (int i = 0; i < names.size(); i++) {
+                // the last field wins for the duplicate name as the field index map does
+                this.fieldNames[i] = names.get(i).getBytes(charset);
+                this.slots[this.findSlot(this.fieldNames[i], 0, this.fieldNames[i].length)] = i + 1;
+            }
+        }
+
+        /**
+         * find
+         * @return the field index, or -1 if the name is not a field
+         */
+        public int find(byte[] bytes, int offset, int length) {
+            int slot = this.slots[this.findSlot(bytes, offset, length)];
+            return slot - 1;
+        }
+
+        private int findSlot(byte[] bytes, int offset, int length) {
+            int pos = hash(bytes, offset, length) & mask;
+            while (true) {
+                int fieldIndex = this.slots[pos] - 1;
+                if (fieldIndex < 0 || equals(this.fieldNames[fieldIndex], bytes, offset, length)) {
+                    return pos;
+                }
+                pos = (pos + 1) & mask;
+            }
+        }
+
+        private static int hash(byte[] bytes, int offset, int length) {
+            int h = 1;
+            for (int i = offset; i < offset + length; i++) {
+                h = 31 * h + bytes[i];
+            }
+            return h ^ (h >>> 16);
+        }
+
+        private static boolean equals(byte[] name, byte[] bytes, int offset, int length) {
+            if (name.length != length) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (name[i] != bytes[offset + i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -32,7 +32,19 @@ public class CsvSourceData implements SourceData {
 
     private Map<String, Object> currentRow;
 
+    // the rows stored by field index when the source fields are configured
+    private final Map<String, Integer> fieldIndexMap;
+
+    private final List<Object[]> indexedRows;
+
     public CsvSourceData() {
+        this.fieldIndexMap = null;
+        this.indexedRows = null;
+    }
+
+    public CsvSourceData(Map<String, Integer> fieldIndexMap) {
+        this.fieldIndexMap = fieldIndexMap;
+        this.indexedRows = new ArrayList<>();
     }
 
     public void putField(String fieldName, Object fieldValue) {
@@ -44,17 +56,46 @@ public class CsvSourceData implements SourceData {
         rows.add(currentRow);
     }
 
+    public void addRow(Object[] fieldValues) {
+        this.indexedRows.add(fieldValues);
+    }
+
     @Override
     public int getRowCount() {
+        if (this.indexedRows != null) {
+            return this.indexedRows.size();
+        }
         return this.rows.size();
     }
 
     @Override
     public Object getField(int rowNum, String fieldName) {
+        if (this.indexedRows != null) {
+            Integer fieldIndex = this.fieldIndexMap.get(fieldName);
+            if (fieldIndex == null) {
+                return null;
+            }
+            return this.getField(rowNum, fieldIndex, fieldName);
+        }
         if (rowNum >= this.rows.size()) {
             return null;
         }
         Map<String, Object> targetRow = this.rows.get(rowNum);
         return targetRow.get(fieldName);
     }
+
+    @Override
+    public Object getField(int rowNum, int fieldIndex, String fieldName) {
+        if (this.indexedRows == null) {
+            return this.getField(rowNum, fieldName);
+        }
+        if (rowNum >= this.indexedRows.size()) {
+            return null;
+        }
+        Object[] targetRow = this.indexedRows.get(rowNum);
+        if (fieldIndex < 0 || fieldIndex >= targetRow.length) {
+            return null;
+        }
+        return targetRow[fieldIndex];
+    }
 }
@@ -32,10 +32,15 @@ import java.nio.charset.Charset;
  */
 public class CsvSourceDecoder extends SourceDecoder<String> {
 
+    private static final char QUOTE_CHAR = '\"';
+    private static final char LINE_DELIMITER = '\n';
+
     protected CsvSourceInfo sourceInfo;
     private Charset srcCharset = Charset.defaultCharset();
     private Character delimiter = '|';
     private Character escapeChar = null;
+    // split the source bytes directly if the charset and the separators allow
+    private final boolean byteSplit;
 
     public CsvSourceDecoder(CsvSourceInfo sourceInfo) {
         super(sourceInfo.getFields());
@@ -49,43 +54,143 @@ public class CsvSourceDecoder extends SourceDecoder<String> {
         if (!StringUtils.isBlank(sourceInfo.getCharset())) {
             this.srcCharset = Charset.forName(sourceInfo.getCharset());
         }
+        this.byteSplit = CollectionUtils.isNotEmpty(fields)
+                && ByteSplitUtils.isByteSplittable(srcCharset, delimiter, escapeChar, QUOTE_CHAR, LINE_DELIMITER);
     }
 
     @Override
     public SourceData decode(byte[] srcBytes, Context context) {
+        if (byteSplit) {
+            return this.decodeBytes(srcBytes, context == null ? null : context.getProjection());
+        }
         String srcString = new String(srcBytes, srcCharset);
         return this.decode(srcString, context);
     }
 
+    @Override
+    public String decodeSourceString(byte[] srcBytes) {
+        return new String(srcBytes, srcCharset);
+    }
+
     @Override
     public SourceData decode(String srcString, Context context) {
-        String[][] rowValues = SplitUtils.splitCsv(srcString, delimiter, escapeChar, '\"', '\n', true);
-        CsvSourceData sourceData = new CsvSourceData();
-        for (int i = 0; i < rowValues.length; i++) {
-            String[] fieldValues = rowValues[i];
-            sourceData.addRow();
-            if (CollectionUtils.isEmpty(fields)) {
+        String[][] rowValues = SplitUtils.splitCsv(srcString, delimiter, escapeChar, QUOTE_CHAR, LINE_DELIMITER, true);
+        if (CollectionUtils.isEmpty(fields)) {
+            CsvSourceData sourceData = new CsvSourceData();
+            for (int i = 0; i < rowValues.length; i++) {
+                String[] fieldValues = rowValues[i];
+                sourceData.addRow();
                 for (int j = 0; j < fieldValues.length; j++) {
                     String fieldName = SourceData.FIELD_DEFAULT_PREFIX + (j + 1);
                     sourceData.putField(fieldName, fieldValues[j]);
                 }
-                continue;
             }
-            int fieldIndex = 0;
-            for (FieldInfo field : fields) {
-                String fieldName = field.getName();
-                Object fieldValue = null;
-                if (fieldIndex < fieldValues.length) {
-                    try {
-                        fieldValue = field.getConverter().convert(fieldValues[fieldIndex]);
-                    } catch (Exception e) {
+            return sourceData;
+        }
+        boolean[] projection = context == null ? null : context.getProjection();
+        CsvSourceData sourceData = new CsvSourceData(fieldIndexMap);
+        for (int i = 0; i < rowValues.length; i++) {
+            String[] fieldValues = rowValues[i];
+            Object[] rowFields = new Object[fields.size()];
+            int fieldCount = Math.min(fieldValues.length, rowFields.length);
+            for (int fieldIndex = 0; fieldIndex < fieldCount; fieldIndex++) {
+                if (projection == null || projection[fieldIndex]) {
+                    rowFields[fieldIndex] = this.convertField(fieldIndex, fieldValues[fieldIndex]);
+                }
+            }
+            sourceData.addRow(rowFields);
+        }
+        return sourceData;
+    }
+
+    /**
+     * decodeBytes
+     * Description: split the source bytes with the same rule as SplitUtils.splitCsv, only the projected
+     * fields are decoded to string and converted.
+     */
+    private SourceData decodeBytes(byte[] srcBytes, boolean[] projection) {
+        int fieldSize = fields.size();
+        byte deli = (byte) delimiter.charValue();
+        boolean hasEscape = escapeChar != null;
+        byte escape = hasEscape ? (byte) escapeChar.charValue() : 0;
+        byte quote = (byte) QUOTE_CHAR;
+        byte line = (byte) LINE_DELIMITER;
 
+        CsvSourceData sourceData = new CsvSourceData(fieldIndexMap);
+        Object[] rowFields = new Object[fieldSize];
+        byte[] fieldValue = new byte[srcBytes.length];
+        int fieldLength = 0;
+        int fieldIndex = 0;
+        int state = SplitUtils.STATE_NORMAL;
+        for (int i = 0; i < srcBytes.length; i++) {
+            byte ch = srcBytes[i];
+            if (ch == deli) {
+                if (state == SplitUtils.STATE_NORMAL) {
+                    this.putField(rowFields, fieldIndex++, projection, fieldValue, fieldLength);
+                    fieldLength = 0;
+                } else {
+                    fieldValue[fieldLength++] = ch;
+                    if (state == SplitUtils.STATE_ESCAPING) {
+                        state = SplitUtils.STATE_NORMAL;
+                    }
+                }
+            } else if (hasEscape && ch == escape) {
+                if (state == SplitUtils.STATE_NORMAL) {
+                    state = SplitUtils.STATE_ESCAPING;
+                } else {
+                    fieldValue[fieldLength++] = ch;
+                    if (state == SplitUtils.STATE_ESCAPING) {
+                        state = SplitUtils.STATE_NORMAL;
+                    }
+                }
+            } else if (ch == quote) {
+                if (state == SplitUtils.STATE_NORMAL) {
+                    state = SplitUtils.STATE_QUOTING;
+                } else if (state == SplitUtils.STATE_ESCAPING) {
+                    fieldValue[fieldLength++] = ch;
+                    state = SplitUtils.STATE_NORMAL;
+                } else {
+                    state = SplitUtils.STATE_NORMAL;
+                }
+            } else if (ch == line) {
+                if (state == SplitUtils.STATE_NORMAL) {
+                    this.putField(rowFields, fieldIndex, projection, fieldValue, fieldLength);
+                    fieldLength = 0;
+                    fieldIndex = 0;
+                    sourceData.addRow(rowFields);
+                    rowFields = new Object[fieldSize];
+                } else {
+                    fieldValue[fieldLength++] = ch;
+                    if (state == SplitUtils.STATE_ESCAPING) {
+                        state = SplitUtils.STATE_NORMAL;
                     }
                 }
-                sourceData.putField(fieldName, fieldValue);
-                fieldIndex++;
+            } else {
+                if (state == SplitUtils.STATE_ESCAPING) {
+                    state = SplitUtils.STATE_NORMAL;
+                }
+                fieldValue[fieldLength++] = ch;
             }
         }
+        this.putField(rowFields, fieldIndex, projection, fieldValue, fieldLength);
+        sourceData.addRow(rowFields);
         return sourceData;
     }
+
+    private void putField(Object[] rowFields, int fieldIndex, boolean[] projection, byte[] fieldValue,
+            int fieldLength) {
+        if (fieldIndex >= rowFields.length || (projection != null && !projection[fieldIndex])) {
+            return;
+        }
+        rowFields[fieldIndex] = this.convertField(fieldIndex, new String(fieldValue, 0, fieldLength, srcCharset));
+    }
+
+    private Object convertField(int fieldIndex, String fieldValue) {
+        FieldInfo field = fields.get(fieldIndex);
+        try {
+            return field.getConverter().convert(fieldValue);
+        } catch (Exception e) {
+            return null;
+        }
+    }
 }
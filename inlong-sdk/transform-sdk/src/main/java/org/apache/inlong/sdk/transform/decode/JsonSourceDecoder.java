@@ -75,6 +75,11 @@ public class JsonSourceDecoder extends SourceDecoder<String> {
         return this.decode(srcString, context);
     }
 
+    @Override
+    public String decodeSourceString(byte[] srcBytes) {
+        return new String(srcBytes, srcCharset);
+    }
+
     /**
      * decode
      * @param srcString
@@ -31,7 +31,19 @@ public class KvSourceData implements SourceData {
 
     private Map<String, String> currentRow;
 
+    // the rows stored by field index when the source fields are configured
+    private final Map<String, Integer> fieldIndexMap;
+
+    private final List<String[]> indexedRows;
+
     public KvSourceData() {
+        this.fieldIndexMap = null;
+        this.indexedRows = null;
+    }
+
+    public KvSourceData(Map<String, Integer> fieldIndexMap) {
+        this.fieldIndexMap = fieldIndexMap;
+        this.indexedRows = new ArrayList<>();
     }
 
     public void putField(String fieldName, String fieldValue) {
@@ -43,17 +55,46 @@ public class KvSourceData implements SourceData {
         rows.add(currentRow);
     }
 
+    public void addRow(String[] fieldValues) {
+        this.indexedRows.add(fieldValues);
+    }
+
     @Override
     public int getRowCount() {
+        if (this.indexedRows != null) {
+            return this.indexedRows.size();
+        }
         return this.rows.size();
     }
 
     @Override
     public String getField(int rowNum, String fieldName) {
+        if (this.indexedRows != null) {
+            Integer fieldIndex = this.fieldIndexMap.get(fieldName);
+            if (fieldIndex == null) {
+                return null;
+            }
+            return this.getField(rowNum, fieldIndex, fieldName);
+        }
         if (rowNum >= this.rows.size()) {
             return null;
         }
         Map<String, String> targetRow = this.rows.get(rowNum);
         return targetRow.get(fieldName);
     }
+
+    @Override
+    public String getField(int rowNum, int fieldIndex, String fieldName) {
+        if (this.indexedRows == null) {
+            return this.getField(rowNum, fieldName);
+        }
+        if (rowNum >= this.indexedRows.size()) {
+            return null;
+        }
+        String[] targetRow = this.indexedRows.get(rowNum);
+        if (fieldIndex < 0 || fieldIndex >= targetRow.length) {
+            return null;
+        }
+        return targetRow[fieldIndex];
+    }
 }
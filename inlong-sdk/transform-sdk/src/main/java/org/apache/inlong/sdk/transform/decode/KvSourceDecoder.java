@@ -17,6 +17,7 @@
 
 package org.apache.inlong.sdk.transform.decode;
 
+import org.apache.inlong.sdk.transform.decode.ByteSplitUtils.FieldNameTable;
 import org.apache.inlong.sdk.transform.pojo.FieldInfo;
 import org.apache.inlong.sdk.transform.pojo.KvSourceInfo;
 import org.apache.inlong.sdk.transform.process.Context;
@@ -25,6 +26,7 @@ import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 
 import java.nio.charset.Charset;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -41,6 +43,9 @@ public class KvSourceDecoder extends SourceDecoder<String> {
     private Character quoteChar = '\"';
     private Character lineDelimiter = '\n';
     private Charset srcCharset = Charset.defaultCharset();
+    // split the source bytes directly if the charset and the separators allow
+    private final boolean byteSplit;
+    private final FieldNameTable fieldNameTable;
 
     public KvSourceDecoder(KvSourceInfo sourceInfo) {
         super(sourceInfo.getFields());
@@ -63,34 +68,199 @@ public class KvSourceDecoder extends SourceDecoder<String> {
         if (sourceInfo.getLineDelimiter() != null) {
             this.lineDelimiter = sourceInfo.getLineDelimiter();
         }
+        this.byteSplit = CollectionUtils.isNotEmpty(fields) && ByteSplitUtils.isByteSplittable(srcCharset,
+                entryDelimiter, kvDelimiter, escapeChar, quoteChar, lineDelimiter);
+        if (byteSplit) {
+            List<String> fieldNames = new ArrayList<>(fields.size());
+            fields.forEach(v -> fieldNames.add(v.getName()));
+            this.fieldNameTable = new FieldNameTable(fieldNames, srcCharset);
+        } else {
+            this.fieldNameTable = null;
+        }
     }
 
     @Override
     public SourceData decode(byte[] srcBytes, Context context) {
+        if (byteSplit) {
+            return this.decodeBytes(srcBytes, context == null ? null : context.getProjection());
+        }
         String srcString = new String(srcBytes, srcCharset);
         return this.decode(srcString, context);
     }
 
+    @Override
+    public String decodeSourceString(byte[] srcBytes) {
+        return new String(srcBytes, srcCharset);
+    }
+
     @Override
     public SourceData decode(String srcString, Context context) {
         List<Map<String, String>> rowValues = KvUtils.splitKv(srcString, entryDelimiter, kvDelimiter,
                 escapeChar, quoteChar, lineDelimiter);
-        KvSourceData sourceData = new KvSourceData();
         if (CollectionUtils.isEmpty(fields)) {
+            KvSourceData sourceData = new KvSourceData();
             for (Map<String, String> row : rowValues) {
                 sourceData.addRow();
                 row.forEach(sourceData::putField);
             }
             return sourceData;
         }
+        boolean[] projection = context == null ? null : context.getProjection();
+        KvSourceData sourceData = new KvSourceData(fieldIndexMap);
         for (Map<String, String> row : rowValues) {
-            sourceData.addRow();
+            String[] rowFields = new String[fields.size()];
+            int fieldIndex = 0;
             for (FieldInfo field : fields) {
-                String fieldName = field.getName();
-                String fieldValue = row.get(fieldName);
-                sourceData.putField(fieldName, fieldValue);
+                if (projection == null || projection[fieldIndex]) {
+                    rowFields[fieldIndex] = row.get(field.getName());
+                }
+                fieldIndex++;
+            }
+            sourceData.addRow(rowFields);
+        }
+        return sourceData;
+    }
+
+    /**
+     * decodeBytes
+     * Description: split the source bytes with the same rule as KvUtils.splitKv, the key is matched
+     * with the field names in bytes, only the values of the projected fields are decoded to string.
+     */
+    private SourceData decodeBytes(byte[] srcBytes, boolean[] projection) {
+        int fieldSize = fields.size();
+        byte entryDeli = (byte) entryDelimiter.charValue();
+        byte kvDeli = (byte) kvDelimiter.charValue();
+        boolean hasEscape = escapeChar != null;
+        byte escape = hasEscape ? (byte) escapeChar.charValue() : 0;
+        boolean hasQuote = quoteChar != null;
+        byte quote = hasQuote ? (byte) quoteChar.charValue() : 0;
+        boolean hasLine = lineDelimiter != null;
+        byte line = hasLine ? (byte) lineDelimiter.charValue() : 0;
+
+        KvSourceData sourceData = new KvSourceData(fieldIndexMap);
+        String[] rowFields = new String[fieldSize];
+        byte[] buffer = new byte[srcBytes.length];
+        int length = 0;
+        int keyIndex = fieldNameTable.find(buffer, 0, 0);
+        int state = SplitUtils.STATE_KEY;
+        // the state when entering escaping and quoting, restored when exiting
+        int kvState = SplitUtils.STATE_KEY;
+        for (int i = 0; i < srcBytes.length; ++i) {
+            byte ch = srcBytes[i];
+            if (ch == kvDeli) {
+                switch (state) {
+                    case SplitUtils.STATE_KEY:
+                        keyIndex = fieldNameTable.find(buffer, 0, length);
+                        length = 0;
+                        state = SplitUtils.STATE_VALUE;
+                        break;
+                    case SplitUtils.STATE_VALUE:
+                    case SplitUtils.STATE_ESCAPING:
+                        buffer[length++] = ch;
+                        state = kvState;
+                        break;
+                    case SplitUtils.STATE_QUOTING:
+                        buffer[length++] = ch;
+                        break;
+                    default:
+                        break;
+                }
+            } else if (ch == entryDeli) {
+                switch (state) {
+                    case SplitUtils.STATE_KEY:
+                        keyIndex = fieldNameTable.find(buffer, 0, length);
+                        length = 0;
+                        this.putField(rowFields, keyIndex, projection, buffer, 0);
+                        break;
+                    case SplitUtils.STATE_VALUE:
+                        this.putField(rowFields, keyIndex, projection, buffer, length);
+                        length = 0;
+                        state = SplitUtils.STATE_KEY;
+                        break;
+                    case SplitUtils.STATE_ESCAPING:
+                        buffer[length++] = ch;
+                        state = kvState;
+                        break;
+                    case SplitUtils.STATE_QUOTING:
+                        buffer[length++] = ch;
+                        break;
+                    default:
+                        break;
+                }
+            } else if (hasEscape && ch == escape) {
+                switch (state) {
+                    case SplitUtils.STATE_KEY:
+                    case SplitUtils.STATE_VALUE:
+                        kvState = state;
+                        state = SplitUtils.STATE_ESCAPING;
+                        break;
+                    case SplitUtils.STATE_ESCAPING:
+                        buffer[length++] = ch;
+                        state = kvState;
+                        break;
+                    case SplitUtils.STATE_QUOTING:
+                        buffer[length++] = ch;
+                        break;
+                    default:
+                        break;
+                }
+            } else if (hasQuote && ch == quote) {
+                switch (state) {
+                    case SplitUtils.STATE_KEY:
+                    case SplitUtils.STATE_VALUE:
+                        kvState = state;
+                        state = SplitUtils.STATE_QUOTING;
+                        break;
+                    case SplitUtils.STATE_ESCAPING:
+                        buffer[length++] = ch;
+                        state = kvState;
+                        break;
+                    case SplitUtils.STATE_QUOTING:
+                        state = kvState;
+                        break;
+                    default:
+                        break;
+                }
+            } else if (hasLine && ch == line) {
+                switch (state) {
+                    case SplitUtils.STATE_VALUE:
+                        this.putField(rowFields, keyIndex, projection, buffer, length);
+                        sourceData.addRow(rowFields);
+                        rowFields = new String[fieldSize];
+                        length = 0;
+                        state = SplitUtils.STATE_KEY;
+                        break;
+                    case SplitUtils.STATE_ESCAPING:
+                        buffer[length++] = ch;
+                        state = SplitUtils.STATE_NORMAL;
+                        break;
+                    case SplitUtils.STATE_QUOTING:
+                        buffer[length++] = ch;
+                        break;
+                    default:
+                        break;
+                }
+            } else {
+                buffer[length++] = ch;
             }
         }
+
+        if (state == SplitUtils.STATE_KEY
+                || (state != SplitUtils.STATE_VALUE && kvState == SplitUtils.STATE_VALUE)) {
+            // the dangling key, or the not closed escaping and quoting in value
+            keyIndex = fieldNameTable.find(buffer, 0, length);
+            this.putField(rowFields, keyIndex, projection, buffer, 0);
+        } else {
+            this.putField(rowFields, keyIndex, projection, buffer, length);
+        }
+        sourceData.addRow(rowFields);
         return sourceData;
     }
+
+    private void putField(String[] rowFields, int fieldIndex, boolean[] projection, byte[] buffer, int length) {
+        if (fieldIndex < 0 || (projection != null && !projection[fieldIndex])) {
+            return;
+        }
+        rowFields[fieldIndex] = new String(buffer, 0, length, srcCharset);
+    }
 }
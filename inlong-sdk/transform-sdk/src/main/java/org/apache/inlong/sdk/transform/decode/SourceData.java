@@ -27,4 +27,17 @@ public interface SourceData {
     int getRowCount();
 
     Object getField(int rowNum, String fieldName);
+
+    /**
+     * Get the field by its index in the field list of the source decoder,
+     * the source data which does not store the fields by index gets the field by name.
+     *
+     * @param rowNum the row number
+     * @param fieldIndex the field index resolved when compiling the transform sql
+     * @param fieldName the field name
+     * @return the field value
+     */
+    default Object getField(int rowNum, int fieldIndex, String fieldName) {
+        return getField(rowNum, fieldName);
+    }
 }
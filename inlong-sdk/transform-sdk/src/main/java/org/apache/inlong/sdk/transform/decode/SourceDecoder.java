@@ -23,7 +23,11 @@ import org.apache.inlong.sdk.transform.process.Context;
 import com.google.common.collect.ImmutableList;
 import lombok.Getter;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * SourceDecoder
@@ -33,12 +37,58 @@ public abstract class SourceDecoder<Input> {
 
     protected final List<FieldInfo> fields;
 
+    // the index of each field name in the field list
+    protected final Map<String, Integer> fieldIndexMap;
+
     public SourceDecoder() {
         this(ImmutableList.of());
     }
 
     public SourceDecoder(List<FieldInfo> fields) {
         this.fields = fields;
+        this.fieldIndexMap = buildFieldIndexMap(fields);
+    }
+
+    private static Map<String, Integer> buildFieldIndexMap(List<FieldInfo> fields) {
+        if (fields == null || fields.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, Integer> indexMap = new HashMap<>();
+        for (int i = 0; i < fields.size(); i++) {
+            indexMap.put(fields.get(i).getName(), i);
+        }
+        return Collections.unmodifiableMap(indexMap);
+    }
+
+    /**
+     * buildProjection
+     * Description: build the flag of each field to be decoded from the fields referenced by the transform sql,
+     * the other fields are left null. The projection is passed through the context of each decode call,
+     * so the processors sharing this decoder never affect each other.
+     * @param fieldNames the referenced field names, null means all fields are referenced
+     * @return the flag of each field to be decoded, or null if all fields are decoded
+     */
+    public boolean[] buildProjection(Collection<String> fieldNames) {
+        if (fieldNames == null || fields == null || fields.isEmpty()) {
+            return null;
+        }
+        boolean[] projection = new boolean[fields.size()];
+        for (String fieldName : fieldNames) {
+            Integer fieldIndex = fieldIndexMap.get(fieldName);
+            if (fieldIndex != null) {
+                projection[fieldIndex] = true;
+            }
+        }
+        return projection;
+    }
+
+    /**
+     * decodeSourceString
+     * Description: the string form of the source bytes, used by the all source field sign.
+     * The binary sources have no string form and get the empty string.
+     */
+    public String decodeSourceString(byte[] srcBytes) {
+        return "";
     }
 
     public abstract SourceData decode(byte[] srcBytes, Context context);
@@ -63,6 +63,11 @@ public class XmlSourceDecoder extends SourceDecoder<String> {
         return this.decode(srcString, context);
     }
 
+    @Override
+    public String decodeSourceString(byte[] srcBytes) {
+        return new String(srcBytes, srcCharset);
+    }
+
     @Override
     public SourceData decode(String srcString, Context context) {
         try {
@@ -57,6 +57,11 @@ public class YamlSourceDecoder extends SourceDecoder<String> {
         return this.decode(srcString, context);
     }
 
+    @Override
+    public String decodeSourceString(byte[] srcBytes) {
+        return new String(srcBytes, srcCharset);
+    }
+
     @Override
     public SourceData decode(String srcString, Context context) {
         try {
@@ -34,6 +34,18 @@ public class DefaultSinkData implements SinkData {
     private List<String> keyList = new ArrayList<>();
     private Map<String, String> currentRow = new HashMap<>();
 
+    public DefaultSinkData() {
+    }
+
+    /**
+     * Create the sink data with the fixed key list, which can be reused for each row by putField
+     * @param keyList the output key list
+     */
+    public DefaultSinkData(List<String> keyList) {
+        this.keyList = keyList;
+        this.currentRow = new HashMap<>(Math.max(16, keyList.size() * 4 / 3 + 1));
+    }
+
     /**
      * addField
      * @param fieldName
@@ -45,6 +57,15 @@ public class DefaultSinkData implements SinkData {
         this.currentRow.put(fieldName, fieldValue);
     }
 
+    /**
+     * putField, set the field value without changing the key list
+     * @param fieldName
+     * @param fieldValue
+     */
+    public void putField(String fieldName, String fieldValue) {
+        this.currentRow.put(fieldName, fieldValue);
+    }
+
     /**
      * getField
      * @param fieldName
@@ -34,6 +34,8 @@ public class Context {
     private final Map<String, Object> configuration;
     private final Map<String, Object> extParams;
     private final Map<String, Object> runtimeParams;
+    // the flag of each source field to be decoded, set by the transform processor, null means all fields
+    private boolean[] projection;
 
     public Context(Map<String, Object> configuration, Map<String, Object> extParams) {
         this.configuration = configuration;
@@ -41,6 +43,14 @@ public class Context {
         this.runtimeParams = new ConcurrentHashMap<>();
     }
 
+    public boolean[] getProjection() {
+        return projection;
+    }
+
+    public void setProjection(boolean[] projection) {
+        this.projection = projection;
+    }
+
     public Object put(String key, Object value) {
         return runtimeParams.put(key, value);
     }
@@ -23,15 +23,13 @@ import org.apache.inlong.sdk.transform.encode.DefaultSinkData;
 import org.apache.inlong.sdk.transform.encode.SinkEncoder;
 import org.apache.inlong.sdk.transform.pojo.FieldInfo;
 import org.apache.inlong.sdk.transform.pojo.TransformConfig;
+import org.apache.inlong.sdk.transform.process.compiler.ExpressionCompiler;
 import org.apache.inlong.sdk.transform.process.operator.ExpressionOperator;
-import org.apache.inlong.sdk.transform.process.operator.OperatorTools;
-import org.apache.inlong.sdk.transform.process.parser.ColumnParser;
 import org.apache.inlong.sdk.transform.process.parser.ValueParser;
 
 import com.google.common.collect.ImmutableMap;
 import net.sf.jsqlparser.JSQLParserException;
 import net.sf.jsqlparser.parser.CCJSqlParserManager;
-import net.sf.jsqlparser.schema.Column;
 import net.sf.jsqlparser.statement.select.AllColumns;
 import net.sf.jsqlparser.statement.select.PlainSelect;
 import net.sf.jsqlparser.statement.select.Select;
@@ -41,6 +39,7 @@ import org.apache.commons.lang3.StringUtils;
 
 import java.io.StringReader;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -52,6 +51,7 @@ public class TransformProcessor<I, O> {
 
     private static final Map<String, Object> EMPTY_EXT_PARAMS = ImmutableMap.of();
     private static final String DUMMY_SELECT = "select *";
+    private static final int DEFAULT_SELECTION_SIZE = 64;
 
     private final TransformConfig config;
     private final SourceDecoder<I> decoder;
@@ -60,8 +60,14 @@ public class TransformProcessor<I, O> {
     private PlainSelect transformSelect;
     private ExpressionOperator where;
     private List<ValueParserNode> selectItems;
+    // the flag of each source field referenced by the sql, null means all fields are decoded
+    private boolean[] projection;
+    // whether any select item outputs the whole source
+    private boolean sourceReferenced;
 
     private List<String> sinkFieldList;
+    // the key list of each output row, shared by the reused sink data
+    private List<String> outputKeyList;
 
     public static <I, O> TransformProcessor<I, O> create(
             TransformConfig config,
@@ -93,16 +99,27 @@ public class TransformProcessor<I, O> {
         } else {
             this.initTransformSql(DUMMY_SELECT);
         }
+
+        if (this.sinkFieldList != null) {
+            this.outputKeyList = Collections.unmodifiableList(this.sinkFieldList);
+        } else {
+            List<String> keyList = new ArrayList<>(this.selectItems.size());
+            this.selectItems.forEach(v -> keyList.add(v.getFieldName()));
+            this.outputKeyList = Collections.unmodifiableList(keyList);
+        }
     }
 
     private void initTransformSql(String sql) throws JSQLParserException {
         CCJSqlParserManager parserManager = new CCJSqlParserManager();
         Select select = (Select) parserManager.parse(new StringReader(sql));
         this.transformSelect = (PlainSelect) select.getSelectBody();
-        this.where = OperatorTools.buildOperator(this.transformSelect.getWhere());
+        // compile the where clause and select items with the field index of the source decoder
+        ExpressionCompiler compiler = new ExpressionCompiler(decoder.getFieldIndexMap());
+        this.where = compiler.compileOperator(this.transformSelect.getWhere());
         List<SelectItem> items = this.transformSelect.getSelectItems();
         this.selectItems = new ArrayList<>(items.size());
         List<FieldInfo> fields = this.encoder.getFields();
+        boolean allColumns = false;
         for (int i = 0; i < items.size(); i++) {
             SelectItem item = items.get(i);
             String fieldName = null;
@@ -123,14 +140,25 @@ public class TransformProcessor<I, O> {
                     }
                 }
                 this.selectItems
-                        .add(new ValueParserNode(fieldName, OperatorTools.buildParser(exprItem.getExpression())));
+                        .add(new ValueParserNode(fieldName, compiler.compileParser(exprItem.getExpression())));
             } else if (item instanceof AllColumns) {
+                allColumns = true;
                 for (FieldInfo fieldInfo : decoder.getFields()) {
                     String name = fieldInfo.getName();
-                    this.selectItems.add(new ValueParserNode(name, new ColumnParser(new Column(name))));
+                    this.selectItems.add(new ValueParserNode(name, compiler.compileColumn(name)));
                 }
             }
         }
+        // only decode the source fields referenced by the sql, kept by this processor as the decoder may be shared
+        if (!allColumns) {
+            this.projection = decoder.buildProjection(
+                    ExpressionCompiler.findReferencedFields(sql, decoder.getFieldIndexMap().keySet()));
+        }
+        this.sourceReferenced = this.selectItems.stream().anyMatch(this::isSourceNode);
+    }
+
+    private boolean isSourceNode(ValueParserNode node) {
+        return node.getParser() == null || StringUtils.equals(node.getFieldName(), SinkEncoder.ALL_SOURCE_FIELD_SIGN);
     }
 
     public boolean checkSelectField(String fieldName) {
@@ -146,53 +174,132 @@ public class TransformProcessor<I, O> {
 
     public List<O> transform(I input, Map<String, Object> extParams) {
         Context context = new Context(config.getConfiguration(), extParams);
+        context.setProjection(this.projection);
 
         // decode
         SourceData sourceData = this.decoder.decode(input, context);
         if (sourceData == null) {
             return null;
         }
+        return this.transformRows(this.getSourceString(input), sourceData, context);
+    }
+
+    /**
+     * transformBytes
+     * Description: transform the raw bytes of the input, the csv and kv decoders split the bytes directly
+     * and only decode the referenced fields. The source field sign gets the whole source decoded by the
+     * charset of the decoder.
+     * @param input the raw bytes
+     * @param extParams the ext params
+     * @return the outputs
+     */
+    public List<O> transformBytes(byte[] input, Map<String, Object> extParams) {
+        Context context = new Context(config.getConfiguration(), extParams);
+        context.setProjection(this.projection);
+
+        // decode
+        SourceData sourceData = this.decoder.decode(input, context);
+        if (sourceData == null) {
+            return null;
+        }
+        String sourceString = this.sourceReferenced ? this.decoder.decodeSourceString(input) : "";
+        return this.transformRows(sourceString, sourceData, context);
+    }
+
+    public List<O> transformBatch(List<I> inputs) {
+        return this.transformBatch(inputs, EMPTY_EXT_PARAMS);
+    }
+
+    /**
+     * transformBatch
+     * Description: transform a pack of inputs sharing the same ext params, the context,
+     * the sink data and the selection vector are created once and reused for all rows.
+     * @param inputs the input list
+     * @param extParams the ext params of the whole pack
+     * @return the outputs of all inputs in order, the input which can not be decoded is skipped
+     */
+    public List<O> transformBatch(List<I> inputs, Map<String, Object> extParams) {
+        if (inputs == null || inputs.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Context context = new Context(config.getConfiguration(), extParams);
+        context.setProjection(this.projection);
+        DefaultSinkData sinkData = new DefaultSinkData(this.outputKeyList);
+        List<O> sinkDatas = new ArrayList<>(inputs.size());
+        int[] selection = new int[DEFAULT_SELECTION_SIZE];
+        for (I input : inputs) {
+            // decode
+            SourceData sourceData = this.decoder.decode(input, context);
+            if (sourceData == null) {
+                continue;
+            }
+            int rowCount = sourceData.getRowCount();
+            if (selection.length < rowCount) {
+                selection = new int[Math.max(rowCount, selection.length * 2)];
+            }
+            int selectedCount = this.selectRows(sourceData, rowCount, context, selection);
+            this.encodeRows(this.getSourceString(input), sourceData, context, selection, selectedCount, sinkData,
+                    sinkDatas);
+        }
+        return sinkDatas;
+    }
 
-        List<O> sinkDatas = new ArrayList<>(sourceData.getRowCount());
-        for (int i = 0; i < sourceData.getRowCount(); i++) {
+    private String getSourceString(I input) {
+        return input instanceof String ? (String) input : "";
+    }
 
+    private List<O> transformRows(String sourceString, SourceData sourceData, Context context) {
+        int rowCount = sourceData.getRowCount();
+        List<O> sinkDatas = new ArrayList<>(rowCount);
+        int[] selection = new int[rowCount];
+        int selectedCount = this.selectRows(sourceData, rowCount, context, selection);
+        this.encodeRows(sourceString, sourceData, context, selection, selectedCount,
+                new DefaultSinkData(this.outputKeyList), sinkDatas);
+        return sinkDatas;
+    }
+
+    /**
+     * selectRows, check the where clause for all rows and fill the index of the matched rows
+     * @return the count of the matched rows
+     */
+    private int selectRows(SourceData sourceData, int rowCount, Context context, int[] selection) {
+        int selectedCount = 0;
+        for (int i = 0; i < rowCount; i++) {
             // where check
             if (this.where != null && !this.where.check(sourceData, i, context)) {
                 continue;
             }
+            selection[selectedCount++] = i;
+        }
+        return selectedCount;
+    }
 
-            // parse value
-            DefaultSinkData sinkData = new DefaultSinkData();
+    private void encodeRows(String sourceString, SourceData sourceData, Context context, int[] selection,
+            int selectedCount, DefaultSinkData sinkData, List<O> sinkDatas) {
+        for (int s = 0; s < selectedCount; s++) {
+            int i = selection[s];
+            // parse value, each select item overwrites its field of the reused sink data
             for (ValueParserNode node : this.selectItems) {
                 String fieldName = node.getFieldName();
                 ValueParser parser = node.getParser();
-                if (parser == null || StringUtils.equals(fieldName, SinkEncoder.ALL_SOURCE_FIELD_SIGN)) {
-                    if (input instanceof String) {
-                        sinkData.addField(fieldName, (String) input);
-                    } else {
-                        sinkData.addField(fieldName, "");
-                    }
+                if (this.isSourceNode(node)) {
+                    sinkData.putField(fieldName, sourceString);
                     continue;
                 }
                 try {
                     Object fieldValue = parser.parse(sourceData, i, context);
                     if (fieldValue == null) {
-                        sinkData.addField(fieldName, "");
+                        sinkData.putField(fieldName, "");
                     } else {
-                        sinkData.addField(fieldName, fieldValue.toString());
+                        sinkData.putField(fieldName, fieldValue.toString());
                     }
                 } catch (Throwable t) {
-                    sinkData.addField(fieldName, "");
+                    sinkData.putField(fieldName, "");
                 }
             }
-
-            if (this.sinkFieldList != null) {
-                sinkData.setKeyList(this.sinkFieldList);
-            }
             // encode
             sinkDatas.add(this.encoder.encode(sinkData, context));
         }
-        return sinkDatas;
     }
 
 }
@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.sdk.transform.process.compiler;
+
+import org.apache.inlong.sdk.transform.decode.SourceData;
+import org.apache.inlong.sdk.transform.process.Context;
+import org.apache.inlong.sdk.transform.process.operator.OperatorTools;
+import org.apache.inlong.sdk.transform.process.parser.ValueParser;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * ArithmeticParser
+ * Description: the compiled numerical operation, the numerical constant operand is parsed
+ * at compile time, the result is the same as the AdditionParser, SubtractionParser,
+ * MultiplicationParser, DivisionParser and ModuloParser.
+ */
+public class ArithmeticParser implements ValueParser {
+
+    private static final int DEFAULT_SCALE_DIFFERENCE = 4;
+
+    public enum ArithmeticType {
+        ADD, SUBTRACT, MULTIPLY, DIVIDE, MODULO
+    }
+
+    private final ArithmeticType type;
+
+    private final ValueParser left;
+
+    private final ValueParser right;
+
+    private final BigDecimal leftConst;
+
+    private final BigDecimal rightConst;
+
+    public ArithmeticParser(ArithmeticType type, ValueParser left, ValueParser right) {
+        this.type = type;
+        this.left = left;
+        this.right = right;
+        this.leftConst = getDecimalConst(left);
+        this.rightConst = getDecimalConst(right);
+    }
+
+    @Override
+    public Object parse(SourceData sourceData, int rowIndex, Context context) {
+        Object leftObj = leftConst != null ? leftConst : left.parse(sourceData, rowIndex, context);
+        Object rightObj = rightConst != null ? rightConst : right.parse(sourceData, rowIndex, context);
+        // the addition and subtraction return null for null operand,
+        // the others fail in parsing the null operand as the interpreted parsers do
+        if ((type == ArithmeticType.ADD || type == ArithmeticType.SUBTRACT)
+                && (leftObj == null || rightObj == null)) {
+            return null;
+        }
+        BigDecimal leftValue = OperatorTools.parseBigDecimal(leftObj);
+        BigDecimal rightValue = OperatorTools.parseBigDecimal(rightObj);
+        switch (type) {
+            case ADD:
+                return leftValue.add(rightValue);
+            case SUBTRACT:
+                return leftValue.subtract(rightValue);
+            case MULTIPLY:
+                return leftValue.multiply(rightValue);
+            case DIVIDE:
+                try {
+                    return leftValue.divide(rightValue);
+                } catch (Exception e) {
+                    int scale = Math.max(leftValue.scale(), rightValue.scale()) + DEFAULT_SCALE_DIFFERENCE;
+                    return leftValue.divide(rightValue, scale, RoundingMode.HALF_UP);
+                }
+            default:
+                return leftValue.remainder(rightValue);
+        }
+    }
+
+    public boolean isConstant() {
+        return leftConst != null && rightConst != null;
+    }
+
+    private static BigDecimal getDecimalConst(ValueParser parser) {
+        if (parser instanceof ConstantParser) {
+            return ((ConstantParser) parser).getDecimalValue();
+        }
+        return null;
+    }
+}
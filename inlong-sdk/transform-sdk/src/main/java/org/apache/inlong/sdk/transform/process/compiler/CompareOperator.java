@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.sdk.transform.process.compiler;
+
+import org.apache.inlong.sdk.transform.decode.SourceData;
+import org.apache.inlong.sdk.transform.process.Context;
+import org.apache.inlong.sdk.transform.process.operator.ExpressionOperator;
+import org.apache.inlong.sdk.transform.process.operator.OperatorTools;
+import org.apache.inlong.sdk.transform.process.parser.ValueParser;
+
+import org.apache.commons.lang.ObjectUtils;
+
+import java.math.BigDecimal;
+
+/**
+ * CompareOperator
+ * Description: the compiled comparison, the constant operand is parsed at compile time,
+ * the result is the same as {@link OperatorTools#compareValue(Comparable, Comparable)}.
+ */
+public class CompareOperator implements ExpressionOperator {
+
+    public enum CompareType {
+        EQUALS, NOT_EQUALS, GREATER_THAN, GREATER_THAN_EQUALS, MINOR_THAN, MINOR_THAN_EQUALS
+    }
+
+    private final CompareType type;
+
+    private final ValueParser left;
+
+    private final ValueParser right;
+
+    private final boolean leftConst;
+
+    private final boolean rightConst;
+
+    private final BigDecimal leftDecimal;
+
+    private final BigDecimal rightDecimal;
+
+    public CompareOperator(CompareType type, ValueParser left, ValueParser right) {
+        this.type = type;
+        this.left = left;
+        this.right = right;
+        this.leftConst = left instanceof ConstantParser;
+        this.rightConst = right instanceof ConstantParser;
+        this.leftDecimal = leftConst ? ((ConstantParser) left).getDecimalValue() : null;
+        this.rightDecimal = rightConst ? ((ConstantParser) right).getDecimalValue() : null;
+    }
+
+    @SuppressWarnings("rawtypes")
+    @Override
+    public boolean check(SourceData sourceData, int rowIndex, Context context) {
+        int result = compare((Comparable) left.parse(sourceData, rowIndex, context),
+                (Comparable) right.parse(sourceData, rowIndex, context));
+        switch (type) {
+            case EQUALS:
+                return result == 0;
+            case NOT_EQUALS:
+                return result != 0;
+            case GREATER_THAN:
+                return result > 0;
+            case GREATER_THAN_EQUALS:
+                return result >= 0;
+            case MINOR_THAN:
+                return result < 0;
+            default:
+                return result <= 0;
+        }
+    }
+
+    @SuppressWarnings("rawtypes")
+    private int compare(Comparable leftValue, Comparable rightValue) {
+        if (leftValue == null) {
+            return rightValue == null ? 0 : -1;
+        }
+        if (rightValue == null) {
+            return 1;
+        }
+        if (((Object) leftValue).getClass() == ((Object) rightValue).getClass()) {
+            return ObjectUtils.compare(leftValue, rightValue);
+        }
+        // the constant operand is not numerical, then compare as string
+        if ((leftConst && leftDecimal == null) || (rightConst && rightDecimal == null)) {
+            return ObjectUtils.compare(OperatorTools.parseString(leftValue), OperatorTools.parseString(rightValue));
+        }
+        try {
+            BigDecimal leftNum = leftDecimal != null ? leftDecimal : OperatorTools.parseBigDecimal(leftValue);
+            BigDecimal rightNum = rightDecimal != null ? rightDecimal : OperatorTools.parseBigDecimal(rightValue);
+            return ObjectUtils.compare(leftNum, rightNum);
+        } catch (Exception e) {
+            return ObjectUtils.compare(OperatorTools.parseString(leftValue), OperatorTools.parseString(rightValue));
+        }
+    }
+}
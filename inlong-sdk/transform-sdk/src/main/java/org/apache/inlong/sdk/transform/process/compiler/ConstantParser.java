@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.sdk.transform.process.compiler;
+
+import org.apache.inlong.sdk.transform.decode.SourceData;
+import org.apache.inlong.sdk.transform.process.Context;
+import org.apache.inlong.sdk.transform.process.operator.OperatorTools;
+import org.apache.inlong.sdk.transform.process.parser.ValueParser;
+
+import java.math.BigDecimal;
+
+/**
+ * ConstantParser
+ * Description: the literal or the folded constant expression, its numerical value is parsed once
+ */
+public class ConstantParser implements ValueParser {
+
+    private final Object value;
+
+    private final BigDecimal decimalValue;
+
+    public ConstantParser(Object value) {
+        this.value = value;
+        BigDecimal tmpValue = null;
+        if (value != null) {
+            try {
+                tmpValue = OperatorTools.parseBigDecimal(value);
+            } catch (Exception e) {
+                // not a numerical value
+            }
+        }
+        this.decimalValue = tmpValue;
+    }
+
+    public Object getValue() {
+        return value;
+    }
+
+    /**
+     * getDecimalValue
+     * @return the numerical value, or null if the value is not numerical
+     */
+    public BigDecimal getDecimalValue() {
+        return decimalValue;
+    }
+
+    @Override
+    public Object parse(SourceData sourceData, int rowIndex, Context context) {
+        return value;
+    }
+}
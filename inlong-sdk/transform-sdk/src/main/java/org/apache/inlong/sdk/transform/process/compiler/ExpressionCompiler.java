@@ -0,0 +1,219 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.sdk.transform.process.compiler;
+
+import org.apache.inlong.sdk.transform.process.compiler.ArithmeticParser.ArithmeticType;
+import org.apache.inlong.sdk.transform.process.compiler.CompareOperator.CompareType;
+import org.apache.inlong.sdk.transform.process.operator.ExpressionOperator;
+import org.apache.inlong.sdk.transform.process.operator.OperatorTools;
+import org.apache.inlong.sdk.transform.process.parser.ColumnParser;
+import org.apache.inlong.sdk.transform.process.parser.ValueParser;
+
+import net.sf.jsqlparser.expression.BinaryExpression;
+import net.sf.jsqlparser.expression.DoubleValue;
+import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.expression.IntervalExpression;
+import net.sf.jsqlparser.expression.LongValue;
+import net.sf.jsqlparser.expression.NotExpression;
+import net.sf.jsqlparser.expression.Parenthesis;
+import net.sf.jsqlparser.expression.StringValue;
+import net.sf.jsqlparser.expression.operators.arithmetic.Addition;
+import net.sf.jsqlparser.expression.operators.arithmetic.Division;
+import net.sf.jsqlparser.expression.operators.arithmetic.Modulo;
+import net.sf.jsqlparser.expression.operators.arithmetic.Multiplication;
+import net.sf.jsqlparser.expression.operators.arithmetic.Subtraction;
+import net.sf.jsqlparser.expression.operators.conditional.AndExpression;
+import net.sf.jsqlparser.expression.operators.conditional.OrExpression;
+import net.sf.jsqlparser.expression.operators.relational.EqualsTo;
+import net.sf.jsqlparser.expression.operators.relational.GreaterThan;
+import net.sf.jsqlparser.expression.operators.relational.GreaterThanEquals;
+import net.sf.jsqlparser.expression.operators.relational.MinorThan;
+import net.sf.jsqlparser.expression.operators.relational.MinorThanEquals;
+import net.sf.jsqlparser.expression.operators.relational.NotEqualsTo;
+import net.sf.jsqlparser.schema.Column;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * ExpressionCompiler
+ * Description: compile the where clause and the select items once when the transform processor
+ * is initialized. The column is resolved to the field index of the source decoder, the literal is
+ * parsed to its numerical value once, the constant arithmetic is folded, and the logical,
+ * comparison and arithmetic nodes are replaced with the specialized ones. The other expressions
+ * fall back to the interpreted operators and parsers of {@link OperatorTools}.
+ */
+public class ExpressionCompiler {
+
+    private final Map<String, Integer> fieldIndexMap;
+
+    public ExpressionCompiler(Map<String, Integer> fieldIndexMap) {
+        this.fieldIndexMap = fieldIndexMap == null ? Collections.emptyMap() : fieldIndexMap;
+    }
+
+    /**
+     * compileOperator
+     * @param expr the condition expression
+     * @return the compiled operator, or null if the expression is null
+     */
+    public ExpressionOperator compileOperator(Expression expr) {
+        if (expr == null) {
+            return null;
+        }
+        Class<?> exprClass = expr.getClass();
+        if (exprClass == AndExpression.class) {
+            AndExpression andExpr = (AndExpression) expr;
+            ExpressionOperator left = compileOperator(andExpr.getLeftExpression());
+            ExpressionOperator right = compileOperator(andExpr.getRightExpression());
+            return (sourceData, rowIndex, context) -> left.check(sourceData, rowIndex, context)
+                    && right.check(sourceData, rowIndex, context);
+        } else if (exprClass == OrExpression.class) {
+            OrExpression orExpr = (OrExpression) expr;
+            ExpressionOperator left = compileOperator(orExpr.getLeftExpression());
+            ExpressionOperator right = compileOperator(orExpr.getRightExpression());
+            return (sourceData, rowIndex, context) -> left.check(sourceData, rowIndex, context)
+                    || right.check(sourceData, rowIndex, context);
+        } else if (exprClass == NotExpression.class) {
+            ExpressionOperator node = compileOperator(((NotExpression) expr).getExpression());
+            return (sourceData, rowIndex, context) -> !node.check(sourceData, rowIndex, context);
+        } else if (exprClass == Parenthesis.class) {
+            return compileOperator(((Parenthesis) expr).getExpression());
+        } else if (exprClass == EqualsTo.class) {
+            return compileCompare(CompareType.EQUALS, (BinaryExpression) expr);
+        } else if (exprClass == NotEqualsTo.class) {
+            return compileCompare(CompareType.NOT_EQUALS, (BinaryExpression) expr);
+        } else if (exprClass == GreaterThan.class) {
+            return compileCompare(CompareType.GREATER_THAN, (BinaryExpression) expr);
+        } else if (exprClass == GreaterThanEquals.class) {
+            return compileCompare(CompareType.GREATER_THAN_EQUALS, (BinaryExpression) expr);
+        } else if (exprClass == MinorThan.class) {
+            return compileCompare(CompareType.MINOR_THAN, (BinaryExpression) expr);
+        } else if (exprClass == MinorThanEquals.class) {
+            return compileCompare(CompareType.MINOR_THAN_EQUALS, (BinaryExpression) expr);
+        }
+        return OperatorTools.buildOperator(expr);
+    }
+
+    /**
+     * compileParser
+     * @param expr the value expression
+     * @return the compiled parser
+     */
+    public ValueParser compileParser(Expression expr) {
+        if (expr == null) {
+            return null;
+        }
+        Class<?> exprClass = expr.getClass();
+        if (exprClass == Column.class) {
+            return compileColumn(expr.toString());
+        } else if (exprClass == LongValue.class) {
+            return new ConstantParser(((LongValue) expr).getValue());
+        } else if (exprClass == DoubleValue.class) {
+            return new ConstantParser(((DoubleValue) expr).getValue());
+        } else if (exprClass == StringValue.class) {
+            return new ConstantParser(((StringValue) expr).getValue());
+        } else if (exprClass == Parenthesis.class) {
+            return compileParser(((Parenthesis) expr).getExpression());
+        } else if (exprClass == Addition.class) {
+            return compileArithmetic(ArithmeticType.ADD, (BinaryExpression) expr);
+        } else if (exprClass == Subtraction.class) {
+            return compileArithmetic(ArithmeticType.SUBTRACT, (BinaryExpression) expr);
+        } else if (exprClass == Multiplication.class) {
+            return compileArithmetic(ArithmeticType.MULTIPLY, (BinaryExpression) expr);
+        } else if (exprClass == Division.class) {
+            return compileArithmetic(ArithmeticType.DIVIDE, (BinaryExpression) expr);
+        } else if (exprClass == Modulo.class) {
+            return compileArithmetic(ArithmeticType.MODULO, (BinaryExpression) expr);
+        }
+        return OperatorTools.buildParser(expr);
+    }
+
+    /**
+     * compileColumn
+     * @param fieldName the column name
+     * @return the parser reading the column by field index if the source decoder has the field
+     */
+    public ValueParser compileColumn(String fieldName) {
+        Integer fieldIndex = fieldIndexMap.get(fieldName);
+        if (fieldIndex == null) {
+            return new ColumnParser(new Column(fieldName));
+        }
+        return new IndexedColumnParser(fieldName, fieldIndex);
+    }
+
+    /**
+     * findReferencedFields
+     * Description: find the field names appearing as a whole word in the sql, the result may contain
+     * the field not really used, such as the one in a string literal, but never misses a used field.
+     * @param sql the transform sql
+     * @param fieldNames the source field names
+     * @return the referenced field names
+     */
+    public static Set<String> findReferencedFields(String sql, Collection<String> fieldNames) {
+        Set<String> result = new HashSet<>();
+        for (String fieldName : fieldNames) {
+            if (fieldName == null || fieldName.isEmpty()) {
+                continue;
+            }
+            int pos = sql.indexOf(fieldName);
+            while (pos >= 0) {
+                int end = pos + fieldName.length();
+                if ((pos == 0 || !isIdentifierPart(sql.charAt(pos - 1)))
+                        && (end == sql.length() || !isIdentifierPart(sql.charAt(end)))) {
+                    result.add(fieldName);
+                    break;
+                }
+                pos = sql.indexOf(fieldName, pos + 1);
+            }
+        }
+        return result;
+    }
+
+    private static boolean isIdentifierPart(char ch) {
+        return Character.isLetterOrDigit(ch) || ch == '_' || ch == '$';
+    }
+
+    private ExpressionOperator compileCompare(CompareType type, BinaryExpression expr) {
+        return new CompareOperator(type, compileParser(expr.getLeftExpression()),
+                compileParser(expr.getRightExpression()));
+    }
+
+    private ValueParser compileArithmetic(ArithmeticType type, BinaryExpression expr) {
+        // the date and interval arithmetic is left to the interpreted parser
+        if (expr.getLeftExpression() instanceof IntervalExpression
+                || expr.getRightExpression() instanceof IntervalExpression) {
+            return OperatorTools.buildParser(expr);
+        }
+        ArithmeticParser parser = new ArithmeticParser(type,
+                compileParser(expr.getLeftExpression()), compileParser(expr.getRightExpression()));
+        if (parser.isConstant()) {
+            try {
+                Object value = parser.parse(null, 0, null);
+                if (value != null) {
+                    return new ConstantParser(value);
+                }
+            } catch (Exception e) {
+                // fail in each row as the interpreted parser does
+            }
+        }
+        return parser;
+    }
+}
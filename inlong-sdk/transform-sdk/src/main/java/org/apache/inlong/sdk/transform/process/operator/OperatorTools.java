@@ -124,6 +124,11 @@ public class OperatorTools {
     public static BigDecimal parseBigDecimal(Object value) {
         if (value instanceof BigDecimal) {
             return (BigDecimal) value;
+        } else if (value instanceof Long || value instanceof Integer) {
+            return BigDecimal.valueOf(((Number) value).longValue());
+        } else if (value instanceof Double) {
+            // the same as parsing Double.toString
+            return BigDecimal.valueOf((Double) value);
         } else {
             return new BigDecimal(String.valueOf(value));
         }
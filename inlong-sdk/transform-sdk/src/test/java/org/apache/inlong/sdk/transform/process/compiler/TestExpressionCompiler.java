@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.sdk.transform.process.compiler;
+
+import org.apache.inlong.sdk.transform.decode.SourceDecoderFactory;
+import org.apache.inlong.sdk.transform.encode.SinkEncoderFactory;
+import org.apache.inlong.sdk.transform.pojo.CsvSourceInfo;
+import org.apache.inlong.sdk.transform.pojo.FieldInfo;
+import org.apache.inlong.sdk.transform.pojo.KvSinkInfo;
+import org.apache.inlong.sdk.transform.pojo.TransformConfig;
+import org.apache.inlong.sdk.transform.process.TransformProcessor;
+import org.apache.inlong.sdk.transform.process.parser.ValueParser;
+
+import net.sf.jsqlparser.parser.CCJSqlParserUtil;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * TestExpressionCompiler
+ * description: the compiled where clause and select items keep the results of the interpreted ones
+ */
+public class TestExpressionCompiler {
+
+    private static final List<FieldInfo> srcFields = new ArrayList<>();
+    private static final List<FieldInfo> dstFields = new ArrayList<>();
+    private static final CsvSourceInfo csvSource;
+    private static final KvSinkInfo kvSink;
+
+    static {
+        for (String name : new String[]{"numeric1", "numeric2", "string1"}) {
+            FieldInfo field = new FieldInfo();
+            field.setName(name);
+            srcFields.add(field);
+        }
+        FieldInfo field = new FieldInfo();
+        field.setName("result");
+        dstFields.add(field);
+        csvSource = new CsvSourceInfo("UTF-8", '|', '\\', srcFields);
+        kvSink = new KvSinkInfo("UTF-8", dstFields);
+    }
+
+    private List<String> transform(String transformSql, String input) throws Exception {
+        TransformProcessor<String, String> processor = TransformProcessor
+                .create(new TransformConfig(transformSql), SourceDecoderFactory.createCsvDecoder(csvSource),
+                        SinkEncoderFactory.createKvEncoder(kvSink));
+        return processor.transform(input, new HashMap<>());
+    }
+
+    @Test
+    public void testCompiledWhere() throws Exception {
+        String transformSql = "select string1 as result from source where numeric1 > 4.1 and not (numeric2 = 3)";
+        // case1: numerical comparison between the string column and the constant
+        Assert.assertEquals("result=a", transform(transformSql, "5|2|a").get(0));
+        Assert.assertEquals(0, transform(transformSql, "4|2|a").size());
+        Assert.assertEquals(0, transform(transformSql, "5|3.0|a").size());
+        // case2: the value which is not numerical is compared as string
+        transformSql = "select string1 as result from source where numeric1 >= 'b' or string1 = 'x'";
+        Assert.assertEquals(1, transform(transformSql, "c|1|a").size());
+        Assert.assertEquals(0, transform(transformSql, "a|1|a").size());
+        Assert.assertEquals(1, transform(transformSql, "a|1|x").size());
+        // case3: the missing field is less than any value
+        transformSql = "select string1 as result from source where numeric2 < 1";
+        Assert.assertEquals(1, transform(transformSql, "1").size());
+    }
+
+    @Test
+    public void testCompiledArithmetic() throws Exception {
+        String transformSql = "select (numeric1 + 2 * 3) / numeric2 as result from source";
+        Assert.assertEquals("result=4", transform(transformSql, "6|3|a").get(0));
+        Assert.assertEquals("result=2.3333", transform(transformSql, "1|3|a").get(0));
+        // the null operand of addition results in empty value
+        transformSql = "select numeric2 + 1 as result from source";
+        Assert.assertEquals("result=", transform(transformSql, "1").get(0));
+        transformSql = "select numeric1 % 4 - 1.5 as result from source";
+        Assert.assertEquals("result=1.5", transform(transformSql, "7|0|a").get(0));
+    }
+
+    @Test
+    public void testCompileConstantAndColumn() throws Exception {
+        Map<String, Integer> fieldIndexMap = new HashMap<>();
+        fieldIndexMap.put("numeric1", 0);
+        ExpressionCompiler compiler = new ExpressionCompiler(fieldIndexMap);
+        ValueParser parser = compiler.compileParser(CCJSqlParserUtil.parseExpression("(1 + 2) * 3.5"));
+        Assert.assertTrue(parser instanceof ConstantParser);
+        Assert.assertEquals("10.5", parser.parse(null, 0, null).toString());
+        Assert.assertTrue(compiler.compileColumn("numeric1") instanceof IndexedColumnParser);
+        Assert.assertFalse(compiler.compileColumn("string1") instanceof IndexedColumnParser);
+    }
+
+    @Test
+    public void testFindReferencedFields() {
+        String sql = "select ftime,count_total*2 from source where extinfo='ok'";
+        Set<String> fields = ExpressionCompiler.findReferencedFields(sql,
+                Arrays.asList("ftime", "count", "count_total", "extinfo", "ext", "unused"));
+        Assert.assertEquals(3, fields.size());
+        Assert.assertTrue(fields.contains("ftime"));
+        Assert.assertTrue(fields.contains("count_total"));
+        Assert.assertTrue(fields.contains("extinfo"));
+    }
+}
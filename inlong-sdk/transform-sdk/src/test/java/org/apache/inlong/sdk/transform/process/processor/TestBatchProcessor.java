@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.sdk.transform.process.processor;
+
+import org.apache.inlong.sdk.transform.decode.SourceDecoderFactory;
+import org.apache.inlong.sdk.transform.encode.SinkEncoderFactory;
+import org.apache.inlong.sdk.transform.pojo.CsvSinkInfo;
+import org.apache.inlong.sdk.transform.pojo.CsvSourceInfo;
+import org.apache.inlong.sdk.transform.pojo.FieldInfo;
+import org.apache.inlong.sdk.transform.pojo.KvSinkInfo;
+import org.apache.inlong.sdk.transform.pojo.KvSourceInfo;
+import org.apache.inlong.sdk.transform.pojo.TransformConfig;
+import org.apache.inlong.sdk.transform.process.TransformProcessor;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class TestBatchProcessor extends AbstractProcessorTestBase {
+
+    @Test
+    public void testCsv2KvBatch() throws Exception {
+        List<FieldInfo> fields = this.getTestFieldList("ftime", "extinfo", "count");
+        CsvSourceInfo csvSource = new CsvSourceInfo("UTF-8", '|', '\\', fields);
+        KvSinkInfo kvSink = new KvSinkInfo("UTF-8", this.getTestFieldList("ftime", "total"));
+        String transformSql = "select ftime,count*2 as total from source where extinfo='ok'";
+        TransformConfig config = new TransformConfig(transformSql);
+        TransformProcessor<String, String> processor = TransformProcessor
+                .create(config, SourceDecoderFactory.createCsvDecoder(csvSource),
+                        SinkEncoderFactory.createKvEncoder(kvSink));
+
+        List<String> inputs = Arrays.asList(
+                "2024-04-28 00:00:00|ok|1",
+                "2024-04-28 00:00:01|fail|2\n2024-04-28 00:00:02|ok|3",
+                "2024-04-28 00:00:03|fail|4");
+        List<String> output = processor.transformBatch(inputs);
+        Assert.assertEquals(2, output.size());
+        Assert.assertEquals("ftime=2024-04-28 00:00:00&total=2", output.get(0));
+        Assert.assertEquals("ftime=2024-04-28 00:00:02&total=6", output.get(1));
+        // the same result as the row at a time transform
+        List<String> expected = new ArrayList<>();
+        inputs.forEach(v -> expected.addAll(processor.transform(v)));
+        Assert.assertEquals(expected, output);
+        Assert.assertTrue(processor.transformBatch(new ArrayList<>()).isEmpty());
+    }
+
+    @Test
+    public void testKv2CsvBatchGrowSelection() throws Exception {
+        List<FieldInfo> fields = this.getTestFieldList("key1", "key2");
+        KvSourceInfo kvSource = new KvSourceInfo("UTF-8", fields);
+        CsvSinkInfo csvSink = new CsvSinkInfo("UTF-8", '|', '\\', fields);
+        String transformSql = "select key2,key1 from source";
+        TransformConfig config = new TransformConfig(transformSql);
+        TransformProcessor<String, String> processor = TransformProcessor
+                .create(config, SourceDecoderFactory.createKvDecoder(kvSource),
+                        SinkEncoderFactory.createCsvEncoder(csvSink));
+
+        StringBuilder pack = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            if (i > 0) {
+                pack.append('\n');
+            }
+            pack.append("key1=a").append(i).append("&key2=b").append(i);
+        }
+        List<String> output = processor.transformBatch(Arrays.asList("key1=x&key2=y", pack.toString()));
+        Assert.assertEquals(101, output.size());
+        Assert.assertEquals("y|x", output.get(0));
+        Assert.assertEquals("b99|a99", output.get(100));
+    }
+}
@@ -17,17 +17,22 @@
 
 package org.apache.inlong.sdk.transform.process.processor;
 
+import org.apache.inlong.sdk.transform.decode.SourceData;
+import org.apache.inlong.sdk.transform.decode.SourceDecoder;
 import org.apache.inlong.sdk.transform.decode.SourceDecoderFactory;
 import org.apache.inlong.sdk.transform.encode.SinkEncoderFactory;
 import org.apache.inlong.sdk.transform.pojo.CsvSourceInfo;
 import org.apache.inlong.sdk.transform.pojo.FieldInfo;
 import org.apache.inlong.sdk.transform.pojo.KvSinkInfo;
 import org.apache.inlong.sdk.transform.pojo.TransformConfig;
+import org.apache.inlong.sdk.transform.process.Context;
 import org.apache.inlong.sdk.transform.process.TransformProcessor;
 
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 
@@ -79,4 +84,49 @@ public class TestCsv2KvProcessor extends AbstractProcessorTestBase {
         List<String> output2 = processor2.transform("2024-04-28 00:00:00|ok", new HashMap<>());
         Assert.assertEquals(0, output2.size());
     }
+
+    @Test
+    public void testCsv2KvBytes() throws Exception {
+        List<FieldInfo> fields = this.getTestFieldList("ftime", "extinfo", "unused");
+        CsvSourceInfo csvSource = new CsvSourceInfo("UTF-8", '|', '\\', fields);
+        KvSinkInfo kvSink = new KvSinkInfo("UTF-8", this.getTestFieldList("ftime", "extinfo"));
+        String transformSql = "select ftime,extinfo from source where extinfo!='fail'";
+        TransformConfig config = new TransformConfig(transformSql);
+        TransformProcessor<String, String> processor = TransformProcessor
+                .create(config, SourceDecoderFactory.createCsvDecoder(csvSource),
+                        SinkEncoderFactory.createKvEncoder(kvSink));
+        String input = "2024-04-28 00:00:00|\u4e2d\\|\u6587|x\n2024-04-28 00:00:01|\"a|b\"|y\n"
+                + "2024-04-28 00:00:02|fail|z\n2024-04-28 00:00:03";
+        List<String> output = processor.transformBytes(input.getBytes(StandardCharsets.UTF_8), new HashMap<>());
+        Assert.assertEquals(processor.transform(input, new HashMap<>()), output);
+        Assert.assertEquals(3, output.size());
+        Assert.assertEquals("ftime=2024-04-28 00:00:00&extinfo=\u4e2d|\u6587", output.get(0));
+        Assert.assertEquals("ftime=2024-04-28 00:00:01&extinfo=a|b", output.get(1));
+        Assert.assertEquals("ftime=2024-04-28 00:00:03&extinfo=", output.get(2));
+    }
+
+    @Test
+    public void testCsvProjection() throws Exception {
+        List<FieldInfo> fields = this.getTestFieldList("ftime", "extinfo", "unused");
+        SourceDecoder<String> decoder = SourceDecoderFactory
+                .createCsvDecoder(new CsvSourceInfo("UTF-8", '|', '\\', fields));
+        Context context = new Context(new HashMap<>(), new HashMap<>());
+        context.setProjection(decoder.buildProjection(Arrays.asList("ftime", "extinfo")));
+        byte[] input = "2024-04-28 00:00:00|ok|x".getBytes(StandardCharsets.UTF_8);
+        SourceData sourceData = decoder.decode(input, context);
+        Assert.assertEquals("2024-04-28 00:00:00", sourceData.getField(0, "ftime"));
+        Assert.assertEquals("ok", sourceData.getField(0, "extinfo"));
+        Assert.assertNull(sourceData.getField(0, "unused"));
+        Assert.assertEquals("x", decoder.decode(input, null).getField(0, "unused"));
+
+        // the processors sharing the decoder keep their own projections
+        TransformProcessor<String, String> processor1 = TransformProcessor
+                .create(new TransformConfig("select ftime from source"), decoder,
+                        SinkEncoderFactory.createKvEncoder(new KvSinkInfo("UTF-8", this.getTestFieldList("ftime"))));
+        TransformProcessor<String, String> processor2 = TransformProcessor
+                .create(new TransformConfig("select unused from source"), decoder,
+                        SinkEncoderFactory.createKvEncoder(new KvSinkInfo("UTF-8", this.getTestFieldList("unused"))));
+        Assert.assertEquals("ftime=2024-04-28 00:00:00", processor1.transformBytes(input, new HashMap<>()).get(0));
+        Assert.assertEquals("unused=x", processor2.transformBytes(input, new HashMap<>()).get(0));
+    }
 }
@@ -17,17 +17,22 @@
 
 package org.apache.inlong.sdk.transform.process.processor;
 
+import org.apache.inlong.sdk.transform.decode.SourceData;
+import org.apache.inlong.sdk.transform.decode.SourceDecoder;
 import org.apache.inlong.sdk.transform.decode.SourceDecoderFactory;
 import org.apache.inlong.sdk.transform.encode.SinkEncoderFactory;
 import org.apache.inlong.sdk.transform.pojo.CsvSinkInfo;
 import org.apache.inlong.sdk.transform.pojo.FieldInfo;
 import org.apache.inlong.sdk.transform.pojo.KvSourceInfo;
 import org.apache.inlong.sdk.transform.pojo.TransformConfig;
+import org.apache.inlong.sdk.transform.process.Context;
 import org.apache.inlong.sdk.transform.process.TransformProcessor;
 
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 
@@ -77,4 +82,57 @@ public class TestKv2CsvProcessor extends AbstractProcessorTestBase {
         List<String> output2 = processor2.transform("ftime=2024-04-28 00:00:00&extinfo=ok", new HashMap<>());
         Assert.assertEquals(0, output2.size());
     }
+
+    @Test
+    public void testKv2CsvBytes() throws Exception {
+        List<FieldInfo> fields = this.getTestFieldList("ftime", "extinfo");
+        KvSourceInfo kvSource = new KvSourceInfo("UTF-8", fields);
+        CsvSinkInfo csvSink = new CsvSinkInfo("UTF-8", '|', '\\', fields);
+        String transformSql = "select ftime,extinfo from source where extinfo!='fail'";
+        TransformConfig config = new TransformConfig(transformSql);
+        TransformProcessor<String, String> processor = TransformProcessor
+                .create(config, SourceDecoderFactory.createKvDecoder(kvSource),
+                        SinkEncoderFactory.createCsvEncoder(csvSink));
+        String input = "ftime=2024-04-28 00:00:00&extinfo=\u4e2d\\&\u6587&other=1\n"
+                + "extinfo=\"a=b&c\"&ftime=2024-04-28 00:00:01\n"
+                + "ftime=2024-04-28 00:00:02&extinfo=fail\n"
+                + "ftime&extinfo";
+        List<String> output = processor.transformBytes(input.getBytes(StandardCharsets.UTF_8), new HashMap<>());
+        Assert.assertEquals(processor.transform(input, new HashMap<>()), output);
+        Assert.assertEquals(3, output.size());
+        Assert.assertEquals("2024-04-28 00:00:00|\u4e2d&\u6587", output.get(0));
+        Assert.assertEquals("2024-04-28 00:00:01|a=b&c", output.get(1));
+        Assert.assertEquals("|", output.get(2));
+    }
+
+    @Test
+    public void testKvProjection() {
+        List<FieldInfo> fields = this.getTestFieldList("ftime", "extinfo", "unused");
+        SourceDecoder<String> decoder = SourceDecoderFactory.createKvDecoder(new KvSourceInfo("UTF-8", fields));
+        Context context = new Context(new HashMap<>(), new HashMap<>());
+        context.setProjection(decoder.buildProjection(Arrays.asList("ftime", "extinfo")));
+        byte[] input = "unused=x&extinfo=ok&ftime=2024-04-28 00:00:00".getBytes(StandardCharsets.UTF_8);
+        SourceData sourceData = decoder.decode(input, context);
+        Assert.assertEquals("2024-04-28 00:00:00", sourceData.getField(0, "ftime"));
+        Assert.assertEquals("ok", sourceData.getField(0, "extinfo"));
+        Assert.assertNull(sourceData.getField(0, "unused"));
+        Assert.assertEquals("x", decoder.decode(input, null).getField(0, "unused"));
+    }
+
+    @Test
+    public void testKv2CsvBytesAllSourceField() throws Exception {
+        List<FieldInfo> fields = this.getTestFieldList("ftime", "extinfo");
+        KvSourceInfo kvSource = new KvSourceInfo("UTF-8", fields);
+        CsvSinkInfo csvSink = new CsvSinkInfo("UTF-8", '|', null, this.getTestFieldList("*", "ftime"));
+        TransformConfig config = new TransformConfig("select extinfo,ftime from source");
+        TransformProcessor<String, String> processor = TransformProcessor
+                .create(config, SourceDecoderFactory.createKvDecoder(kvSource),
+                        SinkEncoderFactory.createCsvEncoder(csvSink));
+        String input = "ftime=2024-04-28 00:00:00&extinfo=\u4e2d\u6587";
+        List<String> output = processor.transformBytes(input.getBytes(StandardCharsets.UTF_8), new HashMap<>());
+        // the source field sign gets the whole record as the string input does
+        Assert.assertEquals(processor.transform(input, new HashMap<>()), output);
+        Assert.assertEquals(1, output.size());
+        Assert.assertEquals(input + "|2024-04-28 00:00:00", output.get(0));
+    }
 }
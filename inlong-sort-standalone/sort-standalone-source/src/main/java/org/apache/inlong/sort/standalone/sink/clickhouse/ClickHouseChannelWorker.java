@@ -23,12 +23,20 @@ import org.apache.inlong.sort.standalone.dispatch.DispatchProfile;
 import org.apache.flume.lifecycle.LifecycleState;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import ru.yandex.clickhouse.ClickHouseConnection;
+import ru.yandex.clickhouse.ClickHouseStatement;
+import ru.yandex.clickhouse.domain.ClickHouseCompression;
+import ru.yandex.clickhouse.domain.ClickHouseFormat;
 
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 /**
  * ClickHouseChannelWorker
@@ -36,12 +44,17 @@ import java.util.Map;
 public class ClickHouseChannelWorker extends Thread {
 
     public static final Logger LOG = LoggerFactory.getLogger(ClickHouseChannelWorker.class);
+    private static final long MAX_AWAIT_INSERT_MS = 60 * 1000L;
 
     private final ClickHouseSinkContext context;
     private final int workerIndex;
     private LifecycleState status;
     private IEventHandler handler;
     private Connection conn;
+    // row binary, the encoder pool bounds the inflight inserts
+    private LinkedBlockingQueue<ClickHouseRowBinaryEncoder> encoderPool;
+    private ExecutorService insertExecutor;
+    private ClickHouseConnection rowBinaryConn;
 
     /**
      * Constructor
@@ -70,6 +83,7 @@ public class ClickHouseChannelWorker extends Thread {
                 LOG.error(t.getMessage(), t);
             }
         }
+        this.closeRowBinary();
     }
 
     /**
@@ -97,6 +111,11 @@ public class ClickHouseChannelWorker extends Thread {
                 currentRecord.ack();
                 return;
             }
+            // row binary
+            if (context.isRowBinaryEnable() && idConfig.getRowBinaryWriters() != null) {
+                this.sendRowBinary(idConfig, currentRecord);
+                return;
+            }
             // execute sql
             if (this.conn == null) {
                 this.reconnect();
@@ -121,6 +140,123 @@ public class ClickHouseChannelWorker extends Thread {
         }
     }
 
+    /**
+     * sendRowBinary
+     * <p>
+     * Encode the events in the worker thread, then compress and insert them in the insert executor,
+     * so several inserts of one worker are inflight. Each DispatchProfile is acked after its own insert.
+     * </p>
+     * @param idConfig
+     * @param currentRecord
+     * @throws InterruptedException
+     */
+    private void sendRowBinary(ClickHouseIdConfig idConfig, DispatchProfile currentRecord)
+            throws InterruptedException {
+        if (this.encoderPool == null) {
+            int maxInflightInserts = context.getMaxInflightInserts();
+            this.encoderPool = new LinkedBlockingQueue<>(maxInflightInserts);
+            for (int i = 0; i < maxInflightInserts; i++) {
+                this.encoderPool.add(new ClickHouseRowBinaryEncoder(context.getCompressLevel()));
+            }
+            this.insertExecutor = Executors.newFixedThreadPool(maxInflightInserts);
+        }
+        // wait for a free encoder when the inflight inserts are full
+        ClickHouseRowBinaryEncoder encoder = this.encoderPool.take();
+        try {
+            encoder.reset();
+            for (ProfileEvent event : currentRecord.getEvents()) {
+                Map<String, String> columnValueMap = this.handler.parse(idConfig, event);
+                encoder.encodeRow(idConfig, columnValueMap);
+            }
+        } catch (Throwable t) {
+            this.encoderPool.offer(encoder);
+            throw t;
+        }
+        final long sendTime = System.currentTimeMillis();
+        this.insertExecutor.execute(() -> {
+            ClickHouseConnection currentConn = null;
+            try {
+                currentConn = this.getRowBinaryConnection();
+                ClickHouseCompression compression = context.getCompressLevel() >= 0
+                        ? ClickHouseCompression.deflate
+                        : ClickHouseCompression.none;
+                try (ClickHouseStatement stat = currentConn.createStatement()) {
+                    stat.write().sql(idConfig.getRowBinarySql())
+                            .data(encoder.toInputStream(), ClickHouseFormat.RowBinary, compression)
+                            .send();
+                }
+                context.addSendSuccessMetric(currentRecord, sendTime);
+                currentRecord.ack();
+            } catch (Throwable t) {
+                LOG.error("Fail to insert row binary,uid:{},error:{}", currentRecord.getUid(), t.getMessage(), t);
+                context.addSendFailMetric(t.getMessage(), currentRecord);
+                this.resetRowBinaryConnection(currentConn);
+                // back off before retrying as the jdbc path, the encoder is held to slow down the worker
+                this.sleepOneInterval();
+                context.getDispatchQueue().add(currentRecord);
+            } finally {
+                this.encoderPool.offer(encoder);
+            }
+        });
+    }
+
+    /**
+     * getRowBinaryConnection
+     * @return the connection shared by the inflight inserts
+     * @throws SQLException
+     */
+    private synchronized ClickHouseConnection getRowBinaryConnection() throws SQLException {
+        if (this.rowBinaryConn == null) {
+            Connection newConn = DriverManager.getConnection(context.getJdbcUrl(), context.getJdbcUsername(),
+                    context.getJdbcPassword());
+            this.rowBinaryConn = newConn.unwrap(ClickHouseConnection.class);
+        }
+        return this.rowBinaryConn;
+    }
+
+    /**
+     * resetRowBinaryConnection
+     * @param failedConn
+     */
+    private synchronized void resetRowBinaryConnection(ClickHouseConnection failedConn) {
+        if (failedConn == null || failedConn != this.rowBinaryConn) {
+            return;
+        }
+        try {
+            this.rowBinaryConn.close();
+        } catch (Exception e) {
+            LOG.error(e.getMessage(), e);
+        }
+        this.rowBinaryConn = null;
+    }
+
+    /**
+     * closeRowBinary
+     * <p>
+     * Wait for the inflight inserts, then release the encoders and the connection.
+     * </p>
+     */
+    private void closeRowBinary() {
+        if (this.insertExecutor == null) {
+            return;
+        }
+        this.insertExecutor.shutdown();
+        try {
+            if (!this.insertExecutor.awaitTermination(MAX_AWAIT_INSERT_MS, TimeUnit.MILLISECONDS)) {
+                LOG.warn("inflight inserts are not finished in {}ms,index:{}", MAX_AWAIT_INSERT_MS, workerIndex);
+                this.insertExecutor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            LOG.error(e.getMessage(), e);
+            this.insertExecutor.shutdownNow();
+        }
+        ClickHouseRowBinaryEncoder encoder;
+        while ((encoder = this.encoderPool.poll()) != null) {
+            encoder.close();
+        }
+        this.resetRowBinaryConnection(this.rowBinaryConn);
+    }
+
     /**
      * close
      */
@@ -17,6 +17,9 @@
 
 package org.apache.inlong.sort.standalone.sink.clickhouse;
 
+import org.apache.inlong.sort.standalone.sink.clickhouse.ClickHouseRowBinaryEncoder.ColumnWriter;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import org.apache.commons.math3.util.Pair;
 
 import java.util.ArrayList;
@@ -42,6 +45,9 @@ public class ClickHouseIdConfig {
     private List<String> contentFieldList;
     private List<Pair<String, Integer>> dbFieldList;
     private String insertSql;
+    // row binary
+    private String rowBinarySql;
+    private List<ColumnWriter> rowBinaryWriters;
 
     /**
      * parseFieldList
@@ -215,4 +221,21 @@ public class ClickHouseIdConfig {
         this.insertSql = insertSql;
     }
 
+    public String getRowBinarySql() {
+        return rowBinarySql;
+    }
+
+    public void setRowBinarySql(String rowBinarySql) {
+        this.rowBinarySql = rowBinarySql;
+    }
+
+    @JsonIgnore
+    public List<ColumnWriter> getRowBinaryWriters() {
+        return rowBinaryWriters;
+    }
+
+    @JsonIgnore
+    public void setRowBinaryWriters(List<ColumnWriter> rowBinaryWriters) {
+        this.rowBinaryWriters = rowBinaryWriters;
+    }
 }
@@ -0,0 +1,425 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.sort.standalone.sink.clickhouse;
+
+import org.apache.commons.lang3.math.NumberUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+
+/**
+ * 
+ * ClickHouseRowBinaryEncoder
+ * <p>
+ * Encode the parsed events to the RowBinary format of ClickHouse in a reusable buffer,
+ * the column writers are built once from the column type names of the table.
+ * </p>
+ */
+public class ClickHouseRowBinaryEncoder {
+
+    public static final int DEFAULT_BUFFER_SIZE = 1024 * 1024;
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private byte[] buffer;
+    private int position = 0;
+    // compress
+    private final Deflater deflater;
+    private byte[] compressBuffer;
+    private int compressPosition = 0;
+
+    /**
+     * Constructor
+     * 
+     * @param compressLevel the deflate level, negative if no compression
+     */
+    public ClickHouseRowBinaryEncoder(int compressLevel) {
+        this.buffer = new byte[DEFAULT_BUFFER_SIZE];
+        if (compressLevel >= 0) {
+            this.deflater = new Deflater(compressLevel);
+            this.compressBuffer = new byte[DEFAULT_BUFFER_SIZE];
+        } else {
+            this.deflater = null;
+        }
+    }
+
+    /**
+     * ColumnWriter
+     */
+    public interface ColumnWriter {
+
+        /**
+         * write
+         * @param encoder
+         * @param value
+         */
+        void write(ClickHouseRowBinaryEncoder encoder, String value);
+    }
+
+    /**
+     * createColumnWriters
+     * 
+     * @param  typeNames the column type names of ClickHouse
+     * @param  serverZoneId the time zone of the server, used by the DateTime columns without a time zone
+     * @return the column writers, or null if any type is not supported
+     */
+    public static List<ColumnWriter> createColumnWriters(List<String> typeNames, ZoneId serverZoneId) {
+        if (typeNames == null) {
+            return null;
+        }
+        List<ColumnWriter> writers = new ArrayList<>(typeNames.size());
+        for (String typeName : typeNames) {
+            ColumnWriter writer = createColumnWriter(typeName, serverZoneId);
+            if (writer == null) {
+                return null;
+            }
+            writers.add(writer);
+        }
+        return writers;
+    }
+
+    /**
+     * createColumnWriter
+     * 
+     * @param  typeName
+     * @param  serverZoneId the time zone of the server, used by the DateTime columns without a time zone
+     * @return the column writer, or null if the type is not supported
+     */
+    public static ColumnWriter createColumnWriter(String typeName, ZoneId serverZoneId) {
+        if (typeName == null) {
+            return null;
+        }
+        String type = typeName.trim();
+        if (type.startsWith("Nullable(")) {
+            ColumnWriter inner = createColumnWriter(unwrap(type), serverZoneId);
+            if (inner == null) {
+                return null;
+            }
+            // the missing field is an empty string as the jdbc path, never null
+            return (encoder, value) -> {
+                encoder.writeByte(0);
+                inner.write(encoder, value);
+            };
+        }
+        if (type.startsWith("LowCardinality(")) {
+            return createColumnWriter(unwrap(type), serverZoneId);
+        }
+        switch (type) {
+            case "Int8":
+            case "UInt8":
+                return (encoder, value) -> encoder.writeByte((int) NumberUtils.toLong(value, 0));
+            case "Bool":
+                return (encoder, value) -> encoder.writeByte(
+                        "true".equalsIgnoreCase(value) || "1".equals(value) ? 1 : 0);
+            case "Int16":
+            case "UInt16":
+                return (encoder, value) -> encoder.writeShortLE((int) NumberUtils.toLong(value, 0));
+            case "Int32":
+            case "UInt32":
+                return (encoder, value) -> encoder.writeIntLE((int) NumberUtils.toLong(value, 0));
+            case "Int64":
+                return (encoder, value) -> encoder.writeLongLE(NumberUtils.toLong(value, 0));
+            case "UInt64":
+                return (encoder, value) -> encoder.writeLongLE(parseUInt64(value));
+            case "Float32":
+                return (encoder, value) -> encoder.writeIntLE(Float.floatToIntBits(NumberUtils.toFloat(value, 0)));
+            case "Float64":
+                return (encoder, value) -> encoder
+                        .writeLongLE(Double.doubleToLongBits(NumberUtils.toDouble(value, 0)));
+            case "String":
+                return ClickHouseRowBinaryEncoder::writeString;
+            case "Date":
+                return (encoder, value) -> encoder.writeShortLE((int) parseEpochDay(value));
+            case "Date32":
+                return (encoder, value) -> encoder.writeIntLE((int) parseEpochDay(value));
+            case "DateTime":
+                return (encoder, value) -> encoder
+                        .writeIntLE((int) (parseEpochMillis(value, serverZoneId) / 1000));
+            default:
+                break;
+        }
+        if (type.startsWith("DateTime(")) {
+            ZoneId zoneId = parseZoneId(unwrap(type), serverZoneId);
+            return (encoder, value) -> encoder.writeIntLE((int) (parseEpochMillis(value, zoneId) / 1000));
+        }
+        if (type.startsWith("DateTime64(")) {
+            String[] params = unwrap(type).split(",");
+            int precision = Integer.parseInt(params[0].trim());
+            ZoneId zoneId = params.length > 1 ? parseZoneId(params[1], serverZoneId) : serverZoneId;
+            return (encoder, value) -> encoder
+                    .writeLongLE(scaleMillis(parseEpochMillis(value, zoneId), precision));
+        }
+        if (type.startsWith("FixedString(")) {
+            int length = Integer.parseInt(unwrap(type).trim());
+            return (encoder, value) -> encoder.writeFixedString(value, length);
+        }
+        if (type.startsWith("Decimal")) {
+            return createDecimalWriter(type);
+        }
+        return null;
+    }
+
+    private static ColumnWriter createDecimalWriter(String type) {
+        String[] params = unwrap(type).split(",");
+        int precision;
+        int scale;
+        if (type.startsWith("Decimal(")) {
+            precision = Integer.parseInt(params[0].trim());
+            scale = Integer.parseInt(params[1].trim());
+        } else if (type.startsWith("Decimal32(")) {
+            precision = 9;
+            scale = Integer.parseInt(params[0].trim());
+        } else if (type.startsWith("Decimal64(")) {
+            precision = 18;
+            scale = Integer.parseInt(params[0].trim());
+        } else if (type.startsWith("Decimal128(")) {
+            precision = 38;
+            scale = Integer.parseInt(params[0].trim());
+        } else if (type.startsWith("Decimal256(")) {
+            precision = 76;
+            scale = Integer.parseInt(params[0].trim());
+        } else {
+            return null;
+        }
+        int width = precision <= 9 ? 4 : precision <= 18 ? 8 : precision <= 38 ? 16 : 32;
+        return (encoder, value) -> {
+            BigInteger unscaled;
+            try {
+                unscaled = new BigDecimal(value.trim()).setScale(scale, RoundingMode.HALF_UP).unscaledValue();
+            } catch (Exception e) {
+                unscaled = BigInteger.ZERO;
+            }
+            encoder.writeBigIntegerLE(unscaled, width);
+        };
+    }
+
+    private static String unwrap(String type) {
+        return type.substring(type.indexOf('(') + 1, type.lastIndexOf(')'));
+    }
+
+    private static long scaleMillis(long millis, int precision) {
+        if (precision >= 3) {
+            long factor = 1;
+            for (int i = 3; i < precision; i++) {
+                factor *= 10;
+            }
+            return millis * factor;
+        }
+        long divisor = 1;
+        for (int i = precision; i < 3; i++) {
+            divisor *= 10;
+        }
+        return millis / divisor;
+    }
+
+    private static ZoneId parseZoneId(String param, ZoneId defaultZoneId) {
+        // the time zone of the column is quoted, such as DateTime('Asia/Shanghai')
+        String zone = param.trim();
+        if (zone.length() >= 2 && zone.startsWith("'") && zone.endsWith("'")) {
+            zone = zone.substring(1, zone.length() - 1);
+        }
+        try {
+            return zone.isEmpty() ? defaultZoneId : ZoneId.of(zone);
+        } catch (Exception e) {
+            return defaultZoneId;
+        }
+    }
+
+    private static long parseEpochMillis(String value, ZoneId zoneId) {
+        try {
+            return LocalDateTime.parse(value, DATE_TIME_FORMATTER).atZone(zoneId).toInstant().toEpochMilli();
+        } catch (Exception e) {
+            return 0;
+        }
+    }
+
+    private static long parseUInt64(String value) {
+        // the values above Long.MAX_VALUE keep their low 8 bytes
+        try {
+            return Long.parseUnsignedLong(value.trim());
+        } catch (Exception e) {
+            return NumberUtils.toLong(value, 0);
+        }
+    }
+
+    private static long parseEpochDay(String value) {
+        try {
+            return LocalDate.parse(value.length() > 10 ? value.substring(0, 10) : value).toEpochDay();
+        } catch (Exception e) {
+            return 0;
+        }
+    }
+
+    private static void writeString(ClickHouseRowBinaryEncoder encoder, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        encoder.writeVarInt(bytes.length);
+        encoder.writeBytes(bytes, 0, bytes.length);
+    }
+
+    /**
+     * encodeRow
+     * 
+     * @param idConfig
+     * @param columnValueMap
+     */
+    public void encodeRow(ClickHouseIdConfig idConfig, Map<String, String> columnValueMap) {
+        List<ColumnWriter> writers = idConfig.getRowBinaryWriters();
+        for (int i = 0; i < writers.size(); i++) {
+            String fieldValue = columnValueMap.getOrDefault(idConfig.getDbFieldList().get(i).getKey(), "");
+            writers.get(i).write(this, fieldValue);
+        }
+    }
+
+    /**
+     * reset
+     */
+    public void reset() {
+        this.position = 0;
+        this.compressPosition = 0;
+    }
+
+    /**
+     * size
+     * @return the size of the encoded data
+     */
+    public int size() {
+        return position;
+    }
+
+    /**
+     * toInputStream
+     * @return the input stream of the encoded data, compressed if the compression is enabled
+     */
+    public InputStream toInputStream() {
+        if (deflater == null) {
+            return new ByteArrayInputStream(buffer, 0, position);
+        }
+        deflater.reset();
+        deflater.setInput(buffer, 0, position);
+        deflater.finish();
+        compressPosition = 0;
+        while (!deflater.finished()) {
+            if (compressPosition == compressBuffer.length) {
+                byte[] newBuffer = new byte[compressBuffer.length * 2];
+                System.arraycopy(compressBuffer, 0, newBuffer, 0, compressPosition);
+                compressBuffer = newBuffer;
+            }
+            compressPosition += deflater.deflate(compressBuffer, compressPosition,
+                    compressBuffer.length - compressPosition);
+        }
+        return new ByteArrayInputStream(compressBuffer, 0, compressPosition);
+    }
+
+    /**
+     * close
+     */
+    public void close() {
+        if (deflater != null) {
+            deflater.end();
+        }
+    }
+
+    private void ensureCapacity(int length) {
+        if (position + length > buffer.length) {
+            byte[] newBuffer = new byte[Math.max(buffer.length * 2, position + length)];
+            System.arraycopy(buffer, 0, newBuffer, 0, position);
+            buffer = newBuffer;
+        }
+    }
+
+    void writeByte(int value) {
+        ensureCapacity(1);
+        buffer[position++] = (byte) value;
+    }
+
+    void writeShortLE(int value) {
+        ensureCapacity(2);
+        buffer[position++] = (byte) value;
+        buffer[position++] = (byte) (value >>> 8);
+    }
+
+    void writeIntLE(int value) {
+        ensureCapacity(4);
+        for (int i = 0; i < 4; i++) {
+            buffer[position++] = (byte) (value >>> (8 * i));
+        }
+    }
+
+    void writeLongLE(long value) {
+        ensureCapacity(8);
+        for (int i = 0; i < 8; i++) {
+            buffer[position++] = (byte) (value >>> (8 * i));
+        }
+    }
+
+    void writeVarInt(int value) {
+        ensureCapacity(5);
+        int remaining = value;
+        while ((remaining & ~0x7F) != 0) {
+            buffer[position++] = (byte) ((remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+        }
+        buffer[position++] = (byte) remaining;
+    }
+
+    void writeBytes(byte[] bytes, int offset, int length) {
+        ensureCapacity(length);
+        System.arraycopy(bytes, offset, buffer, position, length);
+        position += length;
+    }
+
+    void writeFixedString(String value, int length) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        int copyLength = Math.min(bytes.length, length);
+        writeBytes(bytes, 0, copyLength);
+        ensureCapacity(length - copyLength);
+        for (int i = copyLength; i < length; i++) {
+            buffer[position++] = 0;
+        }
+    }
+
+    void writeBigIntegerLE(BigInteger value, int width) {
+        // big endian two's complement
+        byte[] bytes = value.toByteArray();
+        byte sign = (byte) (value.signum() < 0 ? -1 : 0);
+        ensureCapacity(width);
+        for (int i = 0; i < width; i++) {
+            int index = bytes.length - 1 - i;
+            buffer[position++] = index >= 0 ? bytes[index] : sign;
+        }
+    }
+
+    /**
+     * getBuffer
+     * @return the buffer of the encoded data
+     */
+    byte[] getBuffer() {
+        return buffer;
+    }
+}
@@ -36,6 +36,7 @@ import org.apache.commons.math3.util.Pair;
 import org.apache.flume.Channel;
 import org.apache.flume.Context;
 import org.slf4j.Logger;
+import ru.yandex.clickhouse.ClickHouseConnection;
 
 import java.sql.Connection;
 import java.sql.DriverManager;
@@ -44,11 +45,13 @@ import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.sql.Types;
+import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.TimeZone;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.LinkedBlockingQueue;
 
@@ -66,6 +69,12 @@ public class ClickHouseSinkContext extends SinkContext {
     public static final String KEY_JDBC_USERNAME = "jdbcUsername";
     public static final String KEY_JDBC_PASSWORD = "jdbcPassword";
     public static final String KEY_EVENT_HANDLER = "clickHouseEventHandler";
+    public static final String KEY_ROW_BINARY_ENABLE = "rowBinaryEnable";
+    public static final boolean DEFAULT_ROW_BINARY_ENABLE = false;
+    public static final String KEY_MAX_INFLIGHT_INSERTS = "maxInflightInserts";
+    public static final int DEFAULT_MAX_INFLIGHT_INSERTS = 4;
+    public static final String KEY_COMPRESS_LEVEL = "compressLevel";
+    public static final int DEFAULT_COMPRESS_LEVEL = 1;
 
     private Context parentContext;
     private String nodeId;
@@ -76,6 +85,10 @@ public class ClickHouseSinkContext extends SinkContext {
     private String jdbcUrl;
     private String jdbcUsername;
     private String jdbcPassword;
+    // row binary config
+    private boolean rowBinaryEnable = DEFAULT_ROW_BINARY_ENABLE;
+    private int maxInflightInserts = DEFAULT_MAX_INFLIGHT_INSERTS;
+    private int compressLevel = DEFAULT_COMPRESS_LEVEL;
 
     /**
      * Constructor
@@ -122,6 +135,10 @@ public class ClickHouseSinkContext extends SinkContext {
             this.jdbcUrl = currentContext.getString(KEY_JDBC_URL);
             this.jdbcUsername = currentContext.getString(KEY_JDBC_USERNAME);
             this.jdbcPassword = currentContext.getString(KEY_JDBC_PASSWORD);
+            this.rowBinaryEnable = currentContext.getBoolean(KEY_ROW_BINARY_ENABLE, DEFAULT_ROW_BINARY_ENABLE);
+            this.maxInflightInserts = Math.max(1,
+                    currentContext.getInteger(KEY_MAX_INFLIGHT_INSERTS, DEFAULT_MAX_INFLIGHT_INSERTS));
+            this.compressLevel = currentContext.getInteger(KEY_COMPRESS_LEVEL, DEFAULT_COMPRESS_LEVEL);
             Class.forName(this.jdbcDriver);
             // load DB field
             this.initIdConfig(newIdConfigMap);
@@ -143,17 +160,20 @@ public class ClickHouseSinkContext extends SinkContext {
     private void initIdConfig(Map<String, ClickHouseIdConfig> newIdConfigMap) throws SQLException {
         try (Connection conn = DriverManager.getConnection(jdbcUrl, jdbcUsername, jdbcPassword);
                 Statement stat = conn.createStatement();) {
+            ZoneId serverZoneId = getServerZoneId(conn);
             for (Entry<String, ClickHouseIdConfig> entry : newIdConfigMap.entrySet()) {
                 // parse field list
                 ClickHouseIdConfig idConfig = entry.getValue();
                 idConfig.setContentFieldList(ClickHouseIdConfig.parseFieldNames(idConfig.getContentFieldNames()));
                 // load db field type
                 Map<String, Integer> fullTypeMap = new HashMap<>();
+                Map<String, String> fullTypeNameMap = new HashMap<>();
                 try (ResultSet rs = stat.executeQuery("select * from " + idConfig.getTableName())) {
                     ResultSetMetaData meta = rs.getMetaData();
                     int columnCount = meta.getColumnCount();
                     for (int i = 1; i <= columnCount; i++) {
                         fullTypeMap.put(meta.getColumnName(i), meta.getColumnType(i));
+                        fullTypeNameMap.put(meta.getColumnName(i), meta.getColumnTypeName(i));
                     }
                 } catch (Exception e) {
                     LOG.error("Can not get metadata,group:{},stream:{},error:{}", idConfig.getInlongGroupId(),
@@ -166,6 +186,11 @@ public class ClickHouseSinkContext extends SinkContext {
                     dbFieldList.add(new Pair<>(fieldName, fullTypeMap.getOrDefault(fieldName, Types.VARCHAR)));
                 });
                 idConfig.setDbFieldList(dbFieldList);
+                // row binary writers, null if any type is unknown or not supported
+                List<String> typeNameList = new ArrayList<>(dbFieldNameList.size());
+                dbFieldNameList.forEach((fieldName) -> typeNameList.add(fullTypeNameMap.get(fieldName)));
+                idConfig.setRowBinaryWriters(
+                        ClickHouseRowBinaryEncoder.createColumnWriters(typeNameList, serverZoneId));
                 // load db sql
                 StringBuilder insertSql = new StringBuilder();
                 insertSql.append("insert into ").append(idConfig.getTableName()).append(" (");
@@ -173,7 +198,9 @@ public class ClickHouseSinkContext extends SinkContext {
                     insertSql.append(field.getKey()).append(',');
                 });
                 insertSql.deleteCharAt(insertSql.length() - 1);
-                insertSql.append(") values (");
+                insertSql.append(")");
+                idConfig.setRowBinarySql(insertSql.toString());
+                insertSql.append(" values (");
                 idConfig.getDbFieldList().forEach((field) -> {
                     insertSql.append("?,");
                 });
@@ -184,6 +211,23 @@ public class ClickHouseSinkContext extends SinkContext {
         }
     }
 
+    /**
+     * getServerZoneId
+     * @param conn
+     * @return the time zone of the server, or the local one if unknown
+     */
+    private ZoneId getServerZoneId(Connection conn) {
+        try {
+            TimeZone serverTimeZone = conn.unwrap(ClickHouseConnection.class).getServerTimeZone();
+            if (serverTimeZone != null) {
+                return serverTimeZone.toZoneId();
+            }
+        } catch (Exception e) {
+            LOG.warn("Can not get the server time zone,error:{}", e.getMessage());
+        }
+        return ZoneId.systemDefault();
+    }
+
     /**
      * addSendMetric
      * 
@@ -395,6 +439,30 @@ public class ClickHouseSinkContext extends SinkContext {
         this.jdbcPassword = jdbcPassword;
     }
 
+    /**
+     * get rowBinaryEnable
+     * @return the rowBinaryEnable
+     */
+    public boolean isRowBinaryEnable() {
+        return rowBinaryEnable;
+    }
+
+    /**
+     * get maxInflightInserts
+     * @return the maxInflightInserts
+     */
+    public int getMaxInflightInserts() {
+        return maxInflightInserts;
+    }
+
+    /**
+     * get compressLevel
+     * @return the compressLevel, negative if no compression
+     */
+    public int getCompressLevel() {
+        return compressLevel;
+    }
+
     /**
      * get dispatchQueue
      * @return the dispatchQueue
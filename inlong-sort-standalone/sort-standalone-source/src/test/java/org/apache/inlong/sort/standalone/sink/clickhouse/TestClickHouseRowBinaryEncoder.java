@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.sort.standalone.sink.clickhouse;
+
+import org.apache.commons.math3.util.Pair;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.sql.Types;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Test for ClickHouseRowBinaryEncoder
+ */
+public class TestClickHouseRowBinaryEncoder {
+
+    private static final ZoneId UTC = ZoneId.of("UTC");
+
+    @Test
+    public void testEncodeRow() throws Exception {
+        ClickHouseIdConfig idConfig = new ClickHouseIdConfig();
+        idConfig.setDbFieldList(Arrays.asList(new Pair<>("id", Types.INTEGER), new Pair<>("name", Types.VARCHAR),
+                new Pair<>("price", Types.NUMERIC), new Pair<>("tag", Types.VARCHAR)));
+        idConfig.setRowBinaryWriters(ClickHouseRowBinaryEncoder.createColumnWriters(
+                Arrays.asList("Int32", "String", "Decimal(9, 2)", "Nullable(FixedString(2))"), UTC));
+        Assert.assertNotNull(idConfig.getRowBinaryWriters());
+        Map<String, String> columnValueMap = new HashMap<>();
+        columnValueMap.put("id", "258");
+        columnValueMap.put("name", "ab");
+        columnValueMap.put("price", "-1.5");
+        ClickHouseRowBinaryEncoder encoder = new ClickHouseRowBinaryEncoder(-1);
+        encoder.encodeRow(idConfig, columnValueMap);
+        byte[] expected = new byte[]{2, 1, 0, 0, 2, 'a', 'b', (byte) 0x6A, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF,
+                0, 0, 0};
+        Assert.assertArrayEquals(expected, Arrays.copyOf(encoder.getBuffer(), encoder.size()));
+        // the buffer is reused after reset
+        encoder.reset();
+        Assert.assertEquals(0, encoder.size());
+    }
+
+    @Test
+    public void testCompress() throws Exception {
+        ClickHouseIdConfig idConfig = new ClickHouseIdConfig();
+        idConfig.setDbFieldList(Arrays.asList(new Pair<>("name", Types.VARCHAR)));
+        idConfig.setRowBinaryWriters(ClickHouseRowBinaryEncoder.createColumnWriters(Arrays.asList("String"), UTC));
+        ClickHouseRowBinaryEncoder encoder = new ClickHouseRowBinaryEncoder(1);
+        Map<String, String> columnValueMap = new HashMap<>();
+        columnValueMap.put("name", "value");
+        for (int i = 0; i < 1000; i++) {
+            encoder.encodeRow(idConfig, columnValueMap);
+        }
+        byte[] raw = Arrays.copyOf(encoder.getBuffer(), encoder.size());
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (InputStream input = new InflaterInputStream(encoder.toInputStream())) {
+            byte[] buffer = new byte[1024];
+            int length;
+            while ((length = input.read(buffer)) > 0) {
+                output.write(buffer, 0, length);
+            }
+        }
+        Assert.assertArrayEquals(raw, output.toByteArray());
+        encoder.close();
+    }
+
+    @Test
+    public void testUnsupportedType() {
+        Assert.assertNull(ClickHouseRowBinaryEncoder.createColumnWriters(Arrays.asList("Int32", "Array(String)"), UTC));
+        Assert.assertNotNull(ClickHouseRowBinaryEncoder.createColumnWriter("LowCardinality(String)", UTC));
+        Assert.assertNotNull(ClickHouseRowBinaryEncoder.createColumnWriter("DateTime64(3, 'Asia/Shanghai')", UTC));
+    }
+
+    @Test
+    public void testDateTimeZone() {
+        // the column without a time zone uses the server time zone
+        Assert.assertArrayEquals(new byte[]{10, 0, 0, 0}, encode("DateTime", "1970-01-01 00:00:10"));
+        // the column time zone overrides the server one
+        Assert.assertArrayEquals(new byte[]{10, 0, 0, 0},
+                encode("DateTime('Asia/Shanghai')", "1970-01-01 08:00:10"));
+        Assert.assertArrayEquals(new byte[]{0x10, 0x27, 0, 0, 0, 0, 0, 0},
+                encode("DateTime64(3, 'Asia/Shanghai')", "1970-01-01 08:00:10"));
+        Assert.assertArrayEquals(new byte[]{0x10, 0x27, 0, 0, 0, 0, 0, 0},
+                encode("DateTime64(3)", "1970-01-01 00:00:10"));
+    }
+
+    @Test
+    public void testUInt64() {
+        Assert.assertArrayEquals(new byte[]{1, 1, 0, 0, 0, 0, 0, 0}, encode("UInt64", "257"));
+        // the values above Long.MAX_VALUE keep their low 8 bytes
+        Assert.assertArrayEquals(new byte[]{0, 0, 0, 0, 0, 0, 0, (byte) 0x80},
+                encode("UInt64", "9223372036854775808"));
+        Assert.assertArrayEquals(new byte[]{-1, -1, -1, -1, -1, -1, -1, -1},
+                encode("UInt64", "18446744073709551615"));
+        Assert.assertArrayEquals(new byte[]{0, 0, 0, 0, 0, 0, 0, 0}, encode("UInt64", "abc"));
+    }
+
+    private byte[] encode(String typeName, String value) {
+        ClickHouseIdConfig idConfig = new ClickHouseIdConfig();
+        idConfig.setDbFieldList(Arrays.asList(new Pair<>("field", Types.VARCHAR)));
+        idConfig.setRowBinaryWriters(ClickHouseRowBinaryEncoder.createColumnWriters(Arrays.asList(typeName), UTC));
+        Map<String, String> columnValueMap = new HashMap<>();
+        columnValueMap.put("field", value);
+        ClickHouseRowBinaryEncoder encoder = new ClickHouseRowBinaryEncoder(-1);
+        encoder.encodeRow(idConfig, columnValueMap);
+        return Arrays.copyOf(encoder.getBuffer(), encoder.size());
+    }
+}
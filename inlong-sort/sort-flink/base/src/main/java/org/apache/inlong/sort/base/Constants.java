@@ -67,6 +67,14 @@ public final class Constants {
 
     public static final String CURRENT_EMIT_EVENT_TIME_LAG = "currentEmitEventTimeLag";
 
+    public static final String NUM_LOOKUP_HITS = "numLookupHits";
+
+    public static final String NUM_LOOKUP_MISSES = "numLookupMisses";
+
+    public static final String LOOKUP_HIT_RATIO = "lookupHitRatio";
+
+    public static final String LOOKUP_LATENCY = "lookupLatency";
+
     public static final String DESERIALIZE_TIME_LAG = "deserializeTimeLag";
 
     public static final String NUM_DESERIALIZE_SUCCESS = "numDeserializeSuccess";
@@ -209,6 +217,14 @@ public final class Constants {
                     .defaultValue("")
                     .withDescription("Audit keys for metrics collecting");
 
+    public static final ConfigOption<Integer> INLONG_METRIC_SIZE_SAMPLE_INTERVAL =
+            ConfigOptions.key("inlong.metric.size.sample-interval")
+                    .intType()
+                    .defaultValue(1)
+                    .withDescription("The byte size of one record in every N records is estimated for the "
+                            + "metrics, the others reuse the average size of the sampled records. "
+                            + "The default value 1 estimates every record.");
+
     public static final ConfigOption<Boolean> IGNORE_ALL_CHANGELOG =
             ConfigOptions.key("sink.ignore.changelog")
                     .booleanType()
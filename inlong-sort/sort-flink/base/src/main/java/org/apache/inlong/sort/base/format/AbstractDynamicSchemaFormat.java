@@ -23,6 +23,9 @@ import org.apache.flink.table.types.logical.RowType;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
@@ -44,6 +47,41 @@ public abstract class AbstractDynamicSchemaFormat<T> {
 
     public static final String OPERATION = "operation";
 
+    private static final int MAX_COMPILED_PATTERNS = 1024;
+
+    /**
+     * The compiled patterns, the patterns come from the options so that there are only a few of them
+     */
+    private static final Map<String, CompiledPattern> COMPILED_PATTERNS = new ConcurrentHashMap<>();
+
+    /**
+     * Compile the pattern into the literals and the keys, so that the regex is applied only once for each pattern
+     *
+     * @param pattern The pattern value
+     * @return The compiled pattern
+     */
+    public static CompiledPattern compilePattern(String pattern) {
+        CompiledPattern compiledPattern = COMPILED_PATTERNS.get(pattern);
+        if (compiledPattern != null) {
+            return compiledPattern;
+        }
+        List<String> literals = new ArrayList<>();
+        List<String> keys = new ArrayList<>();
+        Matcher matcher = PATTERN.matcher(pattern);
+        int last = 0;
+        while (matcher.find()) {
+            literals.add(pattern.substring(last, matcher.start()));
+            keys.add(matcher.group(1));
+            last = matcher.end();
+        }
+        literals.add(pattern.substring(last));
+        compiledPattern = new CompiledPattern(literals.toArray(new String[0]), keys.toArray(new String[0]));
+        if (COMPILED_PATTERNS.size() < MAX_COMPILED_PATTERNS) {
+            COMPILED_PATTERNS.put(pattern, compiledPattern);
+        }
+        return compiledPattern;
+    }
+
     /**
      * Extract values by key from the raw data
      *
@@ -205,4 +243,27 @@ public abstract class AbstractDynamicSchemaFormat<T> {
      * @throws IOException The exception will throws
      */
     public abstract String parse(T data, String pattern) throws IOException;
+
+    /**
+     * The pattern compiled into the literals and the keys, the literals are one more than the keys,
+     * and the result of the pattern is literals[0] + value(keys[0]) + ... + value(keys[n-1]) + literals[n]
+     */
+    public static final class CompiledPattern {
+
+        private final String[] literals;
+        private final String[] keys;
+
+        private CompiledPattern(String[] literals, String[] keys) {
+            this.literals = literals;
+            this.keys = keys;
+        }
+
+        public String[] getLiterals() {
+            return literals;
+        }
+
+        public String[] getKeys() {
+            return keys;
+        }
+    }
 }
@@ -130,7 +130,9 @@ public class CanalJsonDynamicSchemaFormat extends JsonDynamicSchemaFormat {
         if (schema == null) {
             throw new IllegalArgumentException(String.format("Not found schema from: %s", data));
         }
-        return extractSchemaNode(schema, dialectSchema, pkNames);
+        JsonNode finalDialectSchema = dialectSchema;
+        return getOrExtractSchema(schema, dialectSchema, pkNames,
+                () -> extractSchemaNode(schema, finalDialectSchema, pkNames));
     }
 
     @Override
@@ -208,7 +208,9 @@ public class DebeziumJsonDynamicSchemaFormat extends JsonDynamicSchemaFormat {
             if (schemaNode == null) {
                 throw new IllegalArgumentException(String.format("Error schema: %s.", data));
             }
-            return super.extractSchemaNode(schemaNode, dialectSchema, pkNames);
+            JsonNode finalDialectSchema = dialectSchema;
+            return getOrExtractSchema(schemaNode, dialectSchema, pkNames,
+                    () -> super.extractSchemaNode(schemaNode, finalDialectSchema, pkNames));
         }
         return extractSchemaFromExtractInfo(payload, pkNames);
     }
@@ -225,7 +227,9 @@ public class DebeziumJsonDynamicSchemaFormat extends JsonDynamicSchemaFormat {
             }
             for (JsonNode field : schema.get(FIELDS)) {
                 if (AFTER.equals(field.get(FIELD).asText())) {
-                    return extractSchemaNode(field.get(FIELDS), null, pkNames);
+                    JsonNode afterFields = field.get(FIELDS);
+                    return getOrExtractSchema(afterFields, null, pkNames,
+                            () -> extractSchemaNode(afterFields, null, pkNames));
                 }
             }
             throw new IllegalArgumentException(String.format("Error schema: %s.", schema));
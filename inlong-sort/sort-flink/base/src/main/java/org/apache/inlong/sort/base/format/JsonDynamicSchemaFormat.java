@@ -41,6 +41,9 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -76,8 +79,10 @@ public abstract class JsonDynamicSchemaFormat extends AbstractDynamicSchemaForma
      * dialect sql type pattern such as DECIMAL(38, 10) from mysql or oracle etc
      */
     private static final Pattern DIALECT_SQL_TYPE_PATTERN = Pattern.compile("([\\w, \\s]+)\\(([\\d,\\s'\\-]*)\\)");
+    private static final int MAX_CACHED_SCHEMAS = 1024;
     protected final JsonToRowDataConverters rowDataConverters;
     protected final boolean adaptSparkEngine;
+    private final Map<SchemaKey, RowType> schemaCache = new ConcurrentHashMap<>();
 
     public JsonDynamicSchemaFormat(Map<String, String> properties) {
         ReadableConfig config = Configuration.fromMap(properties);
@@ -190,15 +195,20 @@ public abstract class JsonDynamicSchemaFormat extends AbstractDynamicSchemaForma
      */
     @Override
     public String parse(JsonNode rootNode, String pattern) throws IOException {
-        Matcher matcher = PATTERN.matcher(pattern);
-        StringBuffer sb = new StringBuffer();
+        CompiledPattern compiledPattern = compilePattern(pattern);
+        String[] literals = compiledPattern.getLiterals();
+        String[] keys = compiledPattern.getKeys();
+        if (keys.length == 0) {
+            return literals[0];
+        }
+        StringBuilder sb = new StringBuilder();
         JsonNode physicalNode = getPhysicalData(rootNode);
-        if (physicalNode.isArray()) {
+        if (physicalNode != null && physicalNode.isArray()) {
             // Extract from the first value when the physicalNode is array
             physicalNode = physicalNode.get(FIRST);
         }
-        while (matcher.find()) {
-            String keyText = matcher.group(1);
+        for (int i = 0; i < keys.length; i++) {
+            String keyText = keys[i];
             String replacement = extract(physicalNode, keyText);
             if (replacement == null) {
                 replacement = extract(rootNode, keyText);
@@ -208,9 +218,9 @@ public abstract class JsonDynamicSchemaFormat extends AbstractDynamicSchemaForma
                 // multi-sink scenario synchronization destination positioning, so the value of null cannot be ignored.
                 throw new IOException(String.format("Can't find value for key: %s", keyText));
             }
-            matcher.appendReplacement(sb, replacement);
+            sb.append(literals[i]).append(replacement);
         }
-        matcher.appendTail(sb);
+        sb.append(literals[keys.length]);
         return sb.toString();
     }
 
@@ -260,6 +270,30 @@ public abstract class JsonDynamicSchemaFormat extends AbstractDynamicSchemaForma
      */
     public abstract String getOpType(JsonNode root);
 
+    /**
+     * Get the schema from the cache, the records of a table share the same schema nodes until the schema changes,
+     * so that the schema is extracted only once for each version of it
+     *
+     * @param schema The schema node
+     * @param dialectSchema The dialect schema node
+     * @param pkNames The primary key names
+     * @param extractor The extractor used when the schema is not cached
+     * @return The data schema info
+     */
+    protected RowType getOrExtractSchema(JsonNode schema, JsonNode dialectSchema, List<String> pkNames,
+            Supplier<RowType> extractor) {
+        SchemaKey key = new SchemaKey(schema, dialectSchema, pkNames);
+        RowType rowType = schemaCache.get(key);
+        if (rowType == null) {
+            rowType = extractor.get();
+            if (schemaCache.size() >= MAX_CACHED_SCHEMAS) {
+                schemaCache.clear();
+            }
+            schemaCache.put(key, rowType);
+        }
+        return rowType;
+    }
+
     protected RowType extractSchemaNode(JsonNode schema, JsonNode dialectSchema, List<String> pkNames) {
         Iterator<Entry<String, JsonNode>> schemaFields = schema.fields();
         List<RowField> fields = new ArrayList<>();
@@ -386,4 +420,42 @@ public abstract class JsonDynamicSchemaFormat extends AbstractDynamicSchemaForma
         }
         return values;
     }
+
+    /**
+     * The key of the schema cache, the json nodes are compared by value
+     */
+    private static final class SchemaKey {
+
+        private final JsonNode schema;
+        private final JsonNode dialectSchema;
+        private final List<String> pkNames;
+        private final int hashCode;
+
+        private SchemaKey(JsonNode schema, JsonNode dialectSchema, List<String> pkNames) {
+            this.schema = schema;
+            this.dialectSchema = dialectSchema;
+            this.pkNames = pkNames;
+            this.hashCode = Objects.hash(schema, dialectSchema, pkNames);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof SchemaKey)) {
+                return false;
+            }
+            SchemaKey that = (SchemaKey) o;
+            return hashCode == that.hashCode
+                    && Objects.equals(schema, that.schema)
+                    && Objects.equals(dialectSchema, that.dialectSchema)
+                    && Objects.equals(pkNames, that.pkNames);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
 }
@@ -19,6 +19,7 @@ package org.apache.inlong.sort.base.metric;
 
 import org.apache.inlong.sort.util.AuditUtils;
 
+import org.apache.flink.table.types.logical.RowType;
 import org.apache.flink.util.Preconditions;
 import org.apache.flink.util.StringUtils;
 import org.slf4j.Logger;
@@ -56,6 +57,8 @@ public class MetricOption implements Serializable {
     private long initDirtyBytes;
     private long readPhase;
     private List<Integer> inlongAuditKeys;
+    private int sizeSampleInterval;
+    private RowType rowType;
 
     private MetricOption(
             Map<String, String> labels,
@@ -67,7 +70,9 @@ public class MetricOption implements Serializable {
             Long initDirtyBytes,
             Long readPhase,
             List<Integer> inlongAuditKeys,
-            Set<String> ipPortSet) {
+            Set<String> ipPortSet,
+            int sizeSampleInterval,
+            @Nullable RowType rowType) {
         this.initRecords = initRecords;
         this.initBytes = initBytes;
         this.initDirtyRecords = initDirtyRecords;
@@ -78,6 +83,8 @@ public class MetricOption implements Serializable {
         this.inlongAuditKeys = inlongAuditKeys;
         this.ipPortSet = ipPortSet;
         this.registeredMetric = registeredMetric;
+        this.sizeSampleInterval = sizeSampleInterval;
+        this.rowType = rowType;
     }
 
     public Map<String, String> getLabels() {
@@ -140,6 +147,15 @@ public class MetricOption implements Serializable {
         this.readPhase = readPhase;
     }
 
+    public int getSizeSampleInterval() {
+        return sizeSampleInterval;
+    }
+
+    @Nullable
+    public RowType getRowType() {
+        return rowType;
+    }
+
     public static Builder builder() {
         return new Builder();
     }
@@ -161,6 +177,8 @@ public class MetricOption implements Serializable {
         private Long initDirtyRecords = 0L;
         private Long initDirtyBytes = 0L;
         private long initReadPhase = 0L;
+        private int sizeSampleInterval = 1;
+        private RowType rowType;
 
         private Builder() {
         }
@@ -210,6 +228,20 @@ public class MetricOption implements Serializable {
             return this;
         }
 
+        public MetricOption.Builder withSizeSampleInterval(int sizeSampleInterval) {
+            this.sizeSampleInterval = sizeSampleInterval;
+            return this;
+        }
+
+        /**
+         * The physical row type of the sink, the {@link org.apache.flink.table.data.RowData} records
+         * are sized by their fields of the row type if it is set
+         */
+        public MetricOption.Builder withRowType(@Nullable RowType rowType) {
+            this.rowType = rowType;
+            return this;
+        }
+
         public MetricOption build() {
             if (inlongAudit == null && inlongLabels == null) {
                 LOG.warn("The property 'metrics.audit.proxy.hosts and inlong.metric.labels' has not been set," +
@@ -247,7 +279,8 @@ public class MetricOption implements Serializable {
             }
 
             return new MetricOption(labels, inlongAudit, registeredMetric, initRecords, initBytes,
-                    initDirtyRecords, initDirtyBytes, initReadPhase, inlongAuditKeysList, ipPortSet);
+                    initDirtyRecords, initDirtyBytes, initReadPhase, inlongAuditKeysList, ipPortSet,
+                    Math.max(1, sizeSampleInterval), rowType);
         }
     }
 }
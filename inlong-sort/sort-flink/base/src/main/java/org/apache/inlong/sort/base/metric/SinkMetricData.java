@@ -19,15 +19,18 @@ package org.apache.inlong.sort.base.metric;
 
 import org.apache.inlong.audit.AuditOperator;
 import org.apache.inlong.sort.base.metric.MetricOption.RegisteredMetric;
+import org.apache.inlong.sort.base.util.RowDataSizeEstimator;
 
 import org.apache.flink.metrics.Counter;
 import org.apache.flink.metrics.Meter;
 import org.apache.flink.metrics.MetricGroup;
 import org.apache.flink.metrics.SimpleCounter;
+import org.apache.flink.table.data.RowData;
 
 import java.io.Serializable;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.apache.inlong.sort.base.Constants.DIRTY_BYTES_OUT;
 import static org.apache.inlong.sort.base.Constants.DIRTY_RECORDS_OUT;
@@ -58,11 +61,18 @@ public class SinkMetricData implements MetricData, Serializable {
     private Meter numRecordsOutPerSecond;
     private Meter numBytesOutPerSecond;
     private List<Integer> auditKeys;
+    private final int sizeSampleInterval;
+    private final AtomicLong estimatedRecords = new AtomicLong();
+    private final AtomicLong sampledRecords = new AtomicLong();
+    private final AtomicLong sampledBytes = new AtomicLong();
+    private final RowDataSizeEstimator rowDataSizeEstimator;
 
     public SinkMetricData(MetricOption option, MetricGroup metricGroup) {
         this.metricGroup = metricGroup;
         this.labels = option.getLabels();
         this.registeredMetric = option.getRegisteredMetric();
+        this.sizeSampleInterval = option.getSizeSampleInterval();
+        this.rowDataSizeEstimator = option.getRowType() != null ? new RowDataSizeEstimator(option.getRowType()) : null;
 
         ThreadSafeCounter recordsOutCounter = new ThreadSafeCounter();
         ThreadSafeCounter bytesOutCounter = new ThreadSafeCounter();
@@ -257,16 +267,45 @@ public class SinkMetricData implements MetricData, Serializable {
         return numBytesOutForMeter;
     }
 
+    /**
+     * Estimate the byte size of the record. Only one of every sample interval records is measured,
+     * the others are estimated by the average size of the measured ones.
+     *
+     * @param o The record
+     * @return The byte size
+     */
+    public long estimateDataSize(Object o) {
+        if (sizeSampleInterval > 1 && estimatedRecords.getAndIncrement() % sizeSampleInterval != 0) {
+            long records = sampledRecords.get();
+            if (records > 0) {
+                return sampledBytes.get() / records;
+            }
+        }
+        long size = measureDataSize(o);
+        if (sizeSampleInterval > 1) {
+            sampledBytes.addAndGet(size);
+            sampledRecords.incrementAndGet();
+        }
+        return size;
+    }
+
+    private long measureDataSize(Object o) {
+        if (rowDataSizeEstimator != null && o instanceof RowData) {
+            return rowDataSizeEstimator.estimate((RowData) o);
+        }
+        return getDataSize(o);
+    }
+
     public void invokeWithEstimate(Object o) {
-        invoke(1, getDataSize(o));
+        invoke(1, estimateDataSize(o));
     }
 
     public void invokeWithEstimate(Object o, long dataTime) {
-        invoke(1, getDataSize(o), dataTime);
+        invoke(1, estimateDataSize(o), dataTime);
     }
 
     public void invokeDirtyWithEstimate(Object o) {
-        invokeDirty(1, getDataSize(o));
+        invokeDirty(1, measureDataSize(o));
     }
 
     public void invoke(long rowCount, long rowSize) {
@@ -31,9 +31,13 @@ import java.util.Map;
 
 import static org.apache.inlong.sort.base.Constants.CURRENT_EMIT_EVENT_TIME_LAG;
 import static org.apache.inlong.sort.base.Constants.CURRENT_FETCH_EVENT_TIME_LAG;
+import static org.apache.inlong.sort.base.Constants.LOOKUP_HIT_RATIO;
+import static org.apache.inlong.sort.base.Constants.LOOKUP_LATENCY;
 import static org.apache.inlong.sort.base.Constants.NUM_BYTES_IN;
 import static org.apache.inlong.sort.base.Constants.NUM_BYTES_IN_FOR_METER;
 import static org.apache.inlong.sort.base.Constants.NUM_BYTES_IN_PER_SECOND;
+import static org.apache.inlong.sort.base.Constants.NUM_LOOKUP_HITS;
+import static org.apache.inlong.sort.base.Constants.NUM_LOOKUP_MISSES;
 import static org.apache.inlong.sort.base.Constants.NUM_RECORDS_IN;
 import static org.apache.inlong.sort.base.Constants.NUM_RECORDS_IN_FOR_METER;
 import static org.apache.inlong.sort.base.Constants.NUM_RECORDS_IN_PER_SECOND;
@@ -80,6 +84,19 @@ public class SourceMetricData implements MetricData, Serializable, SourceMetrics
      */
     private volatile long emitDelay = 0L;
 
+    /**
+     * The lookup metrics are only registered by the lookup functions of the dimension tables.
+     */
+    private Counter numLookupHits;
+    private Counter numLookupMisses;
+    private Gauge lookupHitRatio;
+    private Gauge lookupLatency;
+
+    /**
+     * lookupLatency = the time in milliseconds of the last lookup request sent to the external system.
+     */
+    private volatile long lastLookupLatency = 0L;
+
     public SourceMetricData(MetricOption option, MetricGroup metricGroup) {
         this.metricGroup = metricGroup;
         this.labels = option.getLabels();
@@ -206,6 +223,16 @@ public class SourceMetricData implements MetricData, Serializable, SourceMetrics
         currentEmitEventTimeLag = registerGauge(CURRENT_EMIT_EVENT_TIME_LAG, (Gauge<Long>) this::getEmitDelay);
     }
 
+    /**
+     * Register the cache hit, cache miss, hit ratio and latency metrics of the lookup function
+     */
+    public void registerMetricsForLookup() {
+        numLookupHits = registerCounter(NUM_LOOKUP_HITS, new ThreadSafeCounter());
+        numLookupMisses = registerCounter(NUM_LOOKUP_MISSES, new ThreadSafeCounter());
+        lookupHitRatio = registerGauge(LOOKUP_HIT_RATIO, (Gauge<Double>) this::getLookupHitRatio);
+        lookupLatency = registerGauge(LOOKUP_LATENCY, (Gauge<Long>) this::getLastLookupLatency);
+    }
+
     public Counter getNumRecordsIn() {
         return numRecordsIn;
     }
@@ -238,6 +265,19 @@ public class SourceMetricData implements MetricData, Serializable, SourceMetrics
         return emitDelay;
     }
 
+    public long getLastLookupLatency() {
+        return lastLookupLatency;
+    }
+
+    public double getLookupHitRatio() {
+        if (numLookupHits == null || numLookupMisses == null) {
+            return 0D;
+        }
+        long hits = numLookupHits.getCount();
+        long total = hits + numLookupMisses.getCount();
+        return total == 0 ? 0D : (double) hits / total;
+    }
+
     @Override
     public MetricGroup getMetricGroup() {
         return metricGroup;
@@ -334,6 +374,25 @@ public class SourceMetricData implements MetricData, Serializable, SourceMetrics
         }
     }
 
+    /**
+     * Output the metrics of the lookup function
+     *
+     * @param hits the count of keys answered by the cache
+     * @param misses the count of keys sent to the external system
+     * @param latency the time in milliseconds of the lookup request, ignored if it is negative
+     */
+    public void outputLookupMetrics(long hits, long misses, long latency) {
+        if (numLookupHits != null) {
+            numLookupHits.inc(hits);
+        }
+        if (numLookupMisses != null) {
+            numLookupMisses.inc(misses);
+        }
+        if (latency >= 0) {
+            this.lastLookupLatency = latency;
+        }
+    }
+
     /**
      * flush audit data
      * usually call this method in close method or when checkpointing
@@ -29,7 +29,6 @@ import org.apache.flink.metrics.MetricGroup;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.nio.charset.StandardCharsets;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.stream.Collectors;
@@ -164,10 +163,7 @@ public class SinkTableMetricData extends SinkMetricData implements SinkSubMetric
     public void outputMetricsWithEstimate(String database, String schema, String table, Object data) {
         // sink metric and sub sink metric output metrics
         long rowCountSize = 1L;
-        long rowDataSize = 0L;
-        if (data != null) {
-            rowDataSize = data.toString().getBytes(StandardCharsets.UTF_8).length;
-        }
+        long rowDataSize = data == null ? 0L : estimateDataSize(data);
         outputMetrics(database, schema, table, rowCountSize, rowDataSize);
     }
 
@@ -305,7 +301,7 @@ public class SinkTableMetricData extends SinkMetricData implements SinkSubMetric
     }
 
     public void outputMetricsWithEstimate(Object data) {
-        long size = data.toString().getBytes(StandardCharsets.UTF_8).length;
+        long size = estimateDataSize(data);
         invoke(1, size);
     }
 
@@ -395,7 +391,7 @@ public class SinkTableMetricData extends SinkMetricData implements SinkSubMetric
      * @param data the dirty data
      */
     public void outputDirtyMetricsWithEstimate(String database, String schema, String table, Object data) {
-        long size = data == null ? 0L : data.toString().getBytes(StandardCharsets.UTF_8).length;
+        long size = getDataSize(data);
         outputDirtyMetrics(database, schema, table, 1, size);
     }
 
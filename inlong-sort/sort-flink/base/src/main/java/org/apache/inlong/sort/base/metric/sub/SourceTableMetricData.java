@@ -32,7 +32,6 @@ import org.apache.flink.metrics.MetricGroup;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -246,7 +245,7 @@ public class SourceTableMetricData extends SourceMetricData implements SourceSub
         }
         // source metric and sub source metric output metrics
         long rowCountSize = 1L;
-        long rowDataSize = data.toString().getBytes(StandardCharsets.UTF_8).length;
+        long rowDataSize = CalculateObjectSizeUtils.getDataSize(data);
         this.outputMetrics(rowCountSize, rowDataSize);
         subSourceMetricData.outputMetrics(rowCountSize, rowDataSize);
 
@@ -17,9 +17,21 @@
 
 package org.apache.inlong.sort.base.util;
 
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.databind.JsonNode;
+import org.apache.flink.table.data.DecimalData;
+import org.apache.flink.table.data.GenericArrayData;
+import org.apache.flink.table.data.GenericMapData;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.data.TimestampData;
 import org.apache.flink.table.data.binary.BinaryRowData;
+import org.apache.flink.table.data.binary.BinarySection;
+import org.apache.flink.table.data.binary.BinaryStringData;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Map;
 
 /**
  * calculate tool for object
@@ -27,21 +39,173 @@ import java.nio.charset.StandardCharsets;
 public class CalculateObjectSizeUtils {
 
     /**
+     * The max precision of the decimal stored in a long.
+     */
+    private static final int MAX_COMPACT_DECIMAL_PRECISION = 18;
+
+    /**
+     * Get the byte size of the object for the metrics.
      * {@link BinaryRowData} don't implement the {@link Object#toString} method
      * So, we need use {@link BinaryRowData#getSizeInBytes} to get byte size.
+     * The size of {@link GenericRowData}, {@link JsonNode}, string and bytes is estimated by their values
+     * without building a string, the other objects fall back to the length of {@link Object#toString}.
+     * The fields of the other {@link org.apache.flink.table.data.RowData} such as JoinedRowData can't be read
+     * without the schema, the sinks that know it size them by {@link RowDataSizeEstimator} instead.
      */
     public static long getDataSize(Object object) {
         if (object == null) {
             return 0L;
         }
-        long size;
-        if (object instanceof BinaryRowData) {
-            BinaryRowData binaryRowData = (BinaryRowData) object;
-            size = binaryRowData.getSizeInBytes();
-        } else {
-            size = object.toString().getBytes(StandardCharsets.UTF_8).length;
+        if (object instanceof BinarySection) {
+            return ((BinarySection) object).getSizeInBytes();
+        }
+        if (object instanceof GenericRowData) {
+            return getGenericRowDataSize((GenericRowData) object);
+        }
+        if (object instanceof CharSequence) {
+            return getUtf8Length((CharSequence) object);
+        }
+        if (object instanceof byte[]) {
+            return ((byte[]) object).length;
+        }
+        if (object instanceof ByteBuffer) {
+            return ((ByteBuffer) object).remaining();
+        }
+        if (object instanceof JsonNode) {
+            return getJsonNodeSize((JsonNode) object);
+        }
+        return object.toString().getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    /**
+     * Estimate the byte size of a field value of the internal data structures by its class.
+     */
+    public static long getValueSize(Object value) {
+        if (value == null) {
+            return 0L;
+        }
+        if (value instanceof StringData) {
+            return getStringDataSize((StringData) value);
+        }
+        if (value instanceof Long || value instanceof Double) {
+            return 8L;
+        }
+        if (value instanceof Integer || value instanceof Float) {
+            return 4L;
+        }
+        if (value instanceof Short) {
+            return 2L;
+        }
+        if (value instanceof Byte || value instanceof Boolean) {
+            return 1L;
+        }
+        if (value instanceof DecimalData) {
+            return ((DecimalData) value).precision() <= MAX_COMPACT_DECIMAL_PRECISION ? 8L : 16L;
+        }
+        if (value instanceof TimestampData) {
+            return ((TimestampData) value).getNanoOfMillisecond() == 0 ? 8L : 12L;
+        }
+        if (value instanceof GenericArrayData) {
+            return getGenericArrayDataSize((GenericArrayData) value);
+        }
+        if (value instanceof GenericMapData) {
+            GenericMapData mapData = (GenericMapData) value;
+            return getValueSize(mapData.keyArray()) + getValueSize(mapData.valueArray());
+        }
+        return getDataSize(value);
+    }
+
+    /**
+     * Get the byte size of the string, the encoded size is used if the string is in binary format,
+     * otherwise the utf-8 length is counted without encoding the string.
+     */
+    public static long getStringDataSize(StringData stringData) {
+        if (stringData instanceof BinaryStringData) {
+            Object javaObject = ((BinaryStringData) stringData).getJavaObject();
+            if (javaObject != null) {
+                return getUtf8Length((String) javaObject);
+            }
+            return ((BinaryStringData) stringData).getSizeInBytes();
+        }
+        return getUtf8Length(stringData.toString());
+    }
+
+    /**
+     * Count the utf-8 length of the chars without encoding them.
+     */
+    public static long getUtf8Length(CharSequence chars) {
+        int length = chars.length();
+        long size = length;
+        for (int i = 0; i < length; i++) {
+            char ch = chars.charAt(i);
+            if (ch < 0x80) {
+                continue;
+            }
+            if (ch < 0x800) {
+                size += 1;
+            } else if (Character.isHighSurrogate(ch) && i + 1 < length
+                    && Character.isLowSurrogate(chars.charAt(i + 1))) {
+                // the surrogate pair is encoded in 4 bytes
+                size += 2;
+                i++;
+            } else {
+                size += 2;
+            }
         }
         return size;
     }
 
+    private static long getGenericRowDataSize(GenericRowData rowData) {
+        long size = 0L;
+        for (int i = 0; i < rowData.getArity(); i++) {
+            size += getValueSize(rowData.getField(i));
+        }
+        return size;
+    }
+
+    private static long getGenericArrayDataSize(GenericArrayData arrayData) {
+        if (arrayData.isPrimitiveArray()) {
+            // the width of the primitive element is unknown here, so use the widest one
+            return arrayData.size() * 8L;
+        }
+        long size = 0L;
+        for (Object element : arrayData.toObjectArray()) {
+            size += getValueSize(element);
+        }
+        return size;
+    }
+
+    /**
+     * Estimate the length of the json serialized in compact format, the escaped chars are not counted.
+     */
+    private static long getJsonNodeSize(JsonNode node) {
+        switch (node.getNodeType()) {
+            case OBJECT:
+                long objectSize = 2L;
+                Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+                while (fields.hasNext()) {
+                    Map.Entry<String, JsonNode> field = fields.next();
+                    // the quotes, the colon and the comma
+                    objectSize += getUtf8Length(field.getKey()) + 4L + getJsonNodeSize(field.getValue());
+                }
+                return node.size() > 0 ? objectSize - 1L : objectSize;
+            case ARRAY:
+                long arraySize = 2L;
+                for (JsonNode element : node) {
+                    arraySize += getJsonNodeSize(element) + 1L;
+                }
+                return node.size() > 0 ? arraySize - 1L : arraySize;
+            case STRING:
+                return getUtf8Length(node.textValue()) + 2L;
+            case NUMBER:
+                return node.asText().length();
+            case BOOLEAN:
+                return node.booleanValue() ? 4L : 5L;
+            case NULL:
+            case MISSING:
+                return 4L;
+            default:
+                return node.toString().getBytes(StandardCharsets.UTF_8).length;
+        }
+    }
 }
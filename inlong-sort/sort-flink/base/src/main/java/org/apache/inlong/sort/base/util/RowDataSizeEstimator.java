@@ -0,0 +1,291 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.sort.base.util;
+
+import org.apache.flink.table.data.ArrayData;
+import org.apache.flink.table.data.MapData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.data.binary.BinarySection;
+import org.apache.flink.table.types.logical.ArrayType;
+import org.apache.flink.table.types.logical.BigIntType;
+import org.apache.flink.table.types.logical.BinaryType;
+import org.apache.flink.table.types.logical.BooleanType;
+import org.apache.flink.table.types.logical.CharType;
+import org.apache.flink.table.types.logical.DateType;
+import org.apache.flink.table.types.logical.DayTimeIntervalType;
+import org.apache.flink.table.types.logical.DecimalType;
+import org.apache.flink.table.types.logical.DistinctType;
+import org.apache.flink.table.types.logical.DoubleType;
+import org.apache.flink.table.types.logical.FloatType;
+import org.apache.flink.table.types.logical.IntType;
+import org.apache.flink.table.types.logical.LocalZonedTimestampType;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.MapType;
+import org.apache.flink.table.types.logical.MultisetType;
+import org.apache.flink.table.types.logical.RowType;
+import org.apache.flink.table.types.logical.SmallIntType;
+import org.apache.flink.table.types.logical.TimeType;
+import org.apache.flink.table.types.logical.TimestampType;
+import org.apache.flink.table.types.logical.TinyIntType;
+import org.apache.flink.table.types.logical.VarBinaryType;
+import org.apache.flink.table.types.logical.VarCharType;
+import org.apache.flink.table.types.logical.YearMonthIntervalType;
+import org.apache.flink.table.types.logical.ZonedTimestampType;
+import org.apache.flink.table.types.logical.utils.LogicalTypeDefaultVisitor;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Estimate the byte size of {@link RowData} by its {@link RowType}, the fields are read by the
+ * field getters created once, so it works for every {@link RowData} implementation such as
+ * {@link org.apache.flink.table.data.utils.JoinedRowData}, and no string is built for a record.
+ * The fixed-length fields are sized by their types, the variable-length ones by their values.
+ */
+public class RowDataSizeEstimator implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The max precision of the decimal stored in a long.
+     */
+    private static final int MAX_COMPACT_PRECISION = 18;
+
+    /**
+     * The max precision of the timestamp stored in a long.
+     */
+    private static final int MAX_COMPACT_TIMESTAMP_PRECISION = 3;
+
+    private final RowData.FieldGetter[] fieldGetters;
+    private final ValueSizeEstimator[] fieldEstimators;
+
+    public RowDataSizeEstimator(RowType rowType) {
+        List<LogicalType> fieldTypes = rowType.getChildren();
+        this.fieldGetters = new RowData.FieldGetter[fieldTypes.size()];
+        this.fieldEstimators = new ValueSizeEstimator[fieldTypes.size()];
+        for (int i = 0; i < fieldTypes.size(); i++) {
+            fieldGetters[i] = RowData.createFieldGetter(fieldTypes.get(i), i);
+            fieldEstimators[i] = createValueSizeEstimator(fieldTypes.get(i));
+        }
+    }
+
+    /**
+     * Estimate the byte size of the row, the size of the binary row is returned directly.
+     *
+     * @param rowData The row of the row type
+     * @return The byte size
+     */
+    public long estimate(RowData rowData) {
+        if (rowData == null) {
+            return 0L;
+        }
+        if (rowData instanceof BinarySection) {
+            return ((BinarySection) rowData).getSizeInBytes();
+        }
+        long size = 0L;
+        for (int i = 0; i < fieldGetters.length; i++) {
+            Object value = fieldGetters[i].getFieldOrNull(rowData);
+            if (value != null) {
+                size += fieldEstimators[i].estimate(value);
+            }
+        }
+        return size;
+    }
+
+    private static ValueSizeEstimator createValueSizeEstimator(LogicalType type) {
+        return type.accept(new ValueSizeEstimatorVisitor());
+    }
+
+    private static long estimateArray(ArrayData arrayData, ArrayData.ElementGetter elementGetter,
+            ValueSizeEstimator elementEstimator) {
+        if (arrayData instanceof BinarySection) {
+            return ((BinarySection) arrayData).getSizeInBytes();
+        }
+        long size = 0L;
+        for (int i = 0; i < arrayData.size(); i++) {
+            Object element = elementGetter.getElementOrNull(arrayData, i);
+            if (element != null) {
+                size += elementEstimator.estimate(element);
+            }
+        }
+        return size;
+    }
+
+    /**
+     * The size estimator of a value in the internal data structure of the logical type.
+     */
+    @FunctionalInterface
+    private interface ValueSizeEstimator extends Serializable {
+
+        long estimate(Object value);
+    }
+
+    /**
+     * Create the size estimator for each logical type.
+     */
+    private static class ValueSizeEstimatorVisitor extends LogicalTypeDefaultVisitor<ValueSizeEstimator> {
+
+        @Override
+        public ValueSizeEstimator visit(CharType charType) {
+            return value -> CalculateObjectSizeUtils.getStringDataSize((StringData) value);
+        }
+
+        @Override
+        public ValueSizeEstimator visit(VarCharType varCharType) {
+            return value -> CalculateObjectSizeUtils.getStringDataSize((StringData) value);
+        }
+
+        @Override
+        public ValueSizeEstimator visit(BooleanType booleanType) {
+            return value -> 1L;
+        }
+
+        @Override
+        public ValueSizeEstimator visit(BinaryType binaryType) {
+            return value -> ((byte[]) value).length;
+        }
+
+        @Override
+        public ValueSizeEstimator visit(VarBinaryType varBinaryType) {
+            return value -> ((byte[]) value).length;
+        }
+
+        @Override
+        public ValueSizeEstimator visit(DecimalType decimalType) {
+            long size = decimalType.getPrecision() <= MAX_COMPACT_PRECISION ? 8L : 16L;
+            return value -> size;
+        }
+
+        @Override
+        public ValueSizeEstimator visit(TinyIntType tinyIntType) {
+            return value -> 1L;
+        }
+
+        @Override
+        public ValueSizeEstimator visit(SmallIntType smallIntType) {
+            return value -> 2L;
+        }
+
+        @Override
+        public ValueSizeEstimator visit(IntType intType) {
+            return value -> 4L;
+        }
+
+        @Override
+        public ValueSizeEstimator visit(BigIntType bigIntType) {
+            return value -> 8L;
+        }
+
+        @Override
+        public ValueSizeEstimator visit(FloatType floatType) {
+            return value -> 4L;
+        }
+
+        @Override
+        public ValueSizeEstimator visit(DoubleType doubleType) {
+            return value -> 8L;
+        }
+
+        @Override
+        public ValueSizeEstimator visit(DateType dateType) {
+            return value -> 4L;
+        }
+
+        @Override
+        public ValueSizeEstimator visit(TimeType timeType) {
+            return value -> 4L;
+        }
+
+        @Override
+        public ValueSizeEstimator visit(TimestampType timestampType) {
+            long size = timestampType.getPrecision() <= MAX_COMPACT_TIMESTAMP_PRECISION ? 8L : 12L;
+            return value -> size;
+        }
+
+        @Override
+        public ValueSizeEstimator visit(ZonedTimestampType zonedTimestampType) {
+            long size = zonedTimestampType.getPrecision() <= MAX_COMPACT_TIMESTAMP_PRECISION ? 8L : 12L;
+            return value -> size;
+        }
+
+        @Override
+        public ValueSizeEstimator visit(LocalZonedTimestampType localZonedTimestampType) {
+            long size = localZonedTimestampType.getPrecision() <= MAX_COMPACT_TIMESTAMP_PRECISION ? 8L : 12L;
+            return value -> size;
+        }
+
+        @Override
+        public ValueSizeEstimator visit(YearMonthIntervalType yearMonthIntervalType) {
+            return value -> 4L;
+        }
+
+        @Override
+        public ValueSizeEstimator visit(DayTimeIntervalType dayTimeIntervalType) {
+            return value -> 8L;
+        }
+
+        @Override
+        public ValueSizeEstimator visit(ArrayType arrayType) {
+            ArrayData.ElementGetter elementGetter = ArrayData.createElementGetter(arrayType.getElementType());
+            ValueSizeEstimator elementEstimator = createValueSizeEstimator(arrayType.getElementType());
+            return value -> estimateArray((ArrayData) value, elementGetter, elementEstimator);
+        }
+
+        @Override
+        public ValueSizeEstimator visit(MultisetType multisetType) {
+            return estimateMap(multisetType.getElementType(), new IntType());
+        }
+
+        @Override
+        public ValueSizeEstimator visit(MapType mapType) {
+            return estimateMap(mapType.getKeyType(), mapType.getValueType());
+        }
+
+        @Override
+        public ValueSizeEstimator visit(RowType rowType) {
+            RowDataSizeEstimator rowEstimator = new RowDataSizeEstimator(rowType);
+            return value -> rowEstimator.estimate((RowData) value);
+        }
+
+        @Override
+        public ValueSizeEstimator visit(DistinctType distinctType) {
+            return distinctType.getSourceType().accept(this);
+        }
+
+        @Override
+        protected ValueSizeEstimator defaultMethod(LogicalType logicalType) {
+            return CalculateObjectSizeUtils::getValueSize;
+        }
+
+        private ValueSizeEstimator estimateMap(LogicalType keyType, LogicalType valueType) {
+            ArrayData.ElementGetter keyGetter = ArrayData.createElementGetter(keyType);
+            ArrayData.ElementGetter valueGetter = ArrayData.createElementGetter(valueType);
+            ValueSizeEstimator keyEstimator = createValueSizeEstimator(keyType);
+            ValueSizeEstimator valueEstimator = createValueSizeEstimator(valueType);
+            return value -> {
+                MapData mapData = (MapData) value;
+                if (mapData instanceof BinarySection) {
+                    return ((BinarySection) mapData).getSizeInBytes();
+                }
+                return estimateArray(mapData.keyArray(), keyGetter, keyEstimator)
+                        + estimateArray(mapData.valueArray(), valueGetter, valueEstimator);
+            };
+        }
+    }
+}
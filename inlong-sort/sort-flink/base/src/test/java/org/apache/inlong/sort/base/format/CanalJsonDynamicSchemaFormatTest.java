@@ -90,6 +90,7 @@ public class CanalJsonDynamicSchemaFormatTest extends DynamicSchemaFormatBaseTes
         expectedValues.put("prefix_${database}_${table}_suffix", "prefix_inventory_products_suffix");
         expectedValues.put("${ \t database \t }${ table }", "inventoryproducts");
         expectedValues.put("${database}_${table}_${id}_${name}", "inventory_products_111_scooter");
+        expectedValues.put("constant_table", "constant_table");
         return expectedValues;
     }
 
@@ -108,6 +109,17 @@ public class CanalJsonDynamicSchemaFormatTest extends DynamicSchemaFormatBaseTes
         Assert.assertEquals(values, Collections.singletonList("111"));
     }
 
+    @Test
+    public void testExtractSchemaCached() throws IOException {
+        JsonNode rootNode = (JsonNode) getDynamicSchemaFormat()
+                .deserialize(getSource().getBytes(StandardCharsets.UTF_8));
+        JsonNode otherNode = (JsonNode) getDynamicSchemaFormat()
+                .deserialize(getSource().getBytes(StandardCharsets.UTF_8));
+        // the records with the same schema nodes share the extracted schema
+        Assert.assertSame(getDynamicSchemaFormat().extractSchema(rootNode),
+                getDynamicSchemaFormat().extractSchema(otherNode));
+    }
+
     @Test
     public void testExtractRowData() throws IOException {
         JsonNode rootNode = (JsonNode) getDynamicSchemaFormat()
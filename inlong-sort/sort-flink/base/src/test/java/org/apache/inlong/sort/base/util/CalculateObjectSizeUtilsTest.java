@@ -18,6 +18,10 @@
 package org.apache.inlong.sort.base.util;
 
 import org.apache.flink.core.memory.MemorySegmentFactory;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.databind.JsonNode;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.StringData;
 import org.apache.flink.table.data.binary.BinaryRowData;
 import org.junit.Assert;
 import org.junit.Test;
@@ -52,4 +56,15 @@ public class CalculateObjectSizeUtilsTest {
         long actual3 = CalculateObjectSizeUtils.getDataSize(EMPTY_ROW);
         Assert.assertEquals(expected3, actual3);
     }
+
+    @Test
+    public void testGetDataSizeWithoutToString() throws Exception {
+        GenericRowData rowData = GenericRowData.of(1L, StringData.fromString("中文ab"), null, 2);
+        Assert.assertEquals(8L + 8L + 4L, CalculateObjectSizeUtils.getDataSize(rowData));
+
+        Assert.assertEquals(3L, CalculateObjectSizeUtils.getDataSize(new byte[]{1, 2, 3}));
+
+        JsonNode jsonNode = new ObjectMapper().readTree("{\"a\":1,\"b\":\"xy\",\"c\":[true,null]}");
+        Assert.assertEquals(jsonNode.toString().length(), CalculateObjectSizeUtils.getDataSize(jsonNode));
+    }
 }
@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.sort.base.util;
+
+import org.apache.inlong.sort.base.metric.MetricOption;
+import org.apache.inlong.sort.base.metric.SinkMetricData;
+
+import org.apache.flink.metrics.groups.UnregisteredMetricsGroup;
+import org.apache.flink.table.data.DecimalData;
+import org.apache.flink.table.data.GenericArrayData;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.data.TimestampData;
+import org.apache.flink.table.data.utils.JoinedRowData;
+import org.apache.flink.table.types.logical.ArrayType;
+import org.apache.flink.table.types.logical.BigIntType;
+import org.apache.flink.table.types.logical.DecimalType;
+import org.apache.flink.table.types.logical.IntType;
+import org.apache.flink.table.types.logical.RowType;
+import org.apache.flink.table.types.logical.TimestampType;
+import org.apache.flink.table.types.logical.VarBinaryType;
+import org.apache.flink.table.types.logical.VarCharType;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+
+/**
+ * Test for {@link RowDataSizeEstimator}
+ */
+public class RowDataSizeEstimatorTest {
+
+    private static final RowType ROW_TYPE = RowType.of(
+            new BigIntType(),
+            new VarCharType(VarCharType.MAX_LENGTH),
+            new DecimalType(10, 2),
+            new TimestampType(6),
+            new VarBinaryType(VarBinaryType.MAX_LENGTH),
+            new ArrayType(new VarCharType(VarCharType.MAX_LENGTH)),
+            new IntType());
+
+    @Test
+    public void testEstimateGenericRowData() {
+        RowDataSizeEstimator estimator = new RowDataSizeEstimator(ROW_TYPE);
+        GenericRowData rowData = GenericRowData.of(
+                1L,
+                StringData.fromString("test"),
+                DecimalData.fromBigDecimal(new BigDecimal("12.34"), 10, 2),
+                TimestampData.fromEpochMillis(1000L),
+                new byte[]{1, 2, 3},
+                new GenericArrayData(new Object[]{StringData.fromString("a"), null, StringData.fromString("bc")}),
+                null);
+        Assert.assertEquals(8L + 4L + 8L + 12L + 3L + 3L, estimator.estimate(rowData));
+    }
+
+    @Test
+    public void testEstimateJoinedRowData() {
+        RowDataSizeEstimator estimator = new RowDataSizeEstimator(RowType.of(
+                new BigIntType(), new VarCharType(VarCharType.MAX_LENGTH), new IntType()));
+        JoinedRowData rowData = new JoinedRowData(
+                GenericRowData.of(1L), GenericRowData.of(StringData.fromString("中文"), 2));
+        Assert.assertEquals(8L + 6L + 4L, estimator.estimate(rowData));
+        Assert.assertEquals(0L, estimator.estimate(null));
+    }
+
+    @Test
+    public void testSinkMetricDataSizedByRowType() {
+        MetricOption metricOption = MetricOption.builder()
+                .withInlongLabels("groupId=g&streamId=s&nodeId=n")
+                .withRowType(RowType.of(new BigIntType(), new VarCharType(VarCharType.MAX_LENGTH), new IntType()))
+                .build();
+        SinkMetricData sinkMetricData = new SinkMetricData(metricOption, new UnregisteredMetricsGroup());
+        JoinedRowData rowData = new JoinedRowData(
+                GenericRowData.of(1L), GenericRowData.of(StringData.fromString("中文"), 2));
+        // the joined row is sized by its fields instead of its string
+        Assert.assertEquals(8L + 6L + 4L, sinkMetricData.estimateDataSize(rowData));
+    }
+}
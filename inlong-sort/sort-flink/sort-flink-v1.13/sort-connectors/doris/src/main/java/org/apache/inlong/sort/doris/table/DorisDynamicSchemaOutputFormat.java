@@ -51,6 +51,7 @@ import org.apache.flink.configuration.Configuration;
 import org.apache.flink.runtime.state.FunctionInitializationContext;
 import org.apache.flink.runtime.state.FunctionSnapshotContext;
 import org.apache.flink.runtime.util.ExecutorThreadFactory;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.core.JsonGenerator;
 import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.core.JsonProcessingException;
 import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.databind.JsonNode;
 import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.databind.ObjectMapper;
@@ -60,17 +61,27 @@ import org.apache.flink.table.types.logical.LogicalType;
 import org.apache.flink.table.types.logical.RowType;
 import org.apache.flink.types.RowKind;
 import org.apache.flink.util.Preconditions;
+import org.apache.http.HttpEntity;
+import org.apache.http.entity.EntityTemplate;
+import org.apache.http.entity.StringEntity;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nullable;
 
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -78,12 +89,17 @@ import java.util.Map.Entry;
 import java.util.Properties;
 import java.util.Set;
 import java.util.StringJoiner;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
 
 import static org.apache.inlong.sort.base.Constants.DIRTY_BYTES_OUT;
 import static org.apache.inlong.sort.base.Constants.DIRTY_RECORDS_OUT;
@@ -127,6 +143,9 @@ public class DorisDynamicSchemaOutputFormat<T> extends RichOutputFormat<T> {
     private static final String ESCAPE_DELIMITERS_KEY = "escape_delimiters";
     private static final String ESCAPE_DELIMITERS_DEFAULT = "false";
     private static final String UNIQUE_KEYS_TYPE = "UNIQUE_KEYS";
+    private static final String COMPRESS_TYPE_KEY = "compress_type";
+    private static final String COMPRESS_TYPE_GZ = "gz";
+    private static final int LOAD_BUFFER_SIZE = 64 * 1024;
     @SuppressWarnings({"rawtypes"})
     private final Map<String, List> batchMap = new HashMap<>();
     private final Map<String, String> columnsMap = new HashMap<>();
@@ -156,6 +175,8 @@ public class DorisDynamicSchemaOutputFormat<T> extends RichOutputFormat<T> {
     private final boolean enableSchemaChange;
     @Nullable
     private final String schemaChangePolicies;
+    private final int loadParallelism;
+    private final boolean loadCompress;
     private long batchBytes = 0L;
     private int size;
     private DorisStreamLoad dorisStreamLoad;
@@ -163,6 +184,8 @@ public class DorisDynamicSchemaOutputFormat<T> extends RichOutputFormat<T> {
     private transient volatile boolean flushing = false;
     private transient ScheduledExecutorService scheduler;
     private transient ScheduledFuture<?> scheduledFuture;
+    private transient ExecutorService loadExecutor;
+    private transient Map<String, InflightLoad> inflightLoadMap;
     private transient JsonDynamicSchemaFormat jsonDynamicSchemaFormat;
     private transient SinkTableMetricData metricData;
     private transient ListState<MetricState> metricStateListState;
@@ -193,7 +216,9 @@ public class DorisDynamicSchemaOutputFormat<T> extends RichOutputFormat<T> {
             DirtyOptions dirtyOptions,
             @Nullable DirtySink<Object> dirtySink,
             boolean enableSchemaChange,
-            @Nullable String schemaChangePolicies) {
+            @Nullable String schemaChangePolicies,
+            int loadParallelism,
+            boolean loadCompress) {
         this.options = option;
         this.readOptions = readOptions;
         this.executionOptions = executionOptions;
@@ -211,6 +236,8 @@ public class DorisDynamicSchemaOutputFormat<T> extends RichOutputFormat<T> {
         this.dirtySinkHelper = new DirtySinkHelper<>(dirtyOptions, dirtySink);
         this.enableSchemaChange = enableSchemaChange;
         this.schemaChangePolicies = schemaChangePolicies;
+        this.loadParallelism = loadParallelism;
+        this.loadCompress = loadCompress;
         handleStreamLoadProp();
     }
 
@@ -268,7 +295,14 @@ public class DorisDynamicSchemaOutputFormat<T> extends RichOutputFormat<T> {
     @Override
     public void open(int taskNumber, int numTasks) throws IOException {
         Properties loadProps = executionOptions.getStreamLoadProp();
-        dorisStreamLoad = new DorisStreamLoad(getBackend(), options.getUsername(), options.getPassword(), loadProps);
+        if (multipleSink && loadParallelism > 1) {
+            // the loads of the tables are pipelined, see submitLoads
+            loadExecutor = Executors.newFixedThreadPool(loadParallelism,
+                    new ExecutorThreadFactory("doris-streamload-pipeline"));
+            inflightLoadMap = new LinkedHashMap<>();
+        }
+        dorisStreamLoad = new DorisStreamLoad(getBackend(), options.getUsername(), options.getPassword(), loadProps,
+                loadExecutor != null ? loadParallelism : 0);
         if (!multipleSink) {
             this.jsonFormat = true;
             // handleStreamLoadProp();
@@ -311,7 +345,7 @@ public class DorisDynamicSchemaOutputFormat<T> extends RichOutputFormat<T> {
                     new ExecutorThreadFactory("doris-streamload-output-format"));
             this.scheduledFuture = this.scheduler.scheduleWithFixedDelay(() -> {
                 if (!closed && !flushing) {
-                    flush();
+                    intervalFlush();
                 }
             }, executionOptions.getBatchIntervalMs(), executionOptions.getBatchIntervalMs(), TimeUnit.MILLISECONDS);
         }
@@ -334,7 +368,11 @@ public class DorisDynamicSchemaOutputFormat<T> extends RichOutputFormat<T> {
         boolean valid = (executionOptions.getBatchSize() > 0 && size >= executionOptions.getBatchSize())
                 || batchBytes >= executionOptions.getMaxBatchBytes();
         if (valid && !flushing) {
-            flush();
+            if (loadExecutor != null) {
+                submitLoads();
+            } else {
+                flush();
+            }
         }
     }
 
@@ -413,6 +451,8 @@ public class DorisDynamicSchemaOutputFormat<T> extends RichOutputFormat<T> {
             boolean isDDL = jsonDynamicSchemaFormat.extractDDLFlag(rootNode);
             if (isDDL) {
                 ddlNum.incrementAndGet();
+                // apply the schema change after the loads in flight
+                completeLoads();
                 helper.process(rowData.getBinary(0), rootNode);
                 return;
             }
@@ -570,7 +610,7 @@ public class DorisDynamicSchemaOutputFormat<T> extends RichOutputFormat<T> {
                     dirtyOptions.getIdentifier(), e);
         }
 
-        metricData.invokeDirty(1, dirtyData.toString().getBytes(StandardCharsets.UTF_8).length);
+        metricData.invokeDirty(1, CalculateObjectSizeUtils.getDataSize(dirtyData));
     }
 
     private void handleMultipleDirtyData(Object dirtyData, DirtyType dirtyType, Exception e)
@@ -604,6 +644,8 @@ public class DorisDynamicSchemaOutputFormat<T> extends RichOutputFormat<T> {
         String columns = parseColumns(rootNode, physicalData);
         String oldColumns = columnsMap.get(tableIdentifier);
         if (columns == null && oldColumns != null || (columns != null && !columns.equals(oldColumns))) {
+            // keep the order of the loads of the table
+            completeLoads();
             flushSingleTable(tableIdentifier, batchMap.get(tableIdentifier));
             if (!errorTables.contains(tableIdentifier)) {
                 columnsMap.put(tableIdentifier, columns);
@@ -665,13 +707,41 @@ public class DorisDynamicSchemaOutputFormat<T> extends RichOutputFormat<T> {
                 LOG.warn("Writing records to doris failed.", e);
                 throw new RuntimeException("Writing records to doris failed.", e);
             } finally {
+                if (loadExecutor != null) {
+                    loadExecutor.shutdownNow();
+                }
                 this.dorisStreamLoad.close();
             }
         }
     }
 
+    /**
+     * The flush of the batch interval. In the pipelined mode the loads are only submitted, waiting for them
+     * is left to the next submit, the loads are completed as a barrier only in the flush of the checkpoint
+     * and the close.
+     */
+    private synchronized void intervalFlush() {
+        if (loadExecutor != null) {
+            submitLoads();
+        } else {
+            flush();
+        }
+    }
+
     @SuppressWarnings({"rawtypes"})
     public synchronized void flush() {
+        if (loadExecutor != null) {
+            flushing = true;
+            try {
+                submitLoads();
+                completeLoads();
+            } finally {
+                flushing = false;
+            }
+            LOG.info("Doris sink statistics: readInNum: {}, writeOutNum: {}, errorNum: {}, ddlNum: {}",
+                    readInNum.get(), writeOutNum.get(), errorNum.get(), ddlNum.get());
+            return;
+        }
         flushing = true;
         if (!hasRecords()) {
             flushing = false;
@@ -699,74 +769,213 @@ public class DorisDynamicSchemaOutputFormat<T> extends RichOutputFormat<T> {
             return;
         }
         String loadValue = null;
-        RespContent respContent;
         try {
             // support csv and json format
             String format = executionOptions.getStreamLoadProp().getProperty(FORMAT_KEY, FORMAT_JSON_VALUE);
             loadValue = serialize(tableIdentifier, values, format);
-            respContent = load(tableIdentifier, loadValue);
-            try {
-                if (null != metricData && null != respContent) {
-                    if (multipleSink) {
-                        String[] tableWithDb = tableIdentifier.split("\\.");
-                        metricData.outputMetrics(tableWithDb[0], tableWithDb[1],
-                                respContent.getNumberLoadedRows(), respContent.getLoadBytes());
-                    } else {
-                        metricData.invoke(respContent.getNumberLoadedRows(), respContent.getLoadBytes());
-                    }
-                }
-            } catch (Exception e) {
-                LOG.warn("metricData invoke get err:", e);
-            }
-            writeOutNum.addAndGet(values.size());
-            // Clean the data that has been loaded.
-            values.clear();
+            RespContent respContent = load(tableIdentifier,
+                    new StringEntity(loadValue, StandardCharsets.UTF_8), Collections.emptyMap());
+            handleLoadSuccess(tableIdentifier, values, respContent);
         } catch (Exception e) {
-            LOG.error(String.format("Flush table: %s error", tableIdentifier), e);
-            flushExceptionMap.put(tableIdentifier, e);
-            // may count repeatedly
-            errorNum.getAndAdd(values.size());
+            handleLoadFailure(tableIdentifier, values, loadValue, e);
+        }
+    }
 
-            if (!multipleSink) {
+    /**
+     * Submit the loads of the tables in the pipelined mode. The loads of the last round are completed
+     * first, so that at most one round is in flight and the loads of a table keep their order. The buffer
+     * of each table is swapped out, the records are written into a new one during the load, and the
+     * records are serialized into the chunked request body directly instead of a string.
+     */
+    @SuppressWarnings({"rawtypes"})
+    private void submitLoads() {
+        completeLoads();
+        if (!hasRecords()) {
+            return;
+        }
+        String format = executionOptions.getStreamLoadProp().getProperty(FORMAT_KEY, FORMAT_JSON_VALUE);
+        for (Entry<String, List> kvs : batchMap.entrySet()) {
+            String tableIdentifier = kvs.getKey();
+            List values = kvs.getValue();
+            if (checkFlushException(tableIdentifier) || values == null || values.isEmpty()) {
+                continue;
+            }
+            kvs.setValue(new ArrayList<>());
+            Map<String, String> headers = buildLoadHeaders(tableIdentifier, values, format);
+            HttpEntity entity = buildLoadEntity(values, format);
+            inflightLoadMap.put(tableIdentifier, new InflightLoad(values, format,
+                    loadExecutor.submit(() -> load(tableIdentifier, entity, headers))));
+        }
+        batchBytes = 0;
+        size = 0;
+    }
+
+    /**
+     * Wait for the loads in flight and handle their results in the caller thread
+     */
+    @SuppressWarnings({"rawtypes"})
+    private void completeLoads() {
+        if (loadExecutor == null || inflightLoadMap.isEmpty()) {
+            return;
+        }
+        try {
+            for (Entry<String, InflightLoad> kvs : inflightLoadMap.entrySet()) {
+                String tableIdentifier = kvs.getKey();
+                InflightLoad inflightLoad = kvs.getValue();
                 try {
-                    handleSingleTable(e, values, loadValue);
-                    return;
-                } catch (Exception ex) {
-                    throw new RuntimeException(e);
+                    handleLoadSuccess(tableIdentifier, inflightLoad.values, inflightLoad.future.get());
+                } catch (ExecutionException e) {
+                    handleLoadFailure(tableIdentifier, inflightLoad.values,
+                            buildLoadValue(inflightLoad.values, inflightLoad.format),
+                            e.getCause() instanceof Exception ? (Exception) e.getCause() : e);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for the stream loads", e);
+        } finally {
+            inflightLoadMap.clear();
+        }
+        if (!errorTables.isEmpty()) {
+            // Clean the key that has errors
+            errorTables.forEach(batchMap::remove);
+            errorTables.clear();
+        }
+    }
+
+    @SuppressWarnings({"rawtypes"})
+    private Map<String, String> buildLoadHeaders(String tableIdentifier, List values, String format) {
+        Map<String, String> headers = new HashMap<>();
+        if (FORMAT_CSV_VALUE.equalsIgnoreCase(format)) {
+            for (Object item : values) {
+                if (item instanceof Map) {
+                    headers.put(COLUMNS_KEY, genCsvColumns((Map<String, String>) item));
+                    break;
                 }
             }
+        } else {
+            headers.put(COLUMNS_KEY, columnsMap.get(tableIdentifier));
+        }
+        if (loadCompress) {
+            headers.put(COMPRESS_TYPE_KEY, COMPRESS_TYPE_GZ);
+        }
+        return headers;
+    }
 
-            if (SchemaUpdateExceptionPolicy.THROW_WITH_STOP == schemaUpdatePolicy) {
-                throw new RuntimeException(
-                        String.format("Writing records to streamload of tableIdentifier:%s failed, the value: %s.",
-                                tableIdentifier, loadValue),
-                        e);
+    @SuppressWarnings({"rawtypes"})
+    private HttpEntity buildLoadEntity(List values, String format) {
+        // the entity is repeatable, the body is written again when the load is retried
+        EntityTemplate entity = new EntityTemplate(out -> {
+            if (loadCompress) {
+                GZIPOutputStream gzipOut = new GZIPOutputStream(out, LOAD_BUFFER_SIZE);
+                writeLoadBody(gzipOut, values, format);
+                gzipOut.finish();
+            } else {
+                writeLoadBody(out, values, format);
             }
-            if (SchemaUpdateExceptionPolicy.STOP_PARTIAL == schemaUpdatePolicy) {
-                errorTables.add(tableIdentifier);
-                LOG.warn("The tableIdentifier: {} load failed and the data will be throw away in the future "
-                        + "because the option 'sink.multiple.schema-update.policy' is 'STOP_PARTIAL'",
-                        tableIdentifier);
+        });
+        entity.setChunked(true);
+        return entity;
+    }
+
+    /**
+     * Render the uncompressed body of a failed load, it is the same as the value of the non-pipelined load
+     */
+    @SuppressWarnings({"rawtypes"})
+    private String buildLoadValue(List values, String format) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            writeLoadBody(out, values, format);
+        } catch (IOException e) {
+            LOG.warn("Render the load value failed", e);
+            return null;
+        }
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    @SuppressWarnings({"rawtypes"})
+    private void writeLoadBody(OutputStream out, List values, String format) throws IOException {
+        if (FORMAT_CSV_VALUE.equalsIgnoreCase(format)) {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), LOAD_BUFFER_SIZE);
+            for (Object item : values) {
+                if (item instanceof Map) {
+                    appendCsvRow(writer, (Map<String, String>) item);
+                }
+            }
+            writer.flush();
+        } else {
+            JsonGenerator generator = OBJECT_MAPPER.getFactory().createGenerator(out);
+            OBJECT_MAPPER.writeValue(generator, values);
+            generator.flush();
+        }
+    }
+
+    @SuppressWarnings({"rawtypes"})
+    private void handleLoadSuccess(String tableIdentifier, List values, RespContent respContent) {
+        try {
+            if (null != metricData && null != respContent) {
+                if (multipleSink) {
+                    String[] tableWithDb = tableIdentifier.split("\\.");
+                    metricData.outputMetrics(tableWithDb[0], tableWithDb[1],
+                            respContent.getNumberLoadedRows(), respContent.getLoadBytes());
+                } else {
+                    metricData.invoke(respContent.getNumberLoadedRows(), respContent.getLoadBytes());
+                }
+            }
+        } catch (Exception e) {
+            LOG.warn("metricData invoke get err:", e);
+        }
+        writeOutNum.addAndGet(values.size());
+        // Clean the data that has been loaded.
+        values.clear();
+    }
+
+    @SuppressWarnings({"rawtypes"})
+    private void handleLoadFailure(String tableIdentifier, List values, String loadValue, Exception e) {
+        LOG.error(String.format("Flush table: %s error", tableIdentifier), e);
+        flushExceptionMap.put(tableIdentifier, e);
+        // may count repeatedly
+        errorNum.getAndAdd(values.size());
+
+        if (!multipleSink) {
+            try {
+                handleSingleTable(e, values, loadValue);
                 return;
+            } catch (Exception ex) {
+                throw new RuntimeException(e);
             }
-            if (SchemaUpdateExceptionPolicy.LOG_WITH_IGNORE == schemaUpdatePolicy) {
-                errorTables.add(tableIdentifier);
-                // archive dirty data when 'sink.multiple.schema-update.policy' is 'LOG_WITH_IGNORE'
-                for (Object value : values) {
-                    try {
-                        handleDirtyData(OBJECT_MAPPER.readTree(OBJECT_MAPPER.writeValueAsString(value)),
-                                DirtyType.BATCH_LOAD_ERROR, e);
-                    } catch (Exception ex) {
-                        if (!dirtySinkHelper.getDirtyOptions().ignoreSideOutputErrors()) {
-                            throw new RuntimeException(ex);
-                        }
-                        LOG.warn("Dirty sink failed", ex);
+        }
+
+        if (SchemaUpdateExceptionPolicy.THROW_WITH_STOP == schemaUpdatePolicy) {
+            throw new RuntimeException(
+                    String.format("Writing records to streamload of tableIdentifier:%s failed, the value: %s.",
+                            tableIdentifier, loadValue),
+                    e);
+        }
+        if (SchemaUpdateExceptionPolicy.STOP_PARTIAL == schemaUpdatePolicy) {
+            errorTables.add(tableIdentifier);
+            LOG.warn("The tableIdentifier: {} load failed and the data will be throw away in the future "
+                    + "because the option 'sink.multiple.schema-update.policy' is 'STOP_PARTIAL'",
+                    tableIdentifier);
+            return;
+        }
+        if (SchemaUpdateExceptionPolicy.LOG_WITH_IGNORE == schemaUpdatePolicy) {
+            errorTables.add(tableIdentifier);
+            // archive dirty data when 'sink.multiple.schema-update.policy' is 'LOG_WITH_IGNORE'
+            for (Object value : values) {
+                try {
+                    handleDirtyData(OBJECT_MAPPER.readTree(OBJECT_MAPPER.writeValueAsString(value)),
+                            DirtyType.BATCH_LOAD_ERROR, e);
+                } catch (Exception ex) {
+                    if (!dirtySinkHelper.getDirtyOptions().ignoreSideOutputErrors()) {
+                        throw new RuntimeException(ex);
                     }
+                    LOG.warn("Dirty sink failed", ex);
                 }
             }
-
-            values.clear();
         }
+
+        values.clear();
     }
 
     private void handleSingleTable(Exception e, List values, String loadValue) {
@@ -798,9 +1007,9 @@ public class DorisDynamicSchemaOutputFormat<T> extends RichOutputFormat<T> {
      * @param values
      * @param format
      * @return string
-     * @throws JsonProcessingException
+     * @throws IOException
      */
-    private String serialize(String tableIdentifier, List values, String format) throws JsonProcessingException {
+    private String serialize(String tableIdentifier, List values, String format) throws IOException {
         if (FORMAT_CSV_VALUE.equalsIgnoreCase(format)) {
             LOG.info("doris data format: {}", format);
             // set columns, and format json data to csv
@@ -809,30 +1018,11 @@ public class DorisDynamicSchemaOutputFormat<T> extends RichOutputFormat<T> {
             for (Object item : values) {
                 if (item instanceof Map) {
                     Map<String, String> map = (Map<String, String>) item;
-                    Set<String> fieldNameSet = new LinkedHashSet<>(map.keySet());
                     if (columns == null) {
-                        // when single table synchronizing, parameter `sink.properties.columns` in options may
-                        // contain hll or bitmap function.
-                        // columns: dt,id,name,province,os, pv=hll_hash(id)
-                        if (this.columns != null) {
-                            for (String fieldName : this.columns.split(",")) {
-                                if (fieldName.contains("=")) {
-                                    fieldNameSet.add(fieldName);
-                                }
-                            }
-                        }
-                        columns = StringUtils.join(fieldNameSet, ",");
+                        columns = genCsvColumns(map);
                         executionOptions.getStreamLoadProp().put(COLUMNS_KEY, columns);
                     }
-                    int idx = 0;
-                    int len = map.values().size();
-                    for (String val : map.values()) {
-                        csvData.append(null == val ? "\\N" : val);
-                        if (idx++ < len - 1) {
-                            csvData.append(this.fieldDelimiter);
-                        }
-                    }
-                    csvData.append(this.lineDelimiter);
+                    appendCsvRow(csvData, map);
                 }
             }
             return csvData.toString();
@@ -845,6 +1035,33 @@ public class DorisDynamicSchemaOutputFormat<T> extends RichOutputFormat<T> {
         }
     }
 
+    private String genCsvColumns(Map<String, String> map) {
+        Set<String> fieldNameSet = new LinkedHashSet<>(map.keySet());
+        // when single table synchronizing, parameter `sink.properties.columns` in options may
+        // contain hll or bitmap function.
+        // columns: dt,id,name,province,os, pv=hll_hash(id)
+        if (this.columns != null) {
+            for (String fieldName : this.columns.split(",")) {
+                if (fieldName.contains("=")) {
+                    fieldNameSet.add(fieldName);
+                }
+            }
+        }
+        return StringUtils.join(fieldNameSet, ",");
+    }
+
+    private void appendCsvRow(Appendable csvData, Map<String, String> map) throws IOException {
+        int idx = 0;
+        int len = map.values().size();
+        for (String val : map.values()) {
+            csvData.append(null == val ? NULL_VALUE : val);
+            if (idx++ < len - 1) {
+                csvData.append(this.fieldDelimiter);
+            }
+        }
+        csvData.append(this.lineDelimiter);
+    }
+
     @SuppressWarnings("rawtypes")
     private boolean hasRecords() {
         if (batchMap.isEmpty()) {
@@ -860,12 +1077,13 @@ public class DorisDynamicSchemaOutputFormat<T> extends RichOutputFormat<T> {
         return hasRecords;
     }
 
-    private RespContent load(String tableIdentifier, String result) throws IOException {
+    private RespContent load(String tableIdentifier, HttpEntity entity, Map<String, String> headers)
+            throws IOException {
         String[] tableWithDb = tableIdentifier.split("\\.");
         RespContent respContent = null;
         for (int i = 0; i <= executionOptions.getMaxRetries(); i++) {
             try {
-                respContent = dorisStreamLoad.load(tableWithDb[0], tableWithDb[1], result);
+                respContent = dorisStreamLoad.load(tableWithDb[0], tableWithDb[1], entity, headers);
                 break;
             } catch (StreamLoadException e) {
                 LOG.error("doris sink error, retry times = {}", i, e);
@@ -916,6 +1134,23 @@ public class DorisDynamicSchemaOutputFormat<T> extends RichOutputFormat<T> {
         }
     }
 
+    /**
+     * The load of a table in flight, the buffered records are kept to handle the result of the load.
+     */
+    @SuppressWarnings({"rawtypes"})
+    private static class InflightLoad {
+
+        private final List values;
+        private final String format;
+        private final Future<RespContent> future;
+
+        private InflightLoad(List values, String format, Future<RespContent> future) {
+            this.values = values;
+            this.format = format;
+            this.future = future;
+        }
+    }
+
     /**
      * Builder for {@link DorisDynamicSchemaOutputFormat}.
      */
@@ -939,6 +1174,8 @@ public class DorisDynamicSchemaOutputFormat<T> extends RichOutputFormat<T> {
         private DirtySink<Object> dirtySink;
         private boolean enableSchemaChange;
         private String schemaChangePolicies;
+        private int loadParallelism = 1;
+        private boolean loadCompress;
 
         public Builder() {
             this.optionsBuilder = DorisOptions.builder().setTableIdentifier("");
@@ -1045,6 +1282,16 @@ public class DorisDynamicSchemaOutputFormat<T> extends RichOutputFormat<T> {
             return this;
         }
 
+        public Builder setLoadParallelism(int loadParallelism) {
+            this.loadParallelism = loadParallelism;
+            return this;
+        }
+
+        public Builder setLoadCompress(boolean loadCompress) {
+            this.loadCompress = loadCompress;
+            return this;
+        }
+
         @SuppressWarnings({"rawtypes"})
         public DorisDynamicSchemaOutputFormat build() {
             LogicalType[] logicalTypes = null;
@@ -1070,7 +1317,9 @@ public class DorisDynamicSchemaOutputFormat<T> extends RichOutputFormat<T> {
                     dirtyOptions,
                     dirtySink,
                     enableSchemaChange,
-                    schemaChangePolicies);
+                    schemaChangePolicies,
+                    loadParallelism,
+                    loadCompress);
         }
     }
 }
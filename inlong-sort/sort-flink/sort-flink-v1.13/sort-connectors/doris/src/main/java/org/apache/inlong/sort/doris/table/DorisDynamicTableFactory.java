@@ -184,6 +184,19 @@ public final class DorisDynamicTableFactory implements DynamicTableSourceFactory
             .defaultValue(DorisExecutionOptions.DEFAULT_MAX_BATCH_BYTES)
             .withDescription("the flush max bytes (includes all append, upsert and delete records), over this number"
                     + " in batch, will flush data. The default value is 10MB.");
+    private static final ConfigOption<Integer> SINK_MULTIPLE_LOAD_PARALLELISM = ConfigOptions
+            .key("sink.multiple.load.parallelism")
+            .intType()
+            .defaultValue(1)
+            .withDescription("the number of the tables loaded concurrently in the multiple sink scenario, the records"
+                    + " are written into a new buffer during the loads when it is greater than 1. The default value"
+                    + " is 1, which loads the tables one by one.");
+    private static final ConfigOption<Boolean> SINK_MULTIPLE_LOAD_COMPRESS = ConfigOptions
+            .key("sink.multiple.load.compress")
+            .booleanType()
+            .defaultValue(false)
+            .withDescription("whether to compress the stream load body with gzip when the tables are loaded"
+                    + " concurrently, it requires the doris supporting 'compress_type' for the load format.");
 
     private static final Map<SchemaChangeType, List<SchemaChangePolicy>> SUPPORTS_POLICY_MAP = new HashMap<>();
 
@@ -251,6 +264,8 @@ public final class DorisDynamicTableFactory implements DynamicTableSourceFactory
         options.add(SINK_BUFFER_FLUSH_INTERVAL);
         options.add(SINK_ENABLE_DELETE);
         options.add(SINK_BUFFER_FLUSH_MAX_BYTES);
+        options.add(SINK_MULTIPLE_LOAD_PARALLELISM);
+        options.add(SINK_MULTIPLE_LOAD_COMPRESS);
         options.add(SINK_MULTIPLE_FORMAT);
         options.add(SINK_MULTIPLE_DATABASE_PATTERN);
         options.add(SINK_MULTIPLE_TABLE_PATTERN);
@@ -356,6 +371,11 @@ public final class DorisDynamicTableFactory implements DynamicTableSourceFactory
         String inlongMetric = helper.getOptions().getOptional(INLONG_METRIC).orElse(INLONG_METRIC.defaultValue());
         String auditHostAndPorts = helper.getOptions().getOptional(INLONG_AUDIT).orElse(INLONG_AUDIT.defaultValue());
         Integer parallelism = helper.getOptions().getOptional(FactoryUtil.SINK_PARALLELISM).orElse(null);
+        int loadParallelism = helper.getOptions().get(SINK_MULTIPLE_LOAD_PARALLELISM);
+        if (loadParallelism < 1) {
+            throw new ValidationException("The option 'sink.multiple.load.parallelism' must be positive");
+        }
+        boolean loadCompress = helper.getOptions().get(SINK_MULTIPLE_LOAD_COMPRESS);
         // Build the dirty data side-output
         final DirtyOptions dirtyOptions = DirtyOptions.fromConfig(helper.getOptions());
         final DirtySink<Object> dirtySink = DirtySinkFactoryUtils.createDirtySink(context, dirtyOptions);
@@ -377,7 +397,9 @@ public final class DorisDynamicTableFactory implements DynamicTableSourceFactory
                 dirtyOptions,
                 dirtySink,
                 enableSchemaChange,
-                schemaChangePolicies);
+                schemaChangePolicies,
+                loadParallelism,
+                loadCompress);
     }
 
     private void validateSinkMultiple(DataType physicalDataType, boolean multipleSink, String sinkMultipleFormat,
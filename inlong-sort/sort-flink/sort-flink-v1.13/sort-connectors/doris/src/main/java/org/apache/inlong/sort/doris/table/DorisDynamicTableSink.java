@@ -56,6 +56,8 @@ public class DorisDynamicTableSink implements DynamicTableSink {
     private final boolean enableSchemaChange;
     @Nullable
     private final String schemaChangePolicies;
+    private final int loadParallelism;
+    private final boolean loadCompress;
 
     public DorisDynamicTableSink(DorisOptions options,
             DorisReadOptions readOptions,
@@ -73,7 +75,9 @@ public class DorisDynamicTableSink implements DynamicTableSink {
             DirtyOptions dirtyOptions,
             @Nullable DirtySink<Object> dirtySink,
             boolean enableSchemaChange,
-            @Nullable String schemaChangePolicies) {
+            @Nullable String schemaChangePolicies,
+            int loadParallelism,
+            boolean loadCompress) {
         this.options = options;
         this.readOptions = readOptions;
         this.executionOptions = executionOptions;
@@ -91,6 +95,8 @@ public class DorisDynamicTableSink implements DynamicTableSink {
         this.dirtySink = dirtySink;
         this.enableSchemaChange = enableSchemaChange;
         this.schemaChangePolicies = schemaChangePolicies;
+        this.loadParallelism = loadParallelism;
+        this.loadCompress = loadCompress;
     }
 
     @Override
@@ -123,7 +129,9 @@ public class DorisDynamicTableSink implements DynamicTableSink {
                 .setDirtyOptions(dirtyOptions)
                 .setDirtySink(dirtySink)
                 .setEnableSchemaChange(enableSchemaChange)
-                .setSchemaChangePolicies(schemaChangePolicies);
+                .setSchemaChangePolicies(schemaChangePolicies)
+                .setLoadParallelism(loadParallelism)
+                .setLoadCompress(loadCompress);
         return SinkFunctionProvider.of(
                 new GenericDorisSinkFunction<>(builder.build()), parallelism);
     }
@@ -146,7 +154,9 @@ public class DorisDynamicTableSink implements DynamicTableSink {
                 dirtyOptions,
                 dirtySink,
                 enableSchemaChange,
-                schemaChangePolicies);
+                schemaChangePolicies,
+                loadParallelism,
+                loadCompress);
     }
 
     @Override
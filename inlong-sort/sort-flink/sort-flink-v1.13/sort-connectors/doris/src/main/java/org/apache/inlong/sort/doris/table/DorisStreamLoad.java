@@ -24,6 +24,7 @@ import org.apache.doris.flink.exception.StreamLoadException;
 import org.apache.doris.shaded.com.fasterxml.jackson.core.JsonProcessingException;
 import org.apache.doris.shaded.com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.doris.shaded.org.apache.commons.codec.binary.Base64;
+import org.apache.http.HttpEntity;
 import org.apache.http.HttpHeaders;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpPut;
@@ -42,6 +43,7 @@ import java.nio.charset.StandardCharsets;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
@@ -63,10 +65,19 @@ public class DorisStreamLoad implements Serializable {
     private final String authEncoding;
     private final Properties streamLoadProp;
     private final CloseableHttpClient httpClient;
-    private String hostPort;
+    private volatile String hostPort;
 
     public DorisStreamLoad(String hostPort, String user, String passwd,
             Properties streamLoadProp) {
+        this(hostPort, user, passwd, streamLoadProp, 0);
+    }
+
+    /**
+     * @param maxConnections the max connections of the http client, it should not be less than the
+     *         number of the concurrent loads, the default of the http client is used if it is not positive
+     */
+    public DorisStreamLoad(String hostPort, String user, String passwd,
+            Properties streamLoadProp, int maxConnections) {
         this.hostPort = hostPort;
         this.authEncoding = basicAuthHeader(user, passwd);
         this.streamLoadProp = streamLoadProp;
@@ -79,11 +90,23 @@ public class DorisStreamLoad implements Serializable {
                         return true;
                     }
                 });
+        if (maxConnections > 0) {
+            httpClientBuilder.setMaxConnPerRoute(maxConnections).setMaxConnTotal(maxConnections);
+        }
         this.httpClient = httpClientBuilder.build();
     }
 
     public RespContent load(String db, String tbl, String value) throws StreamLoadException {
-        LoadResponse loadResponse = loadBatch(db, tbl, value);
+        return load(db, tbl, new StringEntity(value, "UTF-8"), Collections.emptyMap());
+    }
+
+    /**
+     * Load the entity, the headers override the ones of the stream load properties.
+     * The entity should be repeatable if the load may be retried.
+     */
+    public RespContent load(String db, String tbl, HttpEntity entity, Map<String, String> headers)
+            throws StreamLoadException {
+        LoadResponse loadResponse = loadBatch(db, tbl, entity, headers);
         LOG.info("Streamload Response:{}", loadResponse);
         if (loadResponse.status != 200) {
             throw new StreamLoadException("stream load error: " + loadResponse.respContent);
@@ -110,7 +133,7 @@ public class DorisStreamLoad implements Serializable {
         this.hostPort = hostPort;
     }
 
-    private LoadResponse loadBatch(String db, String tbl, String value) {
+    private LoadResponse loadBatch(String db, String tbl, HttpEntity entity, Map<String, String> headers) {
         String label = streamLoadProp.getProperty("label");
         if (StringUtils.isBlank(label)) {
             SimpleDateFormat sdf = new SimpleDateFormat("yyyyMMdd_HHmmss");
@@ -135,7 +158,11 @@ public class DorisStreamLoad implements Serializable {
                 put.setHeader("format", "json");
             }
             put.setHeader("strip_outer_array", "true");
-            StringEntity entity = new StringEntity(value, "UTF-8");
+            for (Map.Entry<String, String> entry : headers.entrySet()) {
+                if (entry.getValue() != null) {
+                    put.setHeader(entry.getKey(), entry.getValue());
+                }
+            }
             put.setEntity(entity);
 
             try (CloseableHttpResponse response = httpClient.execute(put)) {
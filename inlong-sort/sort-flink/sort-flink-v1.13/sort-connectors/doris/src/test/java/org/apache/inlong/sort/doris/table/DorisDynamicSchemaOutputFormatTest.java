@@ -0,0 +1,262 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.sort.doris.table;
+
+import org.apache.inlong.sort.base.dirty.DirtyOptions;
+import org.apache.inlong.sort.base.sink.SchemaUpdateExceptionPolicy;
+import org.apache.inlong.sort.doris.internal.GenericDorisSinkFunction;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.doris.flink.cfg.DorisExecutionOptions;
+import org.apache.doris.flink.cfg.DorisOptions;
+import org.apache.doris.flink.cfg.DorisReadOptions;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.util.IOUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Tests for the pipelined loads of {@link DorisDynamicSchemaOutputFormat}, the fe and the be are served by
+ * a local http server, so the real stream load requests are sent.
+ */
+public class DorisDynamicSchemaOutputFormatTest {
+
+    private final Map<String, List<String>> loads = new ConcurrentHashMap<>();
+    private final Map<String, String> compressTypes = new ConcurrentHashMap<>();
+    private final Set<String> failedTables = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private DorisDynamicSchemaOutputFormat<RowData> outputFormat;
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        serverExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(serverExecutor);
+        server.createContext("/api/backends", exchange -> respond(exchange, String.format(
+                "{\"code\":0,\"msg\":\"success\",\"data\":{\"backends\":"
+                        + "[{\"ip\":\"127.0.0.1\",\"http_port\":%d,\"is_alive\":true}]}}",
+                server.getAddress().getPort())));
+        server.createContext("/api/", this::streamLoad);
+        server.start();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        try {
+            if (outputFormat != null) {
+                outputFormat.close();
+            }
+        } finally {
+            server.stop(0);
+            serverExecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testPipelinedLoad() throws Exception {
+        outputFormat = openFormat(SchemaUpdateExceptionPolicy.THROW_WITH_STOP, 2, 0L, false);
+
+        outputFormat.writeRecord(buildRecord("t1", "1", "a"));
+        // the batch is full, the loads are submitted and the records are written into a new buffer
+        outputFormat.writeRecord(buildRecord("t2", "2", "b"));
+        outputFormat.writeRecord(buildRecord("t1", "3", "c"));
+        outputFormat.flush();
+
+        Assert.assertEquals(2, loads.get("db.t1").size());
+        Assert.assertTrue(loads.get("db.t1").get(0).contains("\"name\":\"a\""));
+        Assert.assertTrue(loads.get("db.t1").get(1).contains("\"name\":\"c\""));
+        Assert.assertEquals(1, loads.get("db.t2").size());
+        Assert.assertTrue(loads.get("db.t2").get(0).contains("\"name\":\"b\""));
+    }
+
+    @Test
+    public void testFlushOnCheckpoint() throws Exception {
+        outputFormat = openFormat(SchemaUpdateExceptionPolicy.THROW_WITH_STOP, 100, 0L, false);
+        GenericDorisSinkFunction<RowData> sinkFunction = new GenericDorisSinkFunction<>(outputFormat);
+
+        outputFormat.writeRecord(buildRecord("t1", "1", "a"));
+        outputFormat.writeRecord(buildRecord("t2", "2", "b"));
+        Assert.assertTrue(loads.isEmpty());
+
+        // the buffered records are loaded and the loads are completed before the checkpoint
+        sinkFunction.snapshotState(null);
+        Assert.assertEquals(1, loads.get("db.t1").size());
+        Assert.assertEquals(1, loads.get("db.t2").size());
+    }
+
+    @Test
+    public void testIntervalSubmit() throws Exception {
+        outputFormat = openFormat(SchemaUpdateExceptionPolicy.THROW_WITH_STOP, 100, 50L, false);
+
+        outputFormat.writeRecord(buildRecord("t1", "1", "a"));
+        // the interval only submits the loads, the writes are not blocked by them
+        long deadline = System.currentTimeMillis() + 10000L;
+        while (!loads.containsKey("db.t1") && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10L);
+        }
+        Assert.assertEquals(1, loads.get("db.t1").size());
+        outputFormat.writeRecord(buildRecord("t1", "2", "b"));
+        outputFormat.flush();
+        Assert.assertEquals(2, loads.get("db.t1").size());
+        Assert.assertTrue(loads.get("db.t1").get(1).contains("\"name\":\"b\""));
+    }
+
+    @Test
+    public void testCompressedLoad() throws Exception {
+        outputFormat = openFormat(SchemaUpdateExceptionPolicy.THROW_WITH_STOP, 100, 0L, true);
+
+        outputFormat.writeRecord(buildRecord("t1", "1", "a"));
+        outputFormat.writeRecord(buildRecord("t1", "2", "b"));
+        outputFormat.flush();
+
+        // the body is sent gzipped with the compress type header
+        Assert.assertEquals("gz", compressTypes.get("db.t1"));
+        Assert.assertEquals(1, loads.get("db.t1").size());
+        Assert.assertTrue(loads.get("db.t1").get(0).contains("\"name\":\"a\""));
+        Assert.assertTrue(loads.get("db.t1").get(0).contains("\"name\":\"b\""));
+    }
+
+    @Test
+    public void testPartialFailure() throws Exception {
+        outputFormat = openFormat(SchemaUpdateExceptionPolicy.STOP_PARTIAL, 100, 0L, false);
+        failedTables.add("db.t1");
+
+        outputFormat.writeRecord(buildRecord("t1", "1", "a"));
+        outputFormat.writeRecord(buildRecord("t2", "2", "b"));
+        outputFormat.flush();
+        Assert.assertEquals(1, loads.get("db.t1").size());
+        Assert.assertEquals(1, loads.get("db.t2").size());
+
+        // the records of the failed table are thrown away, the other tables keep loading
+        outputFormat.writeRecord(buildRecord("t1", "3", "c"));
+        outputFormat.writeRecord(buildRecord("t2", "4", "d"));
+        outputFormat.flush();
+        Assert.assertEquals(1, loads.get("db.t1").size());
+        Assert.assertEquals(2, loads.get("db.t2").size());
+        Assert.assertTrue(loads.get("db.t2").get(1).contains("\"name\":\"d\""));
+    }
+
+    @Test
+    public void testFailureCarriesLoadValue() throws Exception {
+        DorisDynamicSchemaOutputFormat<RowData> format =
+                openFormat(SchemaUpdateExceptionPolicy.THROW_WITH_STOP, 100, 0L, false);
+        failedTables.add("db.t1");
+
+        format.writeRecord(buildRecord("t1", "1", "a"));
+        RuntimeException e = Assert.assertThrows(RuntimeException.class, format::flush);
+        Assert.assertTrue(e.getMessage().contains("tableIdentifier:db.t1"));
+        Assert.assertTrue(e.getMessage().contains("\"name\":\"a\""));
+        // the sink stays stopped by the failed table
+        Assert.assertThrows(RuntimeException.class, format::close);
+    }
+
+    private DorisDynamicSchemaOutputFormat<RowData> openFormat(SchemaUpdateExceptionPolicy policy, int batchSize,
+            long batchIntervalMs, boolean loadCompress) throws IOException {
+        Properties streamLoadProp = new Properties();
+        streamLoadProp.setProperty("format", "json");
+        DorisExecutionOptions executionOptions = DorisExecutionOptions.builder()
+                .setBatchSize(batchSize)
+                .setMaxRetries(0)
+                .setBatchIntervalMs(batchIntervalMs)
+                .setStreamLoadProp(streamLoadProp)
+                .setEnableDelete(true)
+                .setMaxBatchBytes(DorisExecutionOptions.DEFAULT_MAX_BATCH_BYTES)
+                .build();
+        DorisOptions options = DorisOptions.builder()
+                .setFenodes("127.0.0.1:" + server.getAddress().getPort())
+                .setUsername("root")
+                .setPassword("")
+                .setTableIdentifier("")
+                .build();
+        DorisDynamicSchemaOutputFormat<RowData> format = new DorisDynamicSchemaOutputFormat<>(options,
+                DorisReadOptions.builder().build(), executionOptions, null, null, null, "canal-json",
+                "${database}", "${table}", false, policy, null, null, true,
+                DirtyOptions.fromConfig(new Configuration()), null, false, null, 2, loadCompress);
+        format.open(0, 1);
+        return format;
+    }
+
+    /**
+     * Serve the stream load of the be, the load of a failed table is answered with the fail status.
+     */
+    private void streamLoad(HttpExchange exchange) throws IOException {
+        // the path is /api/{db}/{table}/_stream_load
+        String[] paths = exchange.getRequestURI().getPath().split("/");
+        String tableIdentifier = paths[2] + "." + paths[3];
+        String compressType = exchange.getRequestHeaders().getFirst("compress_type");
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try (InputStream in = exchange.getRequestBody()) {
+            IOUtils.copyBytes(in, body, false);
+        }
+        byte[] bytes = body.toByteArray();
+        if (compressType != null) {
+            compressTypes.put(tableIdentifier, compressType);
+            ByteArrayOutputStream unzipped = new ByteArrayOutputStream();
+            try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+                IOUtils.copyBytes(in, unzipped, false);
+            }
+            bytes = unzipped.toByteArray();
+        }
+        loads.computeIfAbsent(tableIdentifier, k -> Collections.synchronizedList(new ArrayList<>()))
+                .add(new String(bytes, StandardCharsets.UTF_8));
+        if (failedTables.contains(tableIdentifier)) {
+            respond(exchange, "{\"Status\":\"Fail\",\"Message\":\"stream load failed\"}");
+        } else {
+            respond(exchange, "{\"Status\":\"Success\",\"Message\":\"OK\"}");
+        }
+    }
+
+    private static void respond(HttpExchange exchange, String response) throws IOException {
+        byte[] bytes = response.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static RowData buildRecord(String table, String id, String name) {
+        String record = String.format("{\"data\":[{\"id\":\"%s\",\"name\":\"%s\"}],\"type\":\"INSERT\","
+                + "\"database\":\"db\",\"table\":\"%s\",\"pkNames\":[\"id\"],\"isDdl\":false}", id, name, table);
+        return GenericRowData.of((Object) record.getBytes(StandardCharsets.UTF_8));
+    }
+}
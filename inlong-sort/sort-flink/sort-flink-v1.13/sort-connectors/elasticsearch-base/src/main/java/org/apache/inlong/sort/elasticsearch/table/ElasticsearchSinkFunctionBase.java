@@ -20,6 +20,7 @@ package org.apache.inlong.sort.elasticsearch.table;
 import org.apache.inlong.sort.base.dirty.DirtySinkHelper;
 import org.apache.inlong.sort.base.dirty.DirtyType;
 import org.apache.inlong.sort.base.metric.SinkMetricData;
+import org.apache.inlong.sort.base.util.CalculateObjectSizeUtils;
 import org.apache.inlong.sort.elasticsearch.ElasticsearchSinkFunction;
 import org.apache.inlong.sort.elasticsearch.RequestIndexer;
 
@@ -34,7 +35,6 @@ import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nullable;
 
-import java.nio.charset.StandardCharsets;
 import java.util.Objects;
 import java.util.function.Function;
 
@@ -107,7 +107,7 @@ public abstract class ElasticsearchSinkFunctionBase<Request, ContentType>
             LOGGER.error(String.format("Serialize error, raw data: %s", element), e);
             dirtySinkHelper.invoke(element, DirtyType.SERIALIZE_ERROR, e);
             if (sinkMetricData != null) {
-                sinkMetricData.invokeDirty(1, element.toString().getBytes(StandardCharsets.UTF_8).length);
+                sinkMetricData.invokeDirty(1, CalculateObjectSizeUtils.getDataSize(element));
             }
             return;
         }
@@ -24,6 +24,7 @@ import org.apache.inlong.sort.base.format.JsonDynamicSchemaFormat;
 import org.apache.inlong.sort.base.metric.SinkMetricData;
 import org.apache.inlong.sort.base.metric.sub.SinkTableMetricData;
 import org.apache.inlong.sort.base.sink.SchemaUpdateExceptionPolicy;
+import org.apache.inlong.sort.base.util.CalculateObjectSizeUtils;
 import org.apache.inlong.sort.elasticsearch.ElasticsearchSinkFunction;
 import org.apache.inlong.sort.elasticsearch.RequestIndexer;
 
@@ -208,10 +209,9 @@ public abstract class MultipleElasticsearchSinkFunctionBase<Request, ContentType
         if (SchemaUpdateExceptionPolicy.LOG_WITH_IGNORE == schemaUpdateExceptionPolicy) {
             dirtySinkHelper.invoke(rowData, dirtyType, e);
             if (sinkMetricData != null && index != null) {
-                sinkMetricData.outputDirtyMetrics(index, 1,
-                        rowData.toString().getBytes(StandardCharsets.UTF_8).length);
+                sinkMetricData.outputDirtyMetrics(index, 1, CalculateObjectSizeUtils.getDataSize(rowData));
             } else {
-                sinkMetricData.invokeDirty(1, rowData.toString().getBytes(StandardCharsets.UTF_8).length);
+                sinkMetricData.invokeDirty(1, CalculateObjectSizeUtils.getDataSize(rowData));
             }
         }
     }
@@ -56,6 +56,7 @@ import static org.apache.inlong.sort.base.Constants.DIRTY_PREFIX;
 import static org.apache.inlong.sort.base.Constants.IGNORE_ALL_CHANGELOG;
 import static org.apache.inlong.sort.base.Constants.INLONG_AUDIT;
 import static org.apache.inlong.sort.base.Constants.INLONG_METRIC;
+import static org.apache.inlong.sort.base.Constants.INLONG_METRIC_SIZE_SAMPLE_INTERVAL;
 
 /**
  * File system {@link TableFactory}.
@@ -134,6 +135,7 @@ public class FileSystemTableFactory implements DynamicTableSourceFactory, Dynami
         options.add(FileSystemOptions.SINK_PARALLELISM);
         options.add(INLONG_METRIC);
         options.add(INLONG_AUDIT);
+        options.add(INLONG_METRIC_SIZE_SAMPLE_INTERVAL);
         options.add(IGNORE_ALL_CHANGELOG);
         options.add(AUDIT_KEYS);
         return options;
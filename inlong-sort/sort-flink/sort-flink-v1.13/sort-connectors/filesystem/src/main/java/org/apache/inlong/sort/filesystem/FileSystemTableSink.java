@@ -77,6 +77,7 @@ import org.apache.flink.table.filesystem.stream.compact.CompactBulkReader;
 import org.apache.flink.table.filesystem.stream.compact.CompactReader;
 import org.apache.flink.table.filesystem.stream.compact.FileInputFormatCompactReader;
 import org.apache.flink.table.types.DataType;
+import org.apache.flink.table.types.logical.RowType;
 import org.apache.flink.table.utils.PartitionPathUtils;
 import org.apache.flink.types.RowKind;
 import org.apache.flink.util.Preconditions;
@@ -103,6 +104,7 @@ import static org.apache.flink.table.filesystem.stream.compact.CompactOperator.c
 import static org.apache.inlong.sort.base.Constants.IGNORE_ALL_CHANGELOG;
 import static org.apache.inlong.sort.base.Constants.INLONG_AUDIT;
 import static org.apache.inlong.sort.base.Constants.INLONG_METRIC;
+import static org.apache.inlong.sort.base.Constants.INLONG_METRIC_SIZE_SAMPLE_INTERVAL;
 
 /**
  * File system {@link DynamicTableSink}.
@@ -136,6 +138,7 @@ public class FileSystemTableSink extends AbstractFileSystemTable
 
     private final String inlongMetric;
     private final String inlongAudit;
+    private final int sizeSampleInterval;
     private final DirtyOptions dirtyOptions;
     private @Nullable final DirtySink<Object> dirtySink;
 
@@ -166,6 +169,7 @@ public class FileSystemTableSink extends AbstractFileSystemTable
         this.configuredParallelism = tableOptions.get(FileSystemOptions.SINK_PARALLELISM);
         this.inlongMetric = tableOptions.get(INLONG_METRIC);
         this.inlongAudit = tableOptions.get(INLONG_AUDIT);
+        this.sizeSampleInterval = tableOptions.get(INLONG_METRIC_SIZE_SAMPLE_INTERVAL);
         this.dirtyOptions = dirtyOptions;
         this.dirtySink = dirtySink;
     }
@@ -265,6 +269,7 @@ public class FileSystemTableSink extends AbstractFileSystemTable
         }
 
         long bucketCheckInterval = tableOptions.get(SINK_ROLLING_POLICY_CHECK_INTERVAL).toMillis();
+        RowType rowType = (RowType) schema.toPhysicalRowDataType().getLogicalType();
 
         DataStream<PartitionCommitInfo> writerStream;
         if (autoCompaction) {
@@ -293,13 +298,15 @@ public class FileSystemTableSink extends AbstractFileSystemTable
                             parallelism,
                             inlongMetric,
                             inlongAudit,
+                            sizeSampleInterval,
+                            rowType,
                             dirtyOptions,
                             dirtySink);
         } else {
             writerStream =
                     StreamingSink.writer(
                             dataStream, bucketCheckInterval, bucketsBuilder, parallelism,
-                            inlongMetric, inlongAudit, dirtyOptions, dirtySink);
+                            inlongMetric, inlongAudit, sizeSampleInterval, rowType, dirtyOptions, dirtySink);
         }
 
         return StreamingSink.sink(
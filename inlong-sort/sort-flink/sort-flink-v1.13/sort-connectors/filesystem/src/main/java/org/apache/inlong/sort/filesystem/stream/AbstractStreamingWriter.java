@@ -47,6 +47,7 @@ import org.apache.flink.streaming.api.operators.ChainingStrategy;
 import org.apache.flink.streaming.api.operators.OneInputStreamOperator;
 import org.apache.flink.streaming.api.watermark.Watermark;
 import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.table.types.logical.RowType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -81,6 +82,8 @@ public abstract class AbstractStreamingWriter<IN, OUT> extends AbstractStreamOpe
 
     private final String inlongMetric;
     private final String inlongAudit;
+    private final int sizeSampleInterval;
+    private @Nullable final RowType rowType;
     private final DirtyOptions dirtyOptions;
     private @Nullable final DirtySink<Object> dirtySink;
 
@@ -103,12 +106,15 @@ public abstract class AbstractStreamingWriter<IN, OUT> extends AbstractStreamOpe
             long bucketCheckInterval,
             StreamingFileSink.BucketsBuilder<IN, String, ? extends StreamingFileSink.BucketsBuilder<IN, String, ?>> bucketsBuilder,
             String inlongMetric, String inlongAudit,
+            int sizeSampleInterval, @Nullable RowType rowType,
             DirtyOptions dirtyOptions,
             @Nullable DirtySink<Object> dirtySink) {
         this.bucketCheckInterval = bucketCheckInterval;
         this.bucketsBuilder = bucketsBuilder;
         this.inlongMetric = inlongMetric;
         this.inlongAudit = inlongAudit;
+        this.sizeSampleInterval = sizeSampleInterval;
+        this.rowType = rowType;
         this.dirtyOptions = dirtyOptions;
         this.dirtySink = dirtySink;
         setChainingStrategy(ChainingStrategy.ALWAYS);
@@ -144,6 +150,8 @@ public abstract class AbstractStreamingWriter<IN, OUT> extends AbstractStreamOpe
                 .withInitDirtyRecords(metricState != null ? metricState.getMetricValue(DIRTY_RECORDS_OUT) : 0L)
                 .withInitDirtyBytes(metricState != null ? metricState.getMetricValue(DIRTY_BYTES_OUT) : 0L)
                 .withRegisterMetric(RegisteredMetric.ALL)
+                .withSizeSampleInterval(sizeSampleInterval)
+                .withRowType(rowType)
                 .build();
         if (metricOption != null) {
             sinkMetricData = new SinkMetricData(metricOption, getRuntimeContext().getMetricGroup());
@@ -238,7 +246,9 @@ public abstract class AbstractStreamingWriter<IN, OUT> extends AbstractStreamOpe
                     element.hasTimestamp() ? element.getTimestamp() : null,
                     currentWatermark);
             rowSize = rowSize + 1;
-            dataSize = dataSize + CalculateObjectSizeUtils.getDataSize(element.getValue());
+            dataSize = dataSize + (sinkMetricData != null
+                    ? sinkMetricData.estimateDataSize(element.getValue())
+                    : CalculateObjectSizeUtils.getDataSize(element.getValue()));
         } catch (IOException e) {
             throw new RuntimeException(e);
         } catch (Exception e) {
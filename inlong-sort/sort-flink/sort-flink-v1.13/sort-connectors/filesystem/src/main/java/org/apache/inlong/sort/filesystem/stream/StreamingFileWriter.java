@@ -26,6 +26,7 @@ import org.apache.flink.runtime.state.StateSnapshotContext;
 import org.apache.flink.streaming.api.functions.sink.filesystem.StreamingFileSink;
 import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
 import org.apache.flink.table.filesystem.stream.PartitionCommitInfo;
+import org.apache.flink.table.types.logical.RowType;
 
 import javax.annotation.Nullable;
 
@@ -50,9 +51,11 @@ public class StreamingFileWriter<IN> extends AbstractStreamingWriter<IN, Partiti
             long bucketCheckInterval,
             StreamingFileSink.BucketsBuilder<IN, String, ? extends StreamingFileSink.BucketsBuilder<IN, String, ?>> bucketsBuilder,
             String inlongMetric, String inlongAudit,
+            int sizeSampleInterval, @Nullable RowType rowType,
             DirtyOptions dirtyOptions,
             @Nullable DirtySink<Object> dirtySink) {
-        super(bucketCheckInterval, bucketsBuilder, inlongMetric, inlongAudit, dirtyOptions, dirtySink);
+        super(bucketCheckInterval, bucketsBuilder, inlongMetric, inlongAudit, sizeSampleInterval, rowType,
+                dirtyOptions, dirtySink);
     }
 
     @Override
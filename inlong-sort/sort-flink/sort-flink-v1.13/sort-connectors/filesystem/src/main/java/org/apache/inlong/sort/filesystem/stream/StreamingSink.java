@@ -44,6 +44,7 @@ import org.apache.flink.table.filesystem.stream.compact.CompactMessages.Coordina
 import org.apache.flink.table.filesystem.stream.compact.CompactOperator;
 import org.apache.flink.table.filesystem.stream.compact.CompactReader;
 import org.apache.flink.table.filesystem.stream.compact.CompactWriter;
+import org.apache.flink.table.types.logical.RowType;
 import org.apache.flink.util.function.SupplierWithException;
 
 import javax.annotation.Nullable;
@@ -71,11 +72,12 @@ public class StreamingSink {
             long bucketCheckInterval,
             StreamingFileSink.BucketsBuilder<T, String, ? extends StreamingFileSink.BucketsBuilder<T, String, ?>> bucketsBuilder,
             int parallelism, String inlongMetric, String inlongAudit,
+            int sizeSampleInterval, @Nullable RowType rowType,
             DirtyOptions dirtyOptions,
             @Nullable DirtySink<Object> dirtySink) {
         StreamingFileWriter<T> fileWriter =
                 new StreamingFileWriter<>(bucketCheckInterval, bucketsBuilder,
-                        inlongMetric, inlongAudit, dirtyOptions, dirtySink);
+                        inlongMetric, inlongAudit, sizeSampleInterval, rowType, dirtyOptions, dirtySink);
         return inputStream
                 .transform(
                         StreamingFileWriter.class.getSimpleName(),
@@ -97,10 +99,11 @@ public class StreamingSink {
             CompactReader.Factory<T> readFactory,
             long targetFileSize,
             int parallelism, String inlongMetric, String inlongAudit,
+            int sizeSampleInterval, @Nullable RowType rowType,
             DirtyOptions dirtyOptions,
             @Nullable DirtySink<Object> dirtySink) {
         CompactFileWriter<T> writer = new CompactFileWriter<>(bucketCheckInterval, bucketsBuilder, inlongMetric,
-                inlongAudit, dirtyOptions, dirtySink);
+                inlongAudit, sizeSampleInterval, rowType, dirtyOptions, dirtySink);
 
         SupplierWithException<FileSystem, IOException> fsSupplier =
                 (SupplierWithException<FileSystem, IOException> & Serializable) () -> fsFactory.create(path.toUri());
@@ -27,6 +27,7 @@ import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
 import org.apache.flink.table.filesystem.stream.compact.CompactMessages.CoordinatorInput;
 import org.apache.flink.table.filesystem.stream.compact.CompactMessages.EndCheckpoint;
 import org.apache.flink.table.filesystem.stream.compact.CompactMessages.InputFile;
+import org.apache.flink.table.types.logical.RowType;
 
 import javax.annotation.Nullable;
 
@@ -43,9 +44,11 @@ public class CompactFileWriter<T>
             long bucketCheckInterval,
             StreamingFileSink.BucketsBuilder<T, String, ? extends StreamingFileSink.BucketsBuilder<T, String, ?>> bucketsBuilder,
             String inlongMetric, String inlongAudit,
+            int sizeSampleInterval, @Nullable RowType rowType,
             DirtyOptions dirtyOptions,
             @Nullable DirtySink<Object> dirtySink) {
-        super(bucketCheckInterval, bucketsBuilder, inlongMetric, inlongAudit, dirtyOptions, dirtySink);
+        super(bucketCheckInterval, bucketsBuilder, inlongMetric, inlongAudit, sizeSampleInterval, rowType,
+                dirtyOptions, dirtySink);
     }
 
     @Override
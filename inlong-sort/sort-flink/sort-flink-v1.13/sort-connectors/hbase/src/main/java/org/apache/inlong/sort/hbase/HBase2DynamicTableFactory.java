@@ -34,6 +34,7 @@ import org.apache.flink.table.connector.source.DynamicTableSource;
 import org.apache.flink.table.factories.DynamicTableSinkFactory;
 import org.apache.flink.table.factories.DynamicTableSourceFactory;
 import org.apache.flink.table.factories.FactoryUtil.TableFactoryHelper;
+import org.apache.flink.table.types.logical.RowType;
 import org.apache.hadoop.conf.Configuration;
 
 import java.util.HashSet;
@@ -61,6 +62,7 @@ import static org.apache.flink.table.factories.FactoryUtil.createTableFactoryHel
 import static org.apache.inlong.sort.base.Constants.DIRTY_PREFIX;
 import static org.apache.inlong.sort.base.Constants.INLONG_AUDIT;
 import static org.apache.inlong.sort.base.Constants.INLONG_METRIC;
+import static org.apache.inlong.sort.base.Constants.INLONG_METRIC_SIZE_SAMPLE_INTERVAL;
 
 /** HBase connector factory. */
 public class HBase2DynamicTableFactory
@@ -111,11 +113,13 @@ public class HBase2DynamicTableFactory
         HBaseTableSchema hbaseSchema = HBaseTableSchema.fromTableSchema(tableSchema);
         String inlongMetric = tableOptions.getOptional(INLONG_METRIC).orElse(null);
         String inlongAudit = tableOptions.get(INLONG_AUDIT);
+        int sizeSampleInterval = tableOptions.get(INLONG_METRIC_SIZE_SAMPLE_INTERVAL);
+        RowType rowType = (RowType) tableSchema.toPhysicalRowDataType().getLogicalType();
         final DirtyOptions dirtyOptions = DirtyOptions.fromConfig(tableOptions);
         final DirtySink<Object> dirtySink = DirtySinkFactoryUtils.createDirtySink(context, dirtyOptions);
         return new HBaseDynamicTableSink(
                 tableName, hbaseSchema, hbaseConf, hBaseWriteOptions, nullStringLiteral,
-                inlongMetric, inlongAudit, dirtyOptions, dirtySink);
+                inlongMetric, inlongAudit, sizeSampleInterval, rowType, dirtyOptions, dirtySink);
     }
 
     @Override
@@ -146,6 +150,7 @@ public class HBase2DynamicTableFactory
         set.add(LOOKUP_MAX_RETRIES);
         set.add(INLONG_METRIC);
         set.add(INLONG_AUDIT);
+        set.add(INLONG_METRIC_SIZE_SAMPLE_INTERVAL);
         return set;
     }
 }
@@ -29,6 +29,7 @@ import org.apache.flink.table.connector.ChangelogMode;
 import org.apache.flink.table.connector.sink.DynamicTableSink;
 import org.apache.flink.table.connector.sink.SinkFunctionProvider;
 import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.types.logical.RowType;
 import org.apache.hadoop.conf.Configuration;
 
 import javax.annotation.Nullable;
@@ -44,6 +45,8 @@ public class HBaseDynamicTableSink implements DynamicTableSink {
     private final String nullStringLiteral;
     private final String inlongMetric;
     private final String inlongAudit;
+    private final int sizeSampleInterval;
+    private final RowType rowType;
     private final DirtyOptions dirtyOptions;
     private @Nullable final DirtySink<Object> dirtySink;
 
@@ -55,6 +58,8 @@ public class HBaseDynamicTableSink implements DynamicTableSink {
             String nullStringLiteral,
             String inlongMetric,
             String inlongAudit,
+            int sizeSampleInterval,
+            RowType rowType,
             DirtyOptions dirtyOptions,
             @Nullable DirtySink<Object> dirtySink) {
         this.tableName = tableName;
@@ -64,6 +69,8 @@ public class HBaseDynamicTableSink implements DynamicTableSink {
         this.nullStringLiteral = nullStringLiteral;
         this.inlongMetric = inlongMetric;
         this.inlongAudit = inlongAudit;
+        this.sizeSampleInterval = sizeSampleInterval;
+        this.rowType = rowType;
         this.dirtyOptions = dirtyOptions;
         this.dirtySink = dirtySink;
     }
@@ -78,7 +85,7 @@ public class HBaseDynamicTableSink implements DynamicTableSink {
                         writeOptions.getBufferFlushMaxSizeInBytes(),
                         writeOptions.getBufferFlushMaxRows(),
                         writeOptions.getBufferFlushIntervalMillis(),
-                        inlongMetric, inlongAudit, dirtyOptions, dirtySink);
+                        inlongMetric, inlongAudit, sizeSampleInterval, rowType, dirtyOptions, dirtySink);
         return SinkFunctionProvider.of(sinkFunction, writeOptions.getParallelism());
     }
 
@@ -91,7 +98,7 @@ public class HBaseDynamicTableSink implements DynamicTableSink {
     public DynamicTableSink copy() {
         return new HBaseDynamicTableSink(
                 tableName, hbaseTableSchema, hbaseConf, writeOptions,
-                nullStringLiteral, inlongMetric, inlongAudit, dirtyOptions, dirtySink);
+                nullStringLiteral, inlongMetric, inlongAudit, sizeSampleInterval, rowType, dirtyOptions, dirtySink);
     }
 
     @Override
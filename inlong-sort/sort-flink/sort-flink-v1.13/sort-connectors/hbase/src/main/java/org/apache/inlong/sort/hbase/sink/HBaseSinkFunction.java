@@ -25,7 +25,6 @@ import org.apache.inlong.sort.base.metric.MetricOption;
 import org.apache.inlong.sort.base.metric.MetricOption.RegisteredMetric;
 import org.apache.inlong.sort.base.metric.MetricState;
 import org.apache.inlong.sort.base.metric.SinkMetricData;
-import org.apache.inlong.sort.base.util.CalculateObjectSizeUtils;
 import org.apache.inlong.sort.base.util.MetricStateUtils;
 
 import org.apache.flink.annotation.Internal;
@@ -43,6 +42,7 @@ import org.apache.flink.runtime.util.ExecutorThreadFactory;
 import org.apache.flink.streaming.api.checkpoint.CheckpointedFunction;
 import org.apache.flink.streaming.api.functions.sink.RichSinkFunction;
 import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.types.logical.RowType;
 import org.apache.flink.types.RowKind;
 import org.apache.flink.util.Preconditions;
 import org.apache.flink.util.StringUtils;
@@ -61,7 +61,6 @@ import org.slf4j.LoggerFactory;
 import javax.annotation.Nullable;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
@@ -101,6 +100,8 @@ public class HBaseSinkFunction<T> extends RichSinkFunction<T>
     private final HBaseMutationConverter<T> mutationConverter;
     private final String inlongMetric;
     private final String inlongAudit;
+    private final int sizeSampleInterval;
+    private @Nullable final RowType rowType;
     /**
      * This is set from inside the {@link BufferedMutator.ExceptionListener} if a {@link Throwable}
      * was thrown.
@@ -135,6 +136,8 @@ public class HBaseSinkFunction<T> extends RichSinkFunction<T>
             long bufferFlushIntervalMillis,
             String inlongMetric,
             String inlongAudit,
+            int sizeSampleInterval,
+            @Nullable RowType rowType,
             DirtyOptions dirtyOptions,
             @Nullable DirtySink<Object> dirtySink) {
         this.hTableName = hTableName;
@@ -146,6 +149,8 @@ public class HBaseSinkFunction<T> extends RichSinkFunction<T>
         this.bufferFlushIntervalMillis = bufferFlushIntervalMillis;
         this.inlongMetric = inlongMetric;
         this.inlongAudit = inlongAudit;
+        this.sizeSampleInterval = sizeSampleInterval;
+        this.rowType = rowType;
         this.dirtyOptions = dirtyOptions;
         this.dirtySink = dirtySink;
     }
@@ -164,6 +169,8 @@ public class HBaseSinkFunction<T> extends RichSinkFunction<T>
                     .withInitDirtyRecords(metricState != null ? metricState.getMetricValue(DIRTY_RECORDS_OUT) : 0L)
                     .withInitDirtyBytes(metricState != null ? metricState.getMetricValue(DIRTY_BYTES_OUT) : 0L)
                     .withRegisterMetric(RegisteredMetric.ALL)
+                    .withSizeSampleInterval(sizeSampleInterval)
+                    .withRowType(rowType)
                     .build();
             if (metricOption != null) {
                 sinkMetricData = new SinkMetricData(metricOption, runtimeContext.getMetricGroup());
@@ -252,7 +259,7 @@ public class HBaseSinkFunction<T> extends RichSinkFunction<T>
             try {
                 mutation = Preconditions.checkNotNull(mutationConverter.convertToMutation(value));
                 rowSize++;
-                dataSize = dataSize + CalculateObjectSizeUtils.getDataSize(value);
+                dataSize = dataSize + estimateDataSize(value);
             } catch (Exception e) {
                 LOGGER.error("Convert to mutation error", e);
                 if (!dirtyOptions.ignoreDirty()) {
@@ -285,7 +292,7 @@ public class HBaseSinkFunction<T> extends RichSinkFunction<T>
             }
         } else {
             rowSize++;
-            dataSize = dataSize + value.toString().getBytes(StandardCharsets.UTF_8).length;
+            dataSize = dataSize + estimateDataSize(value);
         }
         // flush when the buffer number of mutations greater than the configured max size.
         if (bufferFlushMaxMutations > 0
@@ -294,6 +301,11 @@ public class HBaseSinkFunction<T> extends RichSinkFunction<T>
         }
     }
 
+    private long estimateDataSize(T value) {
+        // the data size is only reported to the sink metric
+        return sinkMetricData != null ? sinkMetricData.estimateDataSize(value) : 0L;
+    }
+
     private void reportMetricAfterFlush() {
         try {
             flush();
@@ -26,6 +26,7 @@ import org.apache.inlong.sort.base.format.JsonDynamicSchemaFormat;
 import org.apache.inlong.sort.base.metric.sub.SinkTableMetricData;
 import org.apache.inlong.sort.base.sink.PartitionPolicy;
 import org.apache.inlong.sort.base.sink.SchemaUpdateExceptionPolicy;
+import org.apache.inlong.sort.base.util.CalculateObjectSizeUtils;
 import org.apache.inlong.sort.hive.HiveBulkWriterFactory;
 import org.apache.inlong.sort.hive.HiveWriterFactory;
 import org.apache.inlong.sort.hive.util.CacheHolder;
@@ -261,7 +262,7 @@ public class HadoopPathBasedPartFileWriter<IN, BucketID> extends AbstractPartFil
                         metricData.invoke(1, ((BinaryRowData) data).getSizeInBytes());
                     } else {
                         // oracle cdc sends GenericRowData
-                        metricData.invoke(1, data.toString().getBytes(StandardCharsets.UTF_8).length);
+                        metricData.invoke(1, CalculateObjectSizeUtils.getDataSize(data));
                     }
                 }
             }
@@ -87,6 +87,7 @@ import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import static org.apache.iceberg.TableProperties.WRITE_DISTRIBUTION_MODE;
+import static org.apache.inlong.sort.base.Constants.INLONG_METRIC_SIZE_SAMPLE_INTERVAL;
 import static org.apache.inlong.sort.base.Constants.META_INCREMENTAL;
 import static org.apache.inlong.sort.iceberg.FlinkDynamicTableFactory.WRITE_MINI_BATCH_BUFFER_TYPE;
 import static org.apache.inlong.sort.iceberg.FlinkDynamicTableFactory.WRITE_MINI_BATCH_ENABLE;
@@ -686,7 +687,8 @@ public class FlinkSink {
             IcebergProcessOperator<RowData, WriteResult> streamWriter = createStreamWriter(
                     table, flinkRowType, equalityFieldIds, flinkWriteConf, appendMode, inlongMetric,
                     auditHostAndPorts, dirtyOptions, dirtySink, tableSchema,
-                    switchAppendUpsertEnable, tableOptions.get(WRITE_MINI_BATCH_ENABLE), auditKeys);
+                    switchAppendUpsertEnable, tableOptions.get(WRITE_MINI_BATCH_ENABLE), auditKeys,
+                    tableOptions.get(INLONG_METRIC_SIZE_SAMPLE_INTERVAL));
 
             int parallelism = writeParallelism == null ? input.getParallelism() : writeParallelism;
             SingleOutputStreamOperator<WriteResult> writerStream = inputWithMiniBatch
@@ -836,7 +838,8 @@ public class FlinkSink {
             TableSchema tableSchema,
             boolean switchAppendUpsertEnable,
             boolean miniBatchMode,
-            String auditKeys) {
+            String auditKeys,
+            int sizeSampleInterval) {
         // flink A, iceberg a
         Preconditions.checkArgument(table != null, "Iceberg table should't be null");
 
@@ -857,7 +860,8 @@ public class FlinkSink {
         return new IcebergProcessOperator<>(new IcebergSingleStreamWriter<>(
                 table.name(), taskWriterFactory, inlongMetric, auditHostAndPorts,
                 flinkRowType, dirtyOptions, dirtySink, false,
-                tableSchemaRowType, getMetaFieldIndex(tableSchema), switchAppendUpsertEnable, auditKeys));
+                tableSchemaRowType, getMetaFieldIndex(tableSchema), switchAppendUpsertEnable, auditKeys,
+                sizeSampleInterval));
     }
 
 }
@@ -29,6 +29,7 @@ import org.apache.inlong.sort.base.metric.MetricState;
 import org.apache.inlong.sort.base.metric.sub.SinkTableMetricData;
 import org.apache.inlong.sort.base.sink.MultipleSinkOption;
 import org.apache.inlong.sort.base.sink.SchemaUpdateExceptionPolicy;
+import org.apache.inlong.sort.base.util.CalculateObjectSizeUtils;
 import org.apache.inlong.sort.base.util.MetricStateUtils;
 import org.apache.inlong.sort.iceberg.schema.IcebergSchemaChangeHelper;
 import org.apache.inlong.sort.schema.ColumnSchema;
@@ -68,7 +69,6 @@ import javax.annotation.Nullable;
 
 import java.io.Closeable;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -96,6 +96,7 @@ public class DynamicSchemaHandleOperator extends AbstractStreamOperator<RecordWi
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DynamicSchemaHandleOperator.class);
     private static final long HELPER_DEBUG_INTERVEL = 10 * 60 * 1000;
+    private static final int MAX_CACHED_DATA_SCHEMAS = 1024;
     private static final long serialVersionUID = 1L;
 
     private final CatalogLoader catalogLoader;
@@ -112,6 +113,9 @@ public class DynamicSchemaHandleOperator extends AbstractStreamOperator<RecordWi
     // schema cache
     private transient Map<TableIdentifier, Schema> schemaCache;
 
+    // data schema cache, the records of a table share the row type until the schema changes
+    private transient Map<RowType, Schema> dataSchemaCache;
+
     // blacklist to filter schema update failed table
     private transient Set<TableIdentifier> blacklist;
 
@@ -168,6 +172,7 @@ public class DynamicSchemaHandleOperator extends AbstractStreamOperator<RecordWi
 
         this.recordQueues = new HashMap<>();
         this.schemaCache = new HashMap<>();
+        this.dataSchemaCache = new HashMap<>();
         this.blacklist = new HashSet<>();
 
         // Initialize metric
@@ -411,7 +416,7 @@ public class DynamicSchemaHandleOperator extends AbstractStreamOperator<RecordWi
                                     for (RowData rowData : rowDataForDataSchemaList) {
                                         rowCount.addAndGet(1);
                                         long size = jsonNode == null ? 0L
-                                                : rowData.toString().getBytes(StandardCharsets.UTF_8).length;
+                                                : CalculateObjectSizeUtils.getDataSize(rowData);
                                         rowSize.addAndGet(size);
                                         DirtyOptions dirtyOptions = dirtySinkHelper.getDirtyOptions();
                                         if (!dirtyOptions.ignoreDirty()) {
@@ -552,9 +557,17 @@ public class DynamicSchemaHandleOperator extends AbstractStreamOperator<RecordWi
         try {
             List<String> pkListStr = dynamicSchemaFormat.extractPrimaryKeyNames(data);
             RowType schema = dynamicSchemaFormat.extractSchema(data, pkListStr);
+            Schema dataSchema = dataSchemaCache.get(schema);
+            if (dataSchema == null) {
+                dataSchema = FlinkSchemaUtil.convert(FlinkSchemaUtil.toSchema(schema));
+                if (dataSchemaCache.size() >= MAX_CACHED_DATA_SCHEMAS) {
+                    dataSchemaCache.clear();
+                }
+                dataSchemaCache.put(schema, dataSchema);
+            }
             return new RecordWithSchema(
                     data,
-                    FlinkSchemaUtil.convert(FlinkSchemaUtil.toSchema(schema)),
+                    dataSchema,
                     tableId,
                     pkListStr);
         } catch (Exception e) {
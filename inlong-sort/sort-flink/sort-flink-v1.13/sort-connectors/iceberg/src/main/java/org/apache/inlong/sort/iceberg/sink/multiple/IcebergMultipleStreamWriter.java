@@ -250,7 +250,7 @@ public class IcebergMultipleStreamWriter extends IcebergProcessFunction<RecordWi
                 IcebergSingleStreamWriter<RowData> writer = new IcebergSingleStreamWriter<>(
                         tableId.toString(), taskWriterFactory, subWriterInlongMetric,
                         auditHostAndPorts, flinkRowType, dirtyOptions, dirtySink, true,
-                        tableSchemaRowType, metaFieldIndex, switchAppendUpsertEnable, auditKeys);
+                        tableSchemaRowType, metaFieldIndex, switchAppendUpsertEnable, auditKeys, 1);
                 writer.setup(getRuntimeContext(),
                         new CallbackCollector<>(
                                 writeResult -> collector.collect(new MultipleWriteResult(tableId, writeResult))),
@@ -71,6 +71,7 @@ public class IcebergSingleStreamWriter<T> extends IcebergProcessFunction<T, Writ
     private final String inlongMetric;
     private final String auditHostAndPorts;
     private final String auditKeys;
+    private final int sizeSampleInterval;
     private RowDataTaskWriterFactory taskWriterFactory;
 
     private transient TaskWriter<RowData> writer;
@@ -102,7 +103,8 @@ public class IcebergSingleStreamWriter<T> extends IcebergProcessFunction<T, Writ
             RowType tableSchemaRowType,
             int incrementalFieldIndex,
             boolean switchAppendUpsertEnable,
-            String auditKeys) {
+            String auditKeys,
+            int sizeSampleInterval) {
         this.fullTableName = fullTableName;
         this.taskWriterFactory = taskWriterFactory;
         this.inlongMetric = inlongMetric;
@@ -116,6 +118,7 @@ public class IcebergSingleStreamWriter<T> extends IcebergProcessFunction<T, Writ
         this.cachedWriteResults = new ArrayList<>();
         this.switchAppendUpsertEnable = switchAppendUpsertEnable;
         this.auditKeys = auditKeys;
+        this.sizeSampleInterval = sizeSampleInterval;
     }
 
     public RowType getFlinkRowType() {
@@ -145,6 +148,8 @@ public class IcebergSingleStreamWriter<T> extends IcebergProcessFunction<T, Writ
                     .withInitDirtyBytes(metricState != null ? metricState.getMetricValue(DIRTY_BYTES_OUT) : 0L)
                     .withRegisterMetric(RegisteredMetric.ALL)
                     .withAuditKeys(auditKeys)
+                    .withSizeSampleInterval(sizeSampleInterval)
+                    .withRowType(flinkRowType)
                     .build();
             if (metricOption != null) {
                 metricData = new SinkMetricData(metricOption, getRuntimeContext().getMetricGroup());
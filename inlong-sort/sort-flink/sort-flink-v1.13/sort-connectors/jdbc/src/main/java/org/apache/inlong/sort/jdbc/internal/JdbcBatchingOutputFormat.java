@@ -54,6 +54,7 @@ import org.apache.flink.runtime.state.FunctionInitializationContext;
 import org.apache.flink.runtime.state.FunctionSnapshotContext;
 import org.apache.flink.runtime.util.ExecutorThreadFactory;
 import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.types.logical.RowType;
 import org.apache.flink.types.Row;
 import org.apache.flink.types.RowKind;
 import org.apache.flink.util.Preconditions;
@@ -98,6 +99,8 @@ public class JdbcBatchingOutputFormat<In, JdbcIn, JdbcExec extends JdbcBatchStat
     private final String inlongMetric;
     private final String auditHostAndPorts;
     private final String auditKeys;
+    private final int sizeSampleInterval;
+    private @Nullable final RowType rowType;
     private transient JdbcExec jdbcStatementExecutor;
     private transient int batchCount = 0;
     private transient volatile boolean closed = false;
@@ -125,6 +128,22 @@ public class JdbcBatchingOutputFormat<In, JdbcIn, JdbcExec extends JdbcBatchStat
             DirtyOptions dirtyOptions,
             @Nullable DirtySink<Object> dirtySink,
             String auditKeys) {
+        this(connectionProvider, executionOptions, statementExecutorFactory, recordExtractor, inlongMetric,
+                auditHostAndPorts, dirtyOptions, dirtySink, auditKeys, 1, null);
+    }
+
+    public JdbcBatchingOutputFormat(
+            @Nonnull JdbcConnectionProvider connectionProvider,
+            @Nonnull JdbcExecutionOptions executionOptions,
+            @Nonnull StatementExecutorFactory<JdbcExec> statementExecutorFactory,
+            @Nonnull RecordExtractor<In, JdbcIn> recordExtractor,
+            String inlongMetric,
+            String auditHostAndPorts,
+            DirtyOptions dirtyOptions,
+            @Nullable DirtySink<Object> dirtySink,
+            String auditKeys,
+            int sizeSampleInterval,
+            @Nullable RowType rowType) {
         super(connectionProvider);
         this.executionOptions = checkNotNull(executionOptions);
         this.statementExecutorFactory = checkNotNull(statementExecutorFactory);
@@ -134,6 +153,8 @@ public class JdbcBatchingOutputFormat<In, JdbcIn, JdbcExec extends JdbcBatchStat
         this.dirtyOptions = dirtyOptions;
         this.dirtySink = dirtySink;
         this.auditKeys = auditKeys;
+        this.sizeSampleInterval = sizeSampleInterval;
+        this.rowType = rowType;
     }
 
     public static Builder builder() {
@@ -174,6 +195,8 @@ public class JdbcBatchingOutputFormat<In, JdbcIn, JdbcExec extends JdbcBatchStat
                 .withInitDirtyRecords(metricState != null ? metricState.getMetricValue(DIRTY_RECORDS_OUT) : 0L)
                 .withInitDirtyBytes(metricState != null ? metricState.getMetricValue(DIRTY_BYTES_OUT) : 0L)
                 .withRegisterMetric(RegisteredMetric.ALL)
+                .withSizeSampleInterval(sizeSampleInterval)
+                .withRowType(rowType)
                 .build();
         if (metricOption != null) {
             sinkMetricData = new SinkMetricData(metricOption, runtimeContext.getMetricGroup());
@@ -315,7 +338,9 @@ public class JdbcBatchingOutputFormat<In, JdbcIn, JdbcExec extends JdbcBatchStat
 
     private void updateMetric(In record) {
         rowSize++;
-        dataSize += CalculateObjectSizeUtils.getDataSize(record);
+        dataSize += sinkMetricData != null
+                ? sinkMetricData.estimateDataSize(record)
+                : CalculateObjectSizeUtils.getDataSize(record);
     }
 
     private void resetStateAfterFlush() {
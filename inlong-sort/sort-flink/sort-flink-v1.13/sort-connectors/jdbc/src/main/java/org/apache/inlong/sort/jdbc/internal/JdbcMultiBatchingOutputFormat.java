@@ -56,6 +56,7 @@ import org.apache.flink.table.data.GenericRowData;
 import org.apache.flink.table.data.RowData;
 import org.apache.flink.table.data.StringData;
 import org.apache.flink.table.data.TimestampData;
+import org.apache.flink.table.data.binary.BinaryStringData;
 import org.apache.flink.table.runtime.typeutils.InternalTypeInfo;
 import org.apache.flink.table.types.logical.LogicalType;
 import org.apache.flink.table.types.logical.RowType;
@@ -82,10 +83,15 @@ import java.time.temporal.TemporalAccessor;
 import java.time.temporal.TemporalQueries;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -123,12 +129,15 @@ public class JdbcMultiBatchingOutputFormat<In, JdbcIn, JdbcExec extends JdbcBatc
     private JdbcDmlOptions dmlOptions;
     private JdbcOptions jdbcOptions;
     private boolean appendMode;
-    private transient Map<String, JdbcExec> jdbcExecMap = new HashMap<>();
-    private transient Map<String, SimpleJdbcConnectionProvider> connectionExecProviderMap = new HashMap<>();
-    private transient Map<String, RowType> rowTypeMap = new HashMap<>();
-    private transient Map<String, List<String>> pkNameMap = new HashMap<>();
-    private transient Map<String, List<GenericRowData>> recordsMap = new HashMap<>();
-    private transient Map<String, Exception> tableExceptionMap = new HashMap<>();
+    private transient Map<String, JdbcExec> jdbcExecMap = new ConcurrentHashMap<>();
+    private transient Map<String, SimpleJdbcConnectionProvider> connectionExecProviderMap =
+            new ConcurrentHashMap<>();
+    private transient Map<String, RowType> rowTypeMap = new ConcurrentHashMap<>();
+    private transient Map<String, List<String>> pkNameMap = new ConcurrentHashMap<>();
+    private transient Map<String, List<GenericRowData>> recordsMap = new LinkedHashMap<>();
+    private transient Map<String, Exception> tableExceptionMap = new ConcurrentHashMap<>();
+    private transient ExecutorService flushExecutor;
+    private transient Object metricLock;
     private transient Boolean stopWritingWhenTableException;
     private transient ListState<MetricState> metricStateListState;
     private final String sinkMultipleFormat;
@@ -139,6 +148,7 @@ public class JdbcMultiBatchingOutputFormat<In, JdbcIn, JdbcExec extends JdbcBatc
     private SinkTableMetricData sinkMetricData;
     private final SchemaUpdateExceptionPolicy schemaUpdateExceptionPolicy;
     private final DirtySinkHelper<Object> dirtySinkHelper;
+    private final int flushParallelism;
 
     private static final DateTimeFormatter SQL_TIMESTAMP_WITH_LOCAL_TIMEZONE_FORMAT;
     private static final DateTimeFormatter SQL_TIME_FORMAT;
@@ -165,7 +175,8 @@ public class JdbcMultiBatchingOutputFormat<In, JdbcIn, JdbcExec extends JdbcBatc
             String auditHostAndPorts,
             SchemaUpdateExceptionPolicy schemaUpdateExceptionPolicy,
             DirtySinkHelper<Object> dirtySinkHelper,
-            String auditKeys) {
+            String auditKeys,
+            int flushParallelism) {
         super(connectionProvider);
         this.executionOptions = checkNotNull(executionOptions);
         this.dmlOptions = dmlOptions;
@@ -180,6 +191,7 @@ public class JdbcMultiBatchingOutputFormat<In, JdbcIn, JdbcExec extends JdbcBatc
         this.schemaUpdateExceptionPolicy = schemaUpdateExceptionPolicy;
         this.dirtySinkHelper = dirtySinkHelper;
         this.auditKeys = auditKeys;
+        this.flushParallelism = flushParallelism;
     }
 
     /**
@@ -203,12 +215,19 @@ public class JdbcMultiBatchingOutputFormat<In, JdbcIn, JdbcExec extends JdbcBatc
             sinkMetricData = new SinkTableMetricData(metricOption, runtimeContext.getMetricGroup());
             sinkMetricData.registerSubMetricsGroup(metricState);
         }
-        jdbcExecMap = new HashMap<>();
-        connectionExecProviderMap = new HashMap<>();
-        pkNameMap = new HashMap<>();
-        rowTypeMap = new HashMap<>();
-        recordsMap = new HashMap<>();
-        tableExceptionMap = new HashMap<>();
+        jdbcExecMap = new ConcurrentHashMap<>();
+        connectionExecProviderMap = new ConcurrentHashMap<>();
+        pkNameMap = new ConcurrentHashMap<>();
+        rowTypeMap = new ConcurrentHashMap<>();
+        // the tables are flushed in the order of their first records
+        recordsMap = new LinkedHashMap<>();
+        tableExceptionMap = new ConcurrentHashMap<>();
+        metricLock = new Object();
+        // the dirty sink is not thread safe, so the tables are flushed one by one when it is enabled
+        if (flushParallelism > 1 && dirtySinkHelper.getDirtySink() == null) {
+            flushExecutor = Executors.newFixedThreadPool(flushParallelism,
+                    new ExecutorThreadFactory("jdbc-multi-table-flush"));
+        }
         stopWritingWhenTableException =
                 schemaUpdateExceptionPolicy.equals(SchemaUpdateExceptionPolicy.ALERT_WITH_IGNORE)
                         || schemaUpdateExceptionPolicy.equals(SchemaUpdateExceptionPolicy.STOP_PARTIAL);
@@ -375,7 +394,7 @@ public class JdbcMultiBatchingOutputFormat<In, JdbcIn, JdbcExec extends JdbcBatc
         try {
             AbstractJdbcDialect jdbcDialect = (AbstractJdbcDialect) jdbcOptions.getDialect();
             List<String> pkNames = jdbcDialect.getPkNamesFromDb(tableIdentifier, jdbcOptions);
-            pkNameMap.put(tableIdentifier, pkNames);
+            pkNameMap.put(tableIdentifier, pkNames == null ? Collections.emptyList() : pkNames);
         } catch (Exception e) {
             LOG.error("TableIdentifier:{} getAndSetPkNamesFromDb get err:", tableIdentifier, e);
         }
@@ -401,7 +420,11 @@ public class JdbcMultiBatchingOutputFormat<In, JdbcIn, JdbcExec extends JdbcBatc
     @Override
     public final synchronized void writeRecord(In row) throws IOException {
         checkFlushException();
-        jsonDynamicSchemaFormat = (JsonDynamicSchemaFormat) DynamicSchemaFormatFactory.getFormat(sinkMultipleFormat);
+        if (jsonDynamicSchemaFormat == null) {
+            // create the format once, it caches the compiled patterns and the extracted schemas
+            jsonDynamicSchemaFormat =
+                    (JsonDynamicSchemaFormat) DynamicSchemaFormatFactory.getFormat(sinkMultipleFormat);
+        }
 
         if (row instanceof RowData) {
             RowData rowData = (RowData) row;
@@ -615,6 +638,8 @@ public class JdbcMultiBatchingOutputFormat<In, JdbcIn, JdbcExec extends JdbcBatc
         checkFlushException();
         attemptFlush();
         batchCount = 0;
+        // fail the checkpoint if a table failed in this flush
+        checkFlushException();
     }
 
     /**
@@ -624,6 +649,7 @@ public class JdbcMultiBatchingOutputFormat<In, JdbcIn, JdbcExec extends JdbcBatc
      * If batch-writing occur exception, then rewrite one-by-one retry-times set by user.
      */
     protected void attemptFlush() throws IOException {
+        List<Map.Entry<String, List<GenericRowData>>> dirtyTables = new ArrayList<>();
         for (Map.Entry<String, List<GenericRowData>> entry : recordsMap.entrySet()) {
             String tableIdentifier = entry.getKey();
             boolean stopTableIdentifierWhenException = stopWritingWhenTableException
@@ -631,108 +657,200 @@ public class JdbcMultiBatchingOutputFormat<In, JdbcIn, JdbcExec extends JdbcBatc
             if (stopTableIdentifierWhenException) {
                 continue;
             }
-            List<GenericRowData> tableIdRecordList = entry.getValue();
-            if (CollectionUtils.isEmpty(tableIdRecordList)) {
+            if (CollectionUtils.isEmpty(entry.getValue())) {
                 continue;
             }
-            JdbcExec jdbcStatementExecutor;
-            Boolean flushFlag = false;
-            Exception tableException = null;
+            dirtyTables.add(entry);
+        }
+        if (flushExecutor == null || dirtyTables.size() <= 1) {
+            for (Map.Entry<String, List<GenericRowData>> entry : dirtyTables) {
+                flushTable(entry.getKey(), entry.getValue());
+            }
+            return;
+        }
+        // each table is written by its own executor and connection, so the tables are flushed concurrently
+        List<Future<?>> futures = new ArrayList<>(dirtyTables.size());
+        for (Map.Entry<String, List<GenericRowData>> entry : dirtyTables) {
+            futures.add(flushExecutor.submit(() -> {
+                flushTable(entry.getKey(), entry.getValue());
+                return null;
+            }));
+        }
+        IOException flushException = null;
+        for (Future<?> future : futures) {
             try {
-                getAndSetPkNamesFromDb(tableIdentifier);
-                jdbcStatementExecutor = getOrCreateStatementExecutor(tableIdentifier);
-                Long totalDataSize = 0L;
-                for (GenericRowData record : tableIdRecordList) {
-                    totalDataSize = totalDataSize + record.toString().getBytes(StandardCharsets.UTF_8).length;
-                    jdbcStatementExecutor.addToBatch((JdbcIn) record);
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                if (flushException == null) {
+                    flushException = new IOException("unable to flush; interrupted while waiting for tables", e);
                 }
-                if (dirtySinkHelper.getDirtySink() != null) {
-                    fillDirtyData(jdbcStatementExecutor, tableIdentifier);
+            } catch (ExecutionException e) {
+                if (flushException == null) {
+                    flushException = e.getCause() instanceof IOException
+                            ? (IOException) e.getCause()
+                            : new IOException(e.getCause());
                 }
-                jdbcStatementExecutor.executeBatch();
-                flushFlag = true;
-                if (dirtySinkHelper.getDirtySink() == null) {
+            }
+        }
+        if (flushException != null) {
+            throw flushException;
+        }
+    }
+
+    /**
+     * Write the records of one table to db
+     */
+    private void flushTable(String tableIdentifier, List<GenericRowData> tableIdRecordList) throws IOException {
+        JdbcExec jdbcStatementExecutor;
+        Boolean flushFlag = false;
+        Exception tableException = null;
+        try {
+            getAndSetPkNamesFromDb(tableIdentifier);
+            jdbcStatementExecutor = getOrCreateStatementExecutor(tableIdentifier);
+            Long totalDataSize = 0L;
+            for (GenericRowData record : tableIdRecordList) {
+                totalDataSize = totalDataSize + estimateRecordSize(record);
+                jdbcStatementExecutor.addToBatch((JdbcIn) record);
+            }
+            if (dirtySinkHelper.getDirtySink() != null) {
+                fillDirtyData(jdbcStatementExecutor, tableIdentifier);
+            }
+            jdbcStatementExecutor.executeBatch();
+            flushFlag = true;
+            if (dirtySinkHelper.getDirtySink() == null) {
+                outputMetrics(tableIdentifier, Long.valueOf(tableIdRecordList.size()),
+                        totalDataSize, false);
+            } else {
+                try {
+                    outputMetrics(tableIdentifier);
+                } catch (Exception e) {
                     outputMetrics(tableIdentifier, Long.valueOf(tableIdRecordList.size()),
                             totalDataSize, false);
-                } else {
-                    try {
-                        outputMetrics(tableIdentifier);
-                    } catch (Exception e) {
-                        outputMetrics(tableIdentifier, Long.valueOf(tableIdRecordList.size()),
-                                totalDataSize, false);
-                    }
-                }
-            } catch (Exception e) {
-                tableException = e;
-                LOG.warn("Flush all data for tableIdentifier:{} get err:", tableIdentifier, e);
-                getAndSetPkFromErrMsg(e.getMessage(), tableIdentifier);
-                updateOneExecutor(true, tableIdentifier);
-                try {
-                    Thread.sleep(1000);
-                } catch (InterruptedException ex) {
-                    Thread.currentThread().interrupt();
-                    throw new IOException(
-                            "unable to flush; interrupted while doing another attempt", e);
                 }
             }
+        } catch (Exception e) {
+            tableException = e;
+            LOG.warn("Flush all data for tableIdentifier:{} get err:", tableIdentifier, e);
+            getAndSetPkFromErrMsg(e.getMessage(), tableIdentifier);
+            updateOneExecutor(true, tableIdentifier);
+            try {
+                Thread.sleep(1000);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IOException(
+                        "unable to flush; interrupted while doing another attempt", e);
+            }
+        }
 
-            if (!flushFlag) {
-                for (GenericRowData record : tableIdRecordList) {
-                    for (int retryTimes = 1; retryTimes <= executionOptions.getMaxRetries(); retryTimes++) {
-                        try {
-                            jdbcStatementExecutor = getOrCreateStatementExecutor(tableIdentifier);
-                            jdbcStatementExecutor.addToBatch((JdbcIn) record);
-                            jdbcStatementExecutor.executeBatch();
-                            Long totalDataSize =
-                                    Long.valueOf(record.toString().getBytes(StandardCharsets.UTF_8).length);
-                            if (dirtySinkHelper.getDirtySink() == null) {
+        if (!flushFlag) {
+            for (GenericRowData record : tableIdRecordList) {
+                for (int retryTimes = 1; retryTimes <= executionOptions.getMaxRetries(); retryTimes++) {
+                    try {
+                        jdbcStatementExecutor = getOrCreateStatementExecutor(tableIdentifier);
+                        jdbcStatementExecutor.addToBatch((JdbcIn) record);
+                        jdbcStatementExecutor.executeBatch();
+                        Long totalDataSize = estimateRecordSize(record);
+                        if (dirtySinkHelper.getDirtySink() == null) {
+                            outputMetrics(tableIdentifier, (long) tableIdRecordList.size(),
+                                    totalDataSize, false);
+                        } else {
+                            try {
+                                outputMetrics(tableIdentifier);
+                            } catch (Exception e) {
+                                LOG.error("JDBC table metric calculation exception", e);
                                 outputMetrics(tableIdentifier, (long) tableIdRecordList.size(),
                                         totalDataSize, false);
-                            } else {
-                                try {
-                                    outputMetrics(tableIdentifier);
-                                } catch (Exception e) {
-                                    LOG.error("JDBC table metric calculation exception", e);
-                                    outputMetrics(tableIdentifier, (long) tableIdRecordList.size(),
-                                            totalDataSize, false);
-                                }
-                            }
-                            flushFlag = true;
-                            break;
-                        } catch (Exception e) {
-                            LOG.warn("Flush one record tableIdentifier:{} ,retryTimes:{} get err:",
-                                    tableIdentifier, retryTimes, e);
-                            getAndSetPkFromErrMsg(e.getMessage(), tableIdentifier);
-                            tableException = e;
-                            updateOneExecutor(true, tableIdentifier);
-                            try {
-                                Thread.sleep(1000 * retryTimes);
-                            } catch (InterruptedException ex) {
-                                Thread.currentThread().interrupt();
-                                throw new IOException(
-                                        "unable to flush; interrupted while doing another attempt", e);
                             }
                         }
-                    }
-                    if (!flushFlag && null != tableException) {
-                        LOG.info("Put tableIdentifier:{} exception:{}",
-                                tableIdentifier, tableException.getMessage());
-                        if (dirtySinkHelper.getDirtySink() == null &&
-                                !schemaUpdateExceptionPolicy.equals(SchemaUpdateExceptionPolicy.THROW_WITH_STOP)) {
-                            outputMetrics(tableIdentifier, Long.valueOf(tableIdRecordList.size()),
-                                    1L, true);
-                        }
-                        tableExceptionMap.put(tableIdentifier, tableException);
-                        if (stopWritingWhenTableException) {
-                            LOG.info("Stop write table:{} because occur exception",
-                                    tableIdentifier);
-                            break;
+                        flushFlag = true;
+                        break;
+                    } catch (Exception e) {
+                        LOG.warn("Flush one record tableIdentifier:{} ,retryTimes:{} get err:",
+                                tableIdentifier, retryTimes, e);
+                        getAndSetPkFromErrMsg(e.getMessage(), tableIdentifier);
+                        tableException = e;
+                        updateOneExecutor(true, tableIdentifier);
+                        try {
+                            Thread.sleep(1000 * retryTimes);
+                        } catch (InterruptedException ex) {
+                            Thread.currentThread().interrupt();
+                            throw new IOException(
+                                    "unable to flush; interrupted while doing another attempt", e);
                         }
                     }
                 }
+                if (!flushFlag && null != tableException) {
+                    LOG.info("Put tableIdentifier:{} exception:{}",
+                            tableIdentifier, tableException.getMessage());
+                    if (dirtySinkHelper.getDirtySink() == null &&
+                            !schemaUpdateExceptionPolicy.equals(SchemaUpdateExceptionPolicy.THROW_WITH_STOP)) {
+                        outputMetrics(tableIdentifier, Long.valueOf(tableIdRecordList.size()),
+                                1L, true);
+                    }
+                    tableExceptionMap.put(tableIdentifier, tableException);
+                    if (stopWritingWhenTableException) {
+                        LOG.info("Stop write table:{} because occur exception",
+                                tableIdentifier);
+                        break;
+                    }
+                }
             }
-            tableIdRecordList.clear();
         }
+        tableIdRecordList.clear();
+    }
+
+    /**
+     * Estimate the data size of the record by its field values, it is only used for metrics
+     */
+    static long estimateRecordSize(GenericRowData record) {
+        long size = 0L;
+        for (int i = 0; i < record.getArity(); i++) {
+            Object field = record.getField(i);
+            if (field == null) {
+                continue;
+            }
+            if (field instanceof BinaryStringData) {
+                size += ((BinaryStringData) field).getSizeInBytes();
+            } else if (field instanceof String) {
+                size += utf8Length((String) field);
+            } else if (field instanceof Long || field instanceof Double) {
+                size += Long.BYTES;
+            } else if (field instanceof Integer || field instanceof Float) {
+                size += Integer.BYTES;
+            } else if (field instanceof Short) {
+                size += Short.BYTES;
+            } else if (field instanceof Byte || field instanceof Boolean) {
+                size += Byte.BYTES;
+            } else if (field instanceof TimestampData) {
+                size += Long.BYTES + Integer.BYTES;
+            } else {
+                size += utf8Length(field.toString());
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Count the UTF-8 encoded bytes of the value without encoding it
+     */
+    private static long utf8Length(String value) {
+        long length = 0L;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                length += 1;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
     }
 
     /**
@@ -740,6 +858,12 @@ public class JdbcMultiBatchingOutputFormat<In, JdbcIn, JdbcExec extends JdbcBatc
      * tableIdentifier maybe: ${dbName}.${tbName} or ${dbName}.${schemaName}.${tbName}
      */
     private void outputMetrics(String tableIdentifier, Long rowSize, Long dataSize, boolean dirtyFlag) {
+        synchronized (metricLock) {
+            doOutputMetrics(tableIdentifier, rowSize, dataSize, dirtyFlag);
+        }
+    }
+
+    private void doOutputMetrics(String tableIdentifier, Long rowSize, Long dataSize, boolean dirtyFlag) {
         String[] fieldArray = tableIdentifier.split("\\.");
         if (fieldArray.length == 3) {
             if (dirtyFlag) {
@@ -761,6 +885,12 @@ public class JdbcMultiBatchingOutputFormat<In, JdbcIn, JdbcExec extends JdbcBatc
     }
 
     private void outputMetrics(String tableIdentifier) throws NoSuchFieldException, IllegalAccessException {
+        synchronized (metricLock) {
+            doOutputMetrics(tableIdentifier);
+        }
+    }
+
+    private void doOutputMetrics(String tableIdentifier) throws NoSuchFieldException, IllegalAccessException {
         String[] fieldArray = tableIdentifier.split("\\.");
         // throw an exception if the executor is not enhanced
         JdbcExec executor = jdbcExecMap.get(tableIdentifier);
@@ -808,12 +938,18 @@ public class JdbcMultiBatchingOutputFormat<In, JdbcIn, JdbcExec extends JdbcBatc
                 this.scheduler.shutdown();
             }
 
-            if (batchCount > 0) {
-                try {
-                    flush();
-                } catch (Exception e) {
-                    LOG.warn("Writing records to JDBC failed.", e);
-                    throw new RuntimeException("Writing records to JDBC failed.", e);
+            try {
+                if (batchCount > 0) {
+                    try {
+                        flush();
+                    } catch (Exception e) {
+                        LOG.warn("Writing records to JDBC failed.", e);
+                        throw new RuntimeException("Writing records to JDBC failed.", e);
+                    }
+                }
+            } finally {
+                if (flushExecutor != null) {
+                    flushExecutor.shutdownNow();
                 }
             }
 
@@ -79,6 +79,8 @@ public class JdbcDynamicOutputFormatBuilder implements Serializable {
     private SchemaUpdateExceptionPolicy schemaUpdateExceptionPolicy;
     private DirtyOptions dirtyOptions;
     private DirtySink<Object> dirtySink;
+    private int flushParallelism = 1;
+    private int sizeSampleInterval = 1;
 
     public JdbcDynamicOutputFormatBuilder() {
 
@@ -294,6 +296,16 @@ public class JdbcDynamicOutputFormatBuilder implements Serializable {
         return this;
     }
 
+    public JdbcDynamicOutputFormatBuilder setFlushParallelism(int flushParallelism) {
+        this.flushParallelism = flushParallelism;
+        return this;
+    }
+
+    public JdbcDynamicOutputFormatBuilder setSizeSampleInterval(int sizeSampleInterval) {
+        this.sizeSampleInterval = sizeSampleInterval;
+        return this;
+    }
+
     public JdbcBatchingOutputFormat<RowData, ?, ?> build() {
         checkNotNull(jdbcOptions, "jdbc options can not be null");
         checkNotNull(dmlOptions, "jdbc dml options can not be null");
@@ -303,6 +315,7 @@ public class JdbcDynamicOutputFormatBuilder implements Serializable {
                 Arrays.stream(fieldDataTypes)
                         .map(DataType::getLogicalType)
                         .toArray(LogicalType[]::new);
+        final RowType rowType = RowType.of(logicalTypes, dmlOptions.getFieldNames());
         if (dmlOptions.getKeyFields().isPresent() && dmlOptions.getKeyFields().get().length > 0 && !appendMode) {
             // upsert query
             return new JdbcBatchingOutputFormat<>(
@@ -315,7 +328,9 @@ public class JdbcDynamicOutputFormatBuilder implements Serializable {
                     auditHostAndPorts,
                     dirtyOptions,
                     dirtySink,
-                    auditKeys);
+                    auditKeys,
+                    sizeSampleInterval,
+                    rowType);
         } else {
             // append only query
             final String sql =
@@ -338,7 +353,9 @@ public class JdbcDynamicOutputFormatBuilder implements Serializable {
                     auditHostAndPorts,
                     dirtyOptions,
                     dirtySink,
-                    auditKeys);
+                    auditKeys,
+                    sizeSampleInterval,
+                    rowType);
         }
     }
 
@@ -361,6 +378,7 @@ public class JdbcDynamicOutputFormatBuilder implements Serializable {
                 auditHostAndPorts,
                 schemaUpdateExceptionPolicy,
                 dirtySinkHelper,
-                auditKeys);
+                auditKeys,
+                flushParallelism);
     }
 }
\ No newline at end of file
@@ -54,6 +54,7 @@ import static org.apache.inlong.sort.base.Constants.AUDIT_KEYS;
 import static org.apache.inlong.sort.base.Constants.DIRTY_PREFIX;
 import static org.apache.inlong.sort.base.Constants.INLONG_AUDIT;
 import static org.apache.inlong.sort.base.Constants.INLONG_METRIC;
+import static org.apache.inlong.sort.base.Constants.INLONG_METRIC_SIZE_SAMPLE_INTERVAL;
 import static org.apache.inlong.sort.base.Constants.SINK_MULTIPLE_DATABASE_PATTERN;
 import static org.apache.inlong.sort.base.Constants.SINK_MULTIPLE_ENABLE;
 import static org.apache.inlong.sort.base.Constants.SINK_MULTIPLE_FORMAT;
@@ -198,6 +199,13 @@ public class JdbcDynamicTableFactory implements DynamicTableSourceFactory, Dynam
                             + "is used extract table name from the raw binary data, "
                             + "this is only used in the multiple sink writing scenario.");
 
+    public static final ConfigOption<Integer> SINK_MULTIPLE_FLUSH_PARALLELISM =
+            ConfigOptions.key("sink.multiple.flush.parallelism")
+                    .intType()
+                    .defaultValue(1)
+                    .withDescription("The number of tables flushed concurrently in the multiple sink "
+                            + "writing scenario, the tables are flushed one by one by default.");
+
     @Override
     public DynamicTableSink createDynamicTableSink(Context context) {
         final FactoryUtil.TableFactoryHelper helper =
@@ -212,6 +220,9 @@ public class JdbcDynamicTableFactory implements DynamicTableSourceFactory, Dynam
         String tablePattern = helper.getOptions().getOptional(SINK_MULTIPLE_TABLE_PATTERN).orElse(null);
         String schemaPattern = helper.getOptions().getOptional(SINK_MULTIPLE_SCHEMA_PATTERN).orElse(databasePattern);
         validateSinkMultiple(multipleSink, sinkMultipleFormat, databasePattern, schemaPattern, tablePattern);
+        int flushParallelism = config.get(SINK_MULTIPLE_FLUSH_PARALLELISM);
+        Preconditions.checkArgument(flushParallelism > 0,
+                "The option 'sink.multiple.flush.parallelism' must be positive");
         JdbcOptions jdbcOptions = getJdbcOptions(config);
         TableSchema physicalSchema =
                 TableSchemaUtils.getPhysicalSchema(context.getCatalogTable().getSchema());
@@ -219,6 +230,7 @@ public class JdbcDynamicTableFactory implements DynamicTableSourceFactory, Dynam
         String inlongMetric = config.getOptional(INLONG_METRIC).orElse(null);
         String auditHostAndPorts = config.getOptional(INLONG_AUDIT).orElse(null);
         String auditKeys = config.getOptional(AUDIT_KEYS).orElse(null);
+        int sizeSampleInterval = config.get(INLONG_METRIC_SIZE_SAMPLE_INTERVAL);
         SchemaUpdateExceptionPolicy schemaUpdateExceptionPolicy =
                 helper.getOptions().getOptional(SINK_MULTIPLE_SCHEMA_UPDATE_POLICY).orElse(null);
         // Build the dirty data side-output
@@ -240,7 +252,9 @@ public class JdbcDynamicTableFactory implements DynamicTableSourceFactory, Dynam
                 schemaUpdateExceptionPolicy,
                 dirtyOptions,
                 dirtySink,
-                auditKeys);
+                auditKeys,
+                flushParallelism,
+                sizeSampleInterval);
     }
 
     @Override
@@ -392,8 +406,10 @@ public class JdbcDynamicTableFactory implements DynamicTableSourceFactory, Dynam
         optionalOptions.add(SINK_MULTIPLE_TABLE_PATTERN);
         optionalOptions.add(SINK_MULTIPLE_SCHEMA_PATTERN);
         optionalOptions.add(SINK_MULTIPLE_SCHEMA_UPDATE_POLICY);
+        optionalOptions.add(SINK_MULTIPLE_FLUSH_PARALLELISM);
         optionalOptions.add(INLONG_METRIC);
         optionalOptions.add(INLONG_AUDIT);
+        optionalOptions.add(INLONG_METRIC_SIZE_SAMPLE_INTERVAL);
         optionalOptions.add(AUDIT_KEYS);
         return optionalOptions;
     }
@@ -64,6 +64,8 @@ public class JdbcDynamicTableSink implements DynamicTableSink {
     private final String tablePattern;
     private final String schemaPattern;
     private final SchemaUpdateExceptionPolicy schemaUpdateExceptionPolicy;
+    private final int flushParallelism;
+    private final int sizeSampleInterval;
 
     private final DirtyOptions dirtyOptions;
     private @Nullable final DirtySink<Object> dirtySink;
@@ -84,7 +86,9 @@ public class JdbcDynamicTableSink implements DynamicTableSink {
             SchemaUpdateExceptionPolicy schemaUpdateExceptionPolicy,
             DirtyOptions dirtyOptions,
             @Nullable DirtySink<Object> dirtySink,
-            String auditKeys) {
+            String auditKeys,
+            int flushParallelism,
+            int sizeSampleInterval) {
         this.jdbcOptions = jdbcOptions;
         this.executionOptions = executionOptions;
         this.dmlOptions = dmlOptions;
@@ -102,6 +106,8 @@ public class JdbcDynamicTableSink implements DynamicTableSink {
         this.dirtyOptions = dirtyOptions;
         this.dirtySink = dirtySink;
         this.auditKeys = auditKeys;
+        this.flushParallelism = flushParallelism;
+        this.sizeSampleInterval = sizeSampleInterval;
     }
 
     @Override
@@ -139,11 +145,13 @@ public class JdbcDynamicTableSink implements DynamicTableSink {
             builder.setTablePattern(tablePattern);
             builder.setSchemaPattern(schemaPattern);
             builder.setSchemaUpdatePolicy(schemaUpdateExceptionPolicy);
+            builder.setFlushParallelism(flushParallelism);
             return SinkFunctionProvider.of(
                     new GenericJdbcSinkFunction<>(builder.buildMulti()), jdbcOptions.getParallelism());
         } else {
             builder.setRowDataTypeInfo(rowDataTypeInformation);
             builder.setFieldDataTypes(tableSchema.getFieldDataTypes());
+            builder.setSizeSampleInterval(sizeSampleInterval);
             return SinkFunctionProvider.of(
                     new GenericJdbcSinkFunction<>(builder.build()), jdbcOptions.getParallelism());
         }
@@ -155,7 +163,8 @@ public class JdbcDynamicTableSink implements DynamicTableSink {
                 tableSchema, appendMode, multipleSink, sinkMultipleFormat,
                 databasePattern, tablePattern, schemaPattern,
                 inlongMetric, auditHostAndPorts,
-                schemaUpdateExceptionPolicy, dirtyOptions, dirtySink, auditKeys);
+                schemaUpdateExceptionPolicy, dirtyOptions, dirtySink, auditKeys, flushParallelism,
+                sizeSampleInterval);
     }
 
     @Override
@@ -0,0 +1,219 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.sort.jdbc.internal;
+
+import org.apache.inlong.sort.base.dirty.DirtyOptions;
+import org.apache.inlong.sort.base.dirty.DirtySinkHelper;
+import org.apache.inlong.sort.base.sink.SchemaUpdateExceptionPolicy;
+import org.apache.inlong.sort.jdbc.dialect.MySQLDialect;
+
+import org.apache.flink.api.common.ExecutionConfig;
+import org.apache.flink.api.common.functions.RuntimeContext;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.connector.jdbc.JdbcExecutionOptions;
+import org.apache.flink.connector.jdbc.internal.connection.JdbcConnectionProvider;
+import org.apache.flink.connector.jdbc.internal.executor.JdbcBatchStatementExecutor;
+import org.apache.flink.connector.jdbc.internal.options.JdbcDmlOptions;
+import org.apache.flink.metrics.groups.UnregisteredMetricsGroup;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.StringData;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for the parallel flush of {@link JdbcMultiBatchingOutputFormat} against mocked statement executors.
+ */
+public class JdbcMultiBatchingOutputFormatTest {
+
+    @Test
+    public void testConcurrentFlush() throws Exception {
+        JdbcMultiBatchingOutputFormat<RowData, RowData, JdbcBatchStatementExecutor<RowData>> outputFormat =
+                openFormat(SchemaUpdateExceptionPolicy.THROW_WITH_STOP, 3);
+        Map<String, String> flushThreads = new ConcurrentHashMap<>();
+        // every table waits for the others in executeBatch, so the flush only succeeds if they run concurrently
+        CountDownLatch latch = new CountDownLatch(3);
+        for (String table : new String[]{"t1", "t2", "t3"}) {
+            JdbcBatchStatementExecutor<RowData> executor = mockExecutor(outputFormat, "db." + table);
+            Mockito.doAnswer(invocation -> {
+                flushThreads.put(table, Thread.currentThread().getName());
+                latch.countDown();
+                if (!latch.await(10, TimeUnit.SECONDS)) {
+                    throw new SQLException("the tables are not flushed concurrently");
+                }
+                return null;
+            }).when(executor).executeBatch();
+        }
+
+        outputFormat.writeRecord(buildRecord("t1", 1, "a"));
+        outputFormat.writeRecord(buildRecord("t2", 2, "b"));
+        outputFormat.writeRecord(buildRecord("t3", 3, "c"));
+        outputFormat.flush();
+
+        Assert.assertEquals(0, latch.getCount());
+        Assert.assertEquals(3, flushThreads.values().stream().distinct().count());
+        outputFormat.close();
+    }
+
+    @Test
+    public void testSerialFlush() throws Exception {
+        JdbcMultiBatchingOutputFormat<RowData, RowData, JdbcBatchStatementExecutor<RowData>> outputFormat =
+                openFormat(SchemaUpdateExceptionPolicy.THROW_WITH_STOP, 1);
+        Map<String, String> flushThreads = new ConcurrentHashMap<>();
+        for (String table : new String[]{"t1", "t2"}) {
+            JdbcBatchStatementExecutor<RowData> executor = mockExecutor(outputFormat, "db." + table);
+            Mockito.doAnswer(invocation -> flushThreads.put(table, Thread.currentThread().getName()))
+                    .when(executor).executeBatch();
+        }
+
+        outputFormat.writeRecord(buildRecord("t1", 1, "a"));
+        outputFormat.writeRecord(buildRecord("t2", 2, "b"));
+        outputFormat.flush();
+
+        Assert.assertEquals(Thread.currentThread().getName(), flushThreads.get("t1"));
+        Assert.assertEquals(Thread.currentThread().getName(), flushThreads.get("t2"));
+        outputFormat.close();
+    }
+
+    @Test
+    public void testFailedTablesFailFlush() throws Exception {
+        JdbcMultiBatchingOutputFormat<RowData, RowData, JdbcBatchStatementExecutor<RowData>> outputFormat =
+                openFormat(SchemaUpdateExceptionPolicy.THROW_WITH_STOP, 3);
+        JdbcBatchStatementExecutor<RowData> t1 = mockExecutor(outputFormat, "db.t1");
+        JdbcBatchStatementExecutor<RowData> t2 = mockExecutor(outputFormat, "db.t2");
+        JdbcBatchStatementExecutor<RowData> t3 = mockExecutor(outputFormat, "db.t3");
+        Mockito.doThrow(new SQLException("duplicate key")).when(t1).executeBatch();
+        Mockito.doThrow(new SQLException("duplicate key")).when(t3).executeBatch();
+
+        outputFormat.writeRecord(buildRecord("t1", 1, "a"));
+        outputFormat.writeRecord(buildRecord("t2", 2, "b"));
+        outputFormat.writeRecord(buildRecord("t3", 3, "c"));
+        RuntimeException e = Assert.assertThrows(RuntimeException.class, outputFormat::flush);
+
+        // the failed tables are reported after all the tables are flushed
+        Assert.assertTrue(e.getMessage().startsWith("Writing table get failed, tables are:"));
+        Assert.assertTrue(e.getMessage().contains("db.t1"));
+        Assert.assertTrue(e.getMessage().contains("db.t3"));
+        Assert.assertFalse(e.getMessage().contains("db.t2"));
+        Mockito.verify(t2).executeBatch();
+        Assert.assertThrows(RuntimeException.class, outputFormat::close);
+    }
+
+    @Test
+    public void testCheckpointFailure() throws Exception {
+        JdbcMultiBatchingOutputFormat<RowData, RowData, JdbcBatchStatementExecutor<RowData>> outputFormat =
+                openFormat(SchemaUpdateExceptionPolicy.THROW_WITH_STOP, 2);
+        GenericJdbcSinkFunction<RowData> sinkFunction = new GenericJdbcSinkFunction<>(outputFormat);
+        Mockito.doThrow(new SQLException("duplicate key")).when(mockExecutor(outputFormat, "db.t1")).executeBatch();
+        mockExecutor(outputFormat, "db.t2");
+
+        outputFormat.writeRecord(buildRecord("t1", 1, "a"));
+        outputFormat.writeRecord(buildRecord("t2", 2, "b"));
+        RuntimeException e = Assert.assertThrows(RuntimeException.class, () -> sinkFunction.snapshotState(null));
+
+        Assert.assertEquals("Writing table get failed, tables are:db.t1", e.getMessage());
+        Assert.assertThrows(RuntimeException.class, outputFormat::close);
+    }
+
+    @Test
+    public void testStopPartialSkipsFailedTable() throws Exception {
+        JdbcMultiBatchingOutputFormat<RowData, RowData, JdbcBatchStatementExecutor<RowData>> outputFormat =
+                openFormat(SchemaUpdateExceptionPolicy.STOP_PARTIAL, 2);
+        GenericJdbcSinkFunction<RowData> sinkFunction = new GenericJdbcSinkFunction<>(outputFormat);
+        JdbcBatchStatementExecutor<RowData> t1 = mockExecutor(outputFormat, "db.t1");
+        JdbcBatchStatementExecutor<RowData> t2 = mockExecutor(outputFormat, "db.t2");
+        Mockito.doThrow(new SQLException("duplicate key")).when(t1).executeBatch();
+
+        outputFormat.writeRecord(buildRecord("t1", 1, "a"));
+        outputFormat.writeRecord(buildRecord("t2", 2, "b"));
+        sinkFunction.snapshotState(null);
+        outputFormat.writeRecord(buildRecord("t1", 3, "c"));
+        outputFormat.writeRecord(buildRecord("t2", 4, "d"));
+        sinkFunction.snapshotState(null);
+
+        // the failed table is not written any more, the checkpoint goes on with the other tables
+        Mockito.verify(t1, Mockito.times(1)).executeBatch();
+        Mockito.verify(t2, Mockito.times(2)).executeBatch();
+        outputFormat.close();
+    }
+
+    @Test
+    public void testEstimateRecordSize() {
+        GenericRowData record = GenericRowData.of(1L, "abc", "中文", "😀",
+                StringData.fromString("中文"), null);
+        long expected = Long.BYTES + 3
+                + "中文".getBytes(StandardCharsets.UTF_8).length
+                + "😀".getBytes(StandardCharsets.UTF_8).length
+                + "中文".getBytes(StandardCharsets.UTF_8).length;
+        Assert.assertEquals(expected, JdbcMultiBatchingOutputFormat.estimateRecordSize(record));
+    }
+
+    private static JdbcMultiBatchingOutputFormat<RowData, RowData, JdbcBatchStatementExecutor<RowData>> openFormat(
+            SchemaUpdateExceptionPolicy policy, int flushParallelism) throws Exception {
+        JdbcExecutionOptions executionOptions = JdbcExecutionOptions.builder()
+                .withBatchSize(100)
+                .withBatchIntervalMs(0L)
+                .withMaxRetries(0)
+                .build();
+        // a failed table reconnects its executor, the new executor is built with the dml options but no db
+        JdbcDmlOptions dmlOptions = JdbcDmlOptions.builder()
+                .withTableName("t")
+                .withDialect(new MySQLDialect())
+                .withFieldNames(new String[]{"id", "name"})
+                .build();
+        JdbcMultiBatchingOutputFormat<RowData, RowData, JdbcBatchStatementExecutor<RowData>> outputFormat =
+                new JdbcMultiBatchingOutputFormat<>(Mockito.mock(JdbcConnectionProvider.class), executionOptions,
+                        dmlOptions, true, null, "canal-json", "${database}", "${table}", null,
+                        "groupId=g&streamId=s&nodeId=n", null, policy,
+                        new DirtySinkHelper<>(DirtyOptions.fromConfig(new Configuration()), null), null,
+                        flushParallelism);
+        RuntimeContext runtimeContext = Mockito.mock(RuntimeContext.class);
+        Mockito.when(runtimeContext.getMetricGroup()).thenReturn(new UnregisteredMetricsGroup());
+        Mockito.when(runtimeContext.getExecutionConfig()).thenReturn(new ExecutionConfig());
+        outputFormat.setRuntimeContext(runtimeContext);
+        outputFormat.open(0, 1);
+        return outputFormat;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static JdbcBatchStatementExecutor<RowData> mockExecutor(
+            JdbcMultiBatchingOutputFormat<RowData, RowData, JdbcBatchStatementExecutor<RowData>> outputFormat,
+            String tableIdentifier) throws Exception {
+        JdbcBatchStatementExecutor<RowData> executor = Mockito.mock(JdbcBatchStatementExecutor.class);
+        Field field = JdbcMultiBatchingOutputFormat.class.getDeclaredField("jdbcExecMap");
+        field.setAccessible(true);
+        ((Map<String, JdbcBatchStatementExecutor<RowData>>) field.get(outputFormat)).put(tableIdentifier, executor);
+        return executor;
+    }
+
+    private static RowData buildRecord(String table, int id, String name) {
+        String record = String.format("{\"data\":[{\"id\":\"%d\",\"name\":\"%s\"}],\"type\":\"INSERT\","
+                + "\"database\":\"db\",\"table\":\"%s\",\"pkNames\":[\"id\"],\"isDdl\":false,"
+                + "\"sqlType\":{\"id\":4,\"name\":12}}", id, name, table);
+        return GenericRowData.of((Object) record.getBytes(StandardCharsets.UTF_8));
+    }
+}
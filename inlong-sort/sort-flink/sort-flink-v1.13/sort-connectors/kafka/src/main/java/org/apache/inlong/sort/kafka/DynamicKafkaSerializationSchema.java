@@ -24,6 +24,7 @@ import org.apache.inlong.sort.base.dirty.sink.DirtySink;
 import org.apache.inlong.sort.base.format.DynamicSchemaFormatFactory;
 import org.apache.inlong.sort.base.format.JsonDynamicSchemaFormat;
 import org.apache.inlong.sort.base.metric.sub.SinkTopicMetricData;
+import org.apache.inlong.sort.base.util.CalculateObjectSizeUtils;
 import org.apache.inlong.sort.kafka.KafkaDynamicSink.WritableMetadata;
 import org.apache.inlong.sort.kafka.partitioner.SingleTableCustomFieldsPartitioner;
 import org.apache.inlong.sort.protocol.ddl.operations.Operation;
@@ -51,7 +52,6 @@ import org.slf4j.LoggerFactory;
 import javax.annotation.Nullable;
 
 import java.io.Serializable;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
@@ -296,7 +296,7 @@ class DynamicKafkaSerializationSchema implements KafkaSerializationSchema<RowDat
                     LOG.warn("Dirty sink failed", ex);
                 }
             }
-            metricData.sendOutMetrics(topic, 1, dataNode.toString().getBytes(StandardCharsets.UTF_8).length);
+            metricData.sendOutMetrics(topic, 1, CalculateObjectSizeUtils.getDataSize(dataNode));
         }
     }
 
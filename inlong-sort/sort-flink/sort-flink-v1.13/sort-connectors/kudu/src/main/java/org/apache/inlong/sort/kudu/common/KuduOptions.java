@@ -81,6 +81,41 @@ public class KuduOptions {
                     .defaultValue("60s")
                     .withDescription("The maximum live time for cached results in " +
                             "the lookup source.");
+
+    public static final ConfigOption<Boolean> LOOKUP_ASYNC =
+            ConfigOptions.key("lookup.async")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription("Whether to use the async lookup, which coalesces the concurrent " +
+                            "lookup keys into one scan.");
+
+    public static final ConfigOption<Integer> LOOKUP_ASYNC_BATCH_SIZE =
+            ConfigOptions.key("lookup.async.batch-size")
+                    .intType()
+                    .defaultValue(100)
+                    .withDescription("The maximum number of lookup keys coalesced into one scan " +
+                            "in the async lookup.");
+
+    public static final ConfigOption<String> LOOKUP_ASYNC_BATCH_WAIT =
+            ConfigOptions.key("lookup.async.batch-wait")
+                    .stringType()
+                    .defaultValue("5ms")
+                    .withDescription("The maximum wait time of a lookup key for other keys before " +
+                            "the scan is sent in the async lookup.");
+
+    public static final ConfigOption<Integer> LOOKUP_ASYNC_THREAD_COUNT =
+            ConfigOptions.key("lookup.async.thread-count")
+                    .intType()
+                    .defaultValue(4)
+                    .withDescription("The number of threads sending the scans and retries " +
+                            "in the async lookup.");
+
+    public static final ConfigOption<Boolean> LOOKUP_CACHE_MISSING_KEY =
+            ConfigOptions.key("lookup.cache.missing-key")
+                    .booleanType()
+                    .defaultValue(true)
+                    .withDescription("Whether to cache the lookup key without result " +
+                            "in the async lookup.");
     public static final ConfigOption<Boolean> SINK_START_NEW_CHAIN =
             ConfigOptions.key("sink.start-new-chain")
                     .booleanType()
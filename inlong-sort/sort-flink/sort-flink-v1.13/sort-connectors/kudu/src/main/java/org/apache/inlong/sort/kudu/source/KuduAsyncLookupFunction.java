@@ -0,0 +1,494 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.sort.kudu.source;
+
+import org.apache.inlong.sort.base.metric.MetricOption;
+import org.apache.inlong.sort.base.metric.MetricOption.RegisteredMetric;
+import org.apache.inlong.sort.base.metric.SourceMetricData;
+import org.apache.inlong.sort.kudu.common.KuduOptions;
+import org.apache.inlong.sort.kudu.common.KuduTableInfo;
+
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.shaded.guava18.com.google.common.cache.Cache;
+import org.apache.flink.shaded.guava18.com.google.common.cache.CacheBuilder;
+import org.apache.flink.shaded.guava18.com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.flink.table.functions.AsyncTableFunction;
+import org.apache.flink.table.functions.FunctionContext;
+import org.apache.flink.types.Row;
+import org.apache.kudu.ColumnSchema;
+import org.apache.kudu.Schema;
+import org.apache.kudu.Type;
+import org.apache.kudu.client.KuduClient;
+import org.apache.kudu.client.KuduPredicate;
+import org.apache.kudu.client.KuduScanner;
+import org.apache.kudu.client.KuduTable;
+import org.apache.kudu.client.RowResult;
+import org.apache.kudu.client.RowResultIterator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+import static org.apache.flink.util.TimeUtils.parseDuration;
+import static org.apache.inlong.sort.kudu.common.KuduOptions.DEFAULT_ADMIN_OPERATION_TIMEOUT_IN_MS;
+import static org.apache.inlong.sort.kudu.common.KuduOptions.DEFAULT_OPERATION_TIMEOUT_IN_MS;
+import static org.apache.inlong.sort.kudu.common.KuduOptions.DEFAULT_SOCKET_READ_TIMEOUT_IN_MS;
+import static org.apache.inlong.sort.kudu.common.KuduOptions.DISABLED_STATISTICS;
+import static org.apache.inlong.sort.kudu.common.KuduOptions.LOOKUP_ASYNC_BATCH_SIZE;
+import static org.apache.inlong.sort.kudu.common.KuduOptions.LOOKUP_ASYNC_BATCH_WAIT;
+import static org.apache.inlong.sort.kudu.common.KuduOptions.LOOKUP_ASYNC_THREAD_COUNT;
+import static org.apache.inlong.sort.kudu.common.KuduOptions.LOOKUP_CACHE_MISSING_KEY;
+
+/**
+ * The KuduAsyncLookupFunction is the async version of {@link KuduLookupFunction}, the lookup keys
+ * probed within the batch wait time are coalesced into one scan with in-list predicates, and the
+ * scanned rows are dispatched to the probes by their key values.
+ */
+public class KuduAsyncLookupFunction extends AsyncTableFunction<Row> {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final Logger LOG =
+            LoggerFactory.getLogger(KuduAsyncLookupFunction.class);
+
+    /**
+     * The names of lookup key.
+     */
+    private final String[] keyNames;
+
+    /**
+     * The configuration for the tde source.
+     */
+    private final Configuration configuration;
+
+    /**
+     * The masters of kudu server.
+     */
+    private final String masters;
+
+    /**
+     * The name of kudu table.
+     */
+    private final String tableName;
+
+    /**
+     * The inlong metric labels.
+     */
+    private final String inlongMetric;
+
+    private transient int maxRetries;
+
+    private transient int batchSize;
+
+    private transient long batchWaitMs;
+
+    private transient int threadCount;
+
+    private transient boolean cacheMissingKey;
+
+    /**
+     * The cache for lookup results, the key without result is cached with an empty list.
+     */
+    private transient Cache<List<Object>, List<Row>> cache;
+
+    private transient KuduClient client;
+
+    private transient KuduTable table;
+
+    private transient ColumnSchema[] keyColumns;
+
+    private transient ScheduledExecutorService executor;
+
+    private transient SourceMetricData sourceMetricData;
+
+    /**
+     * The probes waiting for the next scan, the futures of the same key share one result.
+     */
+    private transient Map<List<Object>, List<CompletableFuture<Collection<Row>>>> pendingProbes;
+
+    private transient Object lock;
+
+    public KuduAsyncLookupFunction(
+            KuduTableInfo kuduTableInfo,
+            Configuration configuration,
+            String[] keyNames,
+            String inlongMetric) {
+        checkNotNull(configuration,
+                "The configuration must not be null.");
+
+        this.masters = kuduTableInfo.getMasters();
+        this.tableName = kuduTableInfo.getTableName();
+        this.keyNames = keyNames;
+        this.configuration = configuration;
+        this.inlongMetric = inlongMetric;
+    }
+
+    @Override
+    public void open(FunctionContext context) throws Exception {
+        super.open(context);
+        maxRetries = configuration.getInteger(KuduOptions.MAX_RETRIES);
+        batchSize = configuration.getInteger(LOOKUP_ASYNC_BATCH_SIZE);
+        batchWaitMs = parseDuration(configuration.getString(LOOKUP_ASYNC_BATCH_WAIT)).toMillis();
+        threadCount = configuration.getInteger(LOOKUP_ASYNC_THREAD_COUNT);
+        cacheMissingKey = configuration.getBoolean(LOOKUP_CACHE_MISSING_KEY);
+        checkArgument(batchSize > 0, "The value of '%s' must be positive", LOOKUP_ASYNC_BATCH_SIZE.key());
+        checkArgument(threadCount > 0, "The value of '%s' must be positive", LOOKUP_ASYNC_THREAD_COUNT.key());
+        int maxCacheSize = configuration.getInteger(KuduOptions.MAX_CACHE_SIZE);
+        Duration maxCacheTime = parseDuration(configuration.getString(
+                KuduOptions.MAX_CACHE_TIME));
+        LOG.info("opening KuduAsyncLookupFunction, maxCacheSize:{}, maxCacheTime:{}, batchSize:{}, batchWait:{}ms.",
+                maxCacheSize, maxCacheTime, batchSize, batchWaitMs);
+
+        if (maxCacheSize > 0) {
+            cache =
+                    CacheBuilder.newBuilder()
+                            .maximumSize(maxCacheSize)
+                            .expireAfterWrite(maxCacheTime.toMillis(), TimeUnit.MILLISECONDS)
+                            .build();
+        }
+
+        this.client = buildKuduClient();
+        this.table = client.openTable(tableName);
+        Schema kuduTableSchema = table.getSchema();
+        this.keyColumns = new ColumnSchema[keyNames.length];
+        for (int i = 0; i < keyNames.length; i++) {
+            keyColumns[i] = kuduTableSchema.getColumn(keyNames[i]);
+        }
+
+        this.lock = new Object();
+        this.pendingProbes = new LinkedHashMap<>();
+        this.executor = Executors.newScheduledThreadPool(threadCount,
+                new ThreadFactoryBuilder().setNameFormat("kudu-async-lookup-%d").setDaemon(true).build());
+        MetricOption metricOption = MetricOption.builder()
+                .withInlongLabels(inlongMetric)
+                .withRegisterMetric(RegisteredMetric.ALL)
+                .build();
+        if (metricOption != null) {
+            sourceMetricData = new SourceMetricData(metricOption, context.getMetricGroup());
+            sourceMetricData.registerMetricsForLookup();
+        }
+        LOG.info("KuduAsyncLookupFunction opened.");
+    }
+
+    KuduClient buildKuduClient() {
+        KuduClient.KuduClientBuilder builder = new KuduClient.KuduClientBuilder(masters);
+        if (configuration.getBoolean(DISABLED_STATISTICS)) {
+            builder.disableStatistics();
+        }
+        builder.defaultAdminOperationTimeoutMs(configuration.getLong(DEFAULT_ADMIN_OPERATION_TIMEOUT_IN_MS));
+        builder.defaultOperationTimeoutMs(configuration.getLong(DEFAULT_OPERATION_TIMEOUT_IN_MS));
+        builder.defaultSocketReadTimeoutMs(configuration.getLong(DEFAULT_SOCKET_READ_TIMEOUT_IN_MS));
+
+        return builder
+                .build();
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (executor != null) {
+            executor.shutdown();
+            if (!executor.awaitTermination(batchWaitMs + 1000L, TimeUnit.MILLISECONDS)) {
+                executor.shutdownNow();
+            }
+        }
+        if (client != null) {
+            client.close();
+        }
+        super.close();
+    }
+
+    public void eval(CompletableFuture<Collection<Row>> future, Object... keys) {
+        if (keys.length != keyNames.length) {
+            future.completeExceptionally(
+                    new RuntimeException("The length of lookUpKey and lookUpKeyVals is difference!"));
+            return;
+        }
+        List<Object> keyValues;
+        try {
+            keyValues = toKuduValues(keys);
+        } catch (Exception e) {
+            future.completeExceptionally(e);
+            return;
+        }
+        if (cache != null) {
+            List<Row> cacheRows = cache.getIfPresent(keyValues);
+            if (cacheRows != null) {
+                outputLookupMetrics(1, 0, -1);
+                future.complete(cacheRows);
+                return;
+            }
+        }
+        Map<List<Object>, List<CompletableFuture<Collection<Row>>>> batch = null;
+        boolean schedule = false;
+        synchronized (lock) {
+            pendingProbes.computeIfAbsent(keyValues, k -> new ArrayList<>()).add(future);
+            if (pendingProbes.size() >= batchSize) {
+                batch = pendingProbes;
+                pendingProbes = new LinkedHashMap<>();
+            } else {
+                schedule = pendingProbes.size() == 1;
+            }
+        }
+        try {
+            if (batch != null) {
+                Map<List<Object>, List<CompletableFuture<Collection<Row>>>> fullBatch = batch;
+                executor.execute(() -> lookupBatch(fullBatch));
+            } else if (schedule) {
+                executor.schedule(this::lookupPending, batchWaitMs, TimeUnit.MILLISECONDS);
+            }
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+    }
+
+    private void lookupPending() {
+        Map<List<Object>, List<CompletableFuture<Collection<Row>>>> batch;
+        synchronized (lock) {
+            if (pendingProbes.isEmpty()) {
+                return;
+            }
+            batch = pendingProbes;
+            pendingProbes = new LinkedHashMap<>();
+        }
+        lookupBatch(batch);
+    }
+
+    private void lookupBatch(Map<List<Object>, List<CompletableFuture<Collection<Row>>>> batch) {
+        if (maxRetries <= 0) {
+            // no scan is sent if the max retries is not positive
+            completeExceptionally(batch, new RuntimeException("Execution of Kudu batch scan failed."));
+            return;
+        }
+        int probes = 0;
+        for (List<CompletableFuture<Collection<Row>>> futures : batch.values()) {
+            probes += futures.size();
+        }
+        lookupBatch(batch, 1, probes, System.currentTimeMillis());
+    }
+
+    /**
+     * Send one scan for the batch, a failed scan is retried by the executor after a backoff instead of
+     * blocking the thread, so the other batches are not held up by the retries.
+     */
+    private void lookupBatch(Map<List<Object>, List<CompletableFuture<Collection<Row>>>> batch, int retry,
+            int probes, long startTime) {
+        Map<List<Object>, List<Row>> results;
+        try {
+            results = scanBatch(batch.keySet());
+        } catch (Exception e) {
+            LOG.error(String.format("Kudu batch scan error, retry times = %d", retry), e);
+            if (retry >= maxRetries) {
+                completeExceptionally(batch, new RuntimeException("Execution of Kudu batch scan failed.", e));
+                return;
+            }
+            try {
+                executor.schedule(() -> lookupBatch(batch, retry + 1, probes, startTime),
+                        1000L * (retry + 1), TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e1) {
+                completeExceptionally(batch, e1);
+            }
+            return;
+        }
+        outputLookupMetrics(0, probes, System.currentTimeMillis() - startTime);
+        for (Map.Entry<List<Object>, List<CompletableFuture<Collection<Row>>>> entry : batch.entrySet()) {
+            List<Row> rows = results.getOrDefault(entry.getKey(), Collections.emptyList());
+            if (cache != null && (cacheMissingKey || !rows.isEmpty())) {
+                cache.put(entry.getKey(), rows);
+            }
+            for (CompletableFuture<Collection<Row>> future : entry.getValue()) {
+                future.complete(rows);
+            }
+        }
+    }
+
+    private void completeExceptionally(Map<List<Object>, List<CompletableFuture<Collection<Row>>>> batch,
+            Throwable error) {
+        for (List<CompletableFuture<Collection<Row>>> futures : batch.values()) {
+            futures.forEach(future -> future.completeExceptionally(error));
+        }
+    }
+
+    /**
+     * Scan the rows of all the keys with one in-list predicate for each key column, the scan may return
+     * the rows of the combinations of the key values not probed, which are dropped when dispatching.
+     */
+    Map<List<Object>, List<Row>> scanBatch(Set<List<Object>> batchKeys) throws Exception {
+        KuduScanner.KuduScannerBuilder scannerBuilder = client.newScannerBuilder(table);
+        for (int i = 0; i < keyColumns.length; i++) {
+            Set<Object> values = new LinkedHashSet<>();
+            for (List<Object> keyValues : batchKeys) {
+                values.add(keyValues.get(i));
+            }
+            scannerBuilder.addPredicate(inListPredicate(keyColumns[i], values));
+        }
+        Map<List<Object>, List<Row>> results = new HashMap<>();
+        KuduScanner scanner = scannerBuilder.build();
+        try {
+            while (scanner.hasMoreRows()) {
+                RowResultIterator iterator = scanner.nextRows();
+                while (iterator.hasNext()) {
+                    RowResult rowResult = iterator.next();
+                    List<Object> keyValues = readKuduValues(rowResult);
+                    if (batchKeys.contains(keyValues)) {
+                        results.computeIfAbsent(keyValues, k -> new ArrayList<>()).add(convertor(rowResult));
+                    }
+                }
+            }
+        } finally {
+            scanner.close();
+        }
+        return results;
+    }
+
+    private KuduPredicate inListPredicate(ColumnSchema column, Set<Object> values) {
+        if (column.getType() == Type.BINARY) {
+            List<byte[]> binaries = new ArrayList<>(values.size());
+            for (Object value : values) {
+                binaries.add(toBytes((ByteBuffer) value));
+            }
+            return KuduPredicate.newInListPredicate(column, binaries);
+        }
+        return KuduPredicate.newInListPredicate(column, new ArrayList<>(values));
+    }
+
+    /**
+     * Convert the lookup keys to the values compared by kudu, in the same way as {@link KuduLookupFunction},
+     * the binary is wrapped so that the keys can be compared by value.
+     */
+    private List<Object> toKuduValues(Object[] keys) {
+        List<Object> keyValues = new ArrayList<>(keys.length);
+        for (int i = 0; i < keys.length; i++) {
+            Object value = keys[i];
+            switch (keyColumns[i].getType()) {
+                case STRING:
+                    keyValues.add((String) value);
+                    break;
+                case FLOAT:
+                    keyValues.add((float) value);
+                    break;
+                case INT8:
+                    keyValues.add((byte) value);
+                    break;
+                case INT16:
+                    keyValues.add((short) value);
+                    break;
+                case INT32:
+                    keyValues.add((int) value);
+                    break;
+                case INT64:
+                    keyValues.add((long) value);
+                    break;
+                case DOUBLE:
+                    keyValues.add((double) value);
+                    break;
+                case BOOL:
+                    keyValues.add((boolean) value);
+                    break;
+                case UNIXTIME_MICROS:
+                    keyValues.add((Long) value * 1000);
+                    break;
+                case BINARY:
+                    keyValues.add(ByteBuffer.wrap((byte[]) value));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Illegal var type: " + keyColumns[i].getType());
+            }
+        }
+        return keyValues;
+    }
+
+    private List<Object> readKuduValues(RowResult rowResult) {
+        List<Object> keyValues = new ArrayList<>(keyNames.length);
+        for (int i = 0; i < keyNames.length; i++) {
+            if (rowResult.isNull(keyNames[i])) {
+                keyValues.add(null);
+            } else if (keyColumns[i].getType() == Type.UNIXTIME_MICROS) {
+                keyValues.add(rowResult.getLong(keyNames[i]));
+            } else if (keyColumns[i].getType() == Type.BINARY) {
+                keyValues.add(ByteBuffer.wrap(rowResult.getBinaryCopy(keyNames[i])));
+            } else {
+                keyValues.add(rowResult.getObject(keyNames[i]));
+            }
+        }
+        return keyValues;
+    }
+
+    private static byte[] toBytes(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return bytes;
+    }
+
+    private void outputLookupMetrics(long hits, long misses, long latency) {
+        if (sourceMetricData != null) {
+            sourceMetricData.outputLookupMetrics(hits, misses, latency);
+        }
+    }
+
+    public Row convertor(RowResult row) {
+        Schema schema = row.getColumnProjection();
+
+        Row values = new Row(schema.getColumnCount());
+        schema.getColumns().forEach(column -> {
+            String name = column.getName();
+            int pos = schema.getColumnIndex(name);
+            values.setField(pos, row.getObject(name));
+        });
+        return values;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Objects.hash(configuration, masters, tableName, inlongMetric);
+        result = 31 * result + Arrays.hashCode(keyNames);
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        KuduAsyncLookupFunction that = (KuduAsyncLookupFunction) o;
+        return Arrays.equals(keyNames, that.keyNames) && configuration.equals(that.configuration)
+                && masters.equals(that.masters) && tableName.equals(that.tableName)
+                && Objects.equals(inlongMetric, that.inlongMetric);
+    }
+}
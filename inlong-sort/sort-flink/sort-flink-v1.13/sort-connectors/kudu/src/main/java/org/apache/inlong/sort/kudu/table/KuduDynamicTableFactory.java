@@ -51,6 +51,11 @@ import static org.apache.inlong.sort.kudu.common.KuduOptions.DEFAULT_SOCKET_READ
 import static org.apache.inlong.sort.kudu.common.KuduOptions.DISABLED_STATISTICS;
 import static org.apache.inlong.sort.kudu.common.KuduOptions.ENABLE_KEY_FIELD_CHECK;
 import static org.apache.inlong.sort.kudu.common.KuduOptions.FLUSH_MODE;
+import static org.apache.inlong.sort.kudu.common.KuduOptions.LOOKUP_ASYNC;
+import static org.apache.inlong.sort.kudu.common.KuduOptions.LOOKUP_ASYNC_BATCH_SIZE;
+import static org.apache.inlong.sort.kudu.common.KuduOptions.LOOKUP_ASYNC_BATCH_WAIT;
+import static org.apache.inlong.sort.kudu.common.KuduOptions.LOOKUP_ASYNC_THREAD_COUNT;
+import static org.apache.inlong.sort.kudu.common.KuduOptions.LOOKUP_CACHE_MISSING_KEY;
 import static org.apache.inlong.sort.kudu.common.KuduOptions.MAX_BUFFER_SIZE;
 import static org.apache.inlong.sort.kudu.common.KuduOptions.MAX_BUFFER_TIME;
 import static org.apache.inlong.sort.kudu.common.KuduOptions.MAX_CACHE_SIZE;
@@ -173,6 +178,11 @@ public class KuduDynamicTableFactory
         options.add(FLUSH_MODE);
         options.add(MAX_CACHE_SIZE);
         options.add(MAX_CACHE_TIME);
+        options.add(LOOKUP_ASYNC);
+        options.add(LOOKUP_ASYNC_BATCH_SIZE);
+        options.add(LOOKUP_ASYNC_BATCH_WAIT);
+        options.add(LOOKUP_ASYNC_THREAD_COUNT);
+        options.add(LOOKUP_CACHE_MISSING_KEY);
         options.add(SINK_START_NEW_CHAIN);
         options.add(MAX_RETRIES);
         options.add(MAX_BUFFER_SIZE);
@@ -18,15 +18,19 @@
 package org.apache.inlong.sort.kudu.table;
 
 import org.apache.inlong.sort.kudu.common.KuduTableInfo;
+import org.apache.inlong.sort.kudu.source.KuduAsyncLookupFunction;
 import org.apache.inlong.sort.kudu.source.KuduLookupFunction;
 
 import org.apache.flink.configuration.Configuration;
+import org.apache.flink.table.connector.source.AsyncTableFunctionProvider;
 import org.apache.flink.table.connector.source.DynamicTableSource;
 import org.apache.flink.table.connector.source.LookupTableSource;
 import org.apache.flink.table.connector.source.TableFunctionProvider;
 
 import java.util.Objects;
 
+import static org.apache.inlong.sort.kudu.common.KuduOptions.LOOKUP_ASYNC;
+
 /**
  * Creates a TableSource to scan a kudu table.
  */
@@ -84,6 +88,20 @@ public class KuduDynamicTableSource implements LookupTableSource {
 
     @Override
     public LookupRuntimeProvider getLookupRuntimeProvider(LookupContext lookupContext) {
+        if (configuration.getBoolean(LOOKUP_ASYNC)) {
+            int[][] keys = lookupContext.getKeys();
+            String[] fieldNames = kuduTableInfo.getFieldNames();
+            String[] keyNames = new String[keys.length];
+            for (int i = 0; i < keys.length; i++) {
+                keyNames[i] = fieldNames[keys[i][0]];
+            }
+            return AsyncTableFunctionProvider.of(
+                    new KuduAsyncLookupFunction(
+                            kuduTableInfo,
+                            configuration,
+                            keyNames,
+                            inlongMetric));
+        }
         return TableFunctionProvider.of(
                 new KuduLookupFunction(
                         kuduTableInfo,
@@ -0,0 +1,266 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.sort.kudu.source;
+
+import org.apache.inlong.sort.kudu.common.KuduOptions;
+import org.apache.inlong.sort.kudu.common.KuduTableInfo;
+
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.table.functions.FunctionContext;
+import org.apache.flink.types.Row;
+import org.apache.kudu.ColumnSchema;
+import org.apache.kudu.Schema;
+import org.apache.kudu.Type;
+import org.apache.kudu.client.KuduClient;
+import org.apache.kudu.client.KuduTable;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link KuduAsyncLookupFunction}, the kudu client is mocked and the scans are served in memory.
+ */
+public class KuduAsyncLookupFunctionTest {
+
+    private static final long TIMEOUT_MS = 10000L;
+
+    private static final String MISSING_KEY = "missing";
+
+    /**
+     * The keys of each scan sent to kudu.
+     */
+    private List<Set<List<Object>>> scans;
+
+    /**
+     * The number of the scans to fail before the scans succeed.
+     */
+    private AtomicInteger scanFailures;
+
+    private KuduAsyncLookupFunction function;
+
+    @Before
+    public void setUp() {
+        scans = Collections.synchronizedList(new ArrayList<>());
+        scanFailures = new AtomicInteger();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (function != null) {
+            function.close();
+        }
+    }
+
+    @Test
+    public void testBatchBySize() throws Exception {
+        Configuration configuration = new Configuration();
+        configuration.set(KuduOptions.LOOKUP_ASYNC_BATCH_SIZE, 3);
+        configuration.set(KuduOptions.LOOKUP_ASYNC_BATCH_WAIT, "1s");
+        openFunction(configuration);
+
+        long startTime = System.currentTimeMillis();
+        List<CompletableFuture<Collection<Row>>> futures = new ArrayList<>();
+        for (String key : Arrays.asList("k1", "k2", "k3")) {
+            futures.add(lookup(key));
+        }
+        assertEquals("name-k1", getName(futures.get(0)));
+        assertEquals("name-k2", getName(futures.get(1)));
+        assertEquals("name-k3", getName(futures.get(2)));
+        // the full batch is sent without waiting for the batch wait time
+        assertTrue(System.currentTimeMillis() - startTime < 1000L);
+        assertEquals(Collections.singletonList(keys("k1", "k2", "k3")), scans);
+    }
+
+    @Test
+    public void testBatchByWaitTime() throws Exception {
+        Configuration configuration = new Configuration();
+        configuration.set(KuduOptions.LOOKUP_ASYNC_BATCH_SIZE, 100);
+        configuration.set(KuduOptions.LOOKUP_ASYNC_BATCH_WAIT, "50ms");
+        openFunction(configuration);
+
+        CompletableFuture<Collection<Row>> future1 = lookup("k1");
+        CompletableFuture<Collection<Row>> future2 = lookup("k2");
+        // the probes of the same key share one result
+        CompletableFuture<Collection<Row>> future3 = lookup("k1");
+        assertEquals("name-k1", getName(future1));
+        assertEquals("name-k2", getName(future2));
+        assertEquals("name-k1", getName(future3));
+        assertEquals(Collections.singletonList(keys("k1", "k2")), scans);
+    }
+
+    @Test
+    public void testCacheHit() throws Exception {
+        Configuration configuration = cacheConfiguration();
+        openFunction(configuration);
+
+        assertEquals("name-k1", getName(lookup("k1")));
+        assertEquals("name-k1", getName(lookup("k1")));
+        assertEquals(1, scans.size());
+    }
+
+    @Test
+    public void testCacheMissingKey() throws Exception {
+        Configuration configuration = cacheConfiguration();
+        configuration.set(KuduOptions.LOOKUP_CACHE_MISSING_KEY, true);
+        openFunction(configuration);
+
+        assertTrue(lookup(MISSING_KEY).get(TIMEOUT_MS, TimeUnit.MILLISECONDS).isEmpty());
+        assertTrue(lookup(MISSING_KEY).get(TIMEOUT_MS, TimeUnit.MILLISECONDS).isEmpty());
+        assertEquals(1, scans.size());
+    }
+
+    @Test
+    public void testNotCacheMissingKey() throws Exception {
+        Configuration configuration = cacheConfiguration();
+        configuration.set(KuduOptions.LOOKUP_CACHE_MISSING_KEY, false);
+        openFunction(configuration);
+
+        assertTrue(lookup(MISSING_KEY).get(TIMEOUT_MS, TimeUnit.MILLISECONDS).isEmpty());
+        assertTrue(lookup(MISSING_KEY).get(TIMEOUT_MS, TimeUnit.MILLISECONDS).isEmpty());
+        assertEquals(2, scans.size());
+    }
+
+    @Test
+    public void testRetryThenSuccess() throws Exception {
+        Configuration configuration = new Configuration();
+        configuration.set(KuduOptions.MAX_RETRIES, 2);
+        configuration.set(KuduOptions.LOOKUP_ASYNC_BATCH_WAIT, "0ms");
+        scanFailures.set(1);
+        openFunction(configuration);
+
+        assertEquals("name-k1", getName(lookup("k1")));
+        assertEquals(2, scans.size());
+    }
+
+    @Test
+    public void testFailureCompletesExceptionally() throws Exception {
+        Configuration configuration = new Configuration();
+        configuration.set(KuduOptions.MAX_RETRIES, 2);
+        configuration.set(KuduOptions.LOOKUP_ASYNC_BATCH_WAIT, "0ms");
+        scanFailures.set(Integer.MAX_VALUE);
+        openFunction(configuration);
+
+        assertFailed(lookup("k1"));
+        assertEquals(2, scans.size());
+    }
+
+    @Test
+    public void testNoScanWithoutRetries() throws Exception {
+        Configuration configuration = new Configuration();
+        configuration.set(KuduOptions.MAX_RETRIES, 0);
+        configuration.set(KuduOptions.LOOKUP_ASYNC_BATCH_WAIT, "0ms");
+        openFunction(configuration);
+
+        assertFailed(lookup("k1"));
+        assertTrue(scans.isEmpty());
+    }
+
+    private static Configuration cacheConfiguration() {
+        Configuration configuration = new Configuration();
+        configuration.set(KuduOptions.MAX_CACHE_SIZE, 100);
+        configuration.set(KuduOptions.MAX_CACHE_TIME, "60s");
+        configuration.set(KuduOptions.LOOKUP_ASYNC_BATCH_WAIT, "0ms");
+        return configuration;
+    }
+
+    private void openFunction(Configuration configuration) throws Exception {
+        Schema schema = new Schema(Arrays.asList(
+                new ColumnSchema.ColumnSchemaBuilder("id", Type.STRING).key(true).build(),
+                new ColumnSchema.ColumnSchemaBuilder("name", Type.STRING).nullable(true).build()));
+        KuduTable table = Mockito.mock(KuduTable.class);
+        when(table.getSchema()).thenReturn(schema);
+        KuduClient client = Mockito.mock(KuduClient.class);
+        when(client.openTable("test")).thenReturn(table);
+
+        KuduTableInfo tableInfo = new KuduTableInfo("localhost:7051", "test",
+                new String[]{"id", "name"}, null);
+        function = new KuduAsyncLookupFunction(tableInfo, configuration, new String[]{"id"}, null) {
+
+            @Override
+            KuduClient buildKuduClient() {
+                return client;
+            }
+
+            @Override
+            Map<List<Object>, List<Row>> scanBatch(Set<List<Object>> batchKeys) throws Exception {
+                scans.add(new LinkedHashSet<>(batchKeys));
+                if (scanFailures.getAndDecrement() > 0) {
+                    throw new RuntimeException("tablet server unavailable");
+                }
+                Map<List<Object>, List<Row>> results = new HashMap<>();
+                for (List<Object> keyValues : batchKeys) {
+                    if (!MISSING_KEY.equals(keyValues.get(0))) {
+                        results.put(keyValues, Collections.singletonList(
+                                Row.of(keyValues.get(0), "name-" + keyValues.get(0))));
+                    }
+                }
+                return results;
+            }
+        };
+        function.open(new FunctionContext(null));
+    }
+
+    private CompletableFuture<Collection<Row>> lookup(String key) {
+        CompletableFuture<Collection<Row>> future = new CompletableFuture<>();
+        function.eval(future, key);
+        return future;
+    }
+
+    private static Set<List<Object>> keys(String... keys) {
+        Set<List<Object>> keySet = new LinkedHashSet<>();
+        for (String key : keys) {
+            keySet.add(Collections.singletonList(key));
+        }
+        return keySet;
+    }
+
+    private static String getName(CompletableFuture<Collection<Row>> future) throws Exception {
+        Collection<Row> rows = future.get(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        assertEquals(1, rows.size());
+        return (String) rows.iterator().next().getField(1);
+    }
+
+    private static void assertFailed(CompletableFuture<Collection<Row>> future) throws Exception {
+        try {
+            future.get(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            fail("The lookup should fail");
+        } catch (ExecutionException e) {
+            assertEquals("Execution of Kudu batch scan failed.", e.getCause().getMessage());
+        }
+    }
+}
@@ -30,21 +30,35 @@ public class RedisLookupOptions implements Serializable {
 
     private static final long serialVersionUID = 1L;
     private static final int DEFAULT_MAX_RETRY_TIMES = 3;
+    private static final int DEFAULT_ASYNC_BATCH_SIZE = 100;
+    private static final long DEFAULT_ASYNC_BATCH_WAIT_MS = 5L;
+    private static final int DEFAULT_ASYNC_THREAD_COUNT = 4;
 
     private final long cacheMaxSize;
     private final long cacheExpireMs;
     private final int maxRetryTimes;
-    /**
-     * Asynchronous processing has not been implemented yet, but the entry is reserved
-     */
     private final boolean lookupAsync;
+    private final int asyncBatchSize;
+    private final long asyncBatchWaitMs;
+    private final int asyncThreadCount;
+    private final boolean cacheMissingKey;
 
     public RedisLookupOptions(
             long cacheMaxSize, long cacheExpireMs, int maxRetryTimes, boolean lookupAsync) {
+        this(cacheMaxSize, cacheExpireMs, maxRetryTimes, lookupAsync, DEFAULT_ASYNC_BATCH_SIZE,
+                DEFAULT_ASYNC_BATCH_WAIT_MS, DEFAULT_ASYNC_THREAD_COUNT, true);
+    }
+
+    public RedisLookupOptions(long cacheMaxSize, long cacheExpireMs, int maxRetryTimes, boolean lookupAsync,
+            int asyncBatchSize, long asyncBatchWaitMs, int asyncThreadCount, boolean cacheMissingKey) {
         this.cacheMaxSize = cacheMaxSize;
         this.cacheExpireMs = cacheExpireMs;
         this.maxRetryTimes = maxRetryTimes;
         this.lookupAsync = lookupAsync;
+        this.asyncBatchSize = asyncBatchSize;
+        this.asyncBatchWaitMs = asyncBatchWaitMs;
+        this.asyncThreadCount = asyncThreadCount;
+        this.cacheMissingKey = cacheMissingKey;
     }
 
     public static Builder builder() {
@@ -67,6 +81,22 @@ public class RedisLookupOptions implements Serializable {
         return lookupAsync;
     }
 
+    public int getAsyncBatchSize() {
+        return asyncBatchSize;
+    }
+
+    public long getAsyncBatchWaitMs() {
+        return asyncBatchWaitMs;
+    }
+
+    public int getAsyncThreadCount() {
+        return asyncThreadCount;
+    }
+
+    public boolean getCacheMissingKey() {
+        return cacheMissingKey;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (o instanceof RedisLookupOptions) {
@@ -74,7 +104,11 @@ public class RedisLookupOptions implements Serializable {
             return Objects.equals(cacheMaxSize, options.cacheMaxSize)
                     && Objects.equals(cacheExpireMs, options.cacheExpireMs)
                     && Objects.equals(maxRetryTimes, options.maxRetryTimes)
-                    && Objects.equals(lookupAsync, options.lookupAsync);
+                    && Objects.equals(lookupAsync, options.lookupAsync)
+                    && Objects.equals(asyncBatchSize, options.asyncBatchSize)
+                    && Objects.equals(asyncBatchWaitMs, options.asyncBatchWaitMs)
+                    && Objects.equals(asyncThreadCount, options.asyncThreadCount)
+                    && Objects.equals(cacheMissingKey, options.cacheMissingKey);
         } else {
             return false;
         }
@@ -89,6 +123,10 @@ public class RedisLookupOptions implements Serializable {
         private long cacheExpireMs = 0L;
         private int maxRetryTimes = DEFAULT_MAX_RETRY_TIMES;
         private boolean lookupAsync = false;
+        private int asyncBatchSize = DEFAULT_ASYNC_BATCH_SIZE;
+        private long asyncBatchWaitMs = DEFAULT_ASYNC_BATCH_WAIT_MS;
+        private int asyncThreadCount = DEFAULT_ASYNC_THREAD_COUNT;
+        private boolean cacheMissingKey = true;
 
         /**
          * optional, lookup cache max size, over this value, the old data will be eliminated.
@@ -122,8 +160,41 @@ public class RedisLookupOptions implements Serializable {
             return this;
         }
 
+        /**
+         * optional, the max number of keys coalesced into one request of the async lookup.
+         */
+        public Builder setAsyncBatchSize(int asyncBatchSize) {
+            this.asyncBatchSize = asyncBatchSize;
+            return this;
+        }
+
+        /**
+         * optional, the max time in milliseconds a key of the async lookup waits for other keys.
+         */
+        public Builder setAsyncBatchWaitMs(long asyncBatchWaitMs) {
+            this.asyncBatchWaitMs = asyncBatchWaitMs;
+            return this;
+        }
+
+        /**
+         * optional, the number of threads sending the requests and retries of the async lookup.
+         */
+        public Builder setAsyncThreadCount(int asyncThreadCount) {
+            this.asyncThreadCount = asyncThreadCount;
+            return this;
+        }
+
+        /**
+         * optional, whether to cache the key which does not exist.
+         */
+        public Builder setCacheMissingKey(boolean cacheMissingKey) {
+            this.cacheMissingKey = cacheMissingKey;
+            return this;
+        }
+
         public RedisLookupOptions build() {
-            return new RedisLookupOptions(cacheMaxSize, cacheExpireMs, maxRetryTimes, lookupAsync);
+            return new RedisLookupOptions(cacheMaxSize, cacheExpireMs, maxRetryTimes, lookupAsync,
+                    asyncBatchSize, asyncBatchWaitMs, asyncThreadCount, cacheMissingKey);
         }
     }
 }
@@ -200,6 +200,39 @@ public class RedisOptions {
                     .booleanType()
                     .defaultValue(false)
                     .withDescription("whether to set async lookup.");
+    /**
+     * Lookup async batch size
+     */
+    public static final ConfigOption<Integer> LOOKUP_ASYNC_BATCH_SIZE =
+            ConfigOptions.key("lookup.async.batch-size")
+                    .intType()
+                    .defaultValue(100)
+                    .withDescription("The max number of keys coalesced into one request of the async lookup.");
+    /**
+     * Lookup async batch wait
+     */
+    public static final ConfigOption<Long> LOOKUP_ASYNC_BATCH_WAIT =
+            ConfigOptions.key("lookup.async.batch-wait")
+                    .longType()
+                    .defaultValue(5L)
+                    .withDescription("The max time in milliseconds a key of the async lookup waits for "
+                            + "other keys before the request is sent.");
+    /**
+     * Lookup async thread count
+     */
+    public static final ConfigOption<Integer> LOOKUP_ASYNC_THREAD_COUNT =
+            ConfigOptions.key("lookup.async.thread-count")
+                    .intType()
+                    .defaultValue(4)
+                    .withDescription("The number of threads sending the requests and retries of the async lookup.");
+    /**
+     * Lookup cache missing key
+     */
+    public static final ConfigOption<Boolean> LOOKUP_CACHE_MISSING_KEY =
+            ConfigOptions.key("lookup.cache.missing-key")
+                    .booleanType()
+                    .defaultValue(true)
+                    .withDescription("Whether to cache the key which does not exist in redis.");
 
     public static final ConfigOption<String> EXPIRE_TIME =
             ConfigOptions.key("expire-time")
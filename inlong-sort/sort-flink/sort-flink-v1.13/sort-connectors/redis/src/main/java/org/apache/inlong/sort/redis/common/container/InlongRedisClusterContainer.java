@@ -22,6 +22,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import redis.clients.jedis.JedisCluster;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * The redis cluster contain expand from {@link RedisClusterContainer}
  */
@@ -126,4 +129,48 @@ public class InlongRedisClusterContainer extends RedisClusterContainer implement
             throw e;
         }
     }
+
+    /**
+     * The keys of a lookup batch usually map to different slots, which is not allowed by the mget of cluster,
+     * so they are got one by one.
+     */
+    @Override
+    public List<String> mget(List<String> keys) {
+        List<String> values = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            values.add(get(key));
+        }
+        return values;
+    }
+
+    @Override
+    public List<String> hmget(String key, List<String> hashFields) {
+        try {
+            return jedisCluster.hmget(key, hashFields.toArray(new String[0]));
+        } catch (Exception e) {
+            if (LOG.isErrorEnabled()) {
+                LOG.error("Cannot get values with hmget command from key {} of {} fields error message {}",
+                        key, hashFields.size(), e.getMessage());
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public List<Double> zscores(String key, List<String> members) {
+        List<Double> scores = new ArrayList<>(members.size());
+        for (String member : members) {
+            scores.add(zscore(key, member));
+        }
+        return scores;
+    }
+
+    @Override
+    public List<Long> zrevranks(String key, List<String> members) {
+        List<Long> ranks = new ArrayList<>(members.size());
+        for (String member : members) {
+            ranks.add(zrevrank(key, member));
+        }
+        return ranks;
+    }
 }
@@ -19,6 +19,8 @@ package org.apache.inlong.sort.redis.common.container;
 
 import org.apache.flink.streaming.connectors.redis.common.container.RedisCommandsContainer;
 
+import java.util.List;
+
 /**
  * The container interface expand from {@link RedisCommandsContainer}
  */
@@ -75,4 +77,39 @@ public interface InlongRedisCommandsContainer extends RedisCommandsContainer {
     Long zrevrank(String key, String member);
 
     void setBit(String key, Long offset, Boolean value);
+
+    /**
+     * Get values from specified keys in one request
+     *
+     * @param keys The specified keys
+     * @return The values of specified keys, in the order of the keys
+     */
+    List<String> mget(List<String> keys);
+
+    /**
+     * Get values from specified key with hashFields in one request
+     *
+     * @param key The specified key
+     * @param hashFields The hash fields
+     * @return The values of the hash fields, in the order of the hash fields
+     */
+    List<String> hmget(String key, List<String> hashFields);
+
+    /**
+     * Get scores from specified key with members in one request
+     *
+     * @param key The specified key
+     * @param members The members of sorted-set
+     * @return The scores of the members, in the order of the members
+     */
+    List<Double> zscores(String key, List<String> members);
+
+    /**
+     * Get reverse ranks from specified key with members in one request
+     *
+     * @param key The specified key
+     * @param members The members of sorted-set
+     * @return The reverse ranks of the members, in the order of the members
+     */
+    List<Long> zrevranks(String key, List<String> members);
 }
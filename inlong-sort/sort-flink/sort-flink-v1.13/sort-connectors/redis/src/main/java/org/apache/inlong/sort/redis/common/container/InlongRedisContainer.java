@@ -23,6 +23,11 @@ import org.slf4j.LoggerFactory;
 import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisPool;
 import redis.clients.jedis.JedisSentinelPool;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * The redis contain expand from {@link RedisContainer}
@@ -175,6 +180,94 @@ public class InlongRedisContainer extends RedisContainer implements InlongRedisC
         }
     }
 
+    @Override
+    public List<String> mget(List<String> keys) {
+        Jedis jedis = null;
+        try {
+            jedis = getInstance();
+            return jedis.mget(keys.toArray(new String[0]));
+        } catch (Exception e) {
+            if (LOG.isErrorEnabled()) {
+                LOG.error("Cannot get values with mget command from {} keys error message {}",
+                        keys.size(), e.getMessage());
+            }
+            throw e;
+        } finally {
+            releaseInstance(jedis);
+        }
+    }
+
+    @Override
+    public List<String> hmget(String key, List<String> hashFields) {
+        Jedis jedis = null;
+        try {
+            jedis = getInstance();
+            return jedis.hmget(key, hashFields.toArray(new String[0]));
+        } catch (Exception e) {
+            if (LOG.isErrorEnabled()) {
+                LOG.error("Cannot get values with hmget command from key {} of {} fields error message {}",
+                        key, hashFields.size(), e.getMessage());
+            }
+            throw e;
+        } finally {
+            releaseInstance(jedis);
+        }
+    }
+
+    @Override
+    public List<Double> zscores(String key, List<String> members) {
+        Jedis jedis = null;
+        try {
+            jedis = getInstance();
+            Pipeline pipeline = jedis.pipelined();
+            List<Response<Double>> responses = new ArrayList<>(members.size());
+            for (String member : members) {
+                responses.add(pipeline.zscore(key, member));
+            }
+            pipeline.sync();
+            List<Double> scores = new ArrayList<>(members.size());
+            for (Response<Double> response : responses) {
+                scores.add(response.get());
+            }
+            return scores;
+        } catch (Exception e) {
+            if (LOG.isErrorEnabled()) {
+                LOG.error("Cannot get values with pipelined zscore command from key {} of {} members error message {}",
+                        key, members.size(), e.getMessage());
+            }
+            throw e;
+        } finally {
+            releaseInstance(jedis);
+        }
+    }
+
+    @Override
+    public List<Long> zrevranks(String key, List<String> members) {
+        Jedis jedis = null;
+        try {
+            jedis = getInstance();
+            Pipeline pipeline = jedis.pipelined();
+            List<Response<Long>> responses = new ArrayList<>(members.size());
+            for (String member : members) {
+                responses.add(pipeline.zrevrank(key, member));
+            }
+            pipeline.sync();
+            List<Long> ranks = new ArrayList<>(members.size());
+            for (Response<Long> response : responses) {
+                ranks.add(response.get());
+            }
+            return ranks;
+        } catch (Exception e) {
+            if (LOG.isErrorEnabled()) {
+                LOG.error("Cannot get values with pipelined zrevrank command from key {} of {} members "
+                        + "error message {}", key, members.size(), e.getMessage());
+            }
+            throw e;
+        } finally {
+            releaseInstance(jedis);
+        }
+    }
+
     public Jedis getInstance() {
         if (jedisSentinelPool != null) {
             return jedisSentinelPool.getResource();
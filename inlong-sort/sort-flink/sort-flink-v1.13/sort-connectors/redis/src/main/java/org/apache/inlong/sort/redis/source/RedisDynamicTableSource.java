@@ -29,6 +29,7 @@ import org.apache.flink.configuration.ReadableConfig;
 import org.apache.flink.streaming.connectors.redis.common.config.FlinkJedisConfigBase;
 import org.apache.flink.streaming.connectors.redis.common.hanlder.RedisHandlerServices;
 import org.apache.flink.table.catalog.ResolvedSchema;
+import org.apache.flink.table.connector.source.AsyncTableFunctionProvider;
 import org.apache.flink.table.connector.source.DynamicTableSource;
 import org.apache.flink.table.connector.source.LookupTableSource;
 import org.apache.flink.table.connector.source.TableFunctionProvider;
@@ -40,6 +41,7 @@ import java.util.Map;
 import static org.apache.flink.table.types.logical.LogicalTypeRoot.BIGINT;
 import static org.apache.flink.table.types.logical.LogicalTypeRoot.DOUBLE;
 import static org.apache.flink.table.types.logical.LogicalTypeRoot.VARCHAR;
+import static org.apache.inlong.sort.base.Constants.INLONG_METRIC;
 
 /**
  * Redis dynamic table source
@@ -89,6 +91,12 @@ public class RedisDynamicTableSource implements LookupTableSource {
 
     @Override
     public LookupRuntimeProvider getLookupRuntimeProvider(LookupContext context) {
+        if (redisLookupOptions.getLookupAsync()) {
+            String inlongMetric = config.getOptional(INLONG_METRIC).orElse(INLONG_METRIC.defaultValue());
+            return AsyncTableFunctionProvider.of(new RedisRowDataAsyncLookupFunction(
+                    redisMapper.getCommandDescription(), flinkJedisConfigBase, this.redisLookupOptions,
+                    inlongMetric));
+        }
         return TableFunctionProvider.of(new RedisRowDataLookupFunction(
                 redisMapper.getCommandDescription(), flinkJedisConfigBase, this.redisLookupOptions));
     }
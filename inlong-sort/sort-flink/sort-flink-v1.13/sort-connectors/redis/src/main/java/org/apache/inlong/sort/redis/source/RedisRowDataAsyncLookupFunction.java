@@ -0,0 +1,287 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.sort.redis.source;
+
+import org.apache.inlong.sort.base.metric.MetricOption;
+import org.apache.inlong.sort.base.metric.MetricOption.RegisteredMetric;
+import org.apache.inlong.sort.base.metric.SourceMetricData;
+import org.apache.inlong.sort.redis.common.config.RedisLookupOptions;
+import org.apache.inlong.sort.redis.common.container.InlongRedisCommandsContainer;
+import org.apache.inlong.sort.redis.common.container.RedisCommandsContainerBuilder;
+import org.apache.inlong.sort.redis.common.mapper.RedisCommand;
+import org.apache.inlong.sort.redis.common.mapper.RedisCommandDescription;
+
+import org.apache.flink.runtime.util.ExecutorThreadFactory;
+import org.apache.flink.shaded.guava18.com.google.common.cache.Cache;
+import org.apache.flink.shaded.guava18.com.google.common.cache.CacheBuilder;
+import org.apache.flink.streaming.connectors.redis.common.config.FlinkJedisConfigBase;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.functions.AsyncTableFunction;
+import org.apache.flink.table.functions.FunctionContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis RowData async lookup function, the keys probed within the batch wait time are coalesced
+ * into one MGET, HMGET or pipelined request, only support one key
+ */
+public class RedisRowDataAsyncLookupFunction extends AsyncTableFunction<RowData> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RedisRowDataAsyncLookupFunction.class);
+
+    private static final long serialVersionUID = 1L;
+
+    private final long cacheMaxSize;
+    private final long cacheExpireMs;
+    private final int maxRetryTimes;
+    private final boolean cacheMissingKey;
+    private final int batchSize;
+    private final long batchWaitMs;
+    private final int threadCount;
+    private final FlinkJedisConfigBase flinkJedisConfigBase;
+    private final String additionalKey;
+    private final RedisCommand redisCommand;
+    private final String inlongMetric;
+    private transient Cache<String, RowData> cache;
+    private transient InlongRedisCommandsContainer redisCommandsContainer;
+    private transient ScheduledExecutorService executor;
+    private transient SourceMetricData sourceMetricData;
+    /**
+     * The probes waiting for the next request, the futures of the same key share one result
+     */
+    private transient Map<String, List<CompletableFuture<Collection<RowData>>>> pendingProbes;
+    private transient Object lock;
+
+    RedisRowDataAsyncLookupFunction(RedisCommandDescription redisCommandDescription,
+            FlinkJedisConfigBase flinkJedisConfigBase, RedisLookupOptions redisLookupOptions, String inlongMetric) {
+        this.flinkJedisConfigBase = flinkJedisConfigBase;
+        this.redisCommand = redisCommandDescription.getCommand();
+        this.additionalKey = redisCommandDescription.getAdditionalKey();
+        this.cacheMaxSize = redisLookupOptions.getCacheMaxSize();
+        this.cacheExpireMs = redisLookupOptions.getCacheExpireMs();
+        this.maxRetryTimes = redisLookupOptions.getMaxRetryTimes();
+        this.cacheMissingKey = redisLookupOptions.getCacheMissingKey();
+        this.batchSize = redisLookupOptions.getAsyncBatchSize();
+        this.batchWaitMs = redisLookupOptions.getAsyncBatchWaitMs();
+        this.threadCount = redisLookupOptions.getAsyncThreadCount();
+        this.inlongMetric = inlongMetric;
+    }
+
+    /**
+     * This is a lookup method which is called by Flink framework in runtime, only support one key
+     *
+     * @param future The result future
+     * @param keys lookup keys
+     */
+    public void eval(CompletableFuture<Collection<RowData>> future, Object... keys) {
+        String key = keys[0].toString();
+        if (cache != null) {
+            RowData cachedRow = cache.getIfPresent(key);
+            if (cachedRow != null) {
+                outputLookupMetrics(1, 0, -1);
+                future.complete(Collections.singletonList(cachedRow));
+                return;
+            }
+        }
+        Map<String, List<CompletableFuture<Collection<RowData>>>> batch = null;
+        boolean schedule = false;
+        synchronized (lock) {
+            pendingProbes.computeIfAbsent(key, k -> new ArrayList<>()).add(future);
+            if (pendingProbes.size() >= batchSize) {
+                batch = pendingProbes;
+                pendingProbes = new LinkedHashMap<>();
+            } else {
+                schedule = pendingProbes.size() == 1;
+            }
+        }
+        try {
+            if (batch != null) {
+                Map<String, List<CompletableFuture<Collection<RowData>>>> fullBatch = batch;
+                executor.execute(() -> lookupBatch(fullBatch));
+            } else if (schedule) {
+                executor.schedule(this::lookupPending, batchWaitMs, TimeUnit.MILLISECONDS);
+            }
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+    }
+
+    private void lookupPending() {
+        Map<String, List<CompletableFuture<Collection<RowData>>>> batch;
+        synchronized (lock) {
+            if (pendingProbes.isEmpty()) {
+                return;
+            }
+            batch = pendingProbes;
+            pendingProbes = new LinkedHashMap<>();
+        }
+        lookupBatch(batch);
+    }
+
+    private void lookupBatch(Map<String, List<CompletableFuture<Collection<RowData>>>> batch) {
+        int probes = 0;
+        for (List<CompletableFuture<Collection<RowData>>> futures : batch.values()) {
+            probes += futures.size();
+        }
+        lookupBatch(batch, 0, probes, System.currentTimeMillis());
+    }
+
+    /**
+     * Send one request for the batch, a failed request is retried by the executor after a backoff
+     * instead of blocking the thread, so the other batches are not held up by the retries.
+     */
+    private void lookupBatch(Map<String, List<CompletableFuture<Collection<RowData>>>> batch, int retry,
+            int probes, long startTime) {
+        List<String> keys = new ArrayList<>(batch.keySet());
+        List<RowData> rows;
+        try {
+            rows = queryBatch(keys);
+        } catch (Exception e) {
+            LOG.error(String.format("Redis batch query error, retry times = %d", retry), e);
+            if (retry >= maxRetryTimes) {
+                failBatch(batch, new RuntimeException("Redis batch query error failed.", e));
+                return;
+            }
+            try {
+                executor.schedule(() -> lookupBatch(batch, retry + 1, probes, startTime),
+                        1000L * (retry + 1), TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e1) {
+                failBatch(batch, e1);
+            }
+            return;
+        }
+        outputLookupMetrics(0, probes, System.currentTimeMillis() - startTime);
+        for (int i = 0; i < keys.size(); i++) {
+            RowData rowData = rows.get(i);
+            if (cache != null && (cacheMissingKey || !rowData.isNullAt(1))) {
+                cache.put(keys.get(i), rowData);
+            }
+            Collection<RowData> result = Collections.singletonList(rowData);
+            for (CompletableFuture<Collection<RowData>> future : batch.get(keys.get(i))) {
+                future.complete(result);
+            }
+        }
+    }
+
+    private void failBatch(Map<String, List<CompletableFuture<Collection<RowData>>>> batch, Throwable error) {
+        for (List<CompletableFuture<Collection<RowData>>> futures : batch.values()) {
+            futures.forEach(future -> future.completeExceptionally(error));
+        }
+    }
+
+    private List<RowData> queryBatch(List<String> keys) {
+        List<RowData> rows = new ArrayList<>(keys.size());
+        switch (redisCommand) {
+            case GET:
+                List<String> values = redisCommandsContainer.mget(keys);
+                for (int i = 0; i < keys.size(); i++) {
+                    rows.add(GenericRowData.of(StringData.fromString(keys.get(i)),
+                            StringData.fromString(values.get(i))));
+                }
+                break;
+            case HGET:
+                List<String> fieldValues = redisCommandsContainer.hmget(additionalKey, keys);
+                for (int i = 0; i < keys.size(); i++) {
+                    rows.add(GenericRowData.of(StringData.fromString(keys.get(i)),
+                            StringData.fromString(fieldValues.get(i))));
+                }
+                break;
+            case ZREVRANK:
+                List<Long> ranks = redisCommandsContainer.zrevranks(additionalKey, keys);
+                for (int i = 0; i < keys.size(); i++) {
+                    rows.add(GenericRowData.of(StringData.fromString(keys.get(i)), ranks.get(i)));
+                }
+                break;
+            case ZSCORE:
+                List<Double> scores = redisCommandsContainer.zscores(additionalKey, keys);
+                for (int i = 0; i < keys.size(); i++) {
+                    rows.add(GenericRowData.of(StringData.fromString(keys.get(i)), scores.get(i)));
+                }
+                break;
+            default:
+                throw new UnsupportedOperationException(
+                        String.format("Unsupported for redisCommand: %s", redisCommand));
+        }
+        return rows;
+    }
+
+    private void outputLookupMetrics(long hits, long misses, long latency) {
+        if (sourceMetricData != null) {
+            sourceMetricData.outputLookupMetrics(hits, misses, latency);
+        }
+    }
+
+    @Override
+    public void open(FunctionContext context) throws Exception {
+        try {
+            this.redisCommandsContainer = createRedisCommandsContainer();
+            this.redisCommandsContainer.open();
+            this.cache = cacheMaxSize == -1 || cacheExpireMs == -1 ? null
+                    : CacheBuilder.newBuilder()
+                            .expireAfterWrite(cacheExpireMs, TimeUnit.MILLISECONDS)
+                            .maximumSize(cacheMaxSize)
+                            .build();
+        } catch (Exception e) {
+            LOG.error("Redis has not been properly initialized: ", e);
+            throw e;
+        }
+        this.lock = new Object();
+        this.pendingProbes = new LinkedHashMap<>();
+        this.executor = Executors.newScheduledThreadPool(threadCount,
+                new ExecutorThreadFactory("redis-async-lookup"));
+        MetricOption metricOption = MetricOption.builder()
+                .withInlongLabels(inlongMetric)
+                .withRegisterMetric(RegisteredMetric.ALL)
+                .build();
+        if (metricOption != null) {
+            sourceMetricData = new SourceMetricData(metricOption, context.getMetricGroup());
+            sourceMetricData.registerMetricsForLookup();
+        }
+    }
+
+    InlongRedisCommandsContainer createRedisCommandsContainer() {
+        return RedisCommandsContainerBuilder.build(this.flinkJedisConfigBase);
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (executor != null) {
+            executor.shutdown();
+            if (!executor.awaitTermination(batchWaitMs + 1000L, TimeUnit.MILLISECONDS)) {
+                executor.shutdownNow();
+            }
+        }
+        if (redisCommandsContainer != null) {
+            redisCommandsContainer.close();
+        }
+    }
+}
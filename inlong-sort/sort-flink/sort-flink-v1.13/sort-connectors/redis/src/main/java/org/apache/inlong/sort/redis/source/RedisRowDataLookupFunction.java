@@ -49,6 +49,7 @@ public class RedisRowDataLookupFunction extends TableFunction<RowData> {
     private final long cacheMaxSize;
     private final long cacheExpireMs;
     private final int maxRetryTimes;
+    private final boolean cacheMissingKey;
     private final FlinkJedisConfigBase flinkJedisConfigBase;
     private final String additionalKey;
     private final RedisCommand redisCommand;
@@ -63,6 +64,7 @@ public class RedisRowDataLookupFunction extends TableFunction<RowData> {
         this.cacheMaxSize = redisLookupOptions.getCacheMaxSize();
         this.cacheExpireMs = redisLookupOptions.getCacheExpireMs();
         this.maxRetryTimes = redisLookupOptions.getMaxRetryTimes();
+        this.cacheMissingKey = redisLookupOptions.getCacheMissingKey();
     }
 
     /**
@@ -107,10 +109,8 @@ public class RedisRowDataLookupFunction extends TableFunction<RowData> {
                         throw new UnsupportedOperationException(
                                 String.format("Unsupported for redisCommand: %s", redisCommand));
                 }
-                if (cache == null) {
-                    collect(rowData);
-                } else {
-                    collect(rowData);
+                collect(rowData);
+                if (cache != null && (cacheMissingKey || !rowData.isNullAt(1))) {
                     cache.put(keyRow, rowData);
                 }
                 break;
@@ -55,7 +55,11 @@ import static org.apache.inlong.sort.base.Constants.INLONG_AUDIT;
 import static org.apache.inlong.sort.base.Constants.INLONG_METRIC;
 import static org.apache.inlong.sort.redis.common.config.RedisOptions.DATA_TYPE;
 import static org.apache.inlong.sort.redis.common.config.RedisOptions.LOOKUP_ASYNC;
+import static org.apache.inlong.sort.redis.common.config.RedisOptions.LOOKUP_ASYNC_BATCH_SIZE;
+import static org.apache.inlong.sort.redis.common.config.RedisOptions.LOOKUP_ASYNC_BATCH_WAIT;
+import static org.apache.inlong.sort.redis.common.config.RedisOptions.LOOKUP_ASYNC_THREAD_COUNT;
 import static org.apache.inlong.sort.redis.common.config.RedisOptions.LOOKUP_CACHE_MAX_ROWS;
+import static org.apache.inlong.sort.redis.common.config.RedisOptions.LOOKUP_CACHE_MISSING_KEY;
 import static org.apache.inlong.sort.redis.common.config.RedisOptions.LOOKUP_CACHE_TTL;
 import static org.apache.inlong.sort.redis.common.config.RedisOptions.LOOKUP_MAX_RETRIES;
 import static org.apache.inlong.sort.redis.common.config.RedisOptions.SCHEMA_MAPPING_MODE;
@@ -137,9 +141,20 @@ public class RedisDynamicTableFactory implements DynamicTableSourceFactory, Dyna
     }
 
     private RedisLookupOptions getJdbcLookupOptions(ReadableConfig readableConfig) {
+        int asyncBatchSize = readableConfig.get(LOOKUP_ASYNC_BATCH_SIZE);
+        long asyncBatchWaitMs = readableConfig.get(LOOKUP_ASYNC_BATCH_WAIT);
+        int asyncThreadCount = readableConfig.get(LOOKUP_ASYNC_THREAD_COUNT);
+        Preconditions.checkArgument(asyncBatchSize > 0,
+                "The value of '%s' must be positive", LOOKUP_ASYNC_BATCH_SIZE.key());
+        Preconditions.checkArgument(asyncBatchWaitMs >= 0,
+                "The value of '%s' must not be negative", LOOKUP_ASYNC_BATCH_WAIT.key());
+        Preconditions.checkArgument(asyncThreadCount > 0,
+                "The value of '%s' must be positive", LOOKUP_ASYNC_THREAD_COUNT.key());
         return new RedisLookupOptions(readableConfig.get(LOOKUP_CACHE_MAX_ROWS),
                 readableConfig.get(LOOKUP_CACHE_TTL),
-                readableConfig.get(LOOKUP_MAX_RETRIES), readableConfig.get(LOOKUP_ASYNC));
+                readableConfig.get(LOOKUP_MAX_RETRIES), readableConfig.get(LOOKUP_ASYNC),
+                asyncBatchSize, asyncBatchWaitMs, asyncThreadCount,
+                readableConfig.get(LOOKUP_CACHE_MISSING_KEY));
     }
 
     @Override
@@ -204,6 +219,10 @@ public class RedisDynamicTableFactory implements DynamicTableSourceFactory, Dyna
         options.add(RedisOptions.MINIDLE);
         options.add(RedisOptions.REDIS_MASTER_NAME);
         options.add(LOOKUP_ASYNC);
+        options.add(LOOKUP_ASYNC_BATCH_SIZE);
+        options.add(LOOKUP_ASYNC_BATCH_WAIT);
+        options.add(LOOKUP_ASYNC_THREAD_COUNT);
+        options.add(LOOKUP_CACHE_MISSING_KEY);
         options.add(LOOKUP_CACHE_MAX_ROWS);
         options.add(LOOKUP_CACHE_TTL);
         options.add(LOOKUP_MAX_RETRIES);
@@ -214,6 +233,7 @@ public class RedisDynamicTableFactory implements DynamicTableSourceFactory, Dyna
         options.add(RedisOptions.SOCKET_TIMEOUT);
         options.add(RedisOptions.TIMEOUT);
         options.add(AUDIT_KEYS);
+        options.add(INLONG_METRIC);
         return options;
     }
 
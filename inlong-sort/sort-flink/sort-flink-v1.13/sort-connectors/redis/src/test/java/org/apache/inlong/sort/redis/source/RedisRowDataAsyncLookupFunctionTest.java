@@ -0,0 +1,217 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.sort.redis.source;
+
+import org.apache.inlong.sort.redis.common.config.RedisLookupOptions;
+import org.apache.inlong.sort.redis.common.container.InlongRedisCommandsContainer;
+import org.apache.inlong.sort.redis.common.mapper.RedisCommand;
+import org.apache.inlong.sort.redis.common.mapper.RedisCommandDescription;
+
+import org.apache.flink.streaming.connectors.redis.common.config.FlinkJedisPoolConfig;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.functions.FunctionContext;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link RedisRowDataAsyncLookupFunction}, the redis container is mocked.
+ */
+public class RedisRowDataAsyncLookupFunctionTest {
+
+    private static final long TIMEOUT_MS = 10000L;
+
+    private InlongRedisCommandsContainer container;
+
+    private RedisRowDataAsyncLookupFunction function;
+
+    @Before
+    public void setUp() {
+        container = Mockito.mock(InlongRedisCommandsContainer.class);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (function != null) {
+            function.close();
+        }
+    }
+
+    @Test
+    public void testBatchBySize() throws Exception {
+        when(container.mget(anyList())).thenReturn(Arrays.asList("v1", "v2", "v3"));
+        openFunction(RedisLookupOptions.builder()
+                .setAsyncBatchSize(3)
+                .setAsyncBatchWaitMs(1000L)
+                .build());
+
+        long startTime = System.currentTimeMillis();
+        List<CompletableFuture<Collection<RowData>>> futures = new ArrayList<>();
+        for (String key : Arrays.asList("k1", "k2", "k3")) {
+            futures.add(lookup(key));
+        }
+        assertEquals("v1", getValue(futures.get(0)));
+        assertEquals("v2", getValue(futures.get(1)));
+        assertEquals("v3", getValue(futures.get(2)));
+        // the full batch is sent without waiting for the batch wait time
+        assertTrue(System.currentTimeMillis() - startTime < 1000L);
+        verify(container, times(1)).mget(anyList());
+        verify(container).mget(Arrays.asList("k1", "k2", "k3"));
+    }
+
+    @Test
+    public void testBatchByWaitTime() throws Exception {
+        when(container.mget(anyList())).thenReturn(Arrays.asList("v1", "v2"));
+        openFunction(RedisLookupOptions.builder()
+                .setAsyncBatchSize(100)
+                .setAsyncBatchWaitMs(50L)
+                .build());
+
+        CompletableFuture<Collection<RowData>> future1 = lookup("k1");
+        CompletableFuture<Collection<RowData>> future2 = lookup("k2");
+        // the probes of the same key share one result
+        CompletableFuture<Collection<RowData>> future3 = lookup("k1");
+        assertEquals("v1", getValue(future1));
+        assertEquals("v2", getValue(future2));
+        assertEquals("v1", getValue(future3));
+        verify(container, times(1)).mget(anyList());
+        verify(container).mget(Arrays.asList("k1", "k2"));
+    }
+
+    @Test
+    public void testCacheHit() throws Exception {
+        when(container.mget(anyList())).thenReturn(Collections.singletonList("v1"));
+        openFunction(RedisLookupOptions.builder()
+                .setCacheMaxSize(100L)
+                .setCacheExpireMs(60000L)
+                .setAsyncBatchWaitMs(0L)
+                .build());
+
+        assertEquals("v1", getValue(lookup("k1")));
+        assertEquals("v1", getValue(lookup("k1")));
+        verify(container, times(1)).mget(anyList());
+    }
+
+    @Test
+    public void testCacheMissingKey() throws Exception {
+        when(container.mget(anyList())).thenReturn(Collections.singletonList(null));
+        openFunction(RedisLookupOptions.builder()
+                .setCacheMaxSize(100L)
+                .setCacheExpireMs(60000L)
+                .setAsyncBatchWaitMs(0L)
+                .setCacheMissingKey(true)
+                .build());
+
+        assertEquals(null, getValue(lookup("k1")));
+        assertEquals(null, getValue(lookup("k1")));
+        verify(container, times(1)).mget(anyList());
+    }
+
+    @Test
+    public void testNotCacheMissingKey() throws Exception {
+        when(container.mget(anyList())).thenReturn(Collections.singletonList(null));
+        openFunction(RedisLookupOptions.builder()
+                .setCacheMaxSize(100L)
+                .setCacheExpireMs(60000L)
+                .setAsyncBatchWaitMs(0L)
+                .setCacheMissingKey(false)
+                .build());
+
+        assertEquals(null, getValue(lookup("k1")));
+        assertEquals(null, getValue(lookup("k1")));
+        verify(container, times(2)).mget(anyList());
+    }
+
+    @Test
+    public void testRetryThenSuccess() throws Exception {
+        when(container.mget(anyList()))
+                .thenThrow(new RuntimeException("connection reset"))
+                .thenReturn(Collections.singletonList("v1"));
+        openFunction(RedisLookupOptions.builder()
+                .setMaxRetryTimes(2)
+                .setAsyncBatchWaitMs(0L)
+                .build());
+
+        assertEquals("v1", getValue(lookup("k1")));
+        verify(container, times(2)).mget(anyList());
+    }
+
+    @Test
+    public void testFailureCompletesExceptionally() throws Exception {
+        when(container.mget(anyList())).thenThrow(new RuntimeException("connection reset"));
+        openFunction(RedisLookupOptions.builder()
+                .setMaxRetryTimes(1)
+                .setAsyncBatchWaitMs(0L)
+                .build());
+
+        assertFailed(lookup("k1"));
+        verify(container, times(2)).mget(anyList());
+    }
+
+    private void openFunction(RedisLookupOptions lookupOptions) throws Exception {
+        function = new RedisRowDataAsyncLookupFunction(new RedisCommandDescription(RedisCommand.GET),
+                new FlinkJedisPoolConfig.Builder().setHost("localhost").build(), lookupOptions, null) {
+
+            @Override
+            InlongRedisCommandsContainer createRedisCommandsContainer() {
+                return container;
+            }
+        };
+        function.open(new FunctionContext(null));
+    }
+
+    private CompletableFuture<Collection<RowData>> lookup(String key) {
+        CompletableFuture<Collection<RowData>> future = new CompletableFuture<>();
+        function.eval(future, key);
+        return future;
+    }
+
+    private static String getValue(CompletableFuture<Collection<RowData>> future) throws Exception {
+        Collection<RowData> rows = future.get(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        assertEquals(1, rows.size());
+        RowData row = rows.iterator().next();
+        return row.isNullAt(1) ? null : row.getString(1).toString();
+    }
+
+    private static void assertFailed(CompletableFuture<Collection<RowData>> future) throws Exception {
+        try {
+            future.get(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            fail("The lookup should fail");
+        } catch (ExecutionException e) {
+            assertEquals("Redis batch query error failed.", e.getCause().getMessage());
+        }
+    }
+}
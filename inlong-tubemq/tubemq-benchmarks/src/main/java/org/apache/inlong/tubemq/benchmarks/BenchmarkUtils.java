@@ -0,0 +1,186 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.tubemq.benchmarks;
+
+import org.apache.inlong.tubemq.server.broker.BrokerConfig;
+import org.apache.inlong.tubemq.server.broker.utils.DataStoreUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+/**
+ * Shared helpers of the benchmarks: temporary store directories,
+ * broker configure and the stored message layout.
+ */
+public class BenchmarkUtils {
+
+    // the filter item of the messages selected by the filter consumer
+    public static final String FILTER_ITEM = "filter-hit";
+    // the filter item of the other messages
+    public static final String OTHER_ITEM = "filter-miss";
+    // one of FILTER_HIT_STEP messages is tagged with FILTER_ITEM
+    public static final int FILTER_HIT_STEP = 4;
+    // the max size of single data file
+    public static final int DEF_MAX_SEGMENT_SIZE = 512 * 1024 * 1024;
+    // the max size transferred to client per request
+    public static final int DEF_TRANSFER_SIZE = 512 * 1024;
+    // the stores release their direct buffers through sun.nio.ch.DirectBuffer,
+    // export it and its cleaner on jdk9+, the options are ignored by jdk8
+    public static final String JVM_IGNORE_UNRECOGNIZED = "-XX:+IgnoreUnrecognizedVMOptions";
+    public static final String JVM_EXPORT_NIO = "--add-exports=java.base/sun.nio.ch=ALL-UNNAMED";
+    public static final String JVM_EXPORT_REF = "--add-exports=java.base/jdk.internal.ref=ALL-UNNAMED";
+
+    private BenchmarkUtils() {
+    }
+
+    /**
+     * Create an empty temporary directory for the benchmark
+     *
+     * @param prefix    the directory name prefix
+     * @return          the created directory
+     * @throws IOException  the exception during processing
+     */
+    public static File createTempDir(String prefix) throws IOException {
+        return Files.createTempDirectory(prefix).toFile();
+    }
+
+    /**
+     * Delete the directory and its content
+     *
+     * @param file   the file or directory to delete
+     */
+    public static void deleteDir(File file) {
+        if (file == null || !file.exists()) {
+            return;
+        }
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                deleteDir(child);
+            }
+        }
+        file.delete();
+    }
+
+    /**
+     * Build a broker configure whose message and offset files are stored
+     * under the given directory, no ZooKeeper section is configured.
+     *
+     * @param baseDir          the base directory
+     * @param enableMemStore   whether enable the memory cache store
+     * @return                 the broker configure
+     * @throws IOException     the exception during processing
+     */
+    public static BrokerConfig buildBrokerConfig(File baseDir,
+            boolean enableMemStore) throws IOException {
+        File iniFile = new File(baseDir, "broker.ini");
+        try (PrintWriter writer = new PrintWriter(iniFile, StandardCharsets.UTF_8.name())) {
+            writer.println("[broker]");
+            writer.println("brokerId=1");
+            writer.println("hostName=127.0.0.1");
+            writer.println("port=8123");
+            writer.println("webPort=8081");
+            writer.println("masterAddressList=127.0.0.1:8715");
+            writer.println("primaryPath=" + new File(baseDir, "data").getAbsolutePath());
+            writer.println("offsetStgFilePath=" + new File(baseDir, "offset").getAbsolutePath());
+            writer.println("maxSegmentSize=" + DEF_MAX_SEGMENT_SIZE);
+            writer.println("transferSize=" + DEF_TRANSFER_SIZE);
+            writer.println("enableMemStore=" + enableMemStore);
+        }
+        BrokerConfig brokerConfig = new BrokerConfig();
+        brokerConfig.loadFromFile(iniFile.getAbsolutePath());
+        return brokerConfig;
+    }
+
+    /**
+     * Build the message payload with the given size
+     *
+     * @param msgSize   the payload size
+     * @return          the payload
+     */
+    public static byte[] buildPayload(int msgSize) {
+        byte[] payload = new byte[msgSize];
+        Arrays.fill(payload, (byte) 'a');
+        return payload;
+    }
+
+    /**
+     * Get the filter item hash code of the message with the given sequence
+     *
+     * @param msgSeq   the message sequence
+     * @return         the filter item hash code
+     */
+    public static int getMsgTypeCode(long msgSeq) {
+        return (msgSeq % FILTER_HIT_STEP == 0)
+                ? FILTER_ITEM.hashCode()
+                : OTHER_ITEM.hashCode();
+    }
+
+    /**
+     * Build the data buffer as MessageStore stores it
+     *
+     * @param partitionId   the partition id
+     * @param msgTypeCode   the filter item hash code
+     * @param payload       the message payload
+     * @return              the data buffer
+     */
+    public static ByteBuffer buildDataBuffer(int partitionId,
+            int msgTypeCode, byte[] payload) {
+        final ByteBuffer dataBuffer =
+                ByteBuffer.allocate(DataStoreUtils.STORE_DATA_HEADER_LEN + payload.length);
+        dataBuffer.putInt(DataStoreUtils.STORE_DATA_PREFX_LEN + payload.length);
+        dataBuffer.putInt(DataStoreUtils.STORE_DATA_TOKER_BEGIN_VALUE);
+        dataBuffer.putInt(0);
+        dataBuffer.putInt(partitionId);
+        dataBuffer.putLong(-1L);
+        dataBuffer.putLong(System.currentTimeMillis());
+        dataBuffer.putInt(0);
+        dataBuffer.putInt(msgTypeCode);
+        dataBuffer.putLong(0L);
+        dataBuffer.putInt(0);
+        dataBuffer.put(payload);
+        dataBuffer.flip();
+        return dataBuffer;
+    }
+
+    /**
+     * Build the index buffer as MessageStore stores it
+     *
+     * @param partitionId   the partition id
+     * @param dataSize      the data buffer size
+     * @param msgTypeCode   the filter item hash code
+     * @return              the index buffer
+     */
+    public static ByteBuffer buildIndexBuffer(int partitionId,
+            int dataSize, int msgTypeCode) {
+        final ByteBuffer indexBuffer =
+                ByteBuffer.allocate(DataStoreUtils.STORE_INDEX_HEAD_LEN);
+        indexBuffer.putInt(partitionId);
+        indexBuffer.putLong(-1L);
+        indexBuffer.putInt(dataSize);
+        indexBuffer.putInt(msgTypeCode);
+        indexBuffer.putLong(System.currentTimeMillis());
+        indexBuffer.flip();
+        return indexBuffer;
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.tubemq.benchmarks;
+
+import org.apache.inlong.tubemq.server.broker.BrokerConfig;
+import org.apache.inlong.tubemq.server.broker.offset.DefaultOffsetManager;
+import org.apache.inlong.tubemq.server.broker.utils.DataStoreUtils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the book and commit paths of {@link DefaultOffsetManager},
+ * the manager is started so that its daemon flushes the confirmed offsets
+ * into the offset file under a temporary directory while measuring.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DefaultOffsetManagerBenchmark {
+
+    private static final String TOPIC = "bench_topic";
+    private static final String GROUP = "bench_group";
+    private static final int READ_DALT = 10 * DataStoreUtils.STORE_INDEX_HEAD_LEN;
+
+    @Param({"1", "10", "100"})
+    private int partitionCount;
+
+    @Param({"false", "true"})
+    private boolean manualCommit;
+
+    private File baseDir;
+    private DefaultOffsetManager offsetManager;
+    private StringBuilder strBuff;
+    private int partitionId;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        baseDir = BenchmarkUtils.createTempDir("tubemq-offset-bench");
+        BrokerConfig brokerConfig = BenchmarkUtils.buildBrokerConfig(baseDir, true);
+        offsetManager = new DefaultOffsetManager(brokerConfig, null);
+        offsetManager.start();
+        strBuff = new StringBuilder(512);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        offsetManager.close(1000);
+        BenchmarkUtils.deleteDir(baseDir);
+    }
+
+    @Benchmark
+    public long bookAndCommitOffset() {
+        int curPartId = nextPartitionId();
+        offsetManager.bookOffset(GROUP, TOPIC, curPartId,
+                READ_DALT, manualCommit, false, strBuff);
+        return offsetManager.commitOffset(GROUP, TOPIC, curPartId, true);
+    }
+
+    @Benchmark
+    public long getOffset() {
+        return offsetManager.getOffset(GROUP, TOPIC, nextPartitionId());
+    }
+
+    private int nextPartitionId() {
+        int curPartId = partitionId;
+        partitionId = (partitionId + 1) % partitionCount;
+        return curPartId;
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.tubemq.benchmarks;
+
+import org.apache.inlong.tubemq.server.broker.BrokerConfig;
+import org.apache.inlong.tubemq.server.broker.metadata.BrokerDefMetadata;
+import org.apache.inlong.tubemq.server.broker.metadata.TopicMetadata;
+import org.apache.inlong.tubemq.server.broker.msgstore.MessageStore;
+import org.apache.inlong.tubemq.server.broker.msgstore.disk.GetMessageResult;
+import org.apache.inlong.tubemq.server.broker.nodeinfo.ConsumerNodeInfo;
+import org.apache.inlong.tubemq.server.common.utils.AppendResult;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the append and read paths of the file store, the memory
+ * cache is disabled so that the {@link MessageStore} calls go straight
+ * to MsgFileStore. The store files are created under a temporary directory.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {BenchmarkUtils.JVM_IGNORE_UNRECOGNIZED,
+        BenchmarkUtils.JVM_EXPORT_NIO, BenchmarkUtils.JVM_EXPORT_REF})
+public class MsgFileStoreBenchmark {
+
+    private static final String READ_TOPIC = "bench-read";
+    private static final String WRITE_TOPIC = "bench-write";
+    private static final int PREFILL_MSG_COUNT = 20000;
+
+    @Param({"128", "1024", "8192"})
+    private int msgSize;
+
+    @Param({"1", "10"})
+    private int partitionCount;
+
+    @Param({"false", "true"})
+    private boolean filterConsume;
+
+    private File baseDir;
+    private MessageStore writeStore;
+    private MessageStore readStore;
+    private ConsumerNodeInfo consumerNodeInfo;
+    private AppendResult appendResult;
+    private byte[] payload;
+    private long writeSeq;
+    private long readOffset;
+    private int readPartitionId;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        baseDir = BenchmarkUtils.createTempDir("tubemq-file-bench");
+        BrokerConfig brokerConfig = BenchmarkUtils.buildBrokerConfig(baseDir, false);
+        BrokerDefMetadata brokerDefMetadata = new BrokerDefMetadata();
+        writeStore = new MessageStore(null,
+                new TopicMetadata(brokerDefMetadata, WRITE_TOPIC, 1, partitionCount),
+                0, brokerConfig, BenchmarkUtils.DEF_TRANSFER_SIZE);
+        readStore = new MessageStore(null,
+                new TopicMetadata(brokerDefMetadata, READ_TOPIC, 1, partitionCount),
+                0, brokerConfig, BenchmarkUtils.DEF_TRANSFER_SIZE);
+        appendResult = new AppendResult();
+        payload = BenchmarkUtils.buildPayload(msgSize);
+        for (long seq = 0; seq < PREFILL_MSG_COUNT; seq++) {
+            appendTo(readStore, seq);
+        }
+        readStore.flushFile();
+        consumerNodeInfo = new ConsumerNodeInfo(null, "bench-group", "bench-consumer",
+                filterConsume ? Collections.singleton(BenchmarkUtils.FILTER_ITEM) : null,
+                "bench-session", System.currentTimeMillis(), "", "127.0.0.1");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        writeStore.close();
+        readStore.close();
+        BenchmarkUtils.deleteDir(baseDir);
+    }
+
+    @Benchmark
+    public boolean appendMsg() throws IOException {
+        return appendTo(writeStore, writeSeq++);
+    }
+
+    @Benchmark
+    public GetMessageResult getMessages() throws IOException {
+        GetMessageResult result = readStore.getMessages(0, readOffset,
+                readPartitionId, consumerNodeInfo, READ_TOPIC, BenchmarkUtils.DEF_TRANSFER_SIZE, 0);
+        readPartitionId = (readPartitionId + 1) % partitionCount;
+        if (result.isSuccess && result.lastReadOffset > 0) {
+            readOffset += result.lastReadOffset;
+        } else {
+            readOffset = 0;
+        }
+        return result;
+    }
+
+    private boolean appendTo(MessageStore msgStore, long seq) throws IOException {
+        int partitionId = (int) (seq % partitionCount);
+        return msgStore.appendMsg(appendResult, payload.length, 0, payload,
+                BenchmarkUtils.getMsgTypeCode(seq / partitionCount), 0,
+                partitionId, 0);
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.tubemq.benchmarks;
+
+import org.apache.inlong.tubemq.server.broker.msgstore.mem.GetCacheMsgResult;
+import org.apache.inlong.tubemq.server.broker.msgstore.mem.MsgMemStore;
+import org.apache.inlong.tubemq.server.broker.stats.MsgStoreStatsHolder;
+import org.apache.inlong.tubemq.server.broker.utils.DataStoreUtils;
+import org.apache.inlong.tubemq.server.common.utils.AppendResult;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the append and read paths of {@link MsgMemStore}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {BenchmarkUtils.JVM_IGNORE_UNRECOGNIZED,
+        BenchmarkUtils.JVM_EXPORT_NIO, BenchmarkUtils.JVM_EXPORT_REF})
+public class MsgMemStoreBenchmark {
+
+    private static final int MAX_CACHE_SIZE = 64 * 1024 * 1024;
+    private static final int MAX_MSG_COUNT = 100000;
+    private static final int MAX_READ_SIZE = 512 * 1024;
+    private static final int MAX_READ_COUNT = 1000;
+
+    @Param({"128", "1024", "8192"})
+    private int msgSize;
+
+    @Param({"1", "10"})
+    private int partitionCount;
+
+    @Param({"false", "true"})
+    private boolean filterConsume;
+
+    private MsgMemStore writeStore;
+    private MsgMemStore readStore;
+    private MsgStoreStatsHolder statsHolder;
+    private AppendResult appendResult;
+    private ByteBuffer[] dataBuffers;
+    private ByteBuffer[] indexBuffers;
+    private Set<Integer> filterKeySet;
+    private long readIndexMaxOffset;
+    private long writeSeq;
+    private long readIndexOffset;
+    private int readPartitionId;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        statsHolder = new MsgStoreStatsHolder();
+        appendResult = new AppendResult();
+        byte[] payload = BenchmarkUtils.buildPayload(msgSize);
+        int bufferCnt = partitionCount * BenchmarkUtils.FILTER_HIT_STEP;
+        dataBuffers = new ByteBuffer[bufferCnt];
+        indexBuffers = new ByteBuffer[bufferCnt];
+        for (int i = 0; i < bufferCnt; i++) {
+            int partitionId = i % partitionCount;
+            int msgTypeCode = BenchmarkUtils.getMsgTypeCode(i / partitionCount);
+            dataBuffers[i] = BenchmarkUtils.buildDataBuffer(partitionId, msgTypeCode, payload);
+            indexBuffers[i] = BenchmarkUtils.buildIndexBuffer(partitionId,
+                    dataBuffers[i].remaining(), msgTypeCode);
+        }
+        filterKeySet = filterConsume
+                ? Collections.singleton(BenchmarkUtils.FILTER_ITEM.hashCode())
+                : Collections.<Integer>emptySet();
+        writeStore = new MsgMemStore(MAX_CACHE_SIZE, MAX_MSG_COUNT, 0, 0);
+        // fill the read store until it is full
+        readStore = new MsgMemStore(MAX_CACHE_SIZE, MAX_MSG_COUNT, 0, 0);
+        long seq = 0;
+        while (appendTo(readStore, seq)) {
+            seq++;
+        }
+        readIndexMaxOffset = seq * DataStoreUtils.STORE_INDEX_HEAD_LEN;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        writeStore.close();
+        readStore.close();
+    }
+
+    @Benchmark
+    public boolean appendMsg() {
+        if (appendTo(writeStore, writeSeq)) {
+            writeSeq++;
+            return true;
+        }
+        // the cache is full, reset it as after a flush
+        writeStore.resetMemStoreStatus(0, 0);
+        return appendTo(writeStore, writeSeq++);
+    }
+
+    @Benchmark
+    public GetCacheMsgResult getMessages() {
+        GetCacheMsgResult result = readStore.getMessages(0, readIndexOffset,
+                MAX_READ_SIZE, MAX_READ_COUNT, readPartitionId, false,
+                filterConsume, filterKeySet, 0);
+        readPartitionId = (readPartitionId + 1) % partitionCount;
+        if (result.isSuccess && result.dltOffset > 0) {
+            readIndexOffset += result.dltOffset;
+        }
+        if (!result.isSuccess || readIndexOffset >= readIndexMaxOffset) {
+            readIndexOffset = 0;
+        }
+        return result;
+    }
+
+    private boolean appendTo(MsgMemStore msgMemStore, long seq) {
+        int index = (int) (seq % dataBuffers.length);
+        ByteBuffer dataBuffer = dataBuffers[index];
+        return msgMemStore.appendMsg(statsHolder, index % partitionCount,
+                BenchmarkUtils.getMsgTypeCode(index / partitionCount), System.currentTimeMillis(),
+                indexBuffers[index], dataBuffer.remaining(), dataBuffer, appendResult);
+    }
+}
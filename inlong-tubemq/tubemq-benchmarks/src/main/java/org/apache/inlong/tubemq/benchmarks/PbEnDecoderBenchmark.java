@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.tubemq.benchmarks;
+
+import org.apache.inlong.tubemq.corebase.protobuf.generated.ClientBroker;
+import org.apache.inlong.tubemq.corerpc.RpcConstants;
+import org.apache.inlong.tubemq.corerpc.codec.PbEnDecoder;
+
+import com.google.protobuf.ByteString;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the protobuf encode and decode of the produce request
+ * and the consume response through {@link PbEnDecoder}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PbEnDecoderBenchmark {
+
+    @Param({"128", "1024", "8192"})
+    private int msgSize;
+
+    @Param({"1", "100"})
+    private int msgCount;
+
+    private ClientBroker.SendMessageRequestP2B sendRequest;
+    private ClientBroker.GetMessageResponseB2C getResponse;
+    private byte[] sendRequestBytes;
+    private byte[] getResponseBytes;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        ByteString payload = ByteString.copyFrom(BenchmarkUtils.buildPayload(msgSize));
+        sendRequest = ClientBroker.SendMessageRequestP2B.newBuilder()
+                .setClientId("bench-producer").setTopicName("bench-topic")
+                .setPartitionId(0).setData(payload).setFlag(0)
+                .setCheckSum(0).setSentAddr(0).build();
+        ClientBroker.GetMessageResponseB2C.Builder builder =
+                ClientBroker.GetMessageResponseB2C.newBuilder();
+        builder.setSuccess(true).setErrCode(200).setCurrOffset(0L).setMaxOffset(0L);
+        for (int i = 0; i < msgCount; i++) {
+            builder.addMessages(ClientBroker.TransferedMessage.newBuilder()
+                    .setMessageId(i).setCheckSum(0).setPayLoadData(payload).setFlag(0));
+        }
+        getResponse = builder.build();
+        sendRequestBytes = PbEnDecoder.pbEncode(sendRequest);
+        getResponseBytes = PbEnDecoder.pbEncode(getResponse);
+    }
+
+    @Benchmark
+    public byte[] encodeSendRequest() throws Exception {
+        return PbEnDecoder.pbEncode(sendRequest);
+    }
+
+    @Benchmark
+    public Object decodeSendRequest() throws Exception {
+        return PbEnDecoder.pbDecode(true,
+                RpcConstants.RPC_MSG_BROKER_PRODUCER_SENDMESSAGE, sendRequestBytes);
+    }
+
+    @Benchmark
+    public byte[] encodeGetResponse() throws Exception {
+        return PbEnDecoder.pbEncode(getResponse);
+    }
+
+    @Benchmark
+    public Object decodeGetResponse() throws Exception {
+        return PbEnDecoder.pbDecode(false,
+                RpcConstants.RPC_MSG_BROKER_CONSUMER_GETMESSAGE, getResponseBytes);
+    }
+}
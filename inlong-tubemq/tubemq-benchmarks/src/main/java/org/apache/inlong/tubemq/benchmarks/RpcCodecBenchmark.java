@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.tubemq.benchmarks;
+
+import org.apache.inlong.tubemq.corerpc.RpcConstants;
+import org.apache.inlong.tubemq.corerpc.RpcDataPack;
+import org.apache.inlong.tubemq.corerpc.netty.ByteBufferOutputStream;
+import org.apache.inlong.tubemq.corerpc.netty.NettyProtocolEncoder;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.MessageToMessageEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the Rpc frame encode of {@link NettyProtocolEncoder}, the legacy
+ * heap-stream encoder is kept here as the baseline. Run it with the gc profiler
+ * (-prof gc, or through {@link #main}) to compare the bytes allocated per encode
+ * call reported as gc.alloc.rate.norm.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RpcCodecBenchmark {
+
+    @Param({"64", "1024", "65536", "1048576"})
+    private int payloadSize;
+
+    private RpcDataPack dataPack;
+    private EmbeddedChannel channel;
+    private EmbeddedChannel legacyChannel;
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(RpcCodecBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        byte[] payload = BenchmarkUtils.buildPayload(payloadSize);
+        ByteBufferOutputStream bbo = new ByteBufferOutputStream();
+        bbo.write(payload, 0, payload.length);
+        dataPack = new RpcDataPack(1, bbo.getBufferList());
+        channel = new EmbeddedChannel(new NettyProtocolEncoder());
+        legacyChannel = new EmbeddedChannel(new LegacyProtocolEncoder());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        channel.finishAndReleaseAll();
+        legacyChannel.finishAndReleaseAll();
+    }
+
+    @Benchmark
+    public int encode() {
+        return encodeFrame(channel);
+    }
+
+    @Benchmark
+    public int legacyEncode() {
+        return encodeFrame(legacyChannel);
+    }
+
+    private int encodeFrame(EmbeddedChannel encodeChannel) {
+        encodeChannel.writeOutbound(dataPack);
+        ByteBuf buf = encodeChannel.readOutbound();
+        int frameSize = buf.readableBytes();
+        buf.release();
+        return frameSize;
+    }
+
+    /**
+     * The encoder before the direct frame buffer, the whole frame is written
+     * into a growing heap stream, copied out of the stream and then copied
+     * again into the channel buffer.
+     */
+    private static class LegacyProtocolEncoder extends MessageToMessageEncoder<RpcDataPack> {
+
+        @Override
+        protected void encode(ChannelHandlerContext chx, RpcDataPack msg, List<Object> out) throws IOException {
+            try (ByteArrayOutputStream byteOut = new ByteArrayOutputStream()) {
+                ByteBuffer header = ByteBuffer.allocate(RpcConstants.RPC_PROTOCOL_HEADER_SIZE);
+                header.putInt(RpcConstants.RPC_PROTOCOL_BEGIN_TOKEN);
+                header.putInt(msg.getSerialNo());
+                header.putInt(msg.getDataLst().size());
+                byteOut.write(header.array());
+                for (ByteBuffer entry : msg.getDataLst()) {
+                    ByteBuffer lenHeader = ByteBuffer.allocate(RpcConstants.RPC_PROTOCOL_LENGTH_SIZE);
+                    lenHeader.putInt(entry.limit());
+                    byteOut.write(lenHeader.array());
+                    byteOut.write(Arrays.copyOf(entry.array(), entry.limit()));
+                }
+                byte[] body = byteOut.toByteArray();
+                ByteBuf buf = chx.alloc().buffer(body.length);
+                buf.writeBytes(body);
+                out.add(buf);
+            }
+        }
+    }
+}
@@ -65,6 +65,8 @@ public final class RpcConstants {
     public static final String RPC_SERVICE_UNAVAILABLE_FORBIDDEN_DURATION =
             "rpc.unavailable.service.forbidden.duration";
     public static final int RPC_PROTOCOL_BEGIN_TOKEN = 0xFF7FF4FE;
+    public static final int RPC_PROTOCOL_HEADER_SIZE = 12;
+    public static final int RPC_PROTOCOL_LENGTH_SIZE = 4;
     public static final int RPC_MAX_BUFFER_SIZE = 8192;
     public static final int MAX_FRAME_MAX_LIST_SIZE =
             (int) ((TBaseConstants.META_MAX_MESSAGE_DATA_SIZE_UPPER_LIMIT
@@ -22,7 +22,7 @@ import org.apache.inlong.tubemq.corerpc.RpcConstants;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -32,6 +32,8 @@ import java.util.List;
 public class ByteBufferOutputStream extends OutputStream {
 
     private List<ByteBuffer> buffers;
+    // the tail buffer of the list, avoid looking up the list on each write
+    private ByteBuffer current;
 
     public ByteBufferOutputStream() {
         reset();
@@ -71,40 +73,38 @@ public class ByteBufferOutputStream extends OutputStream {
             buffer.position(buffer.limit());
         }
         buffers.addAll(lists);
+        current = buffers.get(buffers.size() - 1);
     }
 
     public void reset() {
-        buffers = new LinkedList<>();
-        buffers.add(ByteBuffer.allocate(RpcConstants.RPC_MAX_BUFFER_SIZE));
+        buffers = new ArrayList<>();
+        addWriteBuffer();
     }
 
     public void write(ByteBuffer buffer) {
         buffers.add(buffer);
+        current = buffer;
     }
 
     @Override
     public void write(int b) {
-        ByteBuffer buffer = buffers.get(buffers.size() - 1);
-        if (buffer.remaining() < 1) {
-            buffer = ByteBuffer.allocate(RpcConstants.RPC_MAX_BUFFER_SIZE);
-            buffers.add(buffer);
+        if (current.remaining() < 1) {
+            addWriteBuffer();
         }
-        buffer.put((byte) b);
+        current.put((byte) b);
     }
 
     @Override
     public void write(byte[] b, int off, int len) {
-        ByteBuffer buffer = buffers.get(buffers.size() - 1);
-        int remaining = buffer.remaining();
+        int remaining = current.remaining();
         while (len > remaining) {
-            buffer.put(b, off, remaining);
+            current.put(b, off, remaining);
             len -= remaining;
             off += remaining;
-            buffer = ByteBuffer.allocate(RpcConstants.RPC_MAX_BUFFER_SIZE);
-            buffers.add(buffer);
-            remaining = buffer.remaining();
+            addWriteBuffer();
+            remaining = current.remaining();
         }
-        buffer.put(b, off, len);
+        current.put(b, off, len);
     }
 
     /**
@@ -119,6 +119,12 @@ public class ByteBufferOutputStream extends OutputStream {
             ByteBuffer dup = buffer.duplicate();
             dup.position(buffer.limit()); // ready for flip
             buffers.add(dup);
+            current = dup;
         }
     }
+
+    private void addWriteBuffer() {
+        current = ByteBuffer.allocate(RpcConstants.RPC_MAX_BUFFER_SIZE);
+        buffers.add(current);
+    }
 }
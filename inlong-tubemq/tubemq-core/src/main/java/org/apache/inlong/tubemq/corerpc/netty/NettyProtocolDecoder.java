@@ -22,11 +22,9 @@ import org.apache.inlong.tubemq.corerpc.RpcDataPack;
 import org.apache.inlong.tubemq.corerpc.exception.UnknownProtocolException;
 
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.Unpooled;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
-import io.netty.handler.codec.MessageToMessageDecoder;
-import io.netty.util.ReferenceCountUtil;
+import io.netty.handler.codec.ByteToMessageDecoder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -38,7 +36,12 @@ import java.util.concurrent.atomic.AtomicLong;
 
 import static org.apache.inlong.tubemq.corebase.utils.AddressUtils.getRemoteAddressIP;
 
-public class NettyProtocolDecoder extends MessageToMessageDecoder<ByteBuf> {
+/**
+ * Decode the length-prefixed frames into Rpc Data Packs, the received bytes
+ * are accumulated by the cumulator of {@link ByteToMessageDecoder}, so the
+ * incomplete frame is not copied again when more bytes arrive.
+ */
+public class NettyProtocolDecoder extends ByteToMessageDecoder {
 
     private static final Logger logger = LoggerFactory.getLogger(NettyProtocolDecoder.class);
 
@@ -52,15 +55,12 @@ public class NettyProtocolDecoder extends MessageToMessageDecoder<ByteBuf> {
     private int listSize;
     private List<RpcDataPack> rpcDataPackList = new ArrayList<>();
     private RpcDataPack dataPack;
-    private ByteBuf lastByteBuf;
 
     @Override
     protected void decode(ChannelHandlerContext ctx, ByteBuf buffer, List<Object> out) throws Exception {
-        buffer = convertToNewBuf(buffer);
         while (buffer.readableBytes() > 0) {
             if (!packHeaderRead) {
-                if (buffer.readableBytes() < 12) {
-                    saveRemainedByteBuf(buffer);
+                if (buffer.readableBytes() < RpcConstants.RPC_PROTOCOL_HEADER_SIZE) {
                     break;
                 }
                 int frameToken = buffer.readInt();
@@ -74,17 +74,14 @@ public class NettyProtocolDecoder extends MessageToMessageDecoder<ByteBuf> {
                 this.packHeaderRead = true;
             }
             // get PackBody
-            if (buffer.readableBytes() < 4) {
-                saveRemainedByteBuf(buffer);
+            if (buffer.readableBytes() < RpcConstants.RPC_PROTOCOL_LENGTH_SIZE) {
                 break;
             }
-            buffer.markReaderIndex();
-            int length = buffer.readInt();
-            if (buffer.readableBytes() < length) {
-                buffer.resetReaderIndex();
-                saveRemainedByteBuf(buffer);
+            int length = buffer.getInt(buffer.readerIndex());
+            if (buffer.readableBytes() - RpcConstants.RPC_PROTOCOL_LENGTH_SIZE < length) {
                 break;
             }
+            buffer.skipBytes(RpcConstants.RPC_PROTOCOL_LENGTH_SIZE);
             ByteBuffer bb = ByteBuffer.allocate(length);
             buffer.readBytes(bb);
             bb.flip();
@@ -100,29 +97,6 @@ public class NettyProtocolDecoder extends MessageToMessageDecoder<ByteBuf> {
         }
     }
 
-    private void saveRemainedByteBuf(ByteBuf byteBuf) {
-        if (byteBuf != null && byteBuf.readableBytes() > 0) {
-            lastByteBuf = Unpooled.copiedBuffer(byteBuf);
-        }
-    }
-
-    private ByteBuf convertToNewBuf(ByteBuf byteBuf) {
-        ByteBuf newByteBuf = byteBuf;
-        int totalReadBytes = byteBuf.readableBytes();
-        if (lastByteBuf != null) {
-            try {
-                totalReadBytes += lastByteBuf.readableBytes();
-                newByteBuf = Unpooled.buffer(totalReadBytes);
-                newByteBuf.writeBytes(lastByteBuf);
-                newByteBuf.writeBytes(byteBuf);
-            } finally {
-                ReferenceCountUtil.release(lastByteBuf);
-            }
-            lastByteBuf = null;
-        }
-        return newByteBuf;
-    }
-
     private void filterIllegalPkgToken(int inParamValue, int allowTokenVal,
             Channel channel) throws UnknownProtocolException {
         if (inParamValue != allowTokenVal) {
@@ -21,61 +21,56 @@ import org.apache.inlong.tubemq.corerpc.RpcConstants;
 import org.apache.inlong.tubemq.corerpc.RpcDataPack;
 
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.ByteBufAllocator;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.MessageToMessageEncoder;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import io.netty.util.ReferenceCountUtil;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.nio.ByteBuffer;
-import java.util.Arrays;
-import java.util.Iterator;
 import java.util.List;
 
+/**
+ * Encode the Rpc Data Pack into one length-prefixed frame,
+ * the frame is written directly into a direct buffer of the channel
+ * allocator, so each data buffer is copied only once before being sent
+ * to the channel.
+ */
 public class NettyProtocolEncoder extends MessageToMessageEncoder<RpcDataPack> {
 
-    private static final Logger logger = LoggerFactory.getLogger(NettyProtocolEncoder.class);
-
     @Override
     protected void encode(ChannelHandlerContext chx, RpcDataPack msg, List<Object> out) {
-        RpcDataPack dataPack = msg;
-        try (ByteArrayOutputStream byteOut = new ByteArrayOutputStream()) {
-            byteOut.write(getPackHeader(dataPack).array());
-            List<ByteBuffer> origs = dataPack.getDataLst();
-            Iterator<ByteBuffer> iter = origs.iterator();
-            while (iter.hasNext()) {
-                ByteBuffer entry = iter.next();
-                byteOut.write(getLengthHeader(entry).array());
-                byteOut.write(getLengthBody(entry));
+        List<ByteBuffer> origs = msg.getDataLst();
+        ByteBuf buf = chx.alloc().directBuffer(getFrameSize(origs));
+        boolean encoded = false;
+        try {
+            buf.writeInt(RpcConstants.RPC_PROTOCOL_BEGIN_TOKEN);
+            buf.writeInt(msg.getSerialNo());
+            buf.writeInt(origs.size());
+            for (ByteBuffer entry : origs) {
+                buf.writeInt(entry.limit());
+                ByteBuffer body = entry.duplicate();
+                body.position(0);
+                buf.writeBytes(body);
             }
-            byte[] body = byteOut.toByteArray();
-            ByteBuf buf = ByteBufAllocator.DEFAULT.buffer(body.length);
-            buf.writeBytes(body);
             out.add(buf);
-        } catch (IOException e) {
-            logger.error("encode has exception ", e);
+            encoded = true;
+        } finally {
+            if (!encoded) {
+                ReferenceCountUtil.release(buf);
+            }
         }
     }
 
-    private ByteBuffer getPackHeader(RpcDataPack dataPack) {
-        ByteBuffer header = ByteBuffer.allocate(12);
-        header.putInt(RpcConstants.RPC_PROTOCOL_BEGIN_TOKEN);
-        header.putInt(dataPack.getSerialNo());
-        header.putInt(dataPack.getDataLst().size());
-        header.flip();
-        return header;
-    }
-
-    private ByteBuffer getLengthHeader(ByteBuffer buf) {
-        ByteBuffer header = ByteBuffer.allocate(4);
-        header.putInt(buf.limit());
-        header.flip();
-        return header;
-    }
-
-    private byte[] getLengthBody(ByteBuffer buf) {
-        return Arrays.copyOf(buf.array(), buf.limit());
+    /**
+     * Calculate the frame size of the Rpc Data Pack
+     *
+     * @param origs   the data buffers of the pack
+     * @return        the total frame size
+     */
+    public static int getFrameSize(List<ByteBuffer> origs) {
+        int frameSize = RpcConstants.RPC_PROTOCOL_HEADER_SIZE;
+        for (ByteBuffer entry : origs) {
+            frameSize += RpcConstants.RPC_PROTOCOL_LENGTH_SIZE + entry.limit();
+        }
+        return frameSize;
     }
 }
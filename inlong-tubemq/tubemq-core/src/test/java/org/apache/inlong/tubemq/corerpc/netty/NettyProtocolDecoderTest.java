@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.tubemq.corerpc.netty;
+
+import org.apache.inlong.tubemq.corerpc.RpcDataPack;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * NettyProtocolDecoder test.
+ */
+public class NettyProtocolDecoderTest {
+
+    @Test
+    public void decodeSplitFrames() {
+        byte[] payload = new byte[20000];
+        for (int i = 0; i < payload.length; i++) {
+            payload[i] = (byte) i;
+        }
+        ByteBufferOutputStream bbo = new ByteBufferOutputStream();
+        bbo.write(payload, 0, payload.length);
+        List<ByteBuffer> dataList = bbo.getBufferList();
+        Assert.assertEquals(3, dataList.size());
+        // encode two packs
+        EmbeddedChannel encChannel = new EmbeddedChannel(new NettyProtocolEncoder());
+        encChannel.writeOutbound(new RpcDataPack(1, dataList));
+        List<ByteBuffer> dataList2 = new ArrayList<>();
+        dataList2.add(ByteBuffer.wrap("abc".getBytes()));
+        encChannel.writeOutbound(new RpcDataPack(2, dataList2));
+        ByteBuf frame1 = encChannel.readOutbound();
+        ByteBuf frame2 = encChannel.readOutbound();
+        Assert.assertEquals(NettyProtocolEncoder.getFrameSize(dataList), frame1.readableBytes());
+        // feed the decoder with fragments crossing the frame boundaries
+        EmbeddedChannel decChannel = new EmbeddedChannel(new NettyProtocolDecoder());
+        decChannel.writeInbound(frame1.readRetainedSlice(7));
+        Assert.assertNull(decChannel.readInbound());
+        decChannel.writeInbound(frame1.readRetainedSlice(9000));
+        Assert.assertNull(decChannel.readInbound());
+        frame1.retain();
+        decChannel.writeInbound(frame1);
+        decChannel.writeInbound(frame2.readRetainedSlice(10));
+        RpcDataPack pack1 = decChannel.readInbound();
+        Assert.assertNotNull(pack1);
+        Assert.assertEquals(1, pack1.getSerialNo());
+        Assert.assertEquals(3, pack1.getDataLst().size());
+        int index = 0;
+        for (ByteBuffer buffer : pack1.getDataLst()) {
+            while (buffer.hasRemaining()) {
+                Assert.assertEquals(payload[index++], buffer.get());
+            }
+        }
+        Assert.assertEquals(payload.length, index);
+        Assert.assertNull(decChannel.readInbound());
+        frame2.retain();
+        decChannel.writeInbound(frame2);
+        RpcDataPack pack2 = decChannel.readInbound();
+        Assert.assertEquals(2, pack2.getSerialNo());
+        Assert.assertEquals("abc", new String(pack2.getDataLst().get(0).array()));
+        frame1.release();
+        frame2.release();
+        Assert.assertFalse(decChannel.finish());
+        encChannel.finishAndReleaseAll();
+    }
+}
@@ -17,14 +17,17 @@
 
 package org.apache.inlong.tubemq.corerpc.netty;
 
+import org.apache.inlong.tubemq.corerpc.RpcConstants;
 import org.apache.inlong.tubemq.corerpc.RpcDataPack;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import io.netty.channel.embedded.EmbeddedChannel;
 import org.junit.Assert;
 import org.junit.Test;
 
 import java.nio.ByteBuffer;
-import java.util.ArrayList;
+import java.nio.charset.StandardCharsets;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -35,7 +38,41 @@ public class NettyProtocolEncoderTest {
 
     @Test
     public void encode() {
-        NettyProtocolEncoder nettyProtocolEncoder = new NettyProtocolEncoder();
+        EmbeddedChannel channel = new EmbeddedChannel(new NettyProtocolEncoder());
+        Assert.assertTrue(channel.writeOutbound(buildDataPack()));
+        ByteBuf buf = channel.readOutbound();
+        try {
+            // read data.
+            Assert.assertEquals(RpcConstants.RPC_PROTOCOL_BEGIN_TOKEN, buf.readInt());
+            Assert.assertEquals(123, buf.readInt());
+            Assert.assertEquals(2, buf.readInt());
+            Assert.assertEquals(3, buf.readInt());
+            Assert.assertEquals("abc", buf.readCharSequence(3, StandardCharsets.UTF_8).toString());
+            Assert.assertEquals(3, buf.readInt());
+            Assert.assertEquals("def", buf.readCharSequence(3, StandardCharsets.UTF_8).toString());
+            Assert.assertFalse(buf.isReadable());
+        } finally {
+            buf.release();
+            channel.finishAndReleaseAll();
+        }
+    }
+
+    @Test
+    public void encodeWithChannelAllocator() {
+        EmbeddedChannel channel = new EmbeddedChannel(new NettyProtocolEncoder());
+        channel.config().setAllocator(UnpooledByteBufAllocator.DEFAULT);
+        Assert.assertTrue(channel.writeOutbound(buildDataPack()));
+        ByteBuf buf = channel.readOutbound();
+        try {
+            Assert.assertSame(UnpooledByteBufAllocator.DEFAULT, buf.alloc());
+            Assert.assertTrue(buf.isDirect());
+        } finally {
+            buf.release();
+            channel.finishAndReleaseAll();
+        }
+    }
+
+    private RpcDataPack buildDataPack() {
         // build RpcDataPack
         RpcDataPack obj = new RpcDataPack();
         // set serial number
@@ -45,17 +82,6 @@ public class NettyProtocolEncoderTest {
         dataList.add(ByteBuffer.wrap("def".getBytes()));
         // append data list.
         obj.setDataLst(dataList);
-        List<Object> out = new ArrayList<>();
-        try {
-            // encode data
-            nettyProtocolEncoder.encode(null, obj, out);
-            ByteBuf buf = (ByteBuf) out.get(0);
-            // read data.
-            int i = buf.readInt();
-            i = buf.readInt();
-            Assert.assertEquals(123, i);
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+        return obj;
     }
 }
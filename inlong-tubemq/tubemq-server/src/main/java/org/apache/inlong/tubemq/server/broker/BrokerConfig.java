@@ -137,6 +137,19 @@ public class BrokerConfig extends AbstractFileConfig {
             TServerConstants.CFG_DEFAULT_GROUP_OFFSET_SCAN_DUR;
     // whether to enable the memory cache storage, the default is true, open the memory cache
     private boolean enableMemStore = true;
+    // whether to read consecutive messages of the data file as one region, the default is false
+    private boolean enableFileRegionRead = false;
+    // whether to read the immutable index segments through memory mapping, the default is false
+    private boolean enableIndexMmapRead = false;
+    // whether to commit the messages written directly to file in groups,
+    // only effective when the memory cache storage is disabled, the default is false
+    private boolean enableGroupCommitWrite = false;
+    // whether to build the filter index of the immutable index segments,
+    // which lets the filter consumers skip the unmatched records, the default is false
+    private boolean enableFilterIndex = false;
+    // whether to store the group offsets in the append-only binary journal instead of
+    // rewriting the whole json file, the existing json offsets are migrated automatically
+    private boolean enableOffsetJournal = false;
 
     public BrokerConfig() {
         super();
@@ -146,6 +159,26 @@ public class BrokerConfig extends AbstractFileConfig {
         return enableMemStore;
     }
 
+    public boolean isEnableFileRegionRead() {
+        return enableFileRegionRead;
+    }
+
+    public boolean isEnableIndexMmapRead() {
+        return enableIndexMmapRead;
+    }
+
+    public boolean isEnableGroupCommitWrite() {
+        return enableGroupCommitWrite;
+    }
+
+    public boolean isEnableFilterIndex() {
+        return enableFilterIndex;
+    }
+
+    public boolean isEnableOffsetJournal() {
+        return enableOffsetJournal;
+    }
+
     public boolean isUpdateConsumerOffsets() {
         return this.updateConsumerOffsets;
     }
@@ -459,6 +492,21 @@ public class BrokerConfig extends AbstractFileConfig {
         if (TStringUtils.isNotBlank(brokerSect.get("enableMemStore"))) {
             this.enableMemStore = this.getBoolean(brokerSect, "enableMemStore");
         }
+        if (TStringUtils.isNotBlank(brokerSect.get("enableFileRegionRead"))) {
+            this.enableFileRegionRead = this.getBoolean(brokerSect, "enableFileRegionRead");
+        }
+        if (TStringUtils.isNotBlank(brokerSect.get("enableIndexMmapRead"))) {
+            this.enableIndexMmapRead = this.getBoolean(brokerSect, "enableIndexMmapRead");
+        }
+        if (TStringUtils.isNotBlank(brokerSect.get("enableGroupCommitWrite"))) {
+            this.enableGroupCommitWrite = this.getBoolean(brokerSect, "enableGroupCommitWrite");
+        }
+        if (TStringUtils.isNotBlank(brokerSect.get("enableFilterIndex"))) {
+            this.enableFilterIndex = this.getBoolean(brokerSect, "enableFilterIndex");
+        }
+        if (TStringUtils.isNotBlank(brokerSect.get("enableOffsetJournal"))) {
+            this.enableOffsetJournal = this.getBoolean(brokerSect, "enableOffsetJournal");
+        }
     }
 
     public long getLogClearupDurationMs() {
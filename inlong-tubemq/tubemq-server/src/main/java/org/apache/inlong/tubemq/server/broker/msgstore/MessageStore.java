@@ -280,9 +280,15 @@ public class MessageStore implements Closeable {
         maxIndexReadLength = consumerNodeInfo.isFilterConsume()
                 ? fileMaxFilterIndexReadSize.get()
                 : fileMaxIndexReadSize.get();
+        // skip the unmatched index records through the filter indexes
+        long readIndexOffset = reqNewOffset;
+        if (consumerNodeInfo.isFilterConsume() && tubeConfig.isEnableFilterIndex()) {
+            readIndexOffset = this.msgFileStore.seekFilterIndexOffset(reqNewOffset,
+                    partitionId, consumerNodeInfo.getFilterCondCodeSet());
+        }
         final ByteBuffer indexBuffer = ByteBuffer.allocate(maxIndexReadLength);
         Segment indexRecordView =
-                this.msgFileStore.indexSlice(reqNewOffset, maxIndexReadLength);
+                this.msgFileStore.indexSlice(readIndexOffset, maxIndexReadLength);
         if (indexRecordView == null) {
             if (reqNewOffset < this.msgFileStore.getIndexMinOffset()) {
                 return new GetMessageResult(false, TErrCodeConstants.MOVED,
@@ -292,7 +298,7 @@ public class MessageStore implements Closeable {
                         reqNewOffset, 0, "current offset is exceed max offset!");
             }
         }
-        indexRecordView.read(indexBuffer, reqNewOffset);
+        indexRecordView.read(indexBuffer, readIndexOffset);
         indexBuffer.flip();
         indexRecordView.relViewRef();
         if ((msgFileStore.getDataHighMaxOffset() - consumerNodeInfo.getLastDataRdOffset() >= this.tubeConfig
@@ -302,10 +308,16 @@ public class MessageStore implements Closeable {
         }
         GetMessageResult retResult =
                 msgFileStore.getMessages(partitionId,
-                        consumerNodeInfo.getLastDataRdOffset(), reqNewOffset,
+                        consumerNodeInfo.getLastDataRdOffset(), readIndexOffset,
                         indexBuffer, consumerNodeInfo.isFilterConsume(),
                         consumerNodeInfo.getFilterCondCodeSet(),
                         statsKeyBase, msgSizeLimit, reqRcvTime);
+        if (readIndexOffset > reqNewOffset) {
+            // the skipped records are counted in the read offset
+            retResult.setReqOffset(reqNewOffset);
+            retResult.setLastReadOffset(retResult.getLastReadOffset()
+                    + (int) (readIndexOffset - reqNewOffset));
+        }
         if (reqSwitch <= 1) {
             retResult.setMaxOffset(getFileIndexMaxOffset());
         } else {
@@ -460,10 +472,15 @@ public class MessageStore implements Closeable {
         } else {
             StringBuilder strBuffer =
                     new StringBuilder(TBaseConstants.BUILDER_DEFAULT_SIZE);
-            Tuple3<Boolean, Long, Long> appendRet =
-                    this.msgFileStore.appendMsg(false, startTime, strBuffer, 1,
-                            DataStoreUtils.STORE_INDEX_HEAD_LEN, indexBuffer,
-                            msgBufLen, dataBuffer, receivedTime, receivedTime);
+            Tuple3<Boolean, Long, Long> appendRet;
+            if (this.tubeConfig.isEnableGroupCommitWrite()) {
+                appendRet = this.msgFileStore.groupAppendMsg(startTime, strBuffer,
+                        indexBuffer, msgBufLen, dataBuffer, receivedTime);
+            } else {
+                appendRet = this.msgFileStore.appendMsg(false, startTime, strBuffer, 1,
+                        DataStoreUtils.STORE_INDEX_HEAD_LEN, indexBuffer,
+                        msgBufLen, dataBuffer, receivedTime, receivedTime);
+            }
             appendResult.putAppendResult(appendRet.getF1(), appendRet.getF2());
             if (appendRet.getF0()) {
                 msgStoreStatsHolder.addMsgWriteSuccess(msgBufLen,
@@ -549,6 +566,16 @@ public class MessageStore implements Closeable {
         msgFileStore.flushDiskFile();
     }
 
+    /**
+     * Build the filter index of the immutable file segments.
+     */
+    public void buildFilterIndexes() {
+        if (this.closed.get()) {
+            return;
+        }
+        msgFileStore.buildFilterIndexes();
+    }
+
     /**
      * Flush memory store to file.
      *
@@ -798,6 +798,8 @@ public class MessageStoreManager implements StoreService {
                     }
                     try {
                         msgStore.flushFile();
+                        // build the filter index of the rolled segments out of the store write lock
+                        msgStore.buildFilterIndexes();
                     } catch (final Throwable e) {
                         logger.error(sBuilder.append("[Store Manager] Try to flush ")
                                 .append(msgStore.getStoreKey())
@@ -30,7 +30,9 @@ import java.io.File;
 import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.FileChannel;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -49,6 +51,13 @@ public class FileSegment implements Segment {
     private final AtomicLong cachedSize;
     private final AtomicLong flushedSize;
     private final SegmentType segmentType;
+    // whether to read the immutable index segment through memory mapping
+    private final boolean mmapRead;
+    private volatile MappedBufferRef mappedRef = null;
+    // whether to build the filter index when the index segment becomes immutable
+    private final boolean filterIndexed;
+    private volatile SegmentFilterIndex filterIndex = null;
+    private volatile boolean filterIndexFailed = false;
     private volatile boolean mutable = false;
     private long expiredTime = 0;
     private final AtomicBoolean expired = new AtomicBoolean(false);
@@ -61,23 +70,45 @@ public class FileSegment implements Segment {
             new AtomicLong(TBaseConstants.META_VALUE_UNDEFINED);
 
     public FileSegment(long start, File file, SegmentType type) throws IOException {
-        this(start, file, true, type, Long.MAX_VALUE);
+        this(start, file, true, type, Long.MAX_VALUE, false, false);
     }
 
     public FileSegment(long start, File file,
             boolean mutable, SegmentType type) throws IOException {
-        this(start, file, mutable, type, Long.MAX_VALUE);
+        this(start, file, mutable, type, Long.MAX_VALUE, false, false);
     }
 
     public FileSegment(long start, File file,
             SegmentType type, long checkOffset) throws IOException {
-        this(start, file, true, type, checkOffset);
+        this(start, file, true, type, checkOffset, false, false);
     }
 
-    private FileSegment(long start, File file, boolean mutable,
-            SegmentType type, long checkOffset) throws IOException {
+    public FileSegment(long start, File file, boolean mutable,
+            SegmentType type, boolean mmapRead) throws IOException {
+        this(start, file, mutable, type, Long.MAX_VALUE, mmapRead, false);
+    }
+
+    public FileSegment(long start, File file, SegmentType type,
+            long checkOffset, boolean mmapRead) throws IOException {
+        this(start, file, true, type, checkOffset, mmapRead, false);
+    }
+
+    public FileSegment(long start, File file, boolean mutable, SegmentType type,
+            boolean mmapRead, boolean filterIndexed) throws IOException {
+        this(start, file, mutable, type, Long.MAX_VALUE, mmapRead, filterIndexed);
+    }
+
+    public FileSegment(long start, File file, SegmentType type, long checkOffset,
+            boolean mmapRead, boolean filterIndexed) throws IOException {
+        this(start, file, true, type, checkOffset, mmapRead, filterIndexed);
+    }
+
+    private FileSegment(long start, File file, boolean mutable, SegmentType type,
+            long checkOffset, boolean mmapRead, boolean filterIndexed) throws IOException {
         super();
         this.segmentType = type;
+        this.mmapRead = mmapRead && type == SegmentType.INDEX;
+        this.filterIndexed = filterIndexed && type == SegmentType.INDEX;
         this.start = start;
         this.file = file;
         this.mutable = mutable;
@@ -145,6 +176,12 @@ public class FileSegment implements Segment {
                         + this.cachedSize.get() - DataStoreUtils.STORE_INDEX_HEAD_LEN));
             }
         }
+        if (this.mutable) {
+            // the content may be changed by the recovery and appending
+            delFilterIndexFile();
+        } else {
+            mapReadOnly();
+        }
     }
 
     @Override
@@ -158,6 +195,8 @@ public class FileSegment implements Segment {
                     this.channel.close();
                 }
                 this.randFile.close();
+                unmapReadOnly();
+                releaseFilterIndex();
             } catch (Throwable ee) {
                 if (ee instanceof IOException) {
                     ServiceStatusHolder.addReadIOErrCnt();
@@ -181,6 +220,8 @@ public class FileSegment implements Segment {
                 this.channel.close();
             }
             this.randFile.close();
+            unmapReadOnly();
+            releaseFilterIndex();
         } catch (Throwable e1) {
             if (e1 instanceof IOException) {
                 ServiceStatusHolder.addReadIOErrCnt();
@@ -193,6 +234,7 @@ public class FileSegment implements Segment {
                     .append("[File Store] delete file ")
                     .append(file.getAbsoluteFile()).toString());
             this.file.delete();
+            delFilterIndexFile();
         } catch (Throwable ee) {
             if (ee instanceof IOException) {
                 ServiceStatusHolder.addReadIOErrCnt();
@@ -214,6 +256,42 @@ public class FileSegment implements Segment {
      */
     @Override
     public long append(ByteBuffer buf, long leftTime, long rightTime) throws IOException {
+        checkWritable();
+        final long offset = this.cachedSize.get();
+        int sizeInBytes = 0;
+        while (buf.hasRemaining()) {
+            sizeInBytes += this.channel.write(buf);
+        }
+        updateAppendStatus(offset, sizeInBytes, leftTime, rightTime);
+        return this.start + offset;
+    }
+
+    /**
+     * Append multiple buffers to the last FileSegment with one gathering write.
+     *
+     * @param bufs           data buffers
+     * @param leftTime       the first record timestamp
+     * @param rightTime      the latest record timestamp
+     * @return               latest writable position
+     * @throws IOException   exception while write data to disk
+     */
+    @Override
+    public long append(ByteBuffer[] bufs, long leftTime, long rightTime) throws IOException {
+        checkWritable();
+        final long offset = this.cachedSize.get();
+        long totalBytes = 0;
+        for (ByteBuffer buf : bufs) {
+            totalBytes += buf.remaining();
+        }
+        long sizeInBytes = 0;
+        while (sizeInBytes < totalBytes) {
+            sizeInBytes += this.channel.write(bufs);
+        }
+        updateAppendStatus(offset, sizeInBytes, leftTime, rightTime);
+        return this.start + offset;
+    }
+
+    private void checkWritable() {
         if (!this.mutable) {
             if (this.segmentType == SegmentType.DATA) {
                 throw new UnsupportedOperationException("[File Store] Data Segment is immutable!");
@@ -225,11 +303,10 @@ public class FileSegment implements Segment {
         if (this.closed.get()) {
             throw new UnsupportedOperationException("[File Store] Segment is closed!");
         }
-        final long offset = this.cachedSize.get();
-        int sizeInBytes = 0;
-        while (buf.hasRemaining()) {
-            sizeInBytes += this.channel.write(buf);
-        }
+    }
+
+    private void updateAppendStatus(long offset, long sizeInBytes,
+            long leftTime, long rightTime) {
         this.cachedSize.addAndGet(sizeInBytes);
         if (segmentType == SegmentType.INDEX) {
             this.rightAppendTime.set(rightTime);
@@ -237,7 +314,6 @@ public class FileSegment implements Segment {
                 this.leftAppendTime.set(leftTime);
             }
         }
-        return this.start + offset;
     }
 
     /**
@@ -321,6 +397,9 @@ public class FileSegment implements Segment {
     @Override
     public void setMutable(boolean mutable) {
         this.mutable = mutable;
+        if (!mutable) {
+            mapReadOnly();
+        }
     }
 
     @Override
@@ -367,6 +446,9 @@ public class FileSegment implements Segment {
         if (this.isExpired()) {
             // Todo: conduct file closed and expired cases.
         }
+        if (readMapped(bf, absOffset - start)) {
+            return;
+        }
         int size = 0;
         long startPos = absOffset - start;
         while (bf.hasRemaining()) {
@@ -383,6 +465,9 @@ public class FileSegment implements Segment {
         if (this.isExpired()) {
             // Todo: conduct file closed and expired cases.
         }
+        if (readMapped(bf, relOffset)) {
+            return;
+        }
         int size = 0;
         while (bf.hasRemaining()) {
             final int l = this.channel.read(bf, relOffset + size);
@@ -400,6 +485,18 @@ public class FileSegment implements Segment {
      */
     @Override
     public long getRecordTime(long reqOffset) throws IOException {
+        final MappedBufferRef tmpRef = this.mappedRef;
+        if (tmpRef != null) {
+            final MappedByteBuffer tmpMapped = tmpRef.getViewRef();
+            if (tmpMapped != null) {
+                try {
+                    return tmpMapped.getLong((int) (reqOffset - start)
+                            + DataStoreUtils.INDEX_POS_TIME_RECV);
+                } finally {
+                    tmpRef.relViewRef();
+                }
+            }
+        }
         ByteBuffer readUnit = ByteBuffer.allocate(DataStoreUtils.STORE_INDEX_HEAD_LEN);
         int size = 0;
         while (readUnit.hasRemaining()) {
@@ -413,6 +510,34 @@ public class FileSegment implements Segment {
         return readUnit.getLong(DataStoreUtils.INDEX_POS_TIME_RECV);
     }
 
+    /**
+     * Seek the first index record at or after the offset that belongs to
+     * the partition and matches one of the key codes through the filter index.
+     *
+     * @param absOffset     absolute index offset to seek from
+     * @param partitionId   the partition id
+     * @param keyCodes      the filter key codes
+     * @return  the offset of the matched record, the last offset if not found,
+     *          or -1 if the segment has no filter index.
+     */
+    @Override
+    public long seekFilterRecord(long absOffset, int partitionId, Set<Integer> keyCodes) {
+        final SegmentFilterIndex tmpIndex = this.filterIndex;
+        if (tmpIndex == null || this.mutable) {
+            return -1;
+        }
+        long relOffset = absOffset - start;
+        if (relOffset < 0) {
+            return -1;
+        }
+        int ordinal = tmpIndex.seek((int) (relOffset / DataStoreUtils.STORE_INDEX_HEAD_LEN),
+                partitionId, keyCodes);
+        if (ordinal < 0) {
+            return -1;
+        }
+        return start + (long) ordinal * DataStoreUtils.STORE_INDEX_HEAD_LEN;
+    }
+
     /**
      * Check whether this FileSegment is expired, and set expire status.
      * The last FileSegment cannot be marked expired.
@@ -440,6 +565,144 @@ public class FileSegment implements Segment {
         return 0;
     }
 
+    /**
+     * Map the immutable index segment in read-only mode,
+     * then the subsequent reads become memory accesses.
+     */
+    private synchronized void mapReadOnly() {
+        if (!this.mmapRead
+                || this.mappedRef != null
+                || this.closed.get()) {
+            return;
+        }
+        try {
+            long mapSize = this.cachedSize.get();
+            if (mapSize <= 0 || mapSize > Integer.MAX_VALUE) {
+                return;
+            }
+            this.mappedRef = new MappedBufferRef(
+                    this.channel.map(FileChannel.MapMode.READ_ONLY, 0, mapSize));
+        } catch (Throwable e) {
+            if (e instanceof IOException) {
+                ServiceStatusHolder.addReadIOErrCnt();
+                BrokerSrvStatsHolder.incDiskIOExcCnt();
+            }
+            logger.error(new StringBuilder(512).append("[File Store] Map ")
+                    .append(this.file.getAbsoluteFile().toString())
+                    .append("'s ").append(segmentType)
+                    .append(" file failure, read by channel").toString(), e);
+        }
+    }
+
+    /**
+     * Release the mapping as the segment is closed or deleted, the mapped memory
+     * is unmapped after the readers still holding it finish their reads.
+     */
+    private synchronized void unmapReadOnly() {
+        final MappedBufferRef tmpRef = this.mappedRef;
+        if (tmpRef == null) {
+            return;
+        }
+        this.mappedRef = null;
+        tmpRef.release();
+    }
+
+    /**
+     * Load or build the filter index of the immutable index segment, the filter
+     * consumer reads the segment by the linear scan until the index is ready or if it fails.
+     */
+    @Override
+    public void buildFilterIndex() {
+        if (!this.filterIndexed
+                || this.mutable
+                || this.filterIndexFailed
+                || this.filterIndex != null
+                || this.closed.get()) {
+            return;
+        }
+        final SegmentFilterIndex tmpIndex;
+        try {
+            final long startMs = System.currentTimeMillis();
+            tmpIndex = SegmentFilterIndex.loadOrBuild(
+                    this.file, this.channel, this.cachedSize.get());
+            logger.info(new StringBuilder(512).append("[File Store] Load filter index of ")
+                    .append(this.file.getAbsoluteFile().toString()).append(" in ")
+                    .append(System.currentTimeMillis() - startMs).append(" ms").toString());
+        } catch (Throwable e) {
+            if (e instanceof IOException) {
+                ServiceStatusHolder.addReadIOErrCnt();
+                BrokerSrvStatsHolder.incDiskIOExcCnt();
+            }
+            this.filterIndexFailed = true;
+            logger.error(new StringBuilder(512).append("[File Store] Load filter index of ")
+                    .append(this.file.getAbsoluteFile().toString())
+                    .append(" failure, read by linear scan").toString(), e);
+            return;
+        }
+        synchronized (this) {
+            if (!this.closed.get()) {
+                this.filterIndex = tmpIndex;
+                return;
+            }
+        }
+        // the segment is closed or deleted during the building
+        tmpIndex.release();
+        if (!this.file.exists()) {
+            delFilterIndexFile();
+        }
+    }
+
+    private synchronized void releaseFilterIndex() {
+        final SegmentFilterIndex tmpIndex = this.filterIndex;
+        if (tmpIndex == null) {
+            return;
+        }
+        this.filterIndex = null;
+        tmpIndex.release();
+    }
+
+    private void delFilterIndexFile() {
+        if (this.segmentType != SegmentType.INDEX) {
+            return;
+        }
+        releaseFilterIndex();
+        final File filterFile = SegmentFilterIndex.getFilterFile(this.file);
+        if (filterFile.exists()) {
+            filterFile.delete();
+        }
+    }
+
+    /**
+     * Read from the mapped memory, the mapping is referenced during the copy
+     * so that it is not unmapped by the concurrent close or deletion.
+     *
+     * @return whether the read is served by the mapping
+     */
+    private boolean readMapped(ByteBuffer bf, long relOffset) {
+        final MappedBufferRef tmpRef = this.mappedRef;
+        if (tmpRef == null) {
+            return false;
+        }
+        final MappedByteBuffer tmpMapped = tmpRef.getViewRef();
+        if (tmpMapped == null) {
+            return false;
+        }
+        try {
+            if (relOffset < 0 || relOffset >= tmpMapped.limit()) {
+                return true;
+            }
+            ByteBuffer srcBuffer = tmpMapped.duplicate();
+            srcBuffer.position((int) relOffset);
+            if (srcBuffer.remaining() > bf.remaining()) {
+                srcBuffer.limit(srcBuffer.position() + bf.remaining());
+            }
+            bf.put(srcBuffer);
+            return true;
+        } finally {
+            tmpRef.relViewRef();
+        }
+    }
+
     private RecoverResult recoverData(long checkOffset) throws IOException {
         if (!this.mutable) {
             throw new UnsupportedOperationException(
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.tubemq.server.broker.msgstore.disk;
+
+import sun.nio.ch.DirectBuffer;
+
+import java.nio.MappedByteBuffer;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reference counted read-only mapping of a store file.
+ * The owner holds one reference and each reader holds one while accessing the mapped memory,
+ * the memory is unmapped only when the last reference is released.
+ */
+public class MappedBufferRef {
+
+    private final MappedByteBuffer mappedBuffer;
+    // the owner reference and the reader references
+    private final AtomicInteger refCnt = new AtomicInteger(1);
+    private final AtomicBoolean released = new AtomicBoolean(false);
+
+    public MappedBufferRef(MappedByteBuffer mappedBuffer) {
+        this.mappedBuffer = mappedBuffer;
+    }
+
+    /**
+     * Get a reader reference of the mapping, the caller must call
+     * {@link #relViewRef()} after accessing the returned buffer.
+     *
+     * @return the mapped buffer, or null if the mapping has been released
+     */
+    public MappedByteBuffer getViewRef() {
+        int curCnt;
+        do {
+            curCnt = this.refCnt.get();
+            if (curCnt <= 0) {
+                return null;
+            }
+        } while (!this.refCnt.compareAndSet(curCnt, curCnt + 1));
+        return this.mappedBuffer;
+    }
+
+    /**
+     * Release a reader reference of the mapping,
+     * unmap the memory if it is the last one.
+     */
+    public void relViewRef() {
+        if (this.refCnt.decrementAndGet() == 0) {
+            try {
+                ((DirectBuffer) this.mappedBuffer).cleaner().clean();
+            } catch (Throwable e) {
+                // the cleaner is not accessible in this runtime, leave the mapping to the GC
+            }
+        }
+    }
+
+    /**
+     * Release the owner reference, the memory is unmapped
+     * once the readers holding the mapping release their references.
+     */
+    public void release() {
+        if (this.released.compareAndSet(false, true)) {
+            relViewRef();
+        }
+    }
+
+    public int getRefCnt() {
+        return this.refCnt.get();
+    }
+}
@@ -39,10 +39,12 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
@@ -55,6 +57,10 @@ public class MsgFileStore implements Closeable {
 
     private static final Logger logger = LoggerFactory.getLogger(MsgFileStore.class);
     private static final int MAX_META_REFRESH_DUR = 1000 * 60 * 60;
+    // the max message count committed in one group
+    private static final int MAX_GROUP_COMMIT_CNT = 1000;
+    // the max index size skipped by the filter indexes in one request
+    private static final long MAX_FILTER_INDEX_SKIP_SIZE = 256 * 1024 * 1024;
     private static final DiskSamplePrint samplePrintCtrl =
             new DiskSamplePrint(logger);
     // storage ID
@@ -78,6 +84,9 @@ public class MsgFileStore implements Closeable {
     private final ReentrantLock writeLock = new ReentrantLock();
     private final ByteBuffer byteBufferIndex =
             ByteBuffer.allocate(DataStoreUtils.STORE_INDEX_HEAD_LEN);
+    // pending appenders waiting for group commit
+    private final ConcurrentLinkedQueue<GroupAppendTask> pendingAppends =
+            new ConcurrentLinkedQueue<>();
     // message storage
     private final MessageStore messageStore;
     // data file segment list
@@ -205,8 +214,8 @@ public class MsgFileStore implements Closeable {
                         new File(this.indexDir,
                                 DataStoreUtils.nameFromOffset(newIndexOffset, DataStoreUtils.INDEX_FILE_SUFFIX));
                 newIndexFilePath = newIndexFile.getAbsolutePath();
-                this.indexSegments.append(new FileSegment(newIndexOffset,
-                        newIndexFile, SegmentType.INDEX));
+                this.indexSegments.append(new FileSegment(newIndexOffset, newIndexFile, true,
+                        SegmentType.INDEX, tubeConfig.isEnableIndexMmapRead(), tubeConfig.isEnableFilterIndex()));
             }
             // check whether we need to flush to disk.
             pendingMsgSizeExceed = (messageStore.getUnflushDataHold() > 0)
@@ -219,12 +228,14 @@ public class MsgFileStore implements Closeable {
                     || pendingMsgSizeExceed || isDataSegFlushed || isIndexSegFlushed) {
                 isForceMetadata = (isDataSegFlushed || isIndexSegFlushed
                         || (currTime - this.lastMetaFlushTime.get() > MAX_META_REFRESH_DUR));
+                final long fsyncStartTime = System.currentTimeMillis();
                 if (!isDataSegFlushed) {
                     curDataSeg.flush(isForceMetadata);
                 }
                 if (!isIndexSegFlushed) {
                     curIndexSeg.flush(isForceMetadata);
                 }
+                msgStoreStatsHolder.addFileFsyncDlt(System.currentTimeMillis() - fsyncStartTime);
                 flushedMsgCnt = this.curUnflushed.getAndSet(0);
                 flushedDataSize = this.curUnflushSize.getAndSet(0);
                 this.lastFlushTime.set(currTime);
@@ -277,6 +288,207 @@ public class MsgFileStore implements Closeable {
         return new Tuple3<>(fileStoreOK, indexOffset, dataOffset);
     }
 
+    /**
+     * Append message to file segment by group commit.
+     *
+     * The appender puts its message into the pending queue, then the thread
+     * that gets the write lock commits all pending messages with one gathering
+     * write for data and index files, and at most one flush operation;
+     * the other appenders find their messages committed after getting the lock.
+     *
+     * @param currTime       the current time
+     * @param sb             string buffer
+     * @param indexBuffer    the index buffer to append
+     * @param dataSize       the data buffer length
+     * @param dataBuffer     the data buffer to append
+     * @param recvTime       the record timestamp
+     * @return      file storage status, the index and data offsets of the added message
+     */
+    public Tuple3<Boolean, Long, Long> groupAppendMsg(long currTime, StringBuilder sb,
+            ByteBuffer indexBuffer, int dataSize,
+            ByteBuffer dataBuffer, long recvTime) {
+        if (this.closed.get()) {
+            throw new IllegalStateException(new StringBuilder(512)
+                    .append("Closed MessageStore for storeKey ")
+                    .append(this.storeKey).toString());
+        }
+        final GroupAppendTask appendTask =
+                new GroupAppendTask(indexBuffer, dataSize, dataBuffer, recvTime);
+        this.pendingAppends.offer(appendTask);
+        this.writeLock.lock();
+        try {
+            while (!appendTask.isDone()) {
+                commitPendingAppends(currTime, sb);
+            }
+        } finally {
+            this.writeLock.unlock();
+        }
+        return new Tuple3<>(appendTask.isSuccess(),
+                appendTask.getIndexOffset(), appendTask.getDataOffset());
+    }
+
+    /**
+     * Commit pending messages, must be called while holding the write lock.
+     *
+     * @param currTime       the current time
+     * @param sb             string buffer
+     */
+    private void commitPendingAppends(long currTime, StringBuilder sb) {
+        final List<GroupAppendTask> groupTasks = new ArrayList<>();
+        GroupAppendTask appendTask;
+        while (groupTasks.size() < MAX_GROUP_COMMIT_CNT
+                && (appendTask = this.pendingAppends.poll()) != null) {
+            groupTasks.add(appendTask);
+        }
+        if (groupTasks.isEmpty()) {
+            return;
+        }
+        final int msgCnt = groupTasks.size();
+        final int indexSize = msgCnt * DataStoreUtils.STORE_INDEX_HEAD_LEN;
+        final ByteBuffer[] dataBuffers = new ByteBuffer[msgCnt];
+        final ByteBuffer[] indexBuffers = new ByteBuffer[msgCnt];
+        // Various parameters that trigger data refresh
+        boolean isDataSegFlushed = false;
+        boolean isIndexSegFlushed = false;
+        boolean pendingMsgCntExceed = false;
+        boolean pendingMsgSizeExceed = false;
+        boolean pendingMsgTimeExceed = false;
+        boolean isForceMetadata = false;
+        // flushed message count and data size info
+        long flushedMsgCnt = 0;
+        long flushedDataSize = 0;
+        int dataSize = 0;
+        long leftTime = Long.MAX_VALUE;
+        long rightTime = Long.MIN_VALUE;
+        long inIndexOffset;
+        long inDataOffset;
+        long dataOffset = -1;
+        long indexOffset = -1;
+        Segment curDataSeg;
+        Segment curIndexSeg;
+        // new file paths of creating
+        String newDataFilePath = null;
+        String newIndexFilePath = null;
+        boolean fileStoreOK = false;
+        try {
+            // position last segments
+            curDataSeg = this.dataSegments.last();
+            curIndexSeg = this.indexSegments.last();
+            inIndexOffset = curIndexSeg.getLast();
+            inDataOffset = curDataSeg.getLast();
+            // assign offsets for each message
+            for (int i = 0; i < msgCnt; i++) {
+                appendTask = groupTasks.get(i);
+                appendTask.setOffsets(inIndexOffset + (long) i * DataStoreUtils.STORE_INDEX_HEAD_LEN,
+                        inDataOffset + dataSize);
+                dataBuffers[i] = appendTask.getDataBuffer();
+                indexBuffers[i] = appendTask.getIndexBuffer();
+                dataSize += appendTask.getDataSize();
+                leftTime = Math.min(leftTime, appendTask.getRecvTime());
+                rightTime = Math.max(rightTime, appendTask.getRecvTime());
+            }
+            // filling data segment.
+            this.curUnflushSize.addAndGet(dataSize);
+            dataOffset = curDataSeg.append(dataBuffers, leftTime, rightTime);
+            // judge whether we need to create a new data segment.
+            if (curDataSeg.getCachedSize() >= this.tubeConfig.getMaxSegmentSize()) {
+                isDataSegFlushed = true;
+                long newDataOffset = curDataSeg.flush(true);
+                File newDataFile =
+                        new File(this.dataDir,
+                                DataStoreUtils.nameFromOffset(newDataOffset, DataStoreUtils.DATA_FILE_SUFFIX));
+                curDataSeg.setMutable(false);
+                newDataFilePath = newDataFile.getAbsolutePath();
+                this.dataSegments.append(new FileSegment(newDataOffset, newDataFile, SegmentType.DATA));
+            }
+            // filling index data.
+            indexOffset = curIndexSeg.append(indexBuffers, leftTime, rightTime);
+            // judge whether we need to create a new index segment.
+            if (curIndexSeg.getCachedSize() >= this.tubeConfig.getMaxIndexSegmentSize()) {
+                isIndexSegFlushed = true;
+                long newIndexOffset = curIndexSeg.flush(true);
+                curIndexSeg.setMutable(false);
+                File newIndexFile =
+                        new File(this.indexDir,
+                                DataStoreUtils.nameFromOffset(newIndexOffset, DataStoreUtils.INDEX_FILE_SUFFIX));
+                newIndexFilePath = newIndexFile.getAbsolutePath();
+                this.indexSegments.append(new FileSegment(newIndexOffset, newIndexFile, true,
+                        SegmentType.INDEX, tubeConfig.isEnableIndexMmapRead(), tubeConfig.isEnableFilterIndex()));
+            }
+            // check whether we need to flush to disk, only once for the whole group.
+            pendingMsgSizeExceed = (messageStore.getUnflushDataHold() > 0)
+                    && (curUnflushSize.get() >= messageStore.getUnflushDataHold());
+            pendingMsgCntExceed =
+                    (this.curUnflushed.addAndGet(msgCnt) >= messageStore.getUnflushThreshold());
+            pendingMsgTimeExceed =
+                    (currTime - this.lastFlushTime.get() >= messageStore.getUnflushInterval());
+            if (pendingMsgCntExceed || pendingMsgTimeExceed
+                    || pendingMsgSizeExceed || isDataSegFlushed || isIndexSegFlushed) {
+                isForceMetadata = (isDataSegFlushed || isIndexSegFlushed
+                        || (currTime - this.lastMetaFlushTime.get() > MAX_META_REFRESH_DUR));
+                final long fsyncStartTime = System.currentTimeMillis();
+                if (!isDataSegFlushed) {
+                    curDataSeg.flush(isForceMetadata);
+                }
+                if (!isIndexSegFlushed) {
+                    curIndexSeg.flush(isForceMetadata);
+                }
+                msgStoreStatsHolder.addFileFsyncDlt(System.currentTimeMillis() - fsyncStartTime);
+                flushedMsgCnt = this.curUnflushed.getAndSet(0);
+                flushedDataSize = this.curUnflushSize.getAndSet(0);
+                this.lastFlushTime.set(currTime);
+                if (isForceMetadata) {
+                    this.lastMetaFlushTime.set(this.lastFlushTime.get());
+                }
+            }
+            // print abnormal information
+            if (inIndexOffset != indexOffset || inDataOffset != dataOffset) {
+                ServiceStatusHolder.addWriteIOErrCnt();
+                BrokerSrvStatsHolder.incDiskIOExcCnt();
+                logger.error(sb.append("[File Store]: groupAppendMsg data Error, storekey=")
+                        .append(this.storeKey).append(",msgCnt=").append(msgCnt)
+                        .append(",indexSize=").append(indexSize)
+                        .append(",inIndexOffset=").append(inIndexOffset)
+                        .append(",indexOffset=").append(indexOffset)
+                        .append(",dataSize=").append(dataSize)
+                        .append(",inDataOffset=").append(inDataOffset)
+                        .append(",dataOffset=").append(dataOffset).toString());
+                sb.delete(0, sb.length());
+            } else {
+                fileStoreOK = true;
+            }
+        } catch (Throwable e) {
+            if (!closed.get()) {
+                ServiceStatusHolder.addWriteIOErrCnt();
+                BrokerSrvStatsHolder.incDiskIOExcCnt();
+            }
+            samplePrintCtrl.printExceptionCaught(e);
+        } finally {
+            // signal the appenders of the group
+            for (GroupAppendTask groupTask : groupTasks) {
+                groupTask.setDone(fileStoreOK);
+            }
+            // add statistics.
+            if (fileStoreOK) {
+                msgStoreStatsHolder.addFileGroupCommitStats(msgCnt);
+                msgStoreStatsHolder.addFileFlushStatsInfo(msgCnt, indexSize, dataSize,
+                        flushedMsgCnt, flushedDataSize, isDataSegFlushed, isIndexSegFlushed,
+                        pendingMsgSizeExceed, pendingMsgCntExceed, pendingMsgTimeExceed,
+                        isForceMetadata, System.currentTimeMillis() - currTime);
+                if (isDataSegFlushed) {
+                    logger.info(sb.append("[File Store] Created data segment ")
+                            .append(newDataFilePath).toString());
+                    sb.delete(0, sb.length());
+                }
+                if (isIndexSegFlushed) {
+                    logger.info(sb.append("[File Store] Created index segment ")
+                            .append(newIndexFilePath).toString());
+                    sb.delete(0, sb.length());
+                }
+            }
+        }
+    }
+
     /**
      * Get message from index and data files.
      *
@@ -300,6 +512,11 @@ public class MsgFileStore implements Closeable {
             int maxMsgTransferSize,
             long reqRcvTime) {
         // #lizard forgives
+        if (this.tubeConfig.isEnableFileRegionRead()) {
+            return getMessagesByRegion(partitionId, lastRdOffset, reqOffset,
+                    indexBuffer, isFilterConsume, filterKeySet, statsKeyBase,
+                    maxMsgTransferSize, reqRcvTime);
+        }
         // Orderly read from index file, then random read from data file.
         int retCode = 0;
         int totalSize = 0;
@@ -438,6 +655,203 @@ public class MsgFileStore implements Closeable {
                 totalSize, countMap, transferedMessageList);
     }
 
+    /**
+     * Get message from index and data files, the index records which point to
+     * consecutive positions of the same data segment are merged into one region,
+     * and each region is read from the data file with one positional read.
+     *
+     * @param partitionId           the partitionId for reading messages
+     * @param lastRdOffset          the recent data offset read before
+     * @param reqOffset             the request index offset
+     * @param indexBuffer           the index read buffer
+     * @param isFilterConsume       whether to filter consumption
+     * @param filterKeySet          filter item set
+     * @param statsKeyBase         the statistical key prefix
+     * @param maxMsgTransferSize    the max read message size
+     * @param reqRcvTime            the timestamp of the record to be checked
+     *
+     * @return                      read result
+     */
+    private GetMessageResult getMessagesByRegion(int partitionId, long lastRdOffset,
+            long reqOffset, ByteBuffer indexBuffer,
+            boolean isFilterConsume,
+            Set<Integer> filterKeySet,
+            String statsKeyBase,
+            int maxMsgTransferSize,
+            long reqRcvTime) {
+        // #lizard forgives
+        int curIndexOffset = 0;
+        Segment recordSeg = null;
+        int curIndexPartitionId = 0;
+        long curIndexDataOffset = 0L;
+        int curIndexDataSize = 0;
+        int curIndexKeyCode = 0;
+        long recvTimeInMillsec = 0L;
+        long maxDataLimitOffset = 0L;
+        int selectedSize = 0;
+        final long curDataMaxOffset = getDataMaxOffset();
+        final long curDataMinOffset = getDataMinOffset();
+        final RegionReadResult readResult = new RegionReadResult(statsKeyBase);
+        final ReadRegion readRegion = new ReadRegion();
+        // read data file by index.
+        for (curIndexOffset = 0; curIndexOffset < indexBuffer.remaining(); curIndexOffset +=
+                DataStoreUtils.STORE_INDEX_HEAD_LEN) {
+            curIndexPartitionId = indexBuffer.getInt();
+            curIndexDataOffset = indexBuffer.getLong();
+            curIndexDataSize = indexBuffer.getInt();
+            curIndexKeyCode = indexBuffer.getInt();
+            recvTimeInMillsec = indexBuffer.getLong();
+            maxDataLimitOffset = curIndexDataOffset + curIndexDataSize;
+            // skip when mismatch condition
+            if (curIndexDataOffset < 0
+                    || curIndexDataSize <= 0
+                    || curIndexDataSize > DataStoreUtils.STORE_MAX_MESSAGE_STORE_LEN
+                    || curIndexDataOffset < curDataMinOffset) {
+                readResult.readedOffset = curIndexOffset + DataStoreUtils.STORE_INDEX_HEAD_LEN;
+                continue;
+            }
+            // read finish, then return.
+            if (curIndexDataOffset >= curDataMaxOffset
+                    || maxDataLimitOffset > curDataMaxOffset) {
+                readResult.lastRdDataOffset = curIndexDataOffset;
+                break;
+            }
+            // conduct filter operation.
+            if (curIndexPartitionId != partitionId
+                    || (isFilterConsume
+                            && !filterKeySet.contains(curIndexKeyCode))) {
+                readResult.lastRdDataOffset = maxDataLimitOffset;
+                readResult.readedOffset = curIndexOffset + DataStoreUtils.STORE_INDEX_HEAD_LEN;
+                continue;
+            }
+            if (reqRcvTime != 0 && recvTimeInMillsec < reqRcvTime) {
+                continue;
+            }
+            // locate the data segment, read out the pending region when the segment changes.
+            if (recordSeg == null
+                    || !((curIndexDataOffset >= recordSeg.getStart())
+                            && (maxDataLimitOffset <= recordSeg.getStart() + recordSeg.getCommitSize()))) {
+                if (!readRegion.isEmpty()
+                        && !readRegionMessages(partitionId, readRegion, readResult)) {
+                    break;
+                }
+                if (recordSeg != null) {
+                    recordSeg.relViewRef();
+                    recordSeg = null;
+                }
+                try {
+                    recordSeg = dataSegments.getRecordSeg(curIndexDataOffset);
+                } catch (Throwable e2) {
+                    fillRegionReadError(partitionId, e2, readResult);
+                    break;
+                }
+                if (recordSeg == null) {
+                    continue;
+                }
+                readRegion.setSegment(recordSeg);
+            }
+            // read out the pending region when the message is not adjacent to it.
+            if (!readRegion.isAdjacent(curIndexDataOffset)
+                    && !readRegionMessages(partitionId, readRegion, readResult)) {
+                break;
+            }
+            readRegion.addRecord(curIndexOffset, curIndexDataOffset, curIndexDataSize);
+            readResult.readedOffset = curIndexOffset + DataStoreUtils.STORE_INDEX_HEAD_LEN;
+            readResult.lastRdDataOffset = maxDataLimitOffset;
+            selectedSize += curIndexDataSize;
+            // break when exceed the max transfer size.
+            if (selectedSize >= maxMsgTransferSize) {
+                break;
+            }
+        }
+        if (!readRegion.isEmpty()) {
+            readRegionMessages(partitionId, readRegion, readResult);
+        }
+        // release resource
+        if (recordSeg != null) {
+            recordSeg.relViewRef();
+        }
+        if (readResult.retCode != 0) {
+            if (!readResult.transferedMessageList.isEmpty()) {
+                readResult.retCode = 0;
+                readResult.errInfo = "Ok";
+            }
+        }
+        if (readResult.lastRdDataOffset <= 0L) {
+            readResult.lastRdDataOffset = lastRdOffset;
+        }
+        // return result.
+        return new GetMessageResult(readResult.result, readResult.retCode,
+                readResult.errInfo, reqOffset, readResult.readedOffset,
+                readResult.lastRdDataOffset, readResult.totalSize,
+                readResult.countMap, readResult.transferedMessageList);
+    }
+
+    /**
+     * Read the pending region from data segment, and convert the contained messages.
+     *
+     * @param partitionId   the partitionId for reading messages
+     * @param readRegion    the pending region
+     * @param readResult    the read result to fill
+     * @return              whether to continue reading
+     */
+    private boolean readRegionMessages(int partitionId,
+            ReadRegion readRegion, RegionReadResult readResult) {
+        ByteBuffer regionBuffer;
+        try {
+            if (this.closed.get()) {
+                throw new Exception("Read Service has closed!");
+            }
+            regionBuffer = ByteBuffer.allocate(readRegion.getRegionSize());
+            readRegion.getSegment().read(regionBuffer, readRegion.getRegionStart());
+            regionBuffer.flip();
+        } catch (Throwable e2) {
+            fillRegionReadError(partitionId, e2, readResult);
+            // roll back to the first record of the region
+            readResult.readedOffset = readRegion.getIndexPos(0);
+            readResult.lastRdDataOffset = readRegion.getDataOffset(0);
+            readRegion.clear();
+            return false;
+        }
+        for (int i = 0; i < readRegion.getRecordCount(); i++) {
+            int dataPos = (int) (readRegion.getDataOffset(i) - readRegion.getRegionStart());
+            if (regionBuffer.limit() - dataPos < readRegion.getDataSize(i)) {
+                // the data is not fully readable, stop before this record
+                readResult.readedOffset = readRegion.getIndexPos(i);
+                readResult.lastRdDataOffset = readRegion.getDataOffset(i);
+                readRegion.clear();
+                return false;
+            }
+            ClientBroker.TransferedMessage transferedMessage =
+                    DataStoreUtils.getTransferMsg(regionBuffer, dataPos,
+                            readRegion.getDataSize(i), readResult.countMap,
+                            readResult.statsKeyBase, readResult.sBuilder);
+            if (transferedMessage == null) {
+                continue;
+            }
+            readResult.transferedMessageList.add(transferedMessage);
+            readResult.totalSize += readRegion.getDataSize(i);
+        }
+        readRegion.clear();
+        return true;
+    }
+
+    private void fillRegionReadError(int partitionId,
+            Throwable e2, RegionReadResult readResult) {
+        if (e2 instanceof IOException) {
+            ServiceStatusHolder.addReadIOErrCnt();
+            BrokerSrvStatsHolder.incDiskIOExcCnt();
+        }
+        samplePrintCtrl.printExceptionCaught(e2,
+                messageStore.getStoreKey(), String.valueOf(partitionId));
+        readResult.retCode = TErrCodeConstants.INTERNAL_SERVER_ERROR;
+        readResult.errInfo = readResult.sBuilder
+                .append("Get message from file failure : ")
+                .append(e2.getCause()).toString();
+        readResult.sBuilder.delete(0, readResult.sBuilder.length());
+        readResult.result = false;
+    }
+
     /**
      * Get the segment start Offset that contains the specified timestamp
      *
@@ -554,8 +968,10 @@ public class MsgFileStore implements Closeable {
                         && (checkTimestamp - lastFlushTime.get() >= messageStore.getUnflushInterval())) {
                     forceMetadata =
                             (checkTimestamp - lastMetaFlushTime.get()) > MAX_META_REFRESH_DUR;
+                    final long fsyncStartTime = System.currentTimeMillis();
                     dataSegments.flushLast(forceMetadata);
                     indexSegments.flushLast(forceMetadata);
+                    msgStoreStatsHolder.addFileFsyncDlt(System.currentTimeMillis() - fsyncStartTime);
                     if (forceMetadata) {
                         this.lastMetaFlushTime.set(checkTimestamp);
                     }
@@ -612,15 +1028,73 @@ public class MsgFileStore implements Closeable {
         return indexSegments.getRecordSeg(offset);
     }
 
+    /**
+     * Skip the index records that do not match the filter condition
+     * through the filter indexes of the immutable index segments,
+     * the mutable index segment is left to the linear scan.
+     *
+     * @param reqOffset      the request index offset
+     * @param partitionId    the partition id
+     * @param filterKeySet   the filter key codes
+     * @return               the index offset to read from
+     * @throws IOException   the exception during processing
+     */
+    public long seekFilterIndexOffset(long reqOffset, int partitionId,
+            Set<Integer> filterKeySet) throws IOException {
+        long curOffset = reqOffset;
+        if (filterKeySet == null || filterKeySet.isEmpty()) {
+            return curOffset;
+        }
+        while (true) {
+            Segment indexSeg = indexSegments.getRecordSeg(curOffset);
+            if (indexSeg == null) {
+                break;
+            }
+            long seekOffset = indexSeg.seekFilterRecord(curOffset, partitionId, filterKeySet);
+            if (seekOffset < curOffset
+                    || seekOffset - reqOffset > MAX_FILTER_INDEX_SKIP_SIZE) {
+                break;
+            }
+            curOffset = seekOffset;
+            // continue with the next segment if nothing matched in this one
+            if (seekOffset < indexSeg.getLast()) {
+                break;
+            }
+        }
+        return curOffset;
+    }
+
+    /**
+     * Build the filter index of the immutable index segments that have none yet,
+     * it is called by the background flush thread outside the store locks.
+     */
+    public void buildFilterIndexes() {
+        if (this.closed.get() || !this.tubeConfig.isEnableFilterIndex()) {
+            return;
+        }
+        for (Segment indexSeg : this.indexSegments.getView()) {
+            if (this.closed.get()) {
+                return;
+            }
+            if (!indexSeg.isMutable()) {
+                indexSeg.buildFilterIndex();
+            }
+        }
+    }
+
     private void loadSegments(SegmentType segType, long offsetIfCreate,
             StringBuilder sBuilder) throws IOException {
         String segTypeStr = "Data";
         File segListDir = this.dataDir;
         String fileSuffix = DataStoreUtils.DATA_FILE_SUFFIX;
+        boolean mmapRead = false;
+        boolean filterIndexed = false;
         if (segType == SegmentType.INDEX) {
             segTypeStr = "Index";
             segListDir = this.indexDir;
             fileSuffix = DataStoreUtils.INDEX_FILE_SUFFIX;
+            mmapRead = this.tubeConfig.isEnableIndexMmapRead();
+            filterIndexed = this.tubeConfig.isEnableFilterIndex();
         }
         logger.info(sBuilder.append("[File Store] begin Load ")
                 .append(segTypeStr).append(" segments ")
@@ -642,7 +1116,7 @@ public class MsgFileStore implements Closeable {
                     final String filename = file.getName();
                     final long start =
                             Long.parseLong(filename.substring(0, filename.length() - fileSuffix.length()));
-                    accum.add(new FileSegment(start, file, false, segType));
+                    accum.add(new FileSegment(start, file, false, segType, mmapRead, filterIndexed));
                 }
             }
         }
@@ -653,7 +1127,7 @@ public class MsgFileStore implements Closeable {
             logger.info(sBuilder.append("[File Store] Created ").append(segTypeStr)
                     .append(" segment ").append(newFile.getAbsolutePath()).toString());
             sBuilder.delete(0, sBuilder.length());
-            accum.add(new FileSegment(offsetIfCreate, newFile, segType));
+            accum.add(new FileSegment(offsetIfCreate, newFile, true, segType, mmapRead, filterIndexed));
         } else {
             // The list of segments is required to be arranged continuously from low to high
             accum.sort(new Comparator<Segment>() {
@@ -676,7 +1150,7 @@ public class MsgFileStore implements Closeable {
                 logger.info(sBuilder.append("[File Store] Created time roll").append(segTypeStr)
                         .append(" segment ").append(newFile.getAbsolutePath()).toString());
                 sBuilder.delete(0, sBuilder.length());
-                accum.add(new FileSegment(newOffset, newFile, segType));
+                accum.add(new FileSegment(newOffset, newFile, true, segType, mmapRead, filterIndexed));
             } else {
                 last = accum.remove(accum.size() - 1);
                 last.close();
@@ -686,7 +1160,8 @@ public class MsgFileStore implements Closeable {
                         .append(last.getFile().getAbsolutePath()).toString());
                 sBuilder.delete(0, sBuilder.length());
                 final FileSegment mutable =
-                        new FileSegment(last.getStart(), last.getFile(), segType, Long.MAX_VALUE);
+                        new FileSegment(last.getStart(), last.getFile(),
+                                segType, Long.MAX_VALUE, mmapRead, filterIndexed);
                 accum.add(mutable);
             }
         }
@@ -745,4 +1220,167 @@ public class MsgFileStore implements Closeable {
             return -1;
         }
     }
+
+    /**
+     * The message waiting for group commit.
+     */
+    private static class GroupAppendTask {
+
+        private final ByteBuffer indexBuffer;
+        private final int dataSize;
+        private final ByteBuffer dataBuffer;
+        private final long recvTime;
+        private long indexOffset = -1L;
+        private long dataOffset = -1L;
+        private boolean success = false;
+        private volatile boolean done = false;
+
+        public GroupAppendTask(ByteBuffer indexBuffer, int dataSize,
+                ByteBuffer dataBuffer, long recvTime) {
+            this.indexBuffer = indexBuffer;
+            this.dataSize = dataSize;
+            this.dataBuffer = dataBuffer;
+            this.recvTime = recvTime;
+        }
+
+        public void setOffsets(long indexOffset, long dataOffset) {
+            this.indexOffset = indexOffset;
+            this.dataOffset = dataOffset;
+            this.indexBuffer.putLong(DataStoreUtils.INDEX_POS_DATAOFFSET, dataOffset);
+            this.dataBuffer.putLong(DataStoreUtils.STORE_HEADER_POS_QUEUE_LOGICOFF, indexOffset);
+        }
+
+        public void setDone(boolean success) {
+            this.success = success;
+            this.done = true;
+        }
+
+        public boolean isDone() {
+            return done;
+        }
+
+        public boolean isSuccess() {
+            return success;
+        }
+
+        public ByteBuffer getIndexBuffer() {
+            return indexBuffer;
+        }
+
+        public int getDataSize() {
+            return dataSize;
+        }
+
+        public ByteBuffer getDataBuffer() {
+            return dataBuffer;
+        }
+
+        public long getRecvTime() {
+            return recvTime;
+        }
+
+        public long getIndexOffset() {
+            return indexOffset;
+        }
+
+        public long getDataOffset() {
+            return dataOffset;
+        }
+    }
+
+    private static class RegionReadResult {
+
+        private final String statsKeyBase;
+        private final StringBuilder sBuilder = new StringBuilder(512);
+        private final HashMap<String, TrafficInfo> countMap = new HashMap<>();
+        private final List<ClientBroker.TransferedMessage> transferedMessageList =
+                new ArrayList<>();
+        private boolean result = true;
+        private int retCode = 0;
+        private String errInfo = "Ok";
+        private int totalSize = 0;
+        private int readedOffset = 0;
+        private long lastRdDataOffset = 0L;
+
+        public RegionReadResult(String statsKeyBase) {
+            this.statsKeyBase = statsKeyBase;
+        }
+    }
+
+    /**
+     * Consecutive records of one data segment, which can be read out at once.
+     */
+    private static class ReadRegion {
+
+        private Segment segment;
+        private long regionStart = -1L;
+        private long regionEnd = -1L;
+        private int recordCount = 0;
+        private int[] indexPositions = new int[64];
+        private long[] dataOffsets = new long[64];
+        private int[] dataSizes = new int[64];
+
+        public void setSegment(Segment segment) {
+            this.segment = segment;
+        }
+
+        public Segment getSegment() {
+            return segment;
+        }
+
+        public boolean isEmpty() {
+            return recordCount == 0;
+        }
+
+        public boolean isAdjacent(long dataOffset) {
+            return recordCount == 0 || regionEnd == dataOffset;
+        }
+
+        public void addRecord(int indexPos, long dataOffset, int dataSize) {
+            if (recordCount == dataOffsets.length) {
+                int newLength = recordCount * 2;
+                indexPositions = Arrays.copyOf(indexPositions, newLength);
+                dataOffsets = Arrays.copyOf(dataOffsets, newLength);
+                dataSizes = Arrays.copyOf(dataSizes, newLength);
+            }
+            if (recordCount == 0) {
+                regionStart = dataOffset;
+            }
+            indexPositions[recordCount] = indexPos;
+            dataOffsets[recordCount] = dataOffset;
+            dataSizes[recordCount] = dataSize;
+            regionEnd = dataOffset + dataSize;
+            recordCount++;
+        }
+
+        public long getRegionStart() {
+            return regionStart;
+        }
+
+        public int getRegionSize() {
+            return (int) (regionEnd - regionStart);
+        }
+
+        public int getRecordCount() {
+            return recordCount;
+        }
+
+        public int getIndexPos(int index) {
+            return indexPositions[index];
+        }
+
+        public long getDataOffset(int index) {
+            return dataOffsets[index];
+        }
+
+        public int getDataSize(int index) {
+            return dataSizes[index];
+        }
+
+        public void clear() {
+            recordCount = 0;
+            regionStart = -1L;
+            regionEnd = -1L;
+        }
+    }
 }
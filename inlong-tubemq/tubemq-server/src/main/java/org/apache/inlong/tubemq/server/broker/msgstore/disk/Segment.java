@@ -20,6 +20,7 @@ package org.apache.inlong.tubemq.server.broker.msgstore.disk;
 import java.io.File;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.Set;
 
 /**
  * Storage segment, usually implemented in file format.
@@ -40,6 +41,17 @@ public interface Segment {
      */
     long append(ByteBuffer buf, long leftTime, long rightTime) throws IOException;
 
+    /**
+     * Append multiple buffers to the last FileSegment with one gathering write.
+     *
+     * @param bufs           data buffers
+     * @param leftTime       the first record timestamp
+     * @param rightTime      the latest record timestamp
+     * @return               latest writable position
+     * @throws IOException   exception while write data to disk
+     */
+    long append(ByteBuffer[] bufs, long leftTime, long rightTime) throws IOException;
+
     long flush(boolean force) throws IOException;
 
     int checkAndSetExpired(long checkTimestamp, long maxValidTimeMs);
@@ -95,4 +107,23 @@ public interface Segment {
     boolean containTime(long timestamp);
 
     long getRecordTime(long reqOffset) throws IOException;
+
+    /**
+     * Seek the first index record at or after the offset that belongs to
+     * the partition and matches one of the key codes.
+     *
+     * @param absOffset     absolute index offset to seek from
+     * @param partitionId   the partition id
+     * @param keyCodes      the filter key codes
+     * @return  the offset of the matched record, the last offset if not found,
+     *          or -1 if the segment has no filter index.
+     */
+    long seekFilterRecord(long absOffset, int partitionId, Set<Integer> keyCodes);
+
+    /**
+     * Load or build the filter index if the segment is immutable and has no filter index yet.
+     * It scans the whole segment, so it is called by the background thread
+     * instead of the segment roll-over under the store write lock.
+     */
+    void buildFilterIndex();
 }
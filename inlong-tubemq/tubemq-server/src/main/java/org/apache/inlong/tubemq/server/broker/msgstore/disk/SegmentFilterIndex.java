@@ -0,0 +1,316 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.tubemq.server.broker.msgstore.disk;
+
+import org.apache.inlong.tubemq.server.broker.utils.DataStoreUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Filter index of an immutable index segment, the postings list of each
+ * (partitionId, keyCode) pair holds the ascending ordinals of its records
+ * in the segment, so that the filter consumer can jump to the matching records.
+ *
+ * The index is stored beside the index file and mapped in read-only mode:
+ *   header:   magic, recordCount, keyCount
+ *   keys:     keyCount * (partitionId, keyCode, postingStart, postingCount),
+ *             ordered by partitionId and keyCode
+ *   postings: recordCount * record ordinal
+ */
+public class SegmentFilterIndex {
+
+    public static final String FILTER_FILE_SUFFIX = ".filter";
+    private static final int FILTER_FILE_MAGIC = 0x54464958;
+    private static final int HEADER_LEN = 12;
+    private static final int KEY_ITEM_LEN = 16;
+    private static final int POSTING_ITEM_LEN = 4;
+    private static final int BUILD_READ_RECORD_CNT = 8192;
+
+    private final int recordCount;
+    private final int keyCount;
+    private final MappedBufferRef mappedRef;
+
+    private SegmentFilterIndex(int recordCount,
+            int keyCount, MappedByteBuffer mappedBuffer) {
+        this.recordCount = recordCount;
+        this.keyCount = keyCount;
+        this.mappedRef = new MappedBufferRef(mappedBuffer);
+    }
+
+    /**
+     * Load the filter index file of the index segment, build it if the file
+     * does not exist or does not match the index segment.
+     *
+     * @param indexFile      the index segment file
+     * @param indexChannel   the channel of the index segment file
+     * @param indexSize      the size of the index segment
+     * @return               the filter index
+     * @throws IOException   the exception during processing
+     */
+    public static SegmentFilterIndex loadOrBuild(File indexFile,
+            FileChannel indexChannel, long indexSize) throws IOException {
+        if (indexSize % DataStoreUtils.STORE_INDEX_HEAD_LEN != 0
+                || indexSize / DataStoreUtils.STORE_INDEX_HEAD_LEN > (Integer.MAX_VALUE - HEADER_LEN)
+                        / (KEY_ITEM_LEN + POSTING_ITEM_LEN)) {
+            throw new IOException(new StringBuilder(512)
+                    .append("[File Store] Invalid index segment size ").append(indexSize)
+                    .append(" for filter index of ").append(indexFile.getAbsolutePath()).toString());
+        }
+        final int recordCount = (int) (indexSize / DataStoreUtils.STORE_INDEX_HEAD_LEN);
+        final File filterFile = getFilterFile(indexFile);
+        SegmentFilterIndex filterIndex = load(filterFile, recordCount);
+        if (filterIndex == null) {
+            write(filterFile, build(indexChannel, recordCount));
+            filterIndex = load(filterFile, recordCount);
+            if (filterIndex == null) {
+                throw new IOException(new StringBuilder(512)
+                        .append("[File Store] Failure to load built filter index ")
+                        .append(filterFile.getAbsolutePath()).toString());
+            }
+        }
+        return filterIndex;
+    }
+
+    public static File getFilterFile(File indexFile) {
+        return new File(indexFile.getParentFile(),
+                indexFile.getName() + FILTER_FILE_SUFFIX);
+    }
+
+    public int getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Seek the first record at or after the start ordinal that belongs to
+     * the partition and matches one of the key codes.
+     *
+     * @param startOrdinal   the record ordinal to start from
+     * @param partitionId    the partition id
+     * @param keyCodes       the filter key codes
+     * @return               the ordinal of the matched record, the record count if not found,
+     *                       or -1 if the index has been released
+     */
+    public int seek(int startOrdinal, int partitionId, Set<Integer> keyCodes) {
+        final MappedByteBuffer tmpMapped = this.mappedRef.getViewRef();
+        if (tmpMapped == null) {
+            return -1;
+        }
+        try {
+            int minOrdinal = recordCount;
+            for (Integer keyCode : keyCodes) {
+                if (keyCode == null) {
+                    continue;
+                }
+                int keyPos = findKey(tmpMapped, partitionId, keyCode);
+                if (keyPos < 0) {
+                    continue;
+                }
+                int postingStart = tmpMapped.getInt(keyPos + 8);
+                int postingCount = tmpMapped.getInt(keyPos + 12);
+                int ordinal = findPosting(tmpMapped,
+                        postingStart, postingCount, startOrdinal, minOrdinal);
+                if (ordinal < minOrdinal) {
+                    minOrdinal = ordinal;
+                }
+            }
+            return minOrdinal;
+        } finally {
+            this.mappedRef.relViewRef();
+        }
+    }
+
+    /**
+     * Release the mapping as the owner segment is closed or deleted, the mapped
+     * memory is unmapped after the concurrent seeks finish.
+     */
+    public void release() {
+        this.mappedRef.release();
+    }
+
+    private int findKey(ByteBuffer buffer, int partitionId, int keyCode) {
+        int low = 0;
+        int high = keyCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int keyPos = HEADER_LEN + mid * KEY_ITEM_LEN;
+            int cmp = Integer.compare(buffer.getInt(keyPos), partitionId);
+            if (cmp == 0) {
+                cmp = Integer.compare(buffer.getInt(keyPos + 4), keyCode);
+            }
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return keyPos;
+            }
+        }
+        return -1;
+    }
+
+    private int findPosting(ByteBuffer buffer, int postingStart,
+            int postingCount, int startOrdinal, int notFound) {
+        final int postingBase = HEADER_LEN + keyCount * KEY_ITEM_LEN;
+        int low = postingStart;
+        int high = postingStart + postingCount - 1;
+        int result = notFound;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int ordinal = buffer.getInt(postingBase + mid * POSTING_ITEM_LEN);
+            if (ordinal >= startOrdinal) {
+                result = ordinal;
+                high = mid - 1;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return result;
+    }
+
+    private static SegmentFilterIndex load(File filterFile,
+            int recordCount) throws IOException {
+        if (!filterFile.isFile()) {
+            return null;
+        }
+        try (RandomAccessFile randFile = new RandomAccessFile(filterFile, "r")) {
+            final FileChannel channel = randFile.getChannel();
+            final long fileSize = channel.size();
+            if (fileSize < HEADER_LEN) {
+                return null;
+            }
+            ByteBuffer header = ByteBuffer.allocate(HEADER_LEN);
+            while (header.hasRemaining()) {
+                if (channel.read(header, header.position()) < 0) {
+                    return null;
+                }
+            }
+            header.flip();
+            if (header.getInt() != FILTER_FILE_MAGIC
+                    || header.getInt() != recordCount) {
+                return null;
+            }
+            final int keyCount = header.getInt();
+            if (keyCount < 0 || keyCount > recordCount
+                    || fileSize != getFileSize(recordCount, keyCount)) {
+                return null;
+            }
+            return new SegmentFilterIndex(recordCount, keyCount,
+                    channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize));
+        }
+    }
+
+    private static ByteBuffer build(FileChannel indexChannel,
+            int recordCount) throws IOException {
+        // assign each (partitionId, keyCode) pair a group, and record the group of each record
+        final Map<Long, Integer> groupMap = new HashMap<>();
+        final int[] recordGroups = new int[recordCount];
+        int[] groupCounts = new int[16];
+        final ByteBuffer readBuffer = ByteBuffer.allocate(
+                BUILD_READ_RECORD_CNT * DataStoreUtils.STORE_INDEX_HEAD_LEN);
+        int ordinal = 0;
+        while (ordinal < recordCount) {
+            int readCnt = Math.min(BUILD_READ_RECORD_CNT, recordCount - ordinal);
+            readBuffer.clear();
+            readBuffer.limit(readCnt * DataStoreUtils.STORE_INDEX_HEAD_LEN);
+            long readPos = (long) ordinal * DataStoreUtils.STORE_INDEX_HEAD_LEN;
+            while (readBuffer.hasRemaining()) {
+                if (indexChannel.read(readBuffer, readPos + readBuffer.position()) < 0) {
+                    throw new IOException("[File Store] Index segment is truncated in filter index building!");
+                }
+            }
+            for (int i = 0; i < readCnt; i++) {
+                int recordPos = i * DataStoreUtils.STORE_INDEX_HEAD_LEN;
+                long groupKey = toGroupKey(
+                        readBuffer.getInt(recordPos + DataStoreUtils.INDEX_POS_PARTITIONID),
+                        readBuffer.getInt(recordPos + DataStoreUtils.INDEX_POS_KEY_CODE));
+                Integer groupId = groupMap.get(groupKey);
+                if (groupId == null) {
+                    groupId = groupMap.size();
+                    groupMap.put(groupKey, groupId);
+                    if (groupId >= groupCounts.length) {
+                        groupCounts = Arrays.copyOf(groupCounts, groupCounts.length * 2);
+                    }
+                }
+                recordGroups[ordinal++] = groupId;
+                groupCounts[groupId]++;
+            }
+        }
+        // order the groups by partitionId and keyCode, then lay out their postings
+        final int keyCount = groupMap.size();
+        final long[] groupKeys = new long[keyCount];
+        for (Map.Entry<Long, Integer> entry : groupMap.entrySet()) {
+            groupKeys[entry.getValue()] = entry.getKey();
+        }
+        final long[] sortedKeys = groupKeys.clone();
+        Arrays.sort(sortedKeys);
+        final int[] groupPostingPos = new int[keyCount];
+        final ByteBuffer buffer = ByteBuffer.allocate((int) getFileSize(recordCount, keyCount));
+        buffer.putInt(FILTER_FILE_MAGIC);
+        buffer.putInt(recordCount);
+        buffer.putInt(keyCount);
+        int postingStart = 0;
+        for (long groupKey : sortedKeys) {
+            int groupId = groupMap.get(groupKey);
+            buffer.putInt((int) ((groupKey - Integer.MIN_VALUE) >> 32));
+            buffer.putInt((int) groupKey);
+            buffer.putInt(postingStart);
+            buffer.putInt(groupCounts[groupId]);
+            groupPostingPos[groupId] = postingStart;
+            postingStart += groupCounts[groupId];
+        }
+        // the records are visited in order, so each postings list is ascending
+        final int postingBase = buffer.position();
+        for (int i = 0; i < recordCount; i++) {
+            int groupId = recordGroups[i];
+            buffer.putInt(postingBase
+                    + groupPostingPos[groupId]++ * POSTING_ITEM_LEN, i);
+        }
+        buffer.position(0);
+        return buffer;
+    }
+
+    private static void write(File filterFile, ByteBuffer buffer) throws IOException {
+        try (RandomAccessFile randFile = new RandomAccessFile(filterFile, "rw")) {
+            final FileChannel channel = randFile.getChannel();
+            channel.truncate(0);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer, buffer.position());
+            }
+            channel.force(true);
+        }
+    }
+
+    private static long toGroupKey(int partitionId, int keyCode) {
+        // ordered by partitionId then by the signed keyCode, as the binary search of keys
+        return ((long) partitionId << 32) + keyCode;
+    }
+
+    private static long getFileSize(int recordCount, int keyCount) {
+        return HEADER_LEN + (long) keyCount * KEY_ITEM_LEN
+                + (long) recordCount * POSTING_ITEM_LEN;
+    }
+}
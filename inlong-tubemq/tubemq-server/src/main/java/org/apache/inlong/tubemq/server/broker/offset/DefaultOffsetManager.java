@@ -78,7 +78,7 @@ public class DefaultOffsetManager extends AbstractDaemonService implements Offse
         this.metadataManager = metadataManager;
         this.fileOffsetStorage = new FileOffsetStorage(brokerConfig.getBrokerId(),
                 brokerConfig.getOffsetStgFilePath(), brokerConfig.getOffsetStgFileSyncMs(),
-                brokerConfig.getOffsetStgSyncDurWarnMs());
+                brokerConfig.getOffsetStgSyncDurWarnMs(), brokerConfig.isEnableOffsetJournal());
         if (brokerConfig.getZkConfig() != null
                 && (this.fileOffsetStorage.isFistUseFileStg()
                         || this.brokerConfig.isEnableWriteOffset2Zk())) {
@@ -34,10 +34,12 @@ import org.slf4j.LoggerFactory;
 import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -57,15 +59,28 @@ public class FileOffsetStorage extends AbstractDaemonService implements OffsetSt
     private final String offsetsDirBase;
     private final String offsetsFileBase;
     private final long syncDurWarnMs;
+    // whether to store the offsets in the append-only journal instead of the json file
+    private final boolean journalMode;
     private final AtomicBoolean isStarted = new AtomicBoolean(false);
     private final AtomicBoolean isUpdated = new AtomicBoolean(false);
+    // whether some offsets are removed, the journal must be compacted to drop them
+    private final AtomicBoolean isRemoved = new AtomicBoolean(false);
     private GroupOffsetStgInfo groupOffsetInfo;
+    private OffsetJournal offsetJournal;
     private final ConcurrentHashMap<String, ConcurrentHashSet<String>> groupTopicsInfo = new ConcurrentHashMap<>();
+    // the updated partition keys of each group not appended to the journal yet
+    private final ConcurrentHashMap<String, ConcurrentHashSet<String>> unJournaledKeys = new ConcurrentHashMap<>();
 
     public FileOffsetStorage(int brokerId, String offsetFilePath, long syncIntMs, long syncDurWarnMs) {
+        this(brokerId, offsetFilePath, syncIntMs, syncDurWarnMs, false);
+    }
+
+    public FileOffsetStorage(int brokerId, String offsetFilePath,
+            long syncIntMs, long syncDurWarnMs, boolean journalMode) {
         super("Offset-File", syncIntMs);
         this.brokerId = brokerId;
         this.syncDurWarnMs = syncDurWarnMs;
+        this.journalMode = journalMode;
         this.offsetsDirBase = offsetFilePath + File.separator + offsetSubDir;
         this.offsetsFileBase = this.offsetsDirBase + File.separator + OFFSET_FILENAME;
     }
@@ -95,7 +110,7 @@ public class FileOffsetStorage extends AbstractDaemonService implements OffsetSt
             return;
         }
         long curStartTime = System.currentTimeMillis();
-        storeOffsetStgInfoToFile(this.groupOffsetInfo, this.offsetsFileBase);
+        syncOffsetStgInfo();
         long wastMs = System.currentTimeMillis() - curStartTime;
         if (wastMs > syncDurWarnMs) {
             logger.warn("[File offsets] sync offsets to file over warn value, wast={}ms, warnMs={}",
@@ -111,7 +126,10 @@ public class FileOffsetStorage extends AbstractDaemonService implements OffsetSt
         super.stop();
         logger.info("[File offsets] begin sync content to file, begin");
         long curStartTime = System.currentTimeMillis();
-        storeOffsetStgInfoToFile(this.groupOffsetInfo, this.offsetsFileBase);
+        syncOffsetStgInfo();
+        if (this.offsetJournal != null) {
+            this.offsetJournal.close();
+        }
         long wastMs = System.currentTimeMillis() - curStartTime;
         if (wastMs > syncDurWarnMs) {
             logger.warn("[File offsets] close and sync offsets to file, wast={}ms, warnMs={}",
@@ -119,6 +137,49 @@ public class FileOffsetStorage extends AbstractDaemonService implements OffsetSt
         }
     }
 
+    private void syncOffsetStgInfo() {
+        if (!this.journalMode) {
+            storeOffsetStgInfoToFile(this.groupOffsetInfo, this.offsetsFileBase);
+            return;
+        }
+        if (this.isRemoved.compareAndSet(true, false)
+                || this.offsetJournal.isCompactRequired()) {
+            // the snapshot includes all updated partitions
+            this.unJournaledKeys.clear();
+            if (!this.offsetJournal.compact(this.groupOffsetInfo)) {
+                this.isUpdated.set(true);
+            }
+            return;
+        }
+        PartStgInfo partStgInfo;
+        Map<String, PartStgInfo> partStgInfoMap;
+        Map<String, Collection<PartStgInfo>> updatedPartInfos = new HashMap<>();
+        for (Map.Entry<String, ConcurrentHashSet<String>> entry : this.unJournaledKeys.entrySet()) {
+            if (entry == null || entry.getKey() == null || entry.getValue() == null) {
+                continue;
+            }
+            partStgInfoMap = this.groupOffsetInfo.getOffsetStgInfos(entry.getKey());
+            List<PartStgInfo> partStgInfos = new ArrayList<>();
+            for (String partKey : entry.getValue()) {
+                entry.getValue().remove(partKey);
+                if (partStgInfoMap == null) {
+                    continue;
+                }
+                partStgInfo = partStgInfoMap.get(partKey);
+                if (partStgInfo != null) {
+                    partStgInfos.add(partStgInfo);
+                }
+            }
+            if (!partStgInfos.isEmpty()) {
+                updatedPartInfos.put(entry.getKey(), partStgInfos);
+            }
+        }
+        if (!this.offsetJournal.append(updatedPartInfos)) {
+            // compact the journal with the whole snapshot in next cycle
+            this.isUpdated.set(true);
+        }
+    }
+
     @Override
     public ConcurrentHashMap<String, OffsetStorageInfo> loadGroupStgInfo(String group) {
         ConcurrentHashMap<String, OffsetStorageInfo> result = new ConcurrentHashMap<>();
@@ -162,8 +223,22 @@ public class FileOffsetStorage extends AbstractDaemonService implements OffsetSt
         if (offsetInfoList == null || offsetInfoList.isEmpty()) {
             return false;
         }
+        List<String> updatedKeys = null;
+        if (this.journalMode) {
+            updatedKeys = new ArrayList<>(offsetInfoList.size());
+            for (OffsetStorageInfo info : offsetInfoList) {
+                if (info == null || !info.isModified()) {
+                    continue;
+                }
+                updatedKeys.add(OffsetStgInfo.buildOffsetKey(info.getTopic(), info.getPartitionId()));
+            }
+        }
         if (this.groupOffsetInfo.storeOffsetStgInfo(
                 group, offsetInfoList, this.groupTopicsInfo)) {
+            if (updatedKeys != null) {
+                // mark after the offsets are stored, so the journal never misses the latest values
+                this.unJournaledKeys.computeIfAbsent(group, k -> new ConcurrentHashSet<>()).addAll(updatedKeys);
+            }
             isUpdated.set(true);
             return true;
         }
@@ -257,6 +332,7 @@ public class FileOffsetStorage extends AbstractDaemonService implements OffsetSt
             }
         }
         if (isUpdated) {
+            this.isRemoved.set(true);
             this.isUpdated.set(true);
         }
     }
@@ -269,6 +345,7 @@ public class FileOffsetStorage extends AbstractDaemonService implements OffsetSt
             for (String rmvGroup : rmvGroups) {
                 this.groupTopicsInfo.remove(rmvGroup);
             }
+            this.isRemoved.set(true);
             this.isUpdated.set(true);
         }
         return rmvGroups;
@@ -308,6 +385,7 @@ public class FileOffsetStorage extends AbstractDaemonService implements OffsetSt
                 groupTopicsInfo.remove(group);
             }
         }
+        this.isRemoved.set(true);
         this.isUpdated.set(true);
         return groups;
     }
@@ -368,7 +446,8 @@ public class FileOffsetStorage extends AbstractDaemonService implements OffsetSt
                 if (file.isFile()) {
                     if (file.getName().endsWith(OFFSET_FILENAME_SUFFIX_MID)
                             || file.getName().endsWith(OFFSET_FILENAME_SUFFIX_FORMAL)
-                            || file.getName().endsWith(OFFSET_FILENAME_SUFFIX_OLD)) {
+                            || file.getName().endsWith(OFFSET_FILENAME_SUFFIX_OLD)
+                            || file.getName().endsWith(OffsetJournal.JOURNAL_FILENAME_SUFFIX)) {
                         isFistUseFileStg = false;
                         break;
                     }
@@ -383,6 +462,28 @@ public class FileOffsetStorage extends AbstractDaemonService implements OffsetSt
             return false;
         }
         GroupOffsetStgInfo tmpOffsetInfoMap;
+        if (OffsetJournal.isJournalExist(this.offsetsFileBase)) {
+            // the journal holds the latest offsets if it exists
+            tmpOffsetInfoMap = new GroupOffsetStgInfo(this.brokerId);
+            OffsetJournal journal = new OffsetJournal(this.offsetsFileBase);
+            if (!journal.load(tmpOffsetInfoMap)) {
+                logger.error("[File offsets] initial load offset journal failure!");
+                return false;
+            }
+            if (this.journalMode) {
+                this.offsetJournal = journal;
+            } else {
+                // migrate the offsets from the journal to the json file
+                RetValue retValue = storeOffsetStgInfoToFile(tmpOffsetInfoMap, this.offsetsFileBase);
+                if (!retValue.isSuccess()) {
+                    journal.close();
+                    return false;
+                }
+                journal.delete();
+                logger.info("[File offsets] migrated offsets from journal to json file");
+            }
+            return initialGroupTopicsInfo(tmpOffsetInfoMap);
+        }
         File dstFile = new File(this.offsetsFileBase + OFFSET_FILENAME_SUFFIX_FORMAL);
         if (dstFile.exists()) {
             String offsetsContent = getConfigFromFile(dstFile);
@@ -413,6 +514,20 @@ public class FileOffsetStorage extends AbstractDaemonService implements OffsetSt
                 return false;
             }
         }
+        if (this.journalMode) {
+            // migrate the offsets from the json file to the journal
+            OffsetJournal journal = new OffsetJournal(this.offsetsFileBase);
+            if (!journal.compact(tmpOffsetInfoMap)) {
+                logger.error("[File offsets] initial offset journal failure!");
+                return false;
+            }
+            this.offsetJournal = journal;
+            logger.info("[File offsets] migrated offsets from json file to journal");
+        }
+        return initialGroupTopicsInfo(tmpOffsetInfoMap);
+    }
+
+    private boolean initialGroupTopicsInfo(GroupOffsetStgInfo tmpOffsetInfoMap) {
         this.groupOffsetInfo = tmpOffsetInfoMap;
         Map<String, OffsetStgInfo> offsetStgInfos = tmpOffsetInfoMap.getGroupOffsetStgInfo();
         if (offsetStgInfos == null || offsetStgInfos.isEmpty()) {
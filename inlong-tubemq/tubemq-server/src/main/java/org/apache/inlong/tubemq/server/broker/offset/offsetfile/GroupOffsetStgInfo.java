@@ -88,6 +88,20 @@ public class GroupOffsetStgInfo {
         return curOffsetStgInfo.updOffsetInfo(topic, partId, 0, msgId, offset, System.currentTimeMillis());
     }
 
+    public void restoreOffsetStgInfo(String group, String topic, int partId, long lstRstTerm,
+            long msgId, long lstOffset, long lstUpdTime, long createOffset, long createTime) {
+        OffsetStgInfo curOffsetStgInfo = groupOffsetStgInfo.get(group);
+        if (curOffsetStgInfo == null) {
+            OffsetStgInfo tmpOffsetStgInfo = new OffsetStgInfo();
+            curOffsetStgInfo = groupOffsetStgInfo.putIfAbsent(group, tmpOffsetStgInfo);
+            if (curOffsetStgInfo == null) {
+                curOffsetStgInfo = tmpOffsetStgInfo;
+            }
+        }
+        curOffsetStgInfo.restoreOffsetInfo(topic, partId, lstRstTerm,
+                msgId, lstOffset, lstUpdTime, createOffset, createTime);
+    }
+
     public Map<Integer, Long> queryGroupOffsetInfo(String group, String topic, Set<Integer> partIds) {
         OffsetStgInfo offsetStgInfo = groupOffsetStgInfo.get(group);
         if (offsetStgInfo == null) {
@@ -0,0 +1,410 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.tubemq.server.broker.offset.offsetfile;
+
+import org.apache.inlong.tubemq.corebase.utils.ServiceStatusHolder;
+import org.apache.inlong.tubemq.server.broker.stats.BrokerSrvStatsHolder;
+
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * The append-only binary journal of the group offsets.
+ *
+ * The journal starts with the magic and the version, followed by the records, each record is
+ * framed as [content length][content][crc32 of content]. The name record maps an integer id to
+ * the group or topic name, the offset record is the fixed width offset of a group's partition
+ * referring to the name ids, the latest record of a partition wins when replayed. The journal is
+ * compacted by writing the snapshot of all offsets to a new journal which replaces the old one.
+ */
+public class OffsetJournal {
+
+    private static final Logger logger = LoggerFactory.getLogger(OffsetJournal.class);
+    public static final String JOURNAL_FILENAME_SUFFIX = ".journal";
+    private static final String JOURNAL_FILENAME_SUFFIX_TMP = ".journal.tmp";
+    private static final int JOURNAL_MAGIC = 0x544f4a4c;
+    private static final int JOURNAL_VERSION = 1;
+    private static final int JOURNAL_HEADER_SIZE = 8;
+    private static final byte RECORD_TYPE_NAME = 1;
+    private static final byte RECORD_TYPE_OFFSET = 2;
+    // type + group id + topic id + partition id + 6 long values
+    private static final int OFFSET_RECORD_SIZE = 1 + 4 + 4 + 4 + 6 * 8;
+    // content length + crc
+    private static final int RECORD_FRAME_SIZE = 4 + 4;
+    private static final int MAX_RECORD_SIZE = 64 * 1024;
+    private static final long MIN_COMPACT_JOURNAL_SIZE = 16 * 1024 * 1024L;
+    private static final int COMPACT_SIZE_MULTIPLE = 4;
+
+    private final File journalFile;
+    private final File tmpFile;
+    private final CRC32 crc32 = new CRC32();
+    private final Map<String, Integer> nameIds = new HashMap<>();
+    private ByteBuffer writeBuffer = ByteBuffer.allocate(64 * 1024);
+    private FileChannel channel;
+    private long journalSize = 0;
+    private long lstCompactSize = 0;
+
+    public OffsetJournal(String fileNameBase) {
+        this.journalFile = new File(fileNameBase + JOURNAL_FILENAME_SUFFIX);
+        this.tmpFile = new File(fileNameBase + JOURNAL_FILENAME_SUFFIX_TMP);
+    }
+
+    public static boolean isJournalExist(String fileNameBase) {
+        return new File(fileNameBase + JOURNAL_FILENAME_SUFFIX).exists();
+    }
+
+    /**
+     * Replay the journal into the offset storage info and open the journal for appending,
+     * the broken tail left by a crash is truncated.
+     *
+     * @param offsetStgInfo  the offset storage info to restore
+     * @return whether the journal is loaded
+     */
+    public synchronized boolean load(GroupOffsetStgInfo offsetStgInfo) {
+        FileUtils.deleteQuietly(tmpFile);
+        long validSize = JOURNAL_HEADER_SIZE;
+        int recordCnt = 0;
+        Map<Integer, String> idNames = new HashMap<>();
+        try (DataInputStream input = new DataInputStream(
+                new BufferedInputStream(new FileInputStream(journalFile), 64 * 1024))) {
+            if (input.readInt() != JOURNAL_MAGIC || input.readInt() != JOURNAL_VERSION) {
+                logger.error("[File offsets] journal file {} has unknown header!",
+                        journalFile.getAbsoluteFile());
+                return false;
+            }
+            byte[] content = new byte[MAX_RECORD_SIZE];
+            while (true) {
+                int length;
+                try {
+                    length = input.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+                if (length <= 0 || length > MAX_RECORD_SIZE) {
+                    break;
+                }
+                try {
+                    input.readFully(content, 0, length);
+                    int checksum = input.readInt();
+                    crc32.reset();
+                    crc32.update(content, 0, length);
+                    if ((int) crc32.getValue() != checksum) {
+                        break;
+                    }
+                } catch (EOFException e) {
+                    break;
+                }
+                if (!replayRecord(ByteBuffer.wrap(content, 0, length), idNames, offsetStgInfo)) {
+                    break;
+                }
+                validSize += length + RECORD_FRAME_SIZE;
+                recordCnt++;
+            }
+        } catch (Throwable ex) {
+            if (ex instanceof IOException) {
+                ServiceStatusHolder.addReadIOErrCnt();
+                BrokerSrvStatsHolder.incDiskIOExcCnt();
+            }
+            logger.error("[File offsets] exception thrown while replay journal {}",
+                    journalFile.getAbsoluteFile(), ex);
+            return false;
+        }
+        try {
+            this.channel = FileChannel.open(journalFile.toPath(), StandardOpenOption.WRITE);
+            if (this.channel.size() > validSize) {
+                logger.warn("[File offsets] truncate broken journal tail of {}, from {} to {}",
+                        journalFile.getAbsoluteFile(), this.channel.size(), validSize);
+                this.channel.truncate(validSize);
+            }
+            this.channel.position(validSize);
+        } catch (Throwable ex) {
+            if (ex instanceof IOException) {
+                ServiceStatusHolder.addWriteIOErrCnt();
+                BrokerSrvStatsHolder.incDiskIOExcCnt();
+            }
+            logger.error("[File offsets] exception thrown while open journal {}",
+                    journalFile.getAbsoluteFile(), ex);
+            return false;
+        }
+        this.nameIds.clear();
+        for (Map.Entry<Integer, String> entry : idNames.entrySet()) {
+            this.nameIds.put(entry.getValue(), entry.getKey());
+        }
+        this.journalSize = validSize;
+        this.lstCompactSize = validSize;
+        logger.info("[File offsets] replayed journal {}, records={}, size={}",
+                journalFile.getAbsoluteFile(), recordCnt, validSize);
+        return true;
+    }
+
+    /**
+     * Append the offsets of the partitions to the journal.
+     *
+     * @param groupPartInfos  the updated partitions of each group
+     * @return whether the offsets are appended
+     */
+    public synchronized boolean append(Map<String, Collection<PartStgInfo>> groupPartInfos) {
+        if (channel == null) {
+            return false;
+        }
+        writeBuffer.clear();
+        for (Map.Entry<String, Collection<PartStgInfo>> entry : groupPartInfos.entrySet()) {
+            for (PartStgInfo partStgInfo : entry.getValue()) {
+                putOffsetRecord(entry.getKey(), partStgInfo);
+            }
+        }
+        if (writeBuffer.position() == 0) {
+            return true;
+        }
+        writeBuffer.flip();
+        try {
+            while (writeBuffer.hasRemaining()) {
+                channel.write(writeBuffer);
+            }
+            channel.force(false);
+            journalSize = channel.position();
+            return true;
+        } catch (Throwable ex) {
+            if (ex instanceof IOException) {
+                ServiceStatusHolder.addWriteIOErrCnt();
+                BrokerSrvStatsHolder.incDiskIOExcCnt();
+            }
+            logger.error("[File offsets] exception thrown while append journal {}",
+                    journalFile.getAbsoluteFile(), ex);
+            // the journal may end with a partial record and the name ids may be lost,
+            // stop appending until the next compaction rewrites the journal
+            closeChannel();
+            return false;
+        }
+    }
+
+    /**
+     * Write the snapshot of all offsets to a new journal, then replace the current journal.
+     *
+     * @param offsetStgInfo  the offset storage info
+     * @return whether the journal is compacted
+     */
+    public synchronized boolean compact(GroupOffsetStgInfo offsetStgInfo) {
+        closeChannel();
+        nameIds.clear();
+        FileUtils.deleteQuietly(tmpFile);
+        try (FileChannel tmpChannel = FileChannel.open(tmpFile.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(JOURNAL_HEADER_SIZE);
+            header.putInt(JOURNAL_MAGIC).putInt(JOURNAL_VERSION).flip();
+            while (header.hasRemaining()) {
+                tmpChannel.write(header);
+            }
+            writeBuffer.clear();
+            for (Map.Entry<String, OffsetStgInfo> entry : offsetStgInfo.getGroupOffsetStgInfo().entrySet()) {
+                if (entry == null || entry.getKey() == null || entry.getValue() == null) {
+                    continue;
+                }
+                for (PartStgInfo partStgInfo : entry.getValue().getPartOffsetInfo().values()) {
+                    if (partStgInfo == null) {
+                        continue;
+                    }
+                    putOffsetRecord(entry.getKey(), partStgInfo);
+                    if (writeBuffer.position() > writeBuffer.capacity() / 2) {
+                        flushBuffer(tmpChannel);
+                    }
+                }
+            }
+            flushBuffer(tmpChannel);
+            tmpChannel.force(true);
+        } catch (Throwable ex) {
+            if (ex instanceof IOException) {
+                ServiceStatusHolder.addWriteIOErrCnt();
+                BrokerSrvStatsHolder.incDiskIOExcCnt();
+            }
+            logger.error("[File offsets] exception thrown while write journal snapshot {}",
+                    tmpFile.getAbsoluteFile(), ex);
+            nameIds.clear();
+            FileUtils.deleteQuietly(tmpFile);
+            return false;
+        }
+        try {
+            Files.move(tmpFile.toPath(), journalFile.toPath(),
+                    StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            this.channel = FileChannel.open(journalFile.toPath(), StandardOpenOption.WRITE);
+            this.journalSize = this.channel.size();
+            this.channel.position(this.journalSize);
+            this.lstCompactSize = this.journalSize;
+            return true;
+        } catch (Throwable ex) {
+            if (ex instanceof IOException) {
+                ServiceStatusHolder.addWriteIOErrCnt();
+                BrokerSrvStatsHolder.incDiskIOExcCnt();
+            }
+            logger.error("[File offsets] exception thrown while replace journal {}",
+                    journalFile.getAbsoluteFile(), ex);
+            nameIds.clear();
+            closeChannel();
+            return false;
+        }
+    }
+
+    /**
+     * Whether the journal has grown enough to be compacted, or is not writable until compacted.
+     *
+     * @return true if the journal should be compacted
+     */
+    public synchronized boolean isCompactRequired() {
+        return channel == null
+                || (journalSize > MIN_COMPACT_JOURNAL_SIZE
+                        && journalSize > COMPACT_SIZE_MULTIPLE * lstCompactSize);
+    }
+
+    public synchronized long getJournalSize() {
+        return journalSize;
+    }
+
+    public synchronized void close() {
+        closeChannel();
+    }
+
+    public synchronized void delete() {
+        closeChannel();
+        FileUtils.deleteQuietly(tmpFile);
+        if (journalFile.exists() && !journalFile.delete()) {
+            logger.warn("[File offsets] delete journal file {} failed!", journalFile.getAbsoluteFile());
+        }
+    }
+
+    private boolean replayRecord(ByteBuffer content, Map<Integer, String> idNames,
+            GroupOffsetStgInfo offsetStgInfo) {
+        byte recordType = content.get();
+        if (recordType == RECORD_TYPE_NAME) {
+            if (content.remaining() < 4) {
+                return false;
+            }
+            int nameId = content.getInt();
+            byte[] nameBytes = new byte[content.remaining()];
+            content.get(nameBytes);
+            idNames.put(nameId, new String(nameBytes, StandardCharsets.UTF_8));
+            return true;
+        }
+        if (recordType != RECORD_TYPE_OFFSET || content.remaining() != OFFSET_RECORD_SIZE - 1) {
+            return false;
+        }
+        String group = idNames.get(content.getInt());
+        String topic = idNames.get(content.getInt());
+        if (group == null || topic == null) {
+            return false;
+        }
+        int partId = content.getInt();
+        long lstRstTerm = content.getLong();
+        long msgId = content.getLong();
+        long lstOffset = content.getLong();
+        long lstUpdTime = content.getLong();
+        long createOffset = content.getLong();
+        long createTime = content.getLong();
+        offsetStgInfo.restoreOffsetStgInfo(group, topic, partId,
+                lstRstTerm, msgId, lstOffset, lstUpdTime, createOffset, createTime);
+        return true;
+    }
+
+    private void putOffsetRecord(String group, PartStgInfo partStgInfo) {
+        int groupId = getNameId(group);
+        int topicId = getNameId(partStgInfo.getTopic());
+        int start = beginRecord(OFFSET_RECORD_SIZE);
+        writeBuffer.put(RECORD_TYPE_OFFSET)
+                .putInt(groupId)
+                .putInt(topicId)
+                .putInt(partStgInfo.getPartId())
+                .putLong(partStgInfo.getLstRstTerm())
+                .putLong(partStgInfo.getMsgId())
+                .putLong(partStgInfo.getLstOffset())
+                .putLong(partStgInfo.getLstUpdTime())
+                .putLong(partStgInfo.getCreateOffset())
+                .putLong(partStgInfo.getCreateTime());
+        endRecord(start, OFFSET_RECORD_SIZE);
+    }
+
+    private int getNameId(String name) {
+        Integer nameId = nameIds.get(name);
+        if (nameId != null) {
+            return nameId;
+        }
+        nameId = nameIds.size();
+        nameIds.put(name, nameId);
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        int length = 1 + 4 + nameBytes.length;
+        int start = beginRecord(length);
+        writeBuffer.put(RECORD_TYPE_NAME).putInt(nameId).put(nameBytes);
+        endRecord(start, length);
+        return nameId;
+    }
+
+    private int beginRecord(int length) {
+        if (writeBuffer.remaining() < length + RECORD_FRAME_SIZE) {
+            int capacity = Math.max(writeBuffer.capacity() * 2,
+                    writeBuffer.position() + length + RECORD_FRAME_SIZE);
+            ByteBuffer newBuffer = ByteBuffer.allocate(capacity);
+            writeBuffer.flip();
+            newBuffer.put(writeBuffer);
+            writeBuffer = newBuffer;
+        }
+        writeBuffer.putInt(length);
+        return writeBuffer.position();
+    }
+
+    private void endRecord(int start, int length) {
+        crc32.reset();
+        crc32.update(writeBuffer.array(), start, length);
+        writeBuffer.putInt((int) crc32.getValue());
+    }
+
+    private void flushBuffer(FileChannel tgtChannel) throws IOException {
+        writeBuffer.flip();
+        while (writeBuffer.hasRemaining()) {
+            tgtChannel.write(writeBuffer);
+        }
+        writeBuffer.clear();
+    }
+
+    private void closeChannel() {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (Throwable ex) {
+            logger.warn("[File offsets] close journal {} failure", journalFile.getAbsoluteFile(), ex);
+        }
+        channel = null;
+    }
+}
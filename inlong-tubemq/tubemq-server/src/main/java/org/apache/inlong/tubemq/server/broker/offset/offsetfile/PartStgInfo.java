@@ -57,6 +57,16 @@ public class PartStgInfo {
         this.lstUpdTime = resetTime;
     }
 
+    public void restoreOffset(long lstRstTerm, long msgId, long lstOffset,
+            long lstUpdTime, long createOffset, long createTime) {
+        this.lstRstTerm = lstRstTerm;
+        this.msgId = msgId;
+        this.lstOffset = lstOffset;
+        this.lstUpdTime = lstUpdTime;
+        this.createOffset = createOffset;
+        this.createTime = createTime;
+    }
+
     public String getTopic() {
         return topic;
     }
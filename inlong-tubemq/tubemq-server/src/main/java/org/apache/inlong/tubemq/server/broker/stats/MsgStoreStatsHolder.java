@@ -201,6 +201,30 @@ public class MsgStoreStatsHolder {
         }
     }
 
+    /**
+     * Add group commit statistics.
+     *
+     * @param groupMsgCnt    the message count committed in one group
+     */
+    public void addFileGroupCommitStats(int groupMsgCnt) {
+        if (isClosed) {
+            return;
+        }
+        msgStoreStatsSets[getIndex()].fileGroupCommitCnt.update(groupMsgCnt);
+    }
+
+    /**
+     * Add file force (fsync) duration statistics.
+     *
+     * @param fsyncDlt    the duration of force operation
+     */
+    public void addFileFsyncDlt(long fsyncDlt) {
+        if (isClosed) {
+            return;
+        }
+        msgStoreStatsSets[getIndex()].fileFsyncDurStats.update(fsyncDlt);
+    }
+
     /**
      * Add flush time timeout statistic.
      *
@@ -425,6 +449,8 @@ public class MsgStoreStatsHolder {
         statsSet.fileFlusheDurStats.getValue(statsMap, false);
         statsSet.fileFlushedDataSize.getValue(statsMap, false);
         statsSet.fileFlushedMsgCnt.getValue(statsMap, false);
+        statsSet.fileGroupCommitCnt.getValue(statsMap, false);
+        statsSet.fileFsyncDurStats.getValue(statsMap, false);
         statsMap.put(statsSet.fileDataSegAddCnt.getFullName(),
                 statsSet.fileDataSegAddCnt.getValue());
         statsMap.put(statsSet.fileIndexSegAddCnt.getFullName(),
@@ -488,6 +514,10 @@ public class MsgStoreStatsHolder {
         statsSet.fileFlushedDataSize.getValue(strBuff, false);
         strBuff.append(",");
         statsSet.fileFlushedMsgCnt.getValue(strBuff, false);
+        strBuff.append(",");
+        statsSet.fileGroupCommitCnt.getValue(strBuff, false);
+        strBuff.append(",");
+        statsSet.fileFsyncDurStats.getValue(strBuff, false);
         strBuff.append(",\"").append(statsSet.fileDataSegAddCnt.getFullName())
                 .append("\":").append(statsSet.fileDataSegAddCnt.getValue())
                 .append(",\"").append(statsSet.fileIndexSegAddCnt.getFullName())
@@ -565,6 +595,12 @@ public class MsgStoreStatsHolder {
         // The message count flushed statistics
         protected final SimpleHistogram fileFlushedMsgCnt =
                 new SimpleHistogram("file_flush_msg_cnt", null);
+        // The message count committed by one group statistics
+        protected final SimpleHistogram fileGroupCommitCnt =
+                new SimpleHistogram("file_group_commit_cnt", null);
+        // statistics on file force(fsync) time
+        protected final ESTHistogram fileFsyncDurStats =
+                new ESTHistogram("file_fsync_dlt", null);
         // The new data segment statistics
         protected final LongStatsCounter fileDataSegAddCnt =
                 new LongStatsCounter("file_data_seg", null);
@@ -604,6 +640,8 @@ public class MsgStoreStatsHolder {
             this.fileFlushedDataSize.clear();
             this.fileAccumMsgIndexSize.clear();
             this.fileFlushedMsgCnt.clear();
+            this.fileGroupCommitCnt.clear();
+            this.fileFsyncDurStats.clear();
             this.fileDataSegAddCnt.clear();
             this.fileIndexSegAddCnt.clear();
             this.fileDataSizeFullCnt.clear();
@@ -25,6 +25,7 @@ import org.apache.inlong.tubemq.corebase.utils.TStringUtils;
 import org.apache.inlong.tubemq.server.broker.stats.TrafficInfo;
 
 import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
 
 import java.io.UnsupportedEncodingException;
 import java.nio.ByteBuffer;
@@ -121,12 +122,47 @@ public class DataStoreUtils {
         if (dataBuffer.array().length < dataTotalSize) {
             return null;
         }
+        return buildTransferMsg(dataBuffer, 0, dataTotalSize,
+                false, countMap, statisKeyBase, sBuilder);
+    }
+
+    /**
+     * Convert inner message stored in a region buffer to protobuf format, then reply to client.
+     * The payload is wrapped rather than copied, so the region buffer must not be reused
+     *  after the message is built.
+     *
+     * @param regionBuffer    the raw stored data of consecutive messages
+     * @param dataPos         the message start position in region buffer
+     * @param dataTotalSize   the data size
+     * @param countMap        the statistics map
+     * @param statisKeyBase   the statistics key prefix
+     * @param sBuilder        the string buffer
+     * @return                the converted messages
+     */
+    public static ClientBroker.TransferedMessage getTransferMsg(ByteBuffer regionBuffer,
+            int dataPos, int dataTotalSize,
+            HashMap<String, TrafficInfo> countMap,
+            String statisKeyBase,
+            StringBuilder sBuilder) {
+        if (dataPos < 0 || regionBuffer.limit() - dataPos < dataTotalSize) {
+            return null;
+        }
+        return buildTransferMsg(regionBuffer, dataPos, dataTotalSize,
+                true, countMap, statisKeyBase, sBuilder);
+    }
+
+    private static ClientBroker.TransferedMessage buildTransferMsg(ByteBuffer dataBuffer,
+            int dataPos, int dataTotalSize,
+            boolean wrapPayLoad,
+            HashMap<String, TrafficInfo> countMap,
+            String statisKeyBase,
+            StringBuilder sBuilder) {
         final int msgLen =
-                dataBuffer.getInt(DataStoreUtils.STORE_HEADER_POS_LENGTH);
+                dataBuffer.getInt(dataPos + DataStoreUtils.STORE_HEADER_POS_LENGTH);
         final int msgToken =
-                dataBuffer.getInt(DataStoreUtils.STORE_HEADER_POS_DATATYPE);
+                dataBuffer.getInt(dataPos + DataStoreUtils.STORE_HEADER_POS_DATATYPE);
         final int checkSum =
-                dataBuffer.getInt(DataStoreUtils.STORE_HEADER_POS_CHECKSUM);
+                dataBuffer.getInt(dataPos + DataStoreUtils.STORE_HEADER_POS_CHECKSUM);
         int payLoadLen = msgLen - DataStoreUtils.STORE_DATA_PREFX_LEN;
         int payLoadOffset = DataStoreUtils.STORE_DATA_HEADER_LEN;
         if ((msgToken != DataStoreUtils.STORE_DATA_TOKER_BEGIN_VALUE)
@@ -134,17 +170,23 @@ public class DataStoreUtils {
                 || (payLoadLen > dataTotalSize - DataStoreUtils.STORE_DATA_HEADER_LEN)) {
             return null;
         }
-        final long msgId = dataBuffer.getLong(DataStoreUtils.STORE_HEADER_POS_MSGID);
-        final int flag = dataBuffer.getInt(DataStoreUtils.STORE_HEADER_POS_MSGFLAG);
+        final long msgId = dataBuffer.getLong(dataPos + DataStoreUtils.STORE_HEADER_POS_MSGID);
+        final int flag = dataBuffer.getInt(dataPos + DataStoreUtils.STORE_HEADER_POS_MSGFLAG);
         final int payLoadLen2 = payLoadLen;
-        final byte[] payLoadData = new byte[payLoadLen];
-        System.arraycopy(dataBuffer.array(), payLoadOffset, payLoadData, 0, payLoadLen);
+        final int arrayPos = dataBuffer.arrayOffset() + dataPos;
         ClientBroker.TransferedMessage.Builder dataBuilder =
                 ClientBroker.TransferedMessage.newBuilder();
         dataBuilder.setMessageId(msgId);
         dataBuilder.setCheckSum(checkSum);
         dataBuilder.setFlag(flag);
-        dataBuilder.setPayLoadData(ByteString.copyFrom(payLoadData));
+        if (wrapPayLoad) {
+            dataBuilder.setPayLoadData(UnsafeByteOperations.unsafeWrap(
+                    dataBuffer.array(), arrayPos + payLoadOffset, payLoadLen));
+        } else {
+            final byte[] payLoadData = new byte[payLoadLen];
+            System.arraycopy(dataBuffer.array(), arrayPos + payLoadOffset, payLoadData, 0, payLoadLen);
+            dataBuilder.setPayLoadData(ByteString.copyFrom(payLoadData));
+        }
         // get statistic data
         int attrLen = 0;
         String attribute = null;
@@ -152,17 +194,16 @@ public class DataStoreUtils {
             if (payLoadLen < 4) {
                 return null;
             }
-            attrLen = dataBuffer.getInt(DataStoreUtils.STORE_DATA_HEADER_LEN);
+            attrLen = dataBuffer.getInt(dataPos + DataStoreUtils.STORE_DATA_HEADER_LEN);
             payLoadOffset += 4;
             payLoadLen -= 4;
             if (attrLen > payLoadLen) {
                 return null;
             }
             if (attrLen > 0) {
-                final byte[] attrData = new byte[attrLen];
-                System.arraycopy(dataBuffer.array(), payLoadOffset, attrData, 0, attrLen);
                 try {
-                    attribute = new String(attrData, TBaseConstants.META_DEFAULT_CHARSET_NAME);
+                    attribute = new String(dataBuffer.array(), arrayPos + payLoadOffset,
+                            attrLen, TBaseConstants.META_DEFAULT_CHARSET_NAME);
                 } catch (final UnsupportedEncodingException e) {
                     throw new RuntimeException(e);
                 }
@@ -85,6 +85,8 @@ public class MasterConfig extends AbstractFileConfig {
     private String visitPassword = "";
     private long authValidTimeStampPeriodMs = TBaseConstants.CFG_DEFAULT_AUTH_TIMESTAMP_VALID_INTERVAL;
     private int rebalanceParallel = 4;
+    // whether to keep the current partition bindings and move only the partitions needed for balance
+    private boolean stickyBalance = false;
     private long maxMetaForceUpdatePeriodMs = TBaseConstants.CFG_DEF_META_FORCE_UPDATE_PERIOD;
 
     /**
@@ -271,6 +273,10 @@ public class MasterConfig extends AbstractFileConfig {
         return rebalanceParallel;
     }
 
+    public boolean isStickyBalance() {
+        return stickyBalance;
+    }
+
     public long getMaxMetaForceUpdatePeriodMs() {
         return maxMetaForceUpdatePeriodMs;
     }
@@ -526,6 +532,9 @@ public class MasterConfig extends AbstractFileConfig {
             int tmpParallel = this.getInt(masterConf, "rebalanceParallel");
             this.rebalanceParallel = MixedUtils.mid(tmpParallel, 1, 20);
         }
+        if (TStringUtils.isNotBlank(masterConf.get("stickyBalance"))) {
+            this.stickyBalance = this.getBoolean(masterConf, "stickyBalance");
+        }
         if (TStringUtils.isNotBlank(masterConf.get("maxMetaForceUpdatePeriodMs"))) {
             long tmpPeriodMs = this.getLong(masterConf, "maxMetaForceUpdatePeriodMs");
             if (tmpPeriodMs < TBaseConstants.CFG_MIN_META_FORCE_UPDATE_PERIOD) {
@@ -836,6 +845,7 @@ public class MasterConfig extends AbstractFileConfig {
                 .append("visitPassword", visitPassword)
                 .append("authValidTimeStampPeriodMs", authValidTimeStampPeriodMs)
                 .append("rebalanceParallel", rebalanceParallel)
+                .append("stickyBalance", stickyBalance)
                 .append("maxMetaForceUpdatePeriodMs", maxMetaForceUpdatePeriodMs)
                 .toString();
     }
@@ -34,6 +34,7 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -50,9 +51,15 @@ public class DefaultLoadBalancer implements LoadBalancer {
 
     private static final Logger logger = LoggerFactory.getLogger(LoadBalancer.class);
     private static final Random RANDOM = new Random(System.currentTimeMillis());
+    // whether to keep the current bindings and move only the partitions required for balance
+    private final boolean stickyBalance;
 
     public DefaultLoadBalancer() {
-        // initial information
+        this(false);
+    }
+
+    public DefaultLoadBalancer(boolean stickyBalance) {
+        this.stickyBalance = stickyBalance;
     }
 
     /**
@@ -81,6 +88,7 @@ public class DefaultLoadBalancer implements LoadBalancer {
         Map<String, RebProcessInfo> rejGroupClientInfoMap = new HashMap<>();
         Set<String> onlineOfflineGroupSet = new HashSet<>();
         Set<String> boundGroupSet = new HashSet<>();
+        int movedPartCnt = 0;
         for (String group : groupSet) {
             if (group == null) {
                 continue;
@@ -190,6 +198,16 @@ public class DefaultLoadBalancer implements LoadBalancer {
                     }
                 }
             }
+            if (this.stickyBalance) {
+                // assign the free partitions and balance the group in one pass
+                List<String> consumerIds = new ArrayList<>(newConsumerList2.size());
+                for (ConsumerInfo consumer : newConsumerList2) {
+                    consumerIds.add(consumer.getConsumerId());
+                }
+                movedPartCnt += stickyAssign(partMap, consumerIds,
+                        finalSubInfoMap, clusterState, rebProcessInfo.needProcessList);
+                continue;
+            }
             // random allocate
             if (!partMap.isEmpty()) {
                 onlineOfflineGroupSet.add(group);
@@ -199,32 +217,37 @@ public class DefaultLoadBalancer implements LoadBalancer {
                 }
             }
         }
-        List<String> groupsNeedToBalance = new ArrayList<>();
-        if (onlineOfflineGroupSet.isEmpty()) {
-            for (String group : groupSet) {
-                if (group == null) {
-                    continue;
+        if (!this.stickyBalance) {
+            List<String> groupsNeedToBalance = new ArrayList<>();
+            if (onlineOfflineGroupSet.isEmpty()) {
+                for (String group : groupSet) {
+                    if (group == null) {
+                        continue;
+                    }
+                    groupsNeedToBalance.add(group);
                 }
-                groupsNeedToBalance.add(group);
-            }
-        } else {
-            for (String group : groupSet) {
-                if (group == null) {
-                    continue;
+            } else {
+                for (String group : groupSet) {
+                    if (group == null) {
+                        continue;
+                    }
+                    if (!onlineOfflineGroupSet.contains(group)) {
+                        groupsNeedToBalance.add(group);
+                    }
                 }
-                if (!onlineOfflineGroupSet.contains(group)) {
-                    groupsNeedToBalance.add(group);
+            }
+            if (!boundGroupSet.isEmpty()) {
+                for (String group : boundGroupSet) {
+                    groupsNeedToBalance.remove(group);
                 }
             }
-        }
-        if (!boundGroupSet.isEmpty()) {
-            for (String group : boundGroupSet) {
-                groupsNeedToBalance.remove(group);
+            if (!groupsNeedToBalance.isEmpty()) {
+                movedPartCnt += balance(finalSubInfoMap, consumerHolder, brokerRunManager,
+                        groupsNeedToBalance, clusterState, rejGroupClientInfoMap);
             }
         }
-        if (!groupsNeedToBalance.isEmpty()) {
-            balance(finalSubInfoMap, consumerHolder, brokerRunManager,
-                    groupsNeedToBalance, clusterState, rejGroupClientInfoMap);
+        if (movedPartCnt > 0) {
+            MasterSrvStatsHolder.addSvrBalMovedPartCnt(movedPartCnt);
         }
         if (!rejGroupClientInfoMap.isEmpty()) {
             for (Entry<String, RebProcessInfo> entry : rejGroupClientInfoMap.entrySet()) {
@@ -236,13 +259,14 @@ public class DefaultLoadBalancer implements LoadBalancer {
     }
 
     // #lizard forgives
-    private void balance(
+    private int balance(
             Map<String, Map<String, List<Partition>>> clusterState,
             ConsumerInfoHolder consumerHolder,
             BrokerRunManager brokerRunManager,
             List<String> groupSet,
             Map<String, Map<String, Map<String, Partition>>> oldClusterState,
             Map<String, RebProcessInfo> rejGroupClientInfoMap) {
+        int movedPartCnt = 0;
         // according to group
         for (String group : groupSet) {
             ConsumeGroupInfo consumeGroupInfo = consumerHolder.getConsumeGroupInfo(group);
@@ -340,6 +364,7 @@ public class DefaultLoadBalancer implements LoadBalancer {
                 for (int i = 0; i < entry.getValue() && partitionToMove.size() > 0; i++) {
                     Partition partition = partitionToMove.poll();
                     assign(partition, clusterState, entry.getKey());
+                    movedPartCnt++;
                 }
             }
             // load balance partition between consumer
@@ -349,9 +374,136 @@ public class DefaultLoadBalancer implements LoadBalancer {
                         break;
                     }
                     assign(partitionToMove.poll(), clusterState, consumerId);
+                    movedPartCnt++;
+                }
+            }
+        }
+        return movedPartCnt;
+    }
+
+    /**
+     * Sticky assign partitions
+     *
+     * The consumers keep the partitions already in the clusterState, the consumers holding more
+     * than (partition size) / (consumer size), or one more for the heaviest ones, offload only
+     * the surplus, then the surplus and the free partitions are assigned to the consumers under
+     * their quota in round robin, so a consumer joining or leaving moves the minimum partitions.
+     *
+     * @param freePartMap      the partitions not held by the consumers
+     * @param consumerIds      the consumers can be assigned partitions
+     * @param clusterState     the kept partitions of the consumers, updated with the result
+     * @param oldClusterState  the current subscribe information
+     * @param filterList       the consumers should not be assigned their current partitions
+     * @return the number of partitions moved from one consumer to another
+     */
+    int stickyAssign(Map<String, Partition> freePartMap,
+            List<String> consumerIds,
+            Map<String, Map<String, List<Partition>>> clusterState,
+            Map<String, Map<String, Map<String, Partition>>> oldClusterState,
+            List<String> filterList) {
+        if (consumerIds.isEmpty()) {
+            return 0;
+        }
+        int totalCnt = freePartMap.size();
+        Map<String, Integer> loadMap = new HashMap<>();
+        for (String consumerId : consumerIds) {
+            int load = 0;
+            Map<String, List<Partition>> partitions = clusterState.get(consumerId);
+            if (partitions != null) {
+                for (List<Partition> partList : partitions.values()) {
+                    load += partList.size();
                 }
             }
+            loadMap.put(consumerId, load);
+            totalCnt += load;
+        }
+        // the heaviest consumers get the larger quota, so they offload the least
+        List<String> sortedIds = new ArrayList<>(consumerIds);
+        sortedIds.sort((o1, o2) -> {
+            int result = Integer.compare(loadMap.get(o2), loadMap.get(o1));
+            return result != 0 ? result : o1.compareTo(o2);
+        });
+        int minQuota = totalCnt / sortedIds.size();
+        int maxQuotaCnt = totalCnt % sortedIds.size();
+        Map<String, String> offloadedParts = new HashMap<>();
+        List<Partition> partitionToMove = new ArrayList<>(freePartMap.values());
+        List<String> takerIds = new ArrayList<>();
+        List<Integer> takerQuotas = new ArrayList<>();
+        for (int i = 0; i < sortedIds.size(); i++) {
+            String consumerId = sortedIds.get(i);
+            int quota = (i < maxQuotaCnt) ? minQuota + 1 : minQuota;
+            int load = loadMap.get(consumerId);
+            if (load < quota) {
+                takerIds.add(consumerId);
+                takerQuotas.add(quota - load);
+                continue;
+            }
+            Map<String, List<Partition>> partitions = clusterState.get(consumerId);
+            for (int j = quota; j < load; j++) {
+                // offload from the topic held most to keep the topics spread
+                List<Partition> maxPartList = null;
+                for (List<Partition> partList : partitions.values()) {
+                    if (maxPartList == null || partList.size() > maxPartList.size()) {
+                        maxPartList = partList;
+                    }
+                }
+                Partition partition = maxPartList.remove(maxPartList.size() - 1);
+                offloadedParts.put(partition.getPartitionKey(), consumerId);
+                partitionToMove.add(partition);
+            }
+        }
+        // round robin the partitions of the same topic to different consumers
+        partitionToMove.sort(Comparator.comparing(Partition::getTopic)
+                .thenComparing(Partition::getPartitionKey));
+        int movedPartCnt = 0;
+        int index = 0;
+        for (Partition partition : partitionToMove) {
+            if (takerIds.isEmpty()) {
+                break;
+            }
+            int searched = 0;
+            while (searched < takerIds.size()
+                    && isFilteredPart(takerIds.get(index), partition, oldClusterState, filterList)) {
+                index = (index + 1) % takerIds.size();
+                searched++;
+            }
+            if (searched >= takerIds.size()) {
+                // left the partition to the next balance
+                continue;
+            }
+            String consumerId = takerIds.get(index);
+            assign(partition, clusterState, consumerId);
+            String fromId = offloadedParts.get(partition.getPartitionKey());
+            if (fromId != null && !fromId.equals(consumerId)) {
+                movedPartCnt++;
+            }
+            int remain = takerQuotas.get(index) - 1;
+            if (remain > 0) {
+                takerQuotas.set(index, remain);
+                index++;
+            } else {
+                takerIds.remove(index);
+                takerQuotas.remove(index);
+            }
+            if (index >= takerIds.size()) {
+                index = 0;
+            }
+        }
+        return movedPartCnt;
+    }
+
+    private boolean isFilteredPart(String consumerId, Partition partition,
+            Map<String, Map<String, Map<String, Partition>>> oldClusterState,
+            List<String> filterList) {
+        if (!filterList.contains(consumerId)) {
+            return false;
+        }
+        Map<String, Map<String, Partition>> oldPartitionMap = oldClusterState.get(consumerId);
+        if (oldPartitionMap == null) {
+            return false;
         }
+        Map<String, Partition> oldPartitions = oldPartitionMap.get(partition.getTopic());
+        return oldPartitions != null && oldPartitions.get(partition.getPartitionKey()) != null;
     }
 
     private void assign(Partition partition,
@@ -212,6 +212,10 @@ public class MasterSrvStatsHolder {
     public static void updSvrBalResetDurations(long dltTime) {
         switchableSets[getIndex()].svrResetBalanceStats.update(dltTime);
     }
+
+    public static void addSvrBalMovedPartCnt(long movedCnt) {
+        switchableSets[getIndex()].svrBalMovedPartCnt.addValue(movedCnt);
+    }
     // metric set operate APIs end
 
     // private functions
@@ -244,6 +248,8 @@ public class MasterSrvStatsHolder {
                     statsSet.cltBalGroupTmototCnt.getAndResetValue());
             statsSet.svrNormalBalanceStats.snapShort(statsMap, false);
             statsSet.svrResetBalanceStats.snapShort(statsMap, false);
+            statsMap.put(statsSet.svrBalMovedPartCnt.getFullName(),
+                    statsSet.svrBalMovedPartCnt.getAndResetValue());
             // for consumer
             statsMap.put(consumerOnlineCnt.getFullName(),
                     consumerOnlineCnt.getAndResetValue());
@@ -281,6 +287,8 @@ public class MasterSrvStatsHolder {
                     statsSet.cltBalGroupTmototCnt.getValue());
             statsSet.svrNormalBalanceStats.getValue(statsMap, false);
             statsSet.svrResetBalanceStats.getValue(statsMap, false);
+            statsMap.put(statsSet.svrBalMovedPartCnt.getFullName(),
+                    statsSet.svrBalMovedPartCnt.getValue());
             // for consumer
             statsMap.put(consumerOnlineCnt.getFullName(),
                     consumerOnlineCnt.getValue());
@@ -329,6 +337,8 @@ public class MasterSrvStatsHolder {
             statsSet.svrNormalBalanceStats.snapShort(strBuff, false);
             strBuff.append(",");
             statsSet.svrResetBalanceStats.snapShort(strBuff, false);
+            strBuff.append(",\"").append(statsSet.svrBalMovedPartCnt.getFullName())
+                    .append("\":").append(statsSet.svrBalMovedPartCnt.getAndResetValue());
             // for consumer
             strBuff.append(",\"").append(consumerOnlineCnt.getFullName())
                     .append("\":").append(consumerOnlineCnt.getAndResetValue())
@@ -369,6 +379,8 @@ public class MasterSrvStatsHolder {
             statsSet.svrNormalBalanceStats.getValue(strBuff, false);
             strBuff.append(",");
             statsSet.svrResetBalanceStats.getValue(strBuff, false);
+            strBuff.append(",\"").append(statsSet.svrBalMovedPartCnt.getFullName())
+                    .append("\":").append(statsSet.svrBalMovedPartCnt.getValue());
             // for consumer
             strBuff.append(",\"").append(consumerOnlineCnt.getFullName())
                     .append("\":").append(consumerOnlineCnt.getValue())
@@ -447,6 +459,9 @@ public class MasterSrvStatsHolder {
         // reset server balance delta time statistics
         protected final ESTHistogram svrResetBalanceStats =
                 new ESTHistogram("server_balance_reset", null);
+        // partitions moved between consumers by server balance statistics
+        protected final LongStatsCounter svrBalMovedPartCnt =
+                new LongStatsCounter("server_balance_moved_part_cnt", null);
 
         public ServiceStatsSet() {
             resetSinceTime();
@@ -17,9 +17,19 @@
 
 package org.apache.inlong.tubemq.server.broker.msgstore.disk;
 
+import org.apache.inlong.tubemq.server.broker.utils.DataStoreUtils;
+
+import org.junit.Assert;
+
 import java.io.File;
 import java.io.IOException;
+import java.io.RandomAccessFile;
 import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
 
 /**
  * FileSegment test.
@@ -83,4 +93,121 @@ public class FileSegmentTest {
             }
         }
     }
-}
\ No newline at end of file
+
+    @org.junit.Test
+    public void mmapIndexRead() throws IOException {
+        long start = 0;
+        File file = File.createTempFile("testindex", null);
+        // create mutable index FileSegment with memory mapping read.
+        fileSegment = new FileSegment(start, file, true, SegmentType.INDEX, true);
+        try {
+            ByteBuffer indexBuffer = ByteBuffer.allocate(DataStoreUtils.STORE_INDEX_HEAD_LEN);
+            for (int i = 0; i < 3; i++) {
+                indexBuffer.clear();
+                indexBuffer.putInt(1);
+                indexBuffer.putLong(i * 100L);
+                indexBuffer.putInt(100);
+                indexBuffer.putInt(0);
+                indexBuffer.putLong(1000L + i);
+                indexBuffer.flip();
+                fileSegment.append(indexBuffer, 1000L + i, 1000L + i);
+            }
+            fileSegment.flush(true);
+            // set immutable, then read through mapped buffer.
+            fileSegment.setMutable(false);
+            Assert.assertEquals(1001L,
+                    fileSegment.getRecordTime(DataStoreUtils.STORE_INDEX_HEAD_LEN));
+            ByteBuffer readBuffer = ByteBuffer.allocate(DataStoreUtils.STORE_INDEX_HEAD_LEN);
+            fileSegment.relRead(readBuffer, 2 * DataStoreUtils.STORE_INDEX_HEAD_LEN);
+            readBuffer.flip();
+            Assert.assertEquals(DataStoreUtils.STORE_INDEX_HEAD_LEN, readBuffer.remaining());
+            Assert.assertEquals(200L, readBuffer.getLong(DataStoreUtils.INDEX_POS_DATAOFFSET));
+            // read beyond the end of segment.
+            readBuffer.clear();
+            fileSegment.read(readBuffer, 3 * DataStoreUtils.STORE_INDEX_HEAD_LEN);
+            Assert.assertEquals(0, readBuffer.position());
+        } finally {
+            fileSegment.deleteFile();
+        }
+    }
+
+    @org.junit.Test
+    public void filterIndexSeek() throws IOException {
+        long start = 280;
+        File file = File.createTempFile("testindex", null);
+        File filterFile = SegmentFilterIndex.getFilterFile(file);
+        // create mutable index FileSegment with filter index.
+        fileSegment = new FileSegment(start, file, true, SegmentType.INDEX, false, true);
+        try {
+            ByteBuffer indexBuffer = ByteBuffer.allocate(DataStoreUtils.STORE_INDEX_HEAD_LEN);
+            for (int i = 0; i < 10; i++) {
+                // partition i % 2, key code 7 for every third record, otherwise -5
+                indexBuffer.clear();
+                indexBuffer.putInt(i % 2);
+                indexBuffer.putLong(i * 100L);
+                indexBuffer.putInt(100);
+                indexBuffer.putInt(i % 3 == 0 ? 7 : -5);
+                indexBuffer.putLong(1000L + i);
+                indexBuffer.flip();
+                fileSegment.append(indexBuffer, 1000L + i, 1000L + i);
+            }
+            fileSegment.flush(true);
+            // no filter index in mutable status.
+            Set<Integer> keyCodes = new HashSet<>(Arrays.asList(7));
+            Assert.assertEquals(-1, fileSegment.seekFilterRecord(start, 0, keyCodes));
+            Assert.assertFalse(filterFile.exists());
+            // set immutable, the filter index is not built in the roll-over.
+            fileSegment.setMutable(false);
+            Assert.assertFalse(filterFile.exists());
+            Assert.assertEquals(-1, fileSegment.seekFilterRecord(start, 0, keyCodes));
+            // build the filter index as the background thread does.
+            fileSegment.buildFilterIndex();
+            Assert.assertTrue(filterFile.exists());
+            // records 0, 6 of partition 0 and records 3, 9 of partition 1 match key code 7.
+            Assert.assertEquals(start, fileSegment.seekFilterRecord(start, 0, keyCodes));
+            Assert.assertEquals(start + 6 * DataStoreUtils.STORE_INDEX_HEAD_LEN,
+                    fileSegment.seekFilterRecord(start + DataStoreUtils.STORE_INDEX_HEAD_LEN, 0, keyCodes));
+            Assert.assertEquals(start + 9 * DataStoreUtils.STORE_INDEX_HEAD_LEN,
+                    fileSegment.seekFilterRecord(start + 4 * DataStoreUtils.STORE_INDEX_HEAD_LEN, 1, keyCodes));
+            Assert.assertEquals(fileSegment.getLast(),
+                    fileSegment.seekFilterRecord(start + 7 * DataStoreUtils.STORE_INDEX_HEAD_LEN, 0, keyCodes));
+            Assert.assertEquals(fileSegment.getLast(),
+                    fileSegment.seekFilterRecord(start, 2, keyCodes));
+            keyCodes.add(-5);
+            Assert.assertEquals(start + 2 * DataStoreUtils.STORE_INDEX_HEAD_LEN,
+                    fileSegment.seekFilterRecord(start + DataStoreUtils.STORE_INDEX_HEAD_LEN, 0, keyCodes));
+            // reopen the segment and load the stored filter index.
+            fileSegment.close();
+            fileSegment = new FileSegment(start, file, false, SegmentType.INDEX, false, true);
+            fileSegment.buildFilterIndex();
+            Assert.assertEquals(start + 4 * DataStoreUtils.STORE_INDEX_HEAD_LEN,
+                    fileSegment.seekFilterRecord(start + 3 * DataStoreUtils.STORE_INDEX_HEAD_LEN, 0, keyCodes));
+        } finally {
+            fileSegment.deleteFile();
+        }
+        Assert.assertFalse(filterFile.exists());
+    }
+
+    @org.junit.Test
+    public void mappedBufferRefRelease() throws IOException {
+        File file = File.createTempFile("testmapped", null);
+        try (RandomAccessFile randFile = new RandomAccessFile(file, "rw")) {
+            randFile.writeLong(1234L);
+            MappedBufferRef mappedRef = new MappedBufferRef(randFile.getChannel()
+                    .map(FileChannel.MapMode.READ_ONLY, 0, 8));
+            MappedByteBuffer readerBuffer = mappedRef.getViewRef();
+            Assert.assertNotNull(readerBuffer);
+            // the owner releases the mapping while the reader still holds it.
+            mappedRef.release();
+            mappedRef.release();
+            Assert.assertEquals(1, mappedRef.getRefCnt());
+            Assert.assertEquals(1234L, readerBuffer.getLong(0));
+            // the last reader unmaps the memory, the later readers get nothing.
+            mappedRef.relViewRef();
+            Assert.assertEquals(0, mappedRef.getRefCnt());
+            Assert.assertNull(mappedRef.getViewRef());
+        } finally {
+            file.delete();
+        }
+    }
+}
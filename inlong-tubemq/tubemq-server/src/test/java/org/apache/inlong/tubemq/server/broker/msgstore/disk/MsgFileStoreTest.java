@@ -0,0 +1,347 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.tubemq.server.broker.msgstore.disk;
+
+import org.apache.inlong.tubemq.corebase.protobuf.generated.ClientBroker;
+import org.apache.inlong.tubemq.corebase.utils.Tuple3;
+import org.apache.inlong.tubemq.server.broker.BrokerConfig;
+import org.apache.inlong.tubemq.server.broker.msgstore.MessageStore;
+import org.apache.inlong.tubemq.server.broker.stats.MsgStoreStatsHolder;
+import org.apache.inlong.tubemq.server.broker.utils.DataStoreUtils;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MsgFileStore test.
+ */
+public class MsgFileStoreTest {
+
+    private static final int PARTITION_ID = 0;
+
+    private File baseDir;
+    private MessageStore messageStore;
+    private BrokerConfig brokerConfig;
+    private MsgFileStore msgFileStore;
+    private final List<byte[]> storedIndexes = new ArrayList<>();
+
+    @Before
+    public void setUp() throws Exception {
+        baseDir = Files.createTempDirectory("msgfilestore").toFile();
+        messageStore = Mockito.mock(MessageStore.class);
+        Mockito.when(messageStore.getMsgStoreStatsHolder()).thenReturn(new MsgStoreStatsHolder());
+        Mockito.when(messageStore.getStoreKey()).thenReturn("test-0");
+        Mockito.when(messageStore.getUnflushDataHold()).thenReturn(0);
+        Mockito.when(messageStore.getUnflushThreshold()).thenReturn(1000);
+        Mockito.when(messageStore.getUnflushInterval()).thenReturn(60000);
+        brokerConfig = Mockito.mock(BrokerConfig.class);
+        Mockito.when(brokerConfig.isEnableFileRegionRead()).thenReturn(true);
+        Mockito.when(brokerConfig.getMaxIndexSegmentSize()).thenReturn(1024 * 1024);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (msgFileStore != null) {
+            msgFileStore.close();
+        }
+        deleteDir(baseDir);
+    }
+
+    @Test
+    public void getMessagesByRegion() throws Exception {
+        createStore(1024 * 1024);
+        for (int i = 0; i < 10; i++) {
+            appendRecord(i, DataStoreUtils.STORE_DATA_TOKER_BEGIN_VALUE);
+        }
+        List<ClientBroker.TransferedMessage> messages = readAll(0, 10);
+        Assert.assertEquals(10, messages.size());
+        for (int i = 0; i < 10; i++) {
+            ClientBroker.TransferedMessage message = messages.get(i);
+            Assert.assertEquals(i, message.getMessageId());
+            Assert.assertEquals("message-" + i, message.getPayLoadData().toStringUtf8());
+        }
+    }
+
+    @Test
+    public void getMessagesByRegionSkipBadRecord() throws Exception {
+        createStore(1024 * 1024);
+        for (int i = 0; i < 5; i++) {
+            appendRecord(i, i == 2 ? 0 : DataStoreUtils.STORE_DATA_TOKER_BEGIN_VALUE);
+        }
+        // the corrupted record is dropped, the following ones are still returned
+        List<ClientBroker.TransferedMessage> messages = readAll(0, 5);
+        Assert.assertEquals(4, messages.size());
+        for (ClientBroker.TransferedMessage message : messages) {
+            Assert.assertNotEquals(2, message.getMessageId());
+        }
+    }
+
+    @Test
+    public void getMessagesByRegionRollbackOnReadFailure() throws Exception {
+        createStore(1024 * 1024);
+        for (int i = 0; i < 5; i++) {
+            appendRecord(i, DataStoreUtils.STORE_DATA_TOKER_BEGIN_VALUE);
+        }
+        final ByteBuffer indexBuffer = buildIndexBuffer(0, 5);
+        final long firstDataOffset = indexBuffer.getLong(DataStoreUtils.INDEX_POS_DATAOFFSET);
+        msgFileStore.close();
+        // the region can not be read, roll back to the first record of the region
+        GetMessageResult result = getMessages(indexBuffer, 1024 * 1024);
+        msgFileStore = null;
+        Assert.assertFalse(result.isSuccess());
+        Assert.assertTrue(result.getTransferedMessageList().isEmpty());
+        Assert.assertEquals(0, result.getLastReadOffset());
+        Assert.assertEquals(firstDataOffset, result.lastRdDataOffset);
+    }
+
+    @Test
+    public void getMessagesByRegionAtSegmentBoundary() throws Exception {
+        // roll to a new data segment every 3 records
+        createStore(3 * recordSize(0));
+        for (int i = 0; i < 8; i++) {
+            appendRecord(i, DataStoreUtils.STORE_DATA_TOKER_BEGIN_VALUE);
+        }
+        // records spanning the data segments are read in order
+        List<ClientBroker.TransferedMessage> messages = readAll(0, 8);
+        Assert.assertEquals(8, messages.size());
+        for (int i = 0; i < 8; i++) {
+            Assert.assertEquals(i, messages.get(i).getMessageId());
+        }
+        // the transfer size limit stops the read at the end of the first segment
+        GetMessageResult result = getMessages(buildIndexBuffer(0, 8), 3 * recordSize(0));
+        Assert.assertTrue(result.isSuccess());
+        Assert.assertEquals(3, result.getTransferedMessageList().size());
+        Assert.assertEquals(3 * DataStoreUtils.STORE_INDEX_HEAD_LEN, result.getLastReadOffset());
+        // continue from the returned position in the next segment
+        result = getMessages(buildIndexBuffer(3, 8), 1024 * 1024);
+        Assert.assertEquals(3, result.getTransferedMessageList().get(0).getMessageId());
+        // an index beyond the stored data stops the read before that record
+        final ByteBuffer indexBuffer = ByteBuffer.allocate(5 * DataStoreUtils.STORE_INDEX_HEAD_LEN);
+        indexBuffer.put(storedIndexes.get(6));
+        indexBuffer.put(storedIndexes.get(7));
+        for (int i = 0; i < 3; i++) {
+            indexBuffer.putInt(PARTITION_ID);
+            indexBuffer.putLong(msgFileStore.getDataMaxOffset() + (long) i * recordSize(8 + i));
+            indexBuffer.putInt(recordSize(8 + i));
+            indexBuffer.putInt(0);
+            indexBuffer.putLong(System.currentTimeMillis());
+        }
+        indexBuffer.flip();
+        result = getMessages(indexBuffer, 1024 * 1024);
+        Assert.assertTrue(result.isSuccess());
+        Assert.assertEquals(2, result.getTransferedMessageList().size());
+        Assert.assertEquals(2 * DataStoreUtils.STORE_INDEX_HEAD_LEN, result.getLastReadOffset());
+        Assert.assertEquals(msgFileStore.getDataMaxOffset(), result.lastRdDataOffset);
+    }
+
+    @Test
+    public void groupAppendMsgFlushOncePerGroup() throws Exception {
+        // flush to disk on every commit
+        Mockito.when(messageStore.getUnflushThreshold()).thenReturn(1);
+        createStore(1024 * 1024);
+        final Segment dataSegment = spyLastDataSegment();
+        final CountDownLatch flushEntered = new CountDownLatch(1);
+        final CountDownLatch flushRelease = new CountDownLatch(1);
+        Mockito.doAnswer(invocation -> {
+            if (flushEntered.getCount() > 0) {
+                flushEntered.countDown();
+                flushRelease.await();
+            }
+            return invocation.callRealMethod();
+        }).when(dataSegment).flush(Mockito.anyBoolean());
+        final int appenderCnt = 4;
+        final List<Tuple3<Boolean, Long, Long>> results = new CopyOnWriteArrayList<>();
+        final List<Thread> appenders = new ArrayList<>();
+        for (int i = 0; i < appenderCnt; i++) {
+            final int msgId = i;
+            appenders.add(new Thread(() -> results.add(groupAppendRecord(msgId))));
+        }
+        // the first appender holds the write lock while flushing its group
+        appenders.get(0).start();
+        Assert.assertTrue(flushEntered.await(10, TimeUnit.SECONDS));
+        // the others queue up behind the lock and are committed together
+        for (int i = 1; i < appenderCnt; i++) {
+            appenders.get(i).start();
+        }
+        for (int i = 1; i < appenderCnt; i++) {
+            while (appenders.get(i).getState() != Thread.State.WAITING) {
+                Thread.sleep(5);
+            }
+        }
+        flushRelease.countDown();
+        for (Thread appender : appenders) {
+            appender.join(10000);
+        }
+        Assert.assertEquals(appenderCnt, results.size());
+        final List<Long> dataOffsets = new ArrayList<>();
+        for (Tuple3<Boolean, Long, Long> result : results) {
+            Assert.assertTrue(result.getF0());
+            dataOffsets.add(result.getF2());
+        }
+        // the records are stored contiguously
+        Collections.sort(dataOffsets);
+        for (int i = 0; i < appenderCnt; i++) {
+            Assert.assertEquals((long) i * recordSize(0), (long) dataOffsets.get(i));
+        }
+        Assert.assertEquals(appenderCnt * recordSize(0), msgFileStore.getDataMaxOffset());
+        // one fsync for the first appender, one for the group of the others
+        Mockito.verify(dataSegment, Mockito.times(2)).flush(Mockito.anyBoolean());
+    }
+
+    @Test
+    public void groupAppendMsgFsyncFailure() throws Exception {
+        Mockito.when(messageStore.getUnflushThreshold()).thenReturn(1);
+        createStore(1024 * 1024);
+        final Segment dataSegment = spyLastDataSegment();
+        Mockito.doThrow(new IOException("fsync failure"))
+                .when(dataSegment).flush(Mockito.anyBoolean());
+        Tuple3<Boolean, Long, Long> result = groupAppendRecord(0);
+        Assert.assertFalse(result.getF0());
+        // the following group is committed once the disk recovers
+        Mockito.doCallRealMethod().when(dataSegment).flush(Mockito.anyBoolean());
+        result = groupAppendRecord(1);
+        Assert.assertTrue(result.getF0());
+    }
+
+    private void createStore(int maxSegmentSize) throws Exception {
+        Mockito.when(brokerConfig.getMaxSegmentSize()).thenReturn(maxSegmentSize);
+        msgFileStore = new MsgFileStore(messageStore, brokerConfig, baseDir.getAbsolutePath(), 0L);
+    }
+
+    private GetMessageResult getMessages(ByteBuffer indexBuffer, int maxMsgTransferSize) {
+        return msgFileStore.getMessages(PARTITION_ID, 0L, 0L, indexBuffer,
+                false, null, "test", maxMsgTransferSize, 0L);
+    }
+
+    private List<ClientBroker.TransferedMessage> readAll(int from, int to) {
+        final List<ClientBroker.TransferedMessage> messages = new ArrayList<>();
+        int readIndex = from;
+        while (readIndex < to) {
+            GetMessageResult result = getMessages(buildIndexBuffer(readIndex, to), 1024 * 1024);
+            Assert.assertTrue(result.isSuccess());
+            Assert.assertTrue(result.getLastReadOffset() > 0);
+            messages.addAll(result.getTransferedMessageList());
+            readIndex += result.getLastReadOffset() / DataStoreUtils.STORE_INDEX_HEAD_LEN;
+        }
+        return messages;
+    }
+
+    private ByteBuffer buildIndexBuffer(int from, int to) {
+        final ByteBuffer indexBuffer =
+                ByteBuffer.allocate((to - from) * DataStoreUtils.STORE_INDEX_HEAD_LEN);
+        for (int i = from; i < to; i++) {
+            indexBuffer.put(storedIndexes.get(i));
+        }
+        indexBuffer.flip();
+        return indexBuffer;
+    }
+
+    private static int recordSize(int msgId) {
+        return DataStoreUtils.STORE_DATA_HEADER_LEN + ("message-" + msgId).getBytes().length;
+    }
+
+    private void appendRecord(int msgId, int token) {
+        final long recvTime = System.currentTimeMillis();
+        final ByteBuffer dataBuffer = buildDataBuffer(msgId, token, recvTime);
+        final ByteBuffer indexBuffer = buildIndexItem(dataBuffer.remaining(), recvTime);
+        Tuple3<Boolean, Long, Long> appendResult =
+                msgFileStore.appendMsg(false, recvTime, new StringBuilder(512), 1,
+                        DataStoreUtils.STORE_INDEX_HEAD_LEN, indexBuffer,
+                        dataBuffer.remaining(), dataBuffer, recvTime, recvTime);
+        Assert.assertTrue(appendResult.getF0());
+        // the store fills in the data offset of the index item
+        storedIndexes.add(indexBuffer.array().clone());
+    }
+
+    private Tuple3<Boolean, Long, Long> groupAppendRecord(int msgId) {
+        final long recvTime = System.currentTimeMillis();
+        final ByteBuffer dataBuffer =
+                buildDataBuffer(msgId, DataStoreUtils.STORE_DATA_TOKER_BEGIN_VALUE, recvTime);
+        final ByteBuffer indexBuffer = buildIndexItem(dataBuffer.remaining(), recvTime);
+        return msgFileStore.groupAppendMsg(recvTime, new StringBuilder(512),
+                indexBuffer, dataBuffer.remaining(), dataBuffer, recvTime);
+    }
+
+    private static ByteBuffer buildDataBuffer(int msgId, int token, long recvTime) {
+        final byte[] payload = ("message-" + msgId).getBytes();
+        final ByteBuffer dataBuffer =
+                ByteBuffer.allocate(DataStoreUtils.STORE_DATA_HEADER_LEN + payload.length);
+        dataBuffer.putInt(DataStoreUtils.STORE_DATA_PREFX_LEN + payload.length);
+        dataBuffer.putInt(token);
+        dataBuffer.putInt(0);
+        dataBuffer.putInt(PARTITION_ID);
+        dataBuffer.putLong(-1L);
+        dataBuffer.putLong(recvTime);
+        dataBuffer.putInt(0);
+        dataBuffer.putInt(0);
+        dataBuffer.putLong(msgId);
+        dataBuffer.putInt(0);
+        dataBuffer.put(payload);
+        dataBuffer.flip();
+        return dataBuffer;
+    }
+
+    private static ByteBuffer buildIndexItem(int dataSize, long recvTime) {
+        final ByteBuffer indexBuffer = ByteBuffer.allocate(DataStoreUtils.STORE_INDEX_HEAD_LEN);
+        indexBuffer.putInt(PARTITION_ID);
+        indexBuffer.putLong(-1L);
+        indexBuffer.putInt(dataSize);
+        indexBuffer.putInt(0);
+        indexBuffer.putLong(recvTime);
+        indexBuffer.flip();
+        return indexBuffer;
+    }
+
+    /**
+     * Replace the last data segment of the store with a spy, so the flush can be intercepted.
+     */
+    private Segment spyLastDataSegment() throws Exception {
+        final Field field = MsgFileStore.class.getDeclaredField("dataSegments");
+        field.setAccessible(true);
+        final SegmentList dataSegments = Mockito.spy((SegmentList) field.get(msgFileStore));
+        final Segment lastSegment = Mockito.spy(dataSegments.last());
+        Mockito.doReturn(lastSegment).when(dataSegments).last();
+        field.set(msgFileStore, dataSegments);
+        return lastSegment;
+    }
+
+    private static void deleteDir(File dir) {
+        File[] files = dir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                deleteDir(file);
+            }
+        }
+        dir.delete();
+    }
+}
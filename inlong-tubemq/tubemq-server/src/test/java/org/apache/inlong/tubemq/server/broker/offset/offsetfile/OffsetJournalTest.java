@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.tubemq.server.broker.offset.offsetfile;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * OffsetJournal test.
+ */
+public class OffsetJournalTest {
+
+    private File baseDir;
+    private String fileNameBase;
+
+    @Before
+    public void setUp() throws Exception {
+        baseDir = Files.createTempDirectory("offset-journal").toFile();
+        fileNameBase = new File(baseDir, "offsets").getAbsolutePath();
+    }
+
+    @After
+    public void tearDown() {
+        FileUtils.deleteQuietly(baseDir);
+    }
+
+    @Test
+    public void appendAndLoad() {
+        GroupOffsetStgInfo offsetStgInfo = new GroupOffsetStgInfo(1);
+        offsetStgInfo.restoreOffsetStgInfo("group1", "topic1", 0,
+                1L, 10L, 100L, 1000L, 0L, 500L);
+        OffsetJournal journal = new OffsetJournal(fileNameBase);
+        Assert.assertTrue(journal.compact(offsetStgInfo));
+        Assert.assertTrue(OffsetJournal.isJournalExist(fileNameBase));
+        // update one partition and add a new group
+        PartStgInfo partStgInfo = offsetStgInfo.getOffsetStgInfo("group1", "topic1", 0);
+        partStgInfo.restoreOffset(1L, 11L, 200L, 2000L, 0L, 500L);
+        offsetStgInfo.restoreOffsetStgInfo("group2", "topic2", 3,
+                2L, 20L, 300L, 3000L, 5L, 600L);
+        Map<String, Collection<PartStgInfo>> updated = new HashMap<>();
+        updated.put("group1", Collections.singletonList(partStgInfo));
+        updated.put("group2", Collections.singletonList(
+                offsetStgInfo.getOffsetStgInfo("group2", "topic2", 3)));
+        Assert.assertTrue(journal.append(updated));
+        journal.close();
+        // replay the journal
+        GroupOffsetStgInfo loaded = new GroupOffsetStgInfo(1);
+        OffsetJournal journal2 = new OffsetJournal(fileNameBase);
+        Assert.assertTrue(journal2.load(loaded));
+        PartStgInfo part1 = loaded.getOffsetStgInfo("group1", "topic1", 0);
+        Assert.assertNotNull(part1);
+        Assert.assertEquals(200L, part1.getLstOffset());
+        Assert.assertEquals(11L, part1.getMsgId());
+        Assert.assertEquals(2000L, part1.getLstUpdTime());
+        PartStgInfo part2 = loaded.getOffsetStgInfo("group2", "topic2", 3);
+        Assert.assertNotNull(part2);
+        Assert.assertEquals(300L, part2.getLstOffset());
+        Assert.assertEquals(2L, part2.getLstRstTerm());
+        Assert.assertEquals(5L, part2.getCreateOffset());
+        Assert.assertEquals(600L, part2.getCreateTime());
+        journal2.close();
+    }
+
+    @Test
+    public void truncateBrokenTail() throws Exception {
+        GroupOffsetStgInfo offsetStgInfo = new GroupOffsetStgInfo(1);
+        offsetStgInfo.restoreOffsetStgInfo("group1", "topic1", 0,
+                1L, 10L, 100L, 1000L, 0L, 500L);
+        OffsetJournal journal = new OffsetJournal(fileNameBase);
+        Assert.assertTrue(journal.compact(offsetStgInfo));
+        long validSize = journal.getJournalSize();
+        PartStgInfo partStgInfo = offsetStgInfo.getOffsetStgInfo("group1", "topic1", 0);
+        partStgInfo.restoreOffset(1L, 11L, 200L, 2000L, 0L, 500L);
+        Assert.assertTrue(journal.append(Collections.singletonMap(
+                "group1", Collections.singletonList(partStgInfo))));
+        journal.close();
+        // cut the last record in the middle as a crash during the append
+        File journalFile = new File(fileNameBase + OffsetJournal.JOURNAL_FILENAME_SUFFIX);
+        try (RandomAccessFile raf = new RandomAccessFile(journalFile, "rw")) {
+            raf.setLength(raf.length() - 3);
+        }
+        GroupOffsetStgInfo loaded = new GroupOffsetStgInfo(1);
+        OffsetJournal journal2 = new OffsetJournal(fileNameBase);
+        Assert.assertTrue(journal2.load(loaded));
+        // the broken record is dropped and the file is truncated to the last valid one
+        Assert.assertEquals(100L, loaded.getOffsetStgInfo("group1", "topic1", 0).getLstOffset());
+        Assert.assertEquals(validSize, journal2.getJournalSize());
+        journal2.close();
+    }
+
+    @Test
+    public void compactDropsRemoved() {
+        GroupOffsetStgInfo offsetStgInfo = new GroupOffsetStgInfo(1);
+        offsetStgInfo.restoreOffsetStgInfo("group1", "topic1", 0,
+                1L, 10L, 100L, 1000L, 0L, 500L);
+        offsetStgInfo.restoreOffsetStgInfo("group2", "topic1", 0,
+                1L, 10L, 100L, 1000L, 0L, 500L);
+        OffsetJournal journal = new OffsetJournal(fileNameBase);
+        Assert.assertTrue(journal.compact(offsetStgInfo));
+        offsetStgInfo.rmvGroupOffsetInfo("group2", Collections.singleton("topic1"));
+        Assert.assertTrue(journal.compact(offsetStgInfo));
+        journal.close();
+        GroupOffsetStgInfo loaded = new GroupOffsetStgInfo(1);
+        OffsetJournal journal2 = new OffsetJournal(fileNameBase);
+        Assert.assertTrue(journal2.load(loaded));
+        Assert.assertNotNull(loaded.getOffsetStgInfo("group1", "topic1", 0));
+        Assert.assertNull(loaded.getOffsetStgInfo("group2", "topic1", 0));
+        journal2.delete();
+        Assert.assertFalse(OffsetJournal.isJournalExist(fileNameBase));
+    }
+}
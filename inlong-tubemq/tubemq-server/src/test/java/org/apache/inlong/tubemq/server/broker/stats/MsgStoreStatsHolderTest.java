@@ -181,8 +181,16 @@ public class MsgStoreStatsHolderTest {
                 3, 3, false, false,
                 true, false, false, false,
                 150);
+        msgStoreStatsHolder.addFileGroupCommitStats(3);
+        msgStoreStatsHolder.addFileGroupCommitStats(8);
+        msgStoreStatsHolder.addFileFsyncDlt(15);
         msgStoreStatsHolder.snapShort(retMap);
         Assert.assertNotNull(retMap.get("reset_time"));
+        Assert.assertEquals(2, retMap.get("file_group_commit_cnt_count").longValue());
+        Assert.assertEquals(8, retMap.get("file_group_commit_cnt_max").longValue());
+        Assert.assertEquals(3, retMap.get("file_group_commit_cnt_min").longValue());
+        Assert.assertEquals(1, retMap.get("file_fsync_dlt_count").longValue());
+        Assert.assertEquals(15, retMap.get("file_fsync_dlt_max").longValue());
         Assert.assertEquals(21, retMap.get("file_total_msg_cnt").longValue());
         Assert.assertEquals(21, retMap.get("file_total_data_size").longValue());
         Assert.assertEquals(21, retMap.get("file_total_index_size").longValue());
@@ -17,10 +17,14 @@
 
 package org.apache.inlong.tubemq.server.broker.utils;
 
+import org.apache.inlong.tubemq.corebase.protobuf.generated.ClientBroker;
+import org.apache.inlong.tubemq.server.broker.stats.TrafficInfo;
+
 import org.junit.Assert;
 import org.junit.Test;
 
 import java.nio.ByteBuffer;
+import java.util.HashMap;
 
 /**
  * DataStoreUtils test.
@@ -37,4 +41,34 @@ public class DataStoreUtilsTest {
         // get int by DataStoreUtils
         Assert.assertEquals(val, 123);
     }
+
+    @Test
+    public void getTransferMsgFromRegion() {
+        byte[] payLoad = "test-region".getBytes();
+        int dataSize = DataStoreUtils.STORE_DATA_HEADER_LEN + payLoad.length;
+        int dataPos = 16;
+        ByteBuffer regionBuffer = ByteBuffer.allocate(dataPos + dataSize);
+        regionBuffer.position(dataPos);
+        regionBuffer.putInt(DataStoreUtils.STORE_DATA_PREFX_LEN + payLoad.length);
+        regionBuffer.putInt(DataStoreUtils.STORE_DATA_TOKER_BEGIN_VALUE);
+        regionBuffer.putInt(123);
+        regionBuffer.position(dataPos + DataStoreUtils.STORE_HEADER_POS_MSGID);
+        regionBuffer.putLong(456L);
+        regionBuffer.putInt(0);
+        regionBuffer.put(payLoad);
+        regionBuffer.flip();
+        HashMap<String, TrafficInfo> countMap = new HashMap<>();
+        // convert the message located in the middle of region buffer
+        ClientBroker.TransferedMessage message =
+                DataStoreUtils.getTransferMsg(regionBuffer, dataPos,
+                        dataSize, countMap, "test", new StringBuilder(64));
+        Assert.assertNotNull(message);
+        Assert.assertEquals(456L, message.getMessageId());
+        Assert.assertEquals(123, message.getCheckSum());
+        Assert.assertEquals("test-region", message.getPayLoadData().toStringUtf8());
+        Assert.assertEquals(1, countMap.size());
+        // out of region buffer
+        Assert.assertNull(DataStoreUtils.getTransferMsg(regionBuffer,
+                dataPos + 1, dataSize, countMap, "test", new StringBuilder(64)));
+    }
 }
@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.tubemq.server.master.balance;
+
+import org.apache.inlong.tubemq.corebase.cluster.BrokerInfo;
+import org.apache.inlong.tubemq.corebase.cluster.Partition;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * DefaultLoadBalancer sticky assign test.
+ */
+public class DefaultLoadBalancerTest {
+
+    private final DefaultLoadBalancer loadBalancer = new DefaultLoadBalancer(true);
+
+    @Test
+    public void stickyAssignConsumerJoin() {
+        List<Partition> partitions = buildPartitions(12);
+        Map<String, Map<String, List<Partition>>> clusterState = new HashMap<>();
+        clusterState.put("c1", buildTopicParts(partitions.subList(0, 4)));
+        clusterState.put("c2", buildTopicParts(partitions.subList(4, 8)));
+        clusterState.put("c3", buildTopicParts(partitions.subList(8, 12)));
+        List<String> consumerIds = Arrays.asList("c1", "c2", "c3", "c4");
+        int movedCnt = loadBalancer.stickyAssign(new HashMap<>(), consumerIds,
+                clusterState, new HashMap<>(), Collections.emptyList());
+        // each old consumer hands only one partition to the new one
+        Assert.assertEquals(3, movedCnt);
+        for (String consumerId : consumerIds) {
+            Assert.assertEquals(3, countParts(clusterState.get(consumerId)));
+        }
+        Assert.assertEquals(12, collectPartKeys(clusterState).size());
+    }
+
+    @Test
+    public void stickyAssignConsumerLeave() {
+        List<Partition> partitions = buildPartitions(12);
+        Map<String, Map<String, List<Partition>>> clusterState = new HashMap<>();
+        clusterState.put("c1", buildTopicParts(partitions.subList(0, 3)));
+        clusterState.put("c2", buildTopicParts(partitions.subList(3, 6)));
+        clusterState.put("c3", buildTopicParts(partitions.subList(6, 9)));
+        // the partitions of the left consumer are free
+        Map<String, Partition> freePartMap = new HashMap<>();
+        for (Partition partition : partitions.subList(9, 12)) {
+            freePartMap.put(partition.getPartitionKey(), partition);
+        }
+        List<String> consumerIds = Arrays.asList("c1", "c2", "c3");
+        Set<String> keptKeys = collectPartKeys(clusterState);
+        int movedCnt = loadBalancer.stickyAssign(freePartMap, consumerIds,
+                clusterState, new HashMap<>(), Collections.emptyList());
+        Assert.assertEquals(0, movedCnt);
+        for (String consumerId : consumerIds) {
+            Assert.assertEquals(4, countParts(clusterState.get(consumerId)));
+        }
+        Set<String> resultKeys = collectPartKeys(clusterState);
+        Assert.assertEquals(12, resultKeys.size());
+        Assert.assertTrue(resultKeys.containsAll(keptKeys));
+    }
+
+    @Test
+    public void stickyAssignUneven() {
+        List<Partition> partitions = buildPartitions(10);
+        Map<String, Map<String, List<Partition>>> clusterState = new HashMap<>();
+        clusterState.put("c1", buildTopicParts(partitions.subList(0, 9)));
+        clusterState.put("c2", buildTopicParts(partitions.subList(9, 10)));
+        List<String> consumerIds = Arrays.asList("c1", "c2", "c3");
+        int movedCnt = loadBalancer.stickyAssign(new HashMap<>(), consumerIds,
+                clusterState, new HashMap<>(), Collections.emptyList());
+        // c1 keeps 4, c2 and c3 take 2 and 3
+        Assert.assertEquals(5, movedCnt);
+        Assert.assertEquals(4, countParts(clusterState.get("c1")));
+        Assert.assertEquals(3, countParts(clusterState.get("c2")));
+        Assert.assertEquals(3, countParts(clusterState.get("c3")));
+        Assert.assertEquals(10, collectPartKeys(clusterState).size());
+    }
+
+    private List<Partition> buildPartitions(int count) {
+        List<Partition> partitions = new ArrayList<>(count);
+        BrokerInfo brokerInfo1 = new BrokerInfo(1, "127.0.0.1", 8123);
+        BrokerInfo brokerInfo2 = new BrokerInfo(2, "127.0.0.2", 8123);
+        for (int i = 0; i < count; i++) {
+            partitions.add(new Partition((i % 2 == 0) ? brokerInfo1 : brokerInfo2,
+                    "topic" + (i % 3), i));
+        }
+        return partitions;
+    }
+
+    private Map<String, List<Partition>> buildTopicParts(List<Partition> partitions) {
+        Map<String, List<Partition>> topicParts = new HashMap<>();
+        for (Partition partition : partitions) {
+            topicParts.computeIfAbsent(partition.getTopic(), k -> new ArrayList<>()).add(partition);
+        }
+        return topicParts;
+    }
+
+    private int countParts(Map<String, List<Partition>> topicParts) {
+        int count = 0;
+        for (List<Partition> partList : topicParts.values()) {
+            count += partList.size();
+        }
+        return count;
+    }
+
+    private Set<String> collectPartKeys(Map<String, Map<String, List<Partition>>> clusterState) {
+        Set<String> partKeys = new HashSet<>();
+        for (Map<String, List<Partition>> topicParts : clusterState.values()) {
+            for (List<Partition> partList : topicParts.values()) {
+                for (Partition partition : partList) {
+                    partKeys.add(partition.getPartitionKey());
+                }
+            }
+        }
+        return partKeys;
+    }
+}